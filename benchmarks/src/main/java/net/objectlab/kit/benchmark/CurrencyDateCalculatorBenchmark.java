@@ -0,0 +1,62 @@
+package net.objectlab.kit.benchmark;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.objectlab.kit.datecalc.common.CurrencyDateCalculator;
+import net.objectlab.kit.datecalc.common.SpotLag;
+
+/**
+ * calculateSpotDate for a USD pair and a cross, for each date backend and calendar size.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CurrencyDateCalculatorBenchmark {
+    @Param({ "DATE", "CALENDAR", "JODA", "JDK8" })
+    private DateBackend backend;
+
+    @Param({ "10", "250", "2500" })
+    private int holidays;
+
+    private CurrencyDateCalculator<Serializable> eurUsd;
+    private CurrencyDateCalculator<Serializable> eurGbp;
+    private Serializable tradeDate;
+
+    @Setup
+    public void setUp() {
+        backend.registerCalendar("EUR", holidays, 1L);
+        backend.registerCalendar("USD", holidays, 2L);
+        backend.registerCalendar("GBP", holidays, 3L);
+        eurUsd = backend.<Serializable> getFactory().getDefaultCurrencyDateCalculator("EUR", "USD", SpotLag.T_2);
+        eurGbp = backend.<Serializable> getFactory().getDefaultCurrencyDateCalculator("EUR", "GBP", SpotLag.T_2);
+        // a Thursday, so that spot crosses a weekend
+        tradeDate = backend.toDate(LocalDate.of(2019, 3, 7));
+    }
+
+    @Benchmark
+    public Serializable spotEurUsd() {
+        return eurUsd.calculateSpotDate(tradeDate);
+    }
+
+    @Benchmark
+    public Serializable spotEurGbp() {
+        return eurGbp.calculateSpotDate(tradeDate);
+    }
+}
@@ -0,0 +1,79 @@
+package net.objectlab.kit.benchmark;
+
+import java.io.Serializable;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Function;
+
+import net.objectlab.kit.datecalc.common.DefaultHolidayCalendar;
+import net.objectlab.kit.datecalc.common.HolidayCalendar;
+import net.objectlab.kit.datecalc.common.KitCalculatorsFactory;
+import net.objectlab.kit.datecalc.jdk.CalendarKitCalculatorsFactory;
+import net.objectlab.kit.datecalc.jdk.DateKitCalculatorsFactory;
+
+/**
+ * The 4 date implementations, so that each benchmark can be parameterized by backend and
+ * compare them on equal footing: same holidays, same dates.
+ */
+public enum DateBackend {
+    DATE(DateKitCalculatorsFactory.getDefaultInstance(), d -> Date.from(d.atStartOfDay(ZoneId.systemDefault()).toInstant())),
+    CALENDAR(CalendarKitCalculatorsFactory.getDefaultInstance(), d -> {
+        final Calendar cal = Calendar.getInstance();
+        cal.setTime(Date.from(d.atStartOfDay(ZoneId.systemDefault()).toInstant()));
+        return cal;
+    }),
+    JODA(net.objectlab.kit.datecalc.joda.LocalDateKitCalculatorsFactory.getDefaultInstance(),
+            d -> new org.joda.time.LocalDate(d.getYear(), d.getMonthValue(), d.getDayOfMonth())),
+    JDK8(net.objectlab.kit.datecalc.jdk8.LocalDateKitCalculatorsFactory.getDefaultInstance(), d -> d);
+
+    /** first date of the generated calendars */
+    public static final LocalDate CALENDAR_START = LocalDate.of(2010, 1, 1);
+
+    /** last date of the generated calendars */
+    public static final LocalDate CALENDAR_END = LocalDate.of(2039, 12, 31);
+
+    private final KitCalculatorsFactory<?> factory;
+    private final Function<LocalDate, ?> converter;
+
+    DateBackend(final KitCalculatorsFactory<?> factory, final Function<LocalDate, ?> converter) {
+        this.factory = factory;
+        this.converter = converter;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <E extends Serializable> KitCalculatorsFactory<E> getFactory() {
+        return (KitCalculatorsFactory<E>) factory;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <E extends Serializable> E toDate(final LocalDate date) {
+        return (E) converter.apply(date);
+    }
+
+    /**
+     * Register a calendar with a number of holidays spread on week days between CALENDAR_START and CALENDAR_END,
+     * the same seed gives the same holidays for every backend.
+     */
+    public <E extends Serializable> HolidayCalendar<E> registerCalendar(final String name, final int holidayCount, final long seed) {
+        final Random random = new Random(seed);
+        final int days = (int) (CALENDAR_END.toEpochDay() - CALENDAR_START.toEpochDay());
+        final Set<E> holidays = new HashSet<>();
+        int count = 0;
+        while (count < holidayCount) {
+            final LocalDate date = CALENDAR_START.plusDays(random.nextInt(days));
+            if (date.getDayOfWeek() != DayOfWeek.SATURDAY && date.getDayOfWeek() != DayOfWeek.SUNDAY && holidays.add(toDate(date))) {
+                count++;
+            }
+        }
+        final HolidayCalendar<E> calendar = new DefaultHolidayCalendar<>(holidays, toDate(CALENDAR_START), toDate(CALENDAR_END));
+        final KitCalculatorsFactory<E> kitFactory = getFactory();
+        kitFactory.registerHolidays(name, calendar);
+        return kitFactory.getHolidayCalendar(name);
+    }
+}
@@ -0,0 +1,65 @@
+package net.objectlab.kit.benchmark;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.objectlab.kit.datecalc.common.DateCalculator;
+import net.objectlab.kit.datecalc.common.HolidayHandlerType;
+
+/**
+ * moveByBusinessDays and getNumberOfBusinessDaysBetween for each date backend and calendar size.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DateCalculatorBenchmark {
+    private static final String CALENDAR_NAME = "BENCH";
+
+    @Param({ "DATE", "CALENDAR", "JODA", "JDK8" })
+    private DateBackend backend;
+
+    @Param({ "10", "250", "2500" })
+    private int holidays;
+
+    @Param({ "5", "60" })
+    private int businessDays;
+
+    private DateCalculator<Serializable> calculator;
+    private Serializable startDate;
+    private Serializable endDate;
+
+    @Setup
+    public void setUp() {
+        backend.registerCalendar(CALENDAR_NAME, holidays, 42L);
+        calculator = backend.<Serializable> getFactory().getDateCalculator(CALENDAR_NAME, HolidayHandlerType.FORWARD);
+        startDate = backend.toDate(LocalDate.of(2019, 3, 1));
+        endDate = backend.toDate(LocalDate.of(2019, 3, 1).plusDays(businessDays * 7 / 5));
+    }
+
+    @Benchmark
+    public Serializable moveByBusinessDays() {
+        calculator.setStartDate(startDate);
+        return calculator.moveByBusinessDays(businessDays).getCurrentBusinessDate();
+    }
+
+    @Benchmark
+    public int getNumberOfBusinessDaysBetween() {
+        return calculator.getNumberOfBusinessDaysBetween(startDate, endDate);
+    }
+}
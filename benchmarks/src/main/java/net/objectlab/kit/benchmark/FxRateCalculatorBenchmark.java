@@ -0,0 +1,79 @@
+package net.objectlab.kit.benchmark;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.objectlab.kit.fxcalc.CurrencyPair;
+import net.objectlab.kit.fxcalc.FxRate;
+import net.objectlab.kit.fxcalc.FxRateCalculator;
+import net.objectlab.kit.fxcalc.FxRateCalculatorBuilder;
+import net.objectlab.kit.fxcalc.FxRateCalculatorImpl;
+import net.objectlab.kit.fxcalc.FxRateImpl;
+import net.objectlab.kit.fxcalc.JdkCurrencyProvider;
+import net.objectlab.kit.util.BigDecimalUtil;
+
+/**
+ * findFx for a direct, inverse and cross (via USD) currency pair, with and without caching of the results.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FxRateCalculatorBenchmark {
+    private static final CurrencyPair EUR_USD = CurrencyPair.of("EUR", "USD");
+    private static final CurrencyPair USD_EUR = CurrencyPair.of("USD", "EUR");
+    private static final CurrencyPair EUR_CHF = CurrencyPair.of("EUR", "CHF");
+
+    @Param({ "false", "true" })
+    private boolean cacheResults;
+
+    private FxRateCalculator calculator;
+
+    @Setup
+    public void setUp() {
+        final JdkCurrencyProvider currencyProvider = new JdkCurrencyProvider();
+        final FxRateCalculatorBuilder builder = new FxRateCalculatorBuilder() //
+                .addRateSnapshot(rate("EUR", "USD", "1.1351", "1.1352", currencyProvider)) //
+                .addRateSnapshot(rate("GBP", "USD", "1.3150", "1.3152", currencyProvider)) //
+                .addRateSnapshot(rate("USD", "CHF", "0.9987", "0.9989", currencyProvider)) //
+                .addRateSnapshot(rate("USD", "JPY", "111.51", "111.53", currencyProvider)) //
+                .orderedCurrenciesForCross(Arrays.asList("USD")) //
+                .cacheResults(cacheResults);
+        calculator = new FxRateCalculatorImpl(builder);
+    }
+
+    private static FxRate rate(final String ccy1, final String ccy2, final String bid, final String ask,
+            final JdkCurrencyProvider currencyProvider) {
+        return new FxRateImpl(CurrencyPair.of(ccy1, ccy2), null, true, BigDecimalUtil.bd(bid), BigDecimalUtil.bd(ask), currencyProvider);
+    }
+
+    @Benchmark
+    public Optional<FxRate> direct() {
+        return calculator.findFx(EUR_USD);
+    }
+
+    @Benchmark
+    public Optional<FxRate> inverse() {
+        return calculator.findFx(USD_EUR);
+    }
+
+    @Benchmark
+    public Optional<FxRate> cross() {
+        return calculator.findFx(EUR_CHF);
+    }
+}
@@ -0,0 +1,80 @@
+package net.objectlab.kit.benchmark;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.objectlab.kit.pf.AssetDetails;
+import net.objectlab.kit.pf.BasicAsset;
+import net.objectlab.kit.pf.BasicLine;
+import net.objectlab.kit.pf.BasicPortfolio;
+import net.objectlab.kit.pf.ExistingPortfolioLine;
+import net.objectlab.kit.pf.ValidationResults;
+import net.objectlab.kit.pf.ucits.BasicUcitsConcentrationValidator;
+import net.objectlab.kit.util.BigDecimalUtil;
+
+/**
+ * BasicUcitsConcentrationValidator.validate for portfolios of increasing size, assets spread over a number of issuers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class UcitsValidatorBenchmark {
+    @Param({ "50", "500", "5000" })
+    private int lines;
+
+    private BasicUcitsConcentrationValidator validator;
+    private BasicPortfolio portfolio;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(42L);
+        final Map<String, AssetDetails> assets = new HashMap<>();
+        final List<ExistingPortfolioLine> portfolioLines = new ArrayList<>();
+        BigDecimal total = BigDecimal.ZERO;
+        final int issuers = Math.max(1, lines / 4);
+        for (int i = 0; i < lines; i++) {
+            final String assetCode = "ASSET" + i;
+            assets.put(assetCode, new BasicAsset(assetCode, "Asset " + i, "ISSUER" + random.nextInt(issuers)));
+            final BigDecimal price = BigDecimalUtil.bd("1.5");
+            final BigDecimal quantity = BigDecimal.valueOf(1_000 + random.nextInt(100_000));
+            final BigDecimal value = price.multiply(quantity);
+            total = total.add(value);
+            portfolioLines.add(new BasicLine(assetCode, "Asset " + i, price, quantity, value));
+        }
+
+        portfolio = new BasicPortfolio();
+        portfolio.setId("BENCH");
+        portfolio.setPortfolioCcy("EUR");
+        portfolio.setPortfolioValue(total);
+        portfolio.setLines(portfolioLines);
+
+        validator = new BasicUcitsConcentrationValidator(new BasicUcitsConcentrationValidator.Builder() //
+                .assetDetailsProvider(assets::get) //
+                .assetEligibilityProvider(assetCode -> assetCode.hashCode() % 10 != 0));
+    }
+
+    @Benchmark
+    public ValidationResults validate() {
+        return validator.validate(portfolio);
+    }
+}
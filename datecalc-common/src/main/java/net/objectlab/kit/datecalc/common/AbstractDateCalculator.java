@@ -34,6 +34,7 @@ package net.objectlab.kit.datecalc.common;
 
 import static net.objectlab.kit.datecalc.common.HolidayHandlerType.BACKWARD;
 import static net.objectlab.kit.datecalc.common.HolidayHandlerType.FORWARD;
+import static net.objectlab.kit.datecalc.common.HolidayHandlerType.FORWARD_UNLESS_MOVING_BACK;
 import static net.objectlab.kit.datecalc.common.HolidayHandlerType.MODIFIED_FOLLOWING;
 import static net.objectlab.kit.datecalc.common.HolidayHandlerType.MODIFIED_PRECEDING;
 
@@ -321,6 +322,10 @@ public abstract class AbstractDateCalculator<E extends Serializable> implements
     public DateCalculator<E> moveByBusinessDays(final int businessDays) {
         checkHolidayValidity(businessDays);
 
+        if (businessDays != 0 && moveByBusinessDayOrdinals(businessDays)) {
+            return this;
+        }
+
         final int numberOfStepsLeft = Math.abs(businessDays);
         final int step = businessDays < 0 ? -1 : 1;
 
@@ -331,6 +336,75 @@ public abstract class AbstractDateCalculator<E extends Serializable> implements
         return this;
     }
 
+    /**
+     * Jump straight to the target business day if the holiday handler only skips non-working
+     * days in the direction of travel (forward, backward or forward unless moving back) and both
+     * current and target dates are covered by the business day ordinals of the calendar.
+     * @return false if the ordinals cannot be used and the caller must move step by step.
+     */
+    private boolean moveByBusinessDayOrdinals(final int businessDays) {
+        if (holidayHandler == null) {
+            return false;
+        }
+        final String type = holidayHandler.getType();
+        if (!FORWARD.equals(type) && !BACKWARD.equals(type) && !FORWARD_UNLESS_MOVING_BACK.equals(type)) {
+            return false;
+        }
+        final HolidayIndex<E> index = holidayCalendar.getHolidayIndex();
+        final BusinessDayOrdinals ordinals = getBusinessDayOrdinals(index);
+        if (ordinals == null) {
+            return false;
+        }
+        final int day = index.toEpochDay(getCurrentBusinessDate());
+        final int target = ordinals.moveByBusinessDays(day, businessDays);
+        if (target == BusinessDayOrdinals.NOT_COVERED || !isWithinBoundaries(index, day) || !isWithinBoundaries(index, target)) {
+            return false;
+        }
+        moveByDays(target - day);
+        setCurrentIncrement(businessDays < 0 ? -1 : 1);
+        return true;
+    }
+
+    /**
+     * Count the business days in [start, end) using the business day ordinals of the calendar.
+     * @return the number of business days or -1 if the range is not covered, in which case the
+     * caller should count day by day.
+     * @since 1.4.4
+     */
+    protected int countBusinessDays(final E start, final E end) {
+        final HolidayIndex<E> index = holidayCalendar.getHolidayIndex();
+        final BusinessDayOrdinals ordinals = getBusinessDayOrdinals(index);
+        if (ordinals == null) {
+            return -1;
+        }
+        final int from = index.toEpochDay(start);
+        final int to = index.toEpochDay(end);
+        if (to > from && (!isWithinBoundaries(index, from) || !isWithinBoundaries(index, to - 1))) {
+            return -1;
+        }
+        return ordinals.countBusinessDays(from, to);
+    }
+
+    private BusinessDayOrdinals getBusinessDayOrdinals(final HolidayIndex<E> index) {
+        final WorkingWeek workingWeek = getWorkingWeek();
+        return index != null && workingWeek != null ? index.getBusinessDayOrdinals(workingWeek) : null;
+    }
+
+    private boolean isWithinBoundaries(final HolidayIndex<E> index, final int day) {
+        final E early = holidayCalendar.getEarlyBoundary();
+        final E late = holidayCalendar.getLateBoundary();
+        return (early == null || index.toEpochDay(early) <= day) && (late == null || index.toEpochDay(late) >= day);
+    }
+
+    /**
+     * Provides the WorkingWeek used by isWeekend, so that the business day ordinals
+     * can be used; if null, business days are counted day by day.
+     * @since 1.4.4
+     */
+    protected WorkingWeek getWorkingWeek() {
+        return null;
+    }
+
     private void checkHolidayValidity(final int businessDays) {
         if (businessDays > 0 && holidayHandler != null
                 && (holidayHandler.getType().equals(BACKWARD) || holidayHandler.getType().equals(MODIFIED_PRECEDING))) {
@@ -38,6 +38,8 @@ import java.util.HashSet;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import net.objectlab.kit.datecalc.common.ccy.CurrencyCalculatorConfig;
 import net.objectlab.kit.datecalc.common.ccy.DefaultCurrencyCalculatorConfig;
@@ -56,7 +58,14 @@ public abstract class AbstractKitCalculatorsFactory<E extends Serializable> impl
 
     private final ConcurrentMap<String, HolidayCalendar<E>> holidays = new ConcurrentHashMap<>();
 
-    private CurrencyCalculatorConfig currencyCalculatorConfig = new DefaultCurrencyCalculatorConfig();
+    /** ccy1 -> ccy2 -> calculator per SpotLag ordinal, so that a lookup does not allocate a key. */
+    private final ConcurrentMap<String, ConcurrentMap<String, AtomicReferenceArray<CachedCurrencyCalculator<E>>>> currencyCalculators =
+            new ConcurrentHashMap<>();
+
+    /** Incremented before the currency calculators are cleared, so that a calculator built before is not cached. */
+    private final AtomicLong generation = new AtomicLong();
+
+    private volatile CurrencyCalculatorConfig currencyCalculatorConfig = new DefaultCurrencyCalculatorConfig();
 
     /**
      * Use this method register a specific currency config, if not provided then the DefaultCurrencyCalculatorConfig will be given.
@@ -65,6 +74,7 @@ public abstract class AbstractKitCalculatorsFactory<E extends Serializable> impl
     @Override
     public void setCurrencyCalculatorConfig(final CurrencyCalculatorConfig config) {
         currencyCalculatorConfig = config;
+        clearCurrencyCalculators();
     }
 
     /**
@@ -98,12 +108,11 @@ public abstract class AbstractKitCalculatorsFactory<E extends Serializable> impl
             if (holidaysCalendar != null && holidaysCalendar.getHolidays() != null) {
                 hol.addAll(holidaysCalendar.getHolidays());
             }
-            final DefaultHolidayCalendar<E> defaultHolidayCalendar = new DefaultHolidayCalendar<>(hol);
-            if (holidaysCalendar != null) {
-                defaultHolidayCalendar.setEarlyBoundary(holidaysCalendar.getEarlyBoundary());
-                defaultHolidayCalendar.setLateBoundary(holidaysCalendar.getLateBoundary());
-            }
-            this.holidays.put(name, new ImmutableHolidayCalendar<E>(holidaysCalendar));
+            final DefaultHolidayCalendar<E> defaultHolidayCalendar = holidaysCalendar != null
+                    ? new DefaultHolidayCalendar<>(hol, holidaysCalendar.getEarlyBoundary(), holidaysCalendar.getLateBoundary())
+                    : new DefaultHolidayCalendar<>(hol);
+            this.holidays.put(name, new ImmutableHolidayCalendar<E>(defaultHolidayCalendar));
+            clearCurrencyCalculators();
         }
         return this;
     }
@@ -156,6 +165,7 @@ public abstract class AbstractKitCalculatorsFactory<E extends Serializable> impl
     @Override
     public KitCalculatorsFactory<E> unregisterHolidayCalendar(final String calendarName) {
         holidays.remove(calendarName);
+        clearCurrencyCalculators();
         return this;
     }
 
@@ -165,9 +175,84 @@ public abstract class AbstractKitCalculatorsFactory<E extends Serializable> impl
     @Override
     public KitCalculatorsFactory<E> unregisterAllHolidayCalendars() {
         holidays.clear();
+        clearCurrencyCalculators();
         return this;
     }
 
+    /**
+     * Used by extensions to implement getDefaultCurrencyDateCalculator: provides the immutable calculator built
+     * from getDefaultCurrencyDateCalculatorBuilder, cached per currency pair and SpotLag. The cache is cleared
+     * when any holiday calendar or the CurrencyCalculatorConfig is registered or unregistered, and a calculator is
+     * rebuilt if the {@link CurrencyCalculatorConfig#getVersion()} of the config has changed since. A cache hit
+     * does not allocate.
+     * @since 1.4.4
+     */
+    @SuppressWarnings("unchecked")
+    protected <C extends CurrencyDateCalculator<E>> C getCachedCurrencyDateCalculator(final String ccy1, final String ccy2, final SpotLag spotLag) {
+        if (ccy1 == null || ccy2 == null || spotLag == null) {
+            // let the builder report what is missing
+            return (C) buildCurrencyDateCalculator(getDefaultCurrencyDateCalculatorBuilder(ccy1, ccy2, spotLag));
+        }
+        final CurrencyCalculatorConfig config = getCurrencyCalculatorConfig();
+        final AtomicReferenceArray<CachedCurrencyCalculator<E>> calculators = cachedCurrencyCalculators(ccy1, ccy2);
+        final int index = spotLag.ordinal();
+        final CachedCurrencyCalculator<E> cached = calculators.get(index);
+        if (cached != null && cached.isBuiltWith(config)) {
+            return (C) cached.calculator;
+        }
+
+        // stamps taken before building, a change made during the build forces another one next time
+        final long built = generation.get();
+        final long version = config.getVersion();
+        final CachedCurrencyCalculator<E> candidate = new CachedCurrencyCalculator<>(config, version,
+                buildCurrencyDateCalculator(getDefaultCurrencyDateCalculatorBuilder(ccy1, ccy2, spotLag)));
+        if (calculators.compareAndSet(index, cached, candidate)) {
+            if (generation.get() != built) {
+                // calendars or config changed while building, do not keep a calculator that may be stale
+                calculators.compareAndSet(index, candidate, null);
+            }
+            return (C) candidate.calculator;
+        }
+        final CachedCurrencyCalculator<E> existing = calculators.get(index);
+        return (C) (existing != null && existing.isBuiltWith(config) ? existing.calculator : candidate.calculator);
+    }
+
+    private AtomicReferenceArray<CachedCurrencyCalculator<E>> cachedCurrencyCalculators(final String ccy1, final String ccy2) {
+        // get before computeIfAbsent, which may lock even if the key exists
+        ConcurrentMap<String, AtomicReferenceArray<CachedCurrencyCalculator<E>>> byCcy2 = currencyCalculators.get(ccy1);
+        if (byCcy2 == null) {
+            byCcy2 = currencyCalculators.computeIfAbsent(ccy1, k -> new ConcurrentHashMap<>());
+        }
+        final AtomicReferenceArray<CachedCurrencyCalculator<E>> bySpotLag = byCcy2.get(ccy2);
+        return bySpotLag != null ? bySpotLag : byCcy2.computeIfAbsent(ccy2, k -> new AtomicReferenceArray<>(SpotLag.values().length));
+    }
+
+    private void clearCurrencyCalculators() {
+        generation.incrementAndGet();
+        currencyCalculators.clear();
+    }
+
+    /**
+     * A cached calculator with the config instance and version it was built with.
+     */
+    private static final class CachedCurrencyCalculator<E> {
+        private final CurrencyCalculatorConfig config;
+
+        private final long version;
+
+        private final CurrencyDateCalculator<E> calculator;
+
+        private CachedCurrencyCalculator(final CurrencyCalculatorConfig config, final long version, final CurrencyDateCalculator<E> calculator) {
+            this.config = config;
+            this.version = version;
+            this.calculator = calculator;
+        }
+
+        private boolean isBuiltWith(final CurrencyCalculatorConfig current) {
+            return current == config && current.getVersion() == version;
+        }
+    }
+
     /**
      * Method that may be called by the specialised factory methods and will fetch the registered holidayCalendar for all 3 currencies 
      * and the working weeks via the currencyCalculatorConfig and assigning currencyCalculatorConfig to the builder, 
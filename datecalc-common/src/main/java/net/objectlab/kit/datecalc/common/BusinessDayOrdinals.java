@@ -0,0 +1,151 @@
+/*
+ * ObjectLab, http://www.objectlab.co.uk/open is sponsoring the ObjectLab Kit.
+ *
+ * Based in London, we are world leaders in the design and development
+ * of bespoke applications for the securities financing markets.
+ *
+ * <a href="http://www.objectlab.co.uk/open">Click here to learn more</a>
+ *           ___  _     _           _   _          _
+ *          / _ \| |__ (_) ___  ___| |_| |    __ _| |__
+ *         | | | | '_ \| |/ _ \/ __| __| |   / _` | '_ \
+ *         | |_| | |_) | |  __/ (__| |_| |__| (_| | |_) |
+ *          \___/|_.__// |\___|\___|\__|_____\__,_|_.__/
+ *                   |__/
+ *
+ *                     www.ObjectLab.co.uk
+ *
+ * Copyright 2006 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package net.objectlab.kit.datecalc.common;
+
+import java.io.Serializable;
+
+/**
+ * Cumulative business-day ordinals for a HolidayIndex and a WorkingWeek over the range
+ * covered by the index; counting or moving by business days becomes a couple of
+ * array lookups instead of a day by day walk.
+ *
+ * Obtain it via {@link HolidayIndex#getBusinessDayOrdinals(WorkingWeek)} so that it is
+ * built once per calendar and working week.
+ *
+ * @author Benoit Xhenseval
+ * @since 1.4.4
+ */
+public final class BusinessDayOrdinals implements Serializable {
+    /**
+     * Returned by {@link #moveByBusinessDays(int, int)} if the result falls outside the range.
+     */
+    public static final int NOT_COVERED = Integer.MIN_VALUE;
+
+    private static final long serialVersionUID = 3370461829519745208L;
+
+    private static final int DAYS_IN_WEEK = 7;
+
+    /** 1970-01-01 was a Thursday, ISO day 4, i.e. index 3 from Monday. */
+    private static final int EPOCH_DAY_OF_WEEK_OFFSET = 3;
+
+    private final int firstDay;
+
+    private final int lastDay;
+
+    /** number of business days in [firstDay, firstDay + i) */
+    private final int[] ordinals;
+
+    /** epoch day of each business day, in order */
+    private final int[] businessDays;
+
+    BusinessDayOrdinals(final HolidayIndex<?> index, final WorkingWeek workingWeek) {
+        firstDay = index.getFirstDay();
+        lastDay = index.getLastDay();
+        final int days = Math.max(0, lastDay - firstDay + 1);
+        ordinals = new int[days + 1];
+        final int[] working = new int[days];
+        final byte workingDays = workingWeek.getWorkingDays();
+        int count = 0;
+        for (int i = 0; i < days; i++) {
+            ordinals[i] = count;
+            final int day = firstDay + i;
+            if (isWorkingDay(workingDays, day) && !index.isHoliday(day)) {
+                working[count++] = day;
+            }
+        }
+        ordinals[days] = count;
+        businessDays = new int[count];
+        System.arraycopy(working, 0, businessDays, 0, count);
+    }
+
+    /**
+     * @param workingDays the WorkingWeek bitmask (1 Monday, 2 Tuesday... 64 Sunday)
+     * @param epochDay number of days since 1970-01-01
+     * @return true if the day of week of epochDay is a working day
+     */
+    public static boolean isWorkingDay(final byte workingDays, final int epochDay) {
+        return (workingDays & 1 << Math.floorMod(epochDay + EPOCH_DAY_OF_WEEK_OFFSET, DAYS_IN_WEEK)) != 0;
+    }
+
+    /**
+     * @return true if the day is within the range of the ordinals.
+     */
+    public boolean covers(final int epochDay) {
+        return epochDay >= firstDay && epochDay <= lastDay;
+    }
+
+    /**
+     * @return true if the day is covered and neither a weekend nor a holiday.
+     */
+    public boolean isBusinessDay(final int epochDay) {
+        return covers(epochDay) && ordinals[epochDay - firstDay + 1] != ordinals[epochDay - firstDay];
+    }
+
+    /**
+     * Number of business days in [fromDay, toDay), fromDay must be covered and toDay may
+     * be at most one day after the last covered day.
+     * @return the number of business days or -1 if the range is not covered.
+     */
+    public int countBusinessDays(final int fromDay, final int toDay) {
+        if (toDay <= fromDay) {
+            return 0;
+        }
+        if (!covers(fromDay) || toDay > lastDay + 1) {
+            return -1;
+        }
+        return ordinals[toDay - firstDay] - ordinals[fromDay - firstDay];
+    }
+
+    /**
+     * @param businessDay a covered business day
+     * @param businessDaysToMove positive or negative number of business days
+     * @return the epoch day of the resulting business day, or NOT_COVERED if the start
+     * is not a covered business day or the result falls outside the range.
+     */
+    public int moveByBusinessDays(final int businessDay, final int businessDaysToMove) {
+        if (!isBusinessDay(businessDay)) {
+            return NOT_COVERED;
+        }
+        final long target = (long) ordinals[businessDay - firstDay] + businessDaysToMove;
+        if (target < 0 || target >= businessDays.length) {
+            return NOT_COVERED;
+        }
+        return businessDays[(int) target];
+    }
+
+    public int getFirstDay() {
+        return firstDay;
+    }
+
+    public int getLastDay() {
+        return lastDay;
+    }
+}
@@ -1,6 +1,7 @@
 package net.objectlab.kit.datecalc.common;
 
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import net.objectlab.kit.datecalc.common.ccy.CurrencyCalculatorConfig;
 
@@ -42,6 +43,31 @@ public interface CurrencyDateCalculator<E> {
      */
     List<E> calculateTenorDates(E startDate, List<Tenor> tenors);
 
+    /**
+     * Calculate the Spot Date and Tenor Dates for several trade dates in one go, the Spot Date is calculated
+     * once per trade date and reused for all tenors.
+     * @param tradeDates the trade dates, each may be adjusted for the ccy pair if enabled.
+     * @param tenors the list of tenors ('chronological order is not mandatory)
+     * @return the grid of Spot and Tenor Dates (same order as the trade dates and tenors)
+     * @since 1.4.4
+     */
+    default TenorDateGrid<E> calculateGrid(final List<E> tradeDates, final List<Tenor> tenors) {
+        return calculateGrid(tradeDates, tenors, null);
+    }
+
+    /**
+     * Calculate the Spot Date and Tenor Dates for several trade dates, splitting the trade dates across the given pool.
+     * @param tradeDates the trade dates, each may be adjusted for the ccy pair if enabled.
+     * @param tenors the list of tenors ('chronological order is not mandatory)
+     * @param pool the pool to use, if null the grid is calculated in the calling thread.
+     * @return the grid of Spot and Tenor Dates (same order as the trade dates and tenors)
+     * @since 1.4.4
+     * @see TenorDateGrid#of(CurrencyDateCalculator, List, List, ForkJoinPool) for the default implementation.
+     */
+    default TenorDateGrid<E> calculateGrid(final List<E> tradeDates, final List<Tenor> tenors, final ForkJoinPool pool) {
+        return TenorDateGrid.of(this, tradeDates, tenors, pool);
+    }
+
     String getName();
 
     String getCcy1();
@@ -56,6 +56,12 @@ public class DefaultHolidayCalendar<E extends Serializable> implements HolidayCa
      */
     private Map<String, E> holidays;
 
+    /**
+     * Compiled bitset of the holidays, null if the date type has no EpochDayConverter.
+     * @since 1.4.4
+     */
+    private HolidayIndex<E> holidayIndex;
+
     private E earlyBoundary;
 
     private E lateBoundary;
@@ -67,10 +73,9 @@ public class DefaultHolidayCalendar<E extends Serializable> implements HolidayCa
 
     public DefaultHolidayCalendar(final Set<E> holidays, final E earlyBoundary, final E lateBoundary) {
         super();
-        setHolidays(holidays);
-
         this.earlyBoundary = earlyBoundary;
         this.lateBoundary = lateBoundary;
+        setHolidays(holidays);
     }
 
     public DefaultHolidayCalendar(final Set<E> holidays) {
@@ -116,6 +121,7 @@ public class DefaultHolidayCalendar<E extends Serializable> implements HolidayCa
     @Override
     public HolidayCalendar<E> setEarlyBoundary(final E earlyBoundary) {
         this.earlyBoundary = earlyBoundary;
+        compileIndex();
         return this;
     }
 
@@ -129,6 +135,7 @@ public class DefaultHolidayCalendar<E extends Serializable> implements HolidayCa
 
         if (holidays == null) {
             this.holidays = Collections.emptyMap();
+            compileIndex();
             return this;
         }
 
@@ -137,6 +144,7 @@ public class DefaultHolidayCalendar<E extends Serializable> implements HolidayCa
             newSet.put(toString(e), e);
         }
         this.holidays = Collections.unmodifiableMap(newSet);
+        compileIndex();
         return this;
     }
 
@@ -148,12 +156,29 @@ public class DefaultHolidayCalendar<E extends Serializable> implements HolidayCa
     @Override
     public HolidayCalendar<E> setLateBoundary(final E lateBoundary) {
         this.lateBoundary = lateBoundary;
+        compileIndex();
         return this;
     }
 
     @Override
     public boolean isHoliday(final E date) {
-        return holidays.containsKey(toString(date));
+        if (holidayIndex != null) {
+            return holidayIndex.isHoliday(date);
+        }
+        return !holidays.isEmpty() && holidays.containsKey(toString(date));
+    }
+
+    /**
+     * @return the compiled bitset of holidays, null if the date type is not supported by an EpochDayConverter.
+     * @since 1.4.4
+     */
+    @Override
+    public HolidayIndex<E> getHolidayIndex() {
+        return holidayIndex;
+    }
+
+    private void compileIndex() {
+        holidayIndex = HolidayIndex.compile(holidays.values(), earlyBoundary, lateBoundary);
     }
 
     private String toString(final E date) {
@@ -0,0 +1,63 @@
+/*
+ * ObjectLab, http://www.objectlab.co.uk/open is sponsoring the ObjectLab Kit.
+ *
+ * Based in London, we are world leaders in the design and development
+ * of bespoke applications for the securities financing markets.
+ *
+ * <a href="http://www.objectlab.co.uk/open">Click here to learn more</a>
+ *           ___  _     _           _   _          _
+ *          / _ \| |__ (_) ___  ___| |_| |    __ _| |__
+ *         | | | | '_ \| |/ _ \/ __| __| |   / _` | '_ \
+ *         | |_| | |_) | |  __/ (__| |_| |__| (_| | |_) |
+ *          \___/|_.__// |\___|\___|\__|_____\__,_|_.__/
+ *                   |__/
+ *
+ *                     www.ObjectLab.co.uk
+ *
+ * Copyright 2006 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package net.objectlab.kit.datecalc.common;
+
+import java.io.Serializable;
+
+/**
+ * Converts a date representation into a number of days since 1970-01-01 (the
+ * epoch day), so that holidays and business days can be held in primitive
+ * structures rather than being looked up by String or by object equality.
+ *
+ * Implementations for types that are not known by datecalc-common (e.g. Joda
+ * LocalDate) can be registered via {@link EpochDayConverters#register(EpochDayConverter)}
+ * or via the standard <code>java.util.ServiceLoader</code> mechanism.
+ *
+ * @author Benoit Xhenseval
+ * @since 1.4.4
+ *
+ * @param <E>
+ *            a representation of a date, typically JDK: Date, Calendar;
+ *            Joda:LocalDate, JDK8: LocalDate
+ */
+public interface EpochDayConverter<E> extends Serializable {
+    /**
+     * @param dateType the class of the date representation
+     * @return true if this converter can handle instances of that class.
+     */
+    boolean supports(Class<?> dateType);
+
+    /**
+     * @param date a non-null date
+     * @return the number of days since 1970-01-01 (negative if before).
+     */
+    int toEpochDay(E date);
+}
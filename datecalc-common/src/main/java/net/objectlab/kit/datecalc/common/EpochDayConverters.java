@@ -0,0 +1,206 @@
+/*
+ * ObjectLab, http://www.objectlab.co.uk/open is sponsoring the ObjectLab Kit.
+ *
+ * Based in London, we are world leaders in the design and development
+ * of bespoke applications for the securities financing markets.
+ *
+ * <a href="http://www.objectlab.co.uk/open">Click here to learn more</a>
+ *           ___  _     _           _   _          _
+ *          / _ \| |__ (_) ___  ___| |_| |    __ _| |__
+ *         | | | | '_ \| |/ _ \/ __| __| |   / _` | '_ \
+ *         | |_| | |_) | |  __/ (__| |_| |__| (_| | |_) |
+ *          \___/|_.__// |\___|\___|\__|_____\__,_|_.__/
+ *                   |__/
+ *
+ *                     www.ObjectLab.co.uk
+ *
+ * Copyright 2006 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package net.objectlab.kit.datecalc.common;
+
+import java.time.LocalDate;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.TimeZone;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Provides the {@link EpochDayConverter} for a given type of date; JDK Date, Calendar
+ * and JDK8 LocalDate are supported out of the box, other types (e.g. Joda LocalDate)
+ * are discovered via <code>java.util.ServiceLoader</code> or explicit registration.
+ *
+ * Date and Calendar are converted using the default TimeZone at the time the converter
+ * is obtained, which is consistent with the "yyyy-MM-dd" formatting used to key holidays
+ * previously.
+ *
+ * @author Benoit Xhenseval
+ * @since 1.4.4
+ */
+public final class EpochDayConverters {
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+
+    private static final int DAYS_PER_CYCLE = 146_097;
+
+    private static final int DAYS_0000_TO_1970 = DAYS_PER_CYCLE * 5 - (30 * 365 + 7);
+
+    private static final EpochDayConverter<LocalDate> LOCAL_DATE = new LocalDateConverter();
+
+    private static final List<EpochDayConverter<?>> REGISTERED = new CopyOnWriteArrayList<>();
+
+    private static volatile boolean servicesLoaded;
+
+    private EpochDayConverters() {
+    }
+
+    /**
+     * Register a converter for a date type unknown to datecalc-common, the latest registered
+     * converter takes precedence.
+     * @param converter the converter to use.
+     */
+    public static void register(final EpochDayConverter<?> converter) {
+        if (converter != null) {
+            REGISTERED.add(0, converter);
+        }
+    }
+
+    /**
+     * @param dateType the class of the date representation
+     * @return a converter for that type or null if none is available.
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> EpochDayConverter<E> forType(final Class<?> dateType) {
+        if (dateType == null) {
+            return null;
+        }
+        if (LocalDate.class.equals(dateType)) {
+            return (EpochDayConverter<E>) LOCAL_DATE;
+        } else if (Calendar.class.isAssignableFrom(dateType)) {
+            return (EpochDayConverter<E>) new CalendarConverter(TimeZone.getDefault());
+        } else if (Date.class.isAssignableFrom(dateType)) {
+            return (EpochDayConverter<E>) new DateConverter(TimeZone.getDefault());
+        }
+
+        loadServices();
+        for (final EpochDayConverter<?> converter : REGISTERED) {
+            if (converter.supports(dateType)) {
+                return (EpochDayConverter<E>) converter;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Calculate the epoch day of a given ISO date without creating any object.
+     * @param year the proleptic year
+     * @param month 1 (January) to 12 (December)
+     * @param dayOfMonth 1 to 31
+     * @return the number of days since 1970-01-01
+     */
+    public static int epochDay(final int year, final int month, final int dayOfMonth) {
+        final long y = year;
+        long total = 365 * y;
+        if (y >= 0) {
+            total += (y + 3) / 4 - (y + 99) / 100 + (y + 399) / 400;
+        } else {
+            total -= y / -4 - y / -100 + y / -400;
+        }
+        total += (367 * month - 362) / 12;
+        total += dayOfMonth - 1;
+        if (month > 2) {
+            total--;
+            if (!isLeapYear(y)) {
+                total--;
+            }
+        }
+        return (int) (total - DAYS_0000_TO_1970);
+    }
+
+    private static boolean isLeapYear(final long year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    private static int epochDay(final long millis, final TimeZone tz) {
+        return (int) Math.floorDiv(millis + tz.getOffset(millis), MILLIS_PER_DAY);
+    }
+
+    private static void loadServices() {
+        if (!servicesLoaded) {
+            synchronized (REGISTERED) {
+                if (!servicesLoaded) {
+                    for (final EpochDayConverter<?> converter : ServiceLoader.load(EpochDayConverter.class, EpochDayConverters.class.getClassLoader())) {
+                        REGISTERED.add(converter);
+                    }
+                    servicesLoaded = true;
+                }
+            }
+        }
+    }
+
+    private static final class LocalDateConverter implements EpochDayConverter<LocalDate> {
+        private static final long serialVersionUID = 2512839417592263148L;
+
+        @Override
+        public boolean supports(final Class<?> dateType) {
+            return LocalDate.class.equals(dateType);
+        }
+
+        @Override
+        public int toEpochDay(final LocalDate date) {
+            return (int) date.toEpochDay();
+        }
+    }
+
+    private static final class DateConverter implements EpochDayConverter<Date> {
+        private static final long serialVersionUID = -3360150383127478427L;
+
+        private final TimeZone timeZone;
+
+        private DateConverter(final TimeZone timeZone) {
+            this.timeZone = timeZone;
+        }
+
+        @Override
+        public boolean supports(final Class<?> dateType) {
+            return Date.class.isAssignableFrom(dateType);
+        }
+
+        @Override
+        public int toEpochDay(final Date date) {
+            return epochDay(date.getTime(), timeZone);
+        }
+    }
+
+    private static final class CalendarConverter implements EpochDayConverter<Calendar> {
+        private static final long serialVersionUID = 4716353207381398227L;
+
+        private final TimeZone timeZone;
+
+        private CalendarConverter(final TimeZone timeZone) {
+            this.timeZone = timeZone;
+        }
+
+        @Override
+        public boolean supports(final Class<?> dateType) {
+            return Calendar.class.isAssignableFrom(dateType);
+        }
+
+        @Override
+        public int toEpochDay(final Calendar date) {
+            return epochDay(date.getTimeInMillis(), timeZone);
+        }
+    }
+}
@@ -73,6 +73,15 @@ public interface HolidayCalendar<E> extends ReadOnlyHolidayCalendar<E> {
      * @return true if the given date is in the holiday set.
      */
     boolean isHoliday(final E date);
+
+    /**
+     * Provides the compiled holiday index, if this calendar has one.
+     * @return the index or null if the holidays cannot be compiled (e.g. no converter for the date type).
+     * @since 1.4.4
+     */
+    default HolidayIndex<E> getHolidayIndex() {
+        return null;
+    }
 }
 
 /*
@@ -0,0 +1,202 @@
+/*
+ * ObjectLab, http://www.objectlab.co.uk/open is sponsoring the ObjectLab Kit.
+ *
+ * Based in London, we are world leaders in the design and development
+ * of bespoke applications for the securities financing markets.
+ *
+ * <a href="http://www.objectlab.co.uk/open">Click here to learn more</a>
+ *           ___  _     _           _   _          _
+ *          / _ \| |__ (_) ___  ___| |_| |    __ _| |__
+ *         | | | | '_ \| |/ _ \/ __| __| |   / _` | '_ \
+ *         | |_| | |_) | |  __/ (__| |_| |__| (_| | |_) |
+ *          \___/|_.__// |\___|\___|\__|_____\__,_|_.__/
+ *                   |__/
+ *
+ *                     www.ObjectLab.co.uk
+ *
+ * Copyright 2006 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package net.objectlab.kit.datecalc.common;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Immutable, compiled view of a set of holidays: each holiday is a bit in a packed
+ * bitset of epoch days between the earliest and latest of the holidays and calendar
+ * boundaries. Lookups are O(1) and do not create any object.
+ *
+ * @author Benoit Xhenseval
+ * @since 1.4.4
+ *
+ * @param <E>
+ *            a representation of a date, typically JDK: Date, Calendar;
+ *            Joda:LocalDate, JDK8: LocalDate
+ */
+public final class HolidayIndex<E> implements Serializable {
+    private static final long serialVersionUID = -2468305713874201346L;
+
+    private static final int ADDRESS_BITS_PER_WORD = 6;
+
+    private final EpochDayConverter<E> converter;
+
+    private final int firstDay;
+
+    private final int lastDay;
+
+    private final long[] bits;
+
+    /** built on demand per WorkingWeek mask */
+    private transient volatile ConcurrentMap<Byte, BusinessDayOrdinals> businessDayOrdinals;
+
+    private HolidayIndex(final EpochDayConverter<E> converter, final int firstDay, final int lastDay, final long[] bits) {
+        this.converter = converter;
+        this.firstDay = firstDay;
+        this.lastDay = lastDay;
+        this.bits = bits;
+    }
+
+    /**
+     * Compile the holidays using the converter registered for the type of date found in the
+     * holidays or boundaries.
+     * @return the index or null if there is no date to find the type from or no converter for that type.
+     */
+    public static <E> HolidayIndex<E> compile(final Collection<E> holidays, final E earlyBoundary, final E lateBoundary) {
+        E sample = earlyBoundary != null ? earlyBoundary : lateBoundary;
+        if (sample == null && holidays != null) {
+            for (final E holiday : holidays) {
+                if (holiday != null) {
+                    sample = holiday;
+                    break;
+                }
+            }
+        }
+        if (sample == null) {
+            return null;
+        }
+        final EpochDayConverter<E> converter = EpochDayConverters.forType(sample.getClass());
+        return converter != null ? compile(converter, holidays, earlyBoundary, lateBoundary) : null;
+    }
+
+    /**
+     * Compile the holidays using a given converter.
+     */
+    public static <E> HolidayIndex<E> compile(final EpochDayConverter<E> converter, final Collection<E> holidays, final E earlyBoundary,
+            final E lateBoundary) {
+        int first = Integer.MAX_VALUE;
+        int last = Integer.MIN_VALUE;
+        if (earlyBoundary != null) {
+            first = converter.toEpochDay(earlyBoundary);
+            last = first;
+        }
+        if (lateBoundary != null) {
+            final int day = converter.toEpochDay(lateBoundary);
+            first = Math.min(first, day);
+            last = Math.max(last, day);
+        }
+
+        final int[] days = new int[holidays != null ? holidays.size() : 0];
+        int count = 0;
+        if (holidays != null) {
+            for (final E holiday : holidays) {
+                if (holiday != null) {
+                    final int day = converter.toEpochDay(holiday);
+                    days[count++] = day;
+                    first = Math.min(first, day);
+                    last = Math.max(last, day);
+                }
+            }
+        }
+
+        if (first > last) {
+            return new HolidayIndex<>(converter, 0, -1, new long[0]);
+        }
+
+        final long[] bits = new long[(last - first >>> ADDRESS_BITS_PER_WORD) + 1];
+        for (int i = 0; i < count; i++) {
+            final int offset = days[i] - first;
+            bits[offset >>> ADDRESS_BITS_PER_WORD] |= 1L << offset;
+        }
+        return new HolidayIndex<>(converter, first, last, bits);
+    }
+
+    /**
+     * @return true if the date is a holiday, false if null or not a holiday.
+     */
+    public boolean isHoliday(final E date) {
+        return date != null && isHoliday(converter.toEpochDay(date));
+    }
+
+    /**
+     * @param epochDay number of days since 1970-01-01
+     * @return true if the day is a holiday.
+     */
+    public boolean isHoliday(final int epochDay) {
+        if (epochDay < firstDay || epochDay > lastDay) {
+            return false;
+        }
+        final int offset = epochDay - firstDay;
+        return (bits[offset >>> ADDRESS_BITS_PER_WORD] & 1L << offset) != 0;
+    }
+
+    /**
+     * @return the number of days since 1970-01-01 for the given non-null date.
+     */
+    public int toEpochDay(final E date) {
+        return converter.toEpochDay(date);
+    }
+
+    /**
+     * Provides the business day ordinals for this index and the given working week, built
+     * once and shared by all calculators using the same calendar and working week.
+     * @param workingWeek the working week
+     * @return the ordinals over the range of this index.
+     */
+    public BusinessDayOrdinals getBusinessDayOrdinals(final WorkingWeek workingWeek) {
+        ConcurrentMap<Byte, BusinessDayOrdinals> cache = businessDayOrdinals;
+        if (cache == null) {
+            synchronized (this) {
+                cache = businessDayOrdinals;
+                if (cache == null) {
+                    cache = new ConcurrentHashMap<>();
+                    businessDayOrdinals = cache;
+                }
+            }
+        }
+        final BusinessDayOrdinals ordinals = cache.get(workingWeek.getWorkingDays());
+        return ordinals != null ? ordinals : cache.computeIfAbsent(workingWeek.getWorkingDays(), k -> new BusinessDayOrdinals(this, workingWeek));
+    }
+
+    public EpochDayConverter<E> getConverter() {
+        return converter;
+    }
+
+    /**
+     * @return the first epoch day covered by the index (holidays and boundaries).
+     */
+    public int getFirstDay() {
+        return firstDay;
+    }
+
+    /**
+     * @return the last epoch day covered by the index (holidays and boundaries), lower than
+     * the first day if the index is empty.
+     */
+    public int getLastDay() {
+        return lastDay;
+    }
+}
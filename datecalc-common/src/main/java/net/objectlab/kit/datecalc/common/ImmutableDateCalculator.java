@@ -0,0 +1,140 @@
+/*
+ * ObjectLab, http://www.objectlab.co.uk/open is sponsoring the ObjectLab Kit.
+ *
+ * Based in London, we are world leaders in the design and development
+ * of bespoke applications for the securities financing markets.
+ *
+ * <a href="http://www.objectlab.co.uk/open">Click here to learn more</a>
+ *           ___  _     _           _   _          _
+ *          / _ \| |__ (_) ___  ___| |_| |    __ _| |__
+ *         | | | | '_ \| |/ _ \/ __| __| |   / _` | '_ \
+ *         | |_| | |_) | |  __/ (__| |_| |__| (_| | |_) |
+ *          \___/|_.__// |\___|\___|\__|_____\__,_|_.__/
+ *                   |__/
+ *
+ *                     www.ObjectLab.co.uk
+ *
+ * Copyright 2006 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package net.objectlab.kit.datecalc.common;
+
+/**
+ * A stateless alternative to {@link DateCalculator}: it holds no start or current business
+ * date, every method takes the date to work from and returns the result. An instance is
+ * immutable and can be shared by all threads, typically one per calendar name and
+ * HolidayHandler type.
+ *
+ * The results are the same as a DateCalculator with the same calendar, WorkingWeek and
+ * HolidayHandler, e.g. <code>addBusinessDays(date, n)</code> gives
+ * <code>setCurrentBusinessDate(date); moveByBusinessDays(n).getCurrentBusinessDate()</code>.
+ *
+ * @author Benoit Xhenseval
+ * @since 1.4.4
+ *
+ * @param <E>
+ *            a representation of a date, typically JDK8: LocalDate
+ */
+public interface ImmutableDateCalculator<E> extends NonWorkingDayChecker<E> {
+
+    /**
+     * @return calculator name (Typically the name associated with the holiday set).
+     */
+    String getName();
+
+    /**
+     * @return the type of holiday handler, null if the calculator does not move dates
+     * falling on non-working days.
+     */
+    String getHolidayHandlerType();
+
+    /**
+     * @return the immutable holiday calendar.
+     */
+    HolidayCalendar<E> getHolidayCalendar();
+
+    /**
+     * @return the immutable working week.
+     */
+    WorkingWeek getWorkingWeek();
+
+    /**
+     * Is the given date falling on a weekend, according to the WorkingWeek.
+     *
+     * @return true if the date falls on a weekend.
+     */
+    boolean isWeekend(E date);
+
+    /**
+     * Move the date according to the HolidayHandler if it falls on a non-working day.
+     *
+     * @param date the date to adjust
+     * @return the adjusted date (same date if working day or no HolidayHandler).
+     * @throws IndexOutOfBoundsException if the date is outside the calendar boundaries.
+     */
+    E adjust(E date);
+
+    /**
+     * Move the adjusted date by a number of calendar days and adjust the result.
+     *
+     * @param date the start date
+     * @param days number of days, can be negative
+     * @return the new adjusted date.
+     */
+    E addDays(E date, int days);
+
+    /**
+     * Move the adjusted date by a number of business days.
+     *
+     * @param date the start date
+     * @param businessDays number of business days, can be negative
+     * @return the new date.
+     * @throws IllegalArgumentException if the direction is not allowed by the HolidayHandler
+     * (e.g. positive steps with a backward handler).
+     */
+    E addBusinessDays(E date, int businessDays);
+
+    /**
+     * Move the adjusted date by a given tenor from spot, if the spot lag is not 0.
+     *
+     * @param date the trade date
+     * @param tenor the tenor
+     * @param spotLag number of business days to spot
+     * @return the tenor date.
+     */
+    E applyTenor(E date, Tenor tenor, int spotLag);
+
+    /**
+     * @return the number of business days between 2 dates, negative if d1 is after d2.
+     */
+    int getNumberOfBusinessDaysBetween(E d1, E d2);
+}
+
+
+/*
+ * ObjectLab, http://www.objectlab.co.uk/open is sponsoring the ObjectLab Kit.
+ *
+ * Based in London, we are world leaders in the design and development
+ * of bespoke applications for the securities financing markets.
+ *
+ * <a href="http://www.objectlab.co.uk/open">Click here to learn more about us</a>
+ *           ___  _     _           _   _          _
+ *          / _ \| |__ (_) ___  ___| |_| |    __ _| |__
+ *         | | | | '_ \| |/ _ \/ __| __| |   / _` | '_ \
+ *         | |_| | |_) | |  __/ (__| |_| |__| (_| | |_) |
+ *          \___/|_.__// |\___|\___|\__|_____\__,_|_.__/
+ *                   |__/
+ *
+ *                     www.ObjectLab.co.uk
+ */
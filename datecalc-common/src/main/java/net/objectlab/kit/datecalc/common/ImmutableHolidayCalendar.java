@@ -95,4 +95,13 @@ public class ImmutableHolidayCalendar<E> implements HolidayCalendar<E> {
     public boolean isHoliday(final E date) {
         return delegate.isHoliday(date);
     }
+
+    /**
+     * @return the compiled holiday index of the delegate, if any.
+     * @see net.objectlab.kit.datecalc.common.HolidayCalendar#getHolidayIndex()
+     */
+    @Override
+    public HolidayIndex<E> getHolidayIndex() {
+        return delegate.getHolidayIndex();
+    }
 }
@@ -75,8 +75,9 @@ public interface KitCalculatorsFactory<E extends Serializable> {
     CurrencyDateCalculator<E> buildCurrencyDateCalculator(CurrencyDateCalculatorBuilder<E> builder);
 
     /**
-     * Create a new IMMUTABLE CurrencyDateCalculator specialised for 2 currencies, including WorkingWeek, calendars
-     * registered and CurrencyCalculatorConfig.
+     * Provides an IMMUTABLE CurrencyDateCalculator specialised for 2 currencies, including WorkingWeek, calendars
+     * registered and CurrencyCalculatorConfig. The calculator is cached per currency pair and SpotLag until
+     * a holiday calendar or the CurrencyCalculatorConfig is registered or unregistered.
      *
      * NOTE that USD currency holiday must also be registered.
      *
@@ -86,7 +87,7 @@ public interface KitCalculatorsFactory<E extends Serializable> {
      *            second currency, will pick up the holiday set for this ccy.
      * @param spotLag
      *            the number of days between tradeDate and spotDate.
-     * @return a new CurrencyDateCalculator
+     * @return a cached CurrencyDateCalculator
      * @exception IllegalArgumentException
      *                if the type is not null or a valid value.
      * @since 1.4.0
@@ -0,0 +1,202 @@
+/*
+ * ObjectLab, http://www.objectlab.co.uk/open is sponsoring the ObjectLab Kit.
+ *
+ * Based in London, we are world leaders in the design and development
+ * of bespoke applications for the securities financing markets.
+ *
+ * <a href="http://www.objectlab.co.uk/open">Click here to learn more</a>
+ *           ___  _     _           _   _          _
+ *          / _ \| |__ (_) ___  ___| |_| |    __ _| |__
+ *         | | | | '_ \| |/ _ \/ __| __| |   / _` | '_ \
+ *         | |_| | |_) | |  __/ (__| |_| |__| (_| | |_) |
+ *          \___/|_.__// |\___|\___|\__|_____\__,_|_.__/
+ *                   |__/
+ *
+ *                     www.ObjectLab.co.uk
+ *
+ * Copyright 2006 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package net.objectlab.kit.datecalc.common;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Immutable, precombined bitmap of the non-working days of several WorkingWeek/HolidayCalendar
+ * pairs: a day is non-working if it is a weekend or a holiday for ANY of them. This lets
+ * currency pair calculators check and skip non-working days with a single lookup instead of
+ * checking each calendar in turn.
+ *
+ * The bitmap covers the union of the ranges of the HolidayIndex of each calendar, outside that
+ * range only the working weeks apply.
+ *
+ * @author Benoit Xhenseval
+ * @since 1.4.4
+ *
+ * @param <E>
+ *            a representation of a date, typically JDK: Date, Calendar;
+ *            Joda:LocalDate, JDK8: LocalDate
+ */
+public final class NonWorkingDayIndex<E> implements Serializable {
+    private static final long serialVersionUID = 5306214628517386211L;
+
+    private static final int ADDRESS_BITS_PER_WORD = 6;
+
+    private static final int BITS_PER_WORD = 1 << ADDRESS_BITS_PER_WORD;
+
+    private final EpochDayConverter<E> converter;
+
+    private final int firstDay;
+
+    private final int lastDay;
+
+    /** bit set if the day is non-working */
+    private final long[] bits;
+
+    /** days of week that are working days for all the working weeks */
+    private final byte workingDays;
+
+    private NonWorkingDayIndex(final EpochDayConverter<E> converter, final int firstDay, final int lastDay, final long[] bits,
+            final byte workingDays) {
+        this.converter = converter;
+        this.firstDay = firstDay;
+        this.lastDay = lastDay;
+        this.bits = bits;
+        this.workingDays = workingDays;
+    }
+
+    /**
+     * Combine the working weeks and calendars, both lists must have the same size and a calendar
+     * may be null (only the working week applies).
+     *
+     * @return the combined index or null if one of the calendars has holidays but no HolidayIndex,
+     *         if no calendar provides an EpochDayConverter or if there is no common working day.
+     */
+    public static <E> NonWorkingDayIndex<E> combine(final List<WorkingWeek> workingWeeks, final List<? extends HolidayCalendar<E>> calendars) {
+        if (workingWeeks.size() != calendars.size()) {
+            throw new IllegalArgumentException("Need one calendar (possibly null) per working week");
+        }
+        EpochDayConverter<E> converter = null;
+        int first = Integer.MAX_VALUE;
+        int last = Integer.MIN_VALUE;
+        byte commonWorkingDays = Byte.MAX_VALUE;
+        for (int i = 0; i < workingWeeks.size(); i++) {
+            commonWorkingDays &= workingWeeks.get(i).getWorkingDays();
+            final HolidayIndex<E> index = getHolidayIndex(calendars.get(i));
+            if (index == null) {
+                if (hasHolidays(calendars.get(i))) {
+                    return null;
+                }
+            } else if (index.getFirstDay() <= index.getLastDay()) {
+                converter = converter != null ? converter : index.getConverter();
+                first = Math.min(first, index.getFirstDay());
+                last = Math.max(last, index.getLastDay());
+            }
+        }
+        if (converter == null || commonWorkingDays == 0) {
+            return null;
+        }
+
+        final long[] bits = new long[(last - first >>> ADDRESS_BITS_PER_WORD) + 1];
+        for (int day = first; day <= last; day++) {
+            for (int i = 0; i < workingWeeks.size(); i++) {
+                final HolidayIndex<E> index = getHolidayIndex(calendars.get(i));
+                if (!BusinessDayOrdinals.isWorkingDay(workingWeeks.get(i).getWorkingDays(), day) || index != null && index.isHoliday(day)) {
+                    final int offset = day - first;
+                    bits[offset >>> ADDRESS_BITS_PER_WORD] |= 1L << offset;
+                    break;
+                }
+            }
+        }
+        return new NonWorkingDayIndex<>(converter, first, last, bits, commonWorkingDays);
+    }
+
+    private static <E> HolidayIndex<E> getHolidayIndex(final HolidayCalendar<E> calendar) {
+        return calendar != null ? calendar.getHolidayIndex() : null;
+    }
+
+    private static boolean hasHolidays(final HolidayCalendar<?> calendar) {
+        return calendar != null && calendar.getHolidays() != null && !calendar.getHolidays().isEmpty();
+    }
+
+    /**
+     * @return the number of days since 1970-01-01 for the given non-null date.
+     */
+    public int toEpochDay(final E date) {
+        return converter.toEpochDay(date);
+    }
+
+    /**
+     * @param epochDay number of days since 1970-01-01
+     * @return true if the day is a weekend or holiday for any of the combined calendars.
+     */
+    public boolean isNonWorkingDay(final int epochDay) {
+        if (epochDay < firstDay || epochDay > lastDay) {
+            return !BusinessDayOrdinals.isWorkingDay(workingDays, epochDay);
+        }
+        final int offset = epochDay - firstDay;
+        return (bits[offset >>> ADDRESS_BITS_PER_WORD] & 1L << offset) != 0;
+    }
+
+    /**
+     * @param epochDay number of days since 1970-01-01
+     * @return the first working day on or after the given day.
+     */
+    public int nextWorkingDay(final int epochDay) {
+        int day = epochDay;
+        while (true) {
+            if (day < firstDay || day > lastDay) {
+                if (BusinessDayOrdinals.isWorkingDay(workingDays, day)) {
+                    return day;
+                }
+                day++;
+            } else {
+                // skip whole words of non-working days
+                final int offset = day - firstDay;
+                final long working = ~bits[offset >>> ADDRESS_BITS_PER_WORD] >>> offset;
+                if (working == 0) {
+                    day += BITS_PER_WORD - (offset & BITS_PER_WORD - 1);
+                } else {
+                    day += Long.numberOfTrailingZeros(working);
+                    if (day <= lastDay) {
+                        return day;
+                    }
+                }
+            }
+        }
+    }
+
+    public EpochDayConverter<E> getConverter() {
+        return converter;
+    }
+}
+
+
+/*
+ * ObjectLab, http://www.objectlab.co.uk/open is sponsoring the ObjectLab Kit.
+ *
+ * Based in London, we are world leaders in the design and development
+ * of bespoke applications for the securities financing markets.
+ *
+ * <a href="http://www.objectlab.co.uk/open">Click here to learn more about us</a>
+ *           ___  _     _           _   _          _
+ *          / _ \| |__ (_) ___  ___| |_| |    __ _| |__
+ *         | | | | '_ \| |/ _ \/ __| __| |   / _` | '_ \
+ *         | |_| | |_) | |  __/ (__| |_| |__| (_| | |_) |
+ *          \___/|_.__// |\___|\___|\__|_____\__,_|_.__/
+ *                   |__/
+ *
+ *                     www.ObjectLab.co.uk
+ */
@@ -0,0 +1,240 @@
+/*
+ * ObjectLab, http://www.objectlab.co.uk/open is sponsoring the ObjectLab Kit.
+ *
+ * Based in London, we are world leaders in the design and development
+ * of bespoke applications for the securities financing markets.
+ *
+ * <a href="http://www.objectlab.co.uk/open">Click here to learn more</a>
+ *           ___  _     _           _   _          _
+ *          / _ \| |__ (_) ___  ___| |_| |    __ _| |__
+ *         | | | | '_ \| |/ _ \/ __| __| |   / _` | '_ \
+ *         | |_| | |_) | |  __/ (__| |_| |__| (_| | |_) |
+ *          \___/|_.__// |\___|\___|\__|_____\__,_|_.__/
+ *                   |__/
+ *
+ *                     www.ObjectLab.co.uk
+ *
+ * Copyright 2006 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package net.objectlab.kit.datecalc.common;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.BiFunction;
+
+/**
+ * Immutable result of {@link CurrencyDateCalculator#calculateGrid(List, List)}: the spot date for each trade date
+ * and the tenor date for each trade date and tenor. Dates are held as a number of days from the trade date in
+ * primitive arrays and only created on demand, or as the dates themselves for a grid built by
+ * {@link #of(CurrencyDateCalculator, List, List, ForkJoinPool)}.
+ *
+ * @author Benoit Xhenseval
+ * @since 1.4.4
+ *
+ * @param <E>
+ *            a representation of a date, typically JDK: Date, Calendar;
+ *            Joda:LocalDate, JDK8: LocalDate
+ */
+public final class TenorDateGrid<E> {
+    private final List<E> tradeDates;
+
+    private final List<Tenor> tenors;
+
+    /** days from trade date to spot date, per trade date; null if the grid holds the dates */
+    private final int[] spotOffsets;
+
+    /** days from trade date to tenor date, row per trade date, column per tenor; null if the grid holds the dates */
+    private final int[] tenorOffsets;
+
+    private final BiFunction<E, Integer, E> dayAdder;
+
+    /** spot date per trade date; null if the grid holds offsets */
+    private final List<E> spotDates;
+
+    /** tenor date, row per trade date, column per tenor; null if the grid holds offsets */
+    private final List<E> tenorDates;
+
+    /**
+     * @param tradeDates the trade dates (rows)
+     * @param tenors the tenors (columns)
+     * @param spotOffsets days from each trade date to its spot date
+     * @param tenorOffsets days from trade date to tenor date, tradeDates.size() rows of tenors.size() days
+     * @param dayAdder function adding a number of days to a date, used to create the dates
+     */
+    public TenorDateGrid(final List<E> tradeDates, final List<Tenor> tenors, final int[] spotOffsets, final int[] tenorOffsets,
+            final BiFunction<E, Integer, E> dayAdder) {
+        if (spotOffsets.length != tradeDates.size() || tenorOffsets.length != tradeDates.size() * tenors.size()) {
+            throw new IllegalArgumentException("Offsets do not match " + tradeDates.size() + " trade dates and " + tenors.size() + " tenors");
+        }
+        this.tradeDates = Collections.unmodifiableList(new ArrayList<>(tradeDates));
+        this.tenors = Collections.unmodifiableList(new ArrayList<>(tenors));
+        this.spotOffsets = spotOffsets;
+        this.tenorOffsets = tenorOffsets;
+        this.dayAdder = dayAdder;
+        this.spotDates = null;
+        this.tenorDates = null;
+    }
+
+    /**
+     * @param tradeDates the trade dates (rows)
+     * @param tenors the tenors (columns)
+     * @param spotDates the spot date of each trade date
+     * @param tenorDates the tenor dates, tradeDates.size() rows of tenors.size() dates
+     */
+    public TenorDateGrid(final List<E> tradeDates, final List<Tenor> tenors, final List<E> spotDates, final List<E> tenorDates) {
+        if (spotDates.size() != tradeDates.size() || tenorDates.size() != tradeDates.size() * tenors.size()) {
+            throw new IllegalArgumentException("Dates do not match " + tradeDates.size() + " trade dates and " + tenors.size() + " tenors");
+        }
+        this.tradeDates = Collections.unmodifiableList(new ArrayList<>(tradeDates));
+        this.tenors = Collections.unmodifiableList(new ArrayList<>(tenors));
+        this.spotOffsets = null;
+        this.tenorOffsets = null;
+        this.dayAdder = null;
+        this.spotDates = Collections.unmodifiableList(new ArrayList<>(spotDates));
+        this.tenorDates = Collections.unmodifiableList(new ArrayList<>(tenorDates));
+    }
+
+    /**
+     * Calculate a grid with {@link CurrencyDateCalculator#calculateSpotDate(Object)} and
+     * {@link CurrencyDateCalculator#calculateTenorDates(Object, List)} for each trade date, this is the default
+     * {@link CurrencyDateCalculator#calculateGrid(List, List, ForkJoinPool)}.
+     * @param pool the pool calculating each trade date, if null the grid is calculated in the calling thread.
+     */
+    public static <E> TenorDateGrid<E> of(final CurrencyDateCalculator<E> calculator, final List<E> tradeDates, final List<Tenor> tenors,
+            final ForkJoinPool pool) {
+        final List<E> spotDates = new ArrayList<>(tradeDates.size());
+        final List<E> tenorDates = new ArrayList<>(tradeDates.size() * tenors.size());
+        if (pool != null) {
+            final List<ForkJoinTask<List<E>>> tenorTasks = new ArrayList<>(tradeDates.size());
+            final List<ForkJoinTask<E>> spotTasks = new ArrayList<>(tradeDates.size());
+            for (final E tradeDate : tradeDates) {
+                spotTasks.add(pool.submit(() -> calculator.calculateSpotDate(tradeDate)));
+                tenorTasks.add(pool.submit(() -> calculator.calculateTenorDates(tradeDate, tenors)));
+            }
+            for (int i = 0; i < tradeDates.size(); i++) {
+                spotDates.add(spotTasks.get(i).join());
+                tenorDates.addAll(tenorTasks.get(i).join());
+            }
+        } else {
+            for (final E tradeDate : tradeDates) {
+                spotDates.add(calculator.calculateSpotDate(tradeDate));
+                tenorDates.addAll(calculator.calculateTenorDates(tradeDate, tenors));
+            }
+        }
+        return new TenorDateGrid<>(tradeDates, tenors, spotDates, tenorDates);
+    }
+
+    public List<E> getTradeDates() {
+        return tradeDates;
+    }
+
+    public List<Tenor> getTenors() {
+        return tenors;
+    }
+
+    public int getTradeDateCount() {
+        return tradeDates.size();
+    }
+
+    public int getTenorCount() {
+        return tenors.size();
+    }
+
+    /**
+     * @return the number of days between the trade date and its spot date.
+     */
+    public int getSpotOffset(final int tradeDateIndex) {
+        if (spotOffsets == null) {
+            return daysBetween(tradeDates.get(tradeDateIndex), spotDates.get(tradeDateIndex));
+        }
+        return spotOffsets[tradeDateIndex];
+    }
+
+    /**
+     * @return the number of days between the trade date and the tenor date.
+     */
+    public int getTenorOffset(final int tradeDateIndex, final int tenorIndex) {
+        checkTenorIndex(tenorIndex);
+        if (tenorOffsets == null) {
+            return daysBetween(tradeDates.get(tradeDateIndex), tenorDates.get(tradeDateIndex * tenors.size() + tenorIndex));
+        }
+        return tenorOffsets[tradeDateIndex * tenors.size() + tenorIndex];
+    }
+
+    public E getSpotDate(final int tradeDateIndex) {
+        if (spotDates != null) {
+            return spotDates.get(tradeDateIndex);
+        }
+        return addDays(tradeDates.get(tradeDateIndex), getSpotOffset(tradeDateIndex));
+    }
+
+    public E getTenorDate(final int tradeDateIndex, final int tenorIndex) {
+        if (tenorDates != null) {
+            checkTenorIndex(tenorIndex);
+            return tenorDates.get(tradeDateIndex * tenors.size() + tenorIndex);
+        }
+        return addDays(tradeDates.get(tradeDateIndex), getTenorOffset(tradeDateIndex, tenorIndex));
+    }
+
+    /**
+     * @return the Tenor Dates for a trade date (same order as the list of Tenors).
+     */
+    public List<E> getTenorDates(final int tradeDateIndex) {
+        final List<E> dates = new ArrayList<>(tenors.size());
+        for (int i = 0; i < tenors.size(); i++) {
+            dates.add(getTenorDate(tradeDateIndex, i));
+        }
+        return dates;
+    }
+
+    private E addDays(final E date, final int days) {
+        return days == 0 ? date : dayAdder.apply(date, days);
+    }
+
+    private static <E> int daysBetween(final E from, final E to) {
+        final EpochDayConverter<E> converter = EpochDayConverters.forType(from.getClass());
+        if (converter == null) {
+            throw new UnsupportedOperationException("No EpochDayConverter for " + from.getClass());
+        }
+        return converter.toEpochDay(to) - converter.toEpochDay(from);
+    }
+
+    private void checkTenorIndex(final int tenorIndex) {
+        if (tenorIndex < 0 || tenorIndex >= tenors.size()) {
+            throw new IndexOutOfBoundsException("Tenor index " + tenorIndex + " for " + tenors.size() + " tenors");
+        }
+    }
+}
+
+
+/*
+ * ObjectLab, http://www.objectlab.co.uk/open is sponsoring the ObjectLab Kit.
+ *
+ * Based in London, we are world leaders in the design and development
+ * of bespoke applications for the securities financing markets.
+ *
+ * <a href="http://www.objectlab.co.uk/open">Click here to learn more about us</a>
+ *           ___  _     _           _   _          _
+ *          / _ \| |__ (_) ___  ___| |_| |    __ _| |__
+ *         | | | | '_ \| |/ _ \/ __| __| |   / _` | '_ \
+ *         | |_| | |_) | |  __/ (__| |_| |__| (_| | |_) |
+ *          \___/|_.__// |\___|\___|\__|_____\__,_|_.__/
+ *                   |__/
+ *
+ *                     www.ObjectLab.co.uk
+ */
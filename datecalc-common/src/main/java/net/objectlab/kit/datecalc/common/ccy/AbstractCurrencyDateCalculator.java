@@ -1,18 +1,25 @@
 package net.objectlab.kit.datecalc.common.ccy;
 
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import java.util.stream.Collectors;
 
 import net.objectlab.kit.datecalc.common.CurrencyDateCalculator;
 import net.objectlab.kit.datecalc.common.CurrencyDateCalculatorBuilder;
 import net.objectlab.kit.datecalc.common.DefaultHolidayCalendar;
+import net.objectlab.kit.datecalc.common.EpochDayConverter;
+import net.objectlab.kit.datecalc.common.EpochDayConverters;
 import net.objectlab.kit.datecalc.common.HolidayCalendar;
 import net.objectlab.kit.datecalc.common.HolidayHandler;
 import net.objectlab.kit.datecalc.common.ImmutableHolidayCalendar;
 import net.objectlab.kit.datecalc.common.NonWorkingDayChecker;
+import net.objectlab.kit.datecalc.common.NonWorkingDayIndex;
 import net.objectlab.kit.datecalc.common.ReadOnlyHolidayCalendar;
 import net.objectlab.kit.datecalc.common.SpotLag;
+import net.objectlab.kit.datecalc.common.TenorDateGrid;
 import net.objectlab.kit.datecalc.common.Tenor;
 import net.objectlab.kit.datecalc.common.TenorCode;
 import net.objectlab.kit.datecalc.common.WorkingWeek;
@@ -45,6 +52,8 @@ import net.objectlab.kit.datecalc.common.WorkingWeek;
 public abstract class AbstractCurrencyDateCalculator<E extends Serializable> implements CurrencyDateCalculator<E>, NonWorkingDayChecker<E> {
     private static final int MONTHS_IN_YEAR = 12;
     private static final int DAYS_IN_WEEK = 7;
+    /** number of trade dates below which a grid is not split further */
+    private static final int GRID_ROWS_PER_TASK = 4;
     private final String ccy1;
     private final String ccy2;
     private final String crossCcy;
@@ -60,6 +69,13 @@ public abstract class AbstractCurrencyDateCalculator<E extends Serializable> imp
     private final boolean useCrossCcyOnT1ForCcy2;
     private final boolean adjustStartDateWithCcy1Ccy2;
     private final SpotLag spotLag;
+    private final NonWorkingDays ccy1Days;
+    private final NonWorkingDays ccy2Days;
+    private final NonWorkingDays crossCcyDays;
+    private final NonWorkingDays ccy1T1Days;
+    private final NonWorkingDays ccy2T1Days;
+    private final NonWorkingDays ccyPairDays;
+    private final NonWorkingDays ccyPairAndCrossDays;
 
     protected AbstractCurrencyDateCalculator(final CurrencyDateCalculatorBuilder<E> builder) {
         builder.checkValidity();
@@ -83,6 +99,19 @@ public abstract class AbstractCurrencyDateCalculator<E extends Serializable> imp
                 && builder.getCurrencyCalculatorConfig().getCurrenciesSubjectToCrossCcyForT1(crossCcy).contains(ccy1);
         this.useCrossCcyOnT1ForCcy2 = builder.getCurrencyCalculatorConfig() != null
                 && builder.getCurrencyCalculatorConfig().getCurrenciesSubjectToCrossCcyForT1(crossCcy).contains(ccy2);
+
+        // precombine the calendars used on every step of the spot and tenor calculations
+        this.ccy1Days = new NonWorkingDays(Arrays.asList(ccy1Week), Arrays.asList(ccy1HolidayCalendar));
+        this.ccy2Days = new NonWorkingDays(Arrays.asList(ccy2Week), Arrays.asList(ccy2HolidayCalendar));
+        this.crossCcyDays = new NonWorkingDays(Arrays.asList(crossCcyWeek), Arrays.asList(crossCcyHolidayCalendar));
+        // crossCcy holidays do not impact T+1
+        this.ccy1T1Days = crossCcy.equalsIgnoreCase(ccy1) ? new NonWorkingDays(Arrays.asList(ccy1Week), Arrays.asList((HolidayCalendar<E>) null))
+                : ccy1Days;
+        this.ccy2T1Days = crossCcy.equalsIgnoreCase(ccy2) ? new NonWorkingDays(Arrays.asList(ccy2Week), Arrays.asList((HolidayCalendar<E>) null))
+                : ccy2Days;
+        this.ccyPairDays = new NonWorkingDays(Arrays.asList(ccy1Week, ccy2Week), Arrays.asList(ccy1HolidayCalendar, ccy2HolidayCalendar));
+        this.ccyPairAndCrossDays = new NonWorkingDays(Arrays.asList(crossCcyWeek, ccy1Week, ccy2Week),
+                Arrays.asList(crossCcyHolidayCalendar, ccy1HolidayCalendar, ccy2HolidayCalendar));
     }
 
     @Override
@@ -166,47 +195,42 @@ public abstract class AbstractCurrencyDateCalculator<E extends Serializable> imp
 
     protected abstract E max(E d1, E d2);
 
+    /**
+     * Move the date by a positive number of days; the default implementation calls
+     * calculateNextDay for each day, implementations should override it.
+     * @since 1.4.4
+     */
+    protected E addDays(final E date, final int days) {
+        E calc = date;
+        for (int i = 0; i < days; i++) {
+            calc = calculateNextDay(calc);
+        }
+        return calc;
+    }
+
     private boolean isNonWorkingDay(final E date, final WorkingWeek ww, final HolidayCalendar<E> calendar) {
         return !ww.isWorkingDayFromCalendar(calendarWeekDay(date)) || calendar != null && calendar.isHoliday(date);
     }
 
     @Override
     public boolean isNonWorkingDay(final E date) {
-        return isNonWorkingDay(date, ccy1Week, ccy1HolidayCalendar) || isNonWorkingDay(date, ccy2Week, ccy2HolidayCalendar)
-                || !brokenDateAllowed && isNonWorkingDay(date, crossCcyWeek, crossCcyHolidayCalendar);
+        return brokenDateAllowed ? ccyPairDays.isNonWorkingDay(date) : ccyPairAndCrossDays.isNonWorkingDay(date);
     }
 
     private E adjustToNextWorkingDateForCcyPairIfRequired(final E startDate) {
-        E date = startDate;
-        while (isNonWorkingDay(date, ccy1Week, ccy1HolidayCalendar) || isNonWorkingDay(date, ccy2Week, ccy2HolidayCalendar)) {
-            date = calculateNextDay(date);
-        }
-        return date;
+        return ccyPairDays.nextWorkingDay(startDate);
     }
 
     private E adjustToNextWorkingDateForCcyPairAndUsdIfRequired(final E startDate) {
-        E date = startDate;
-        while (isNonWorkingDay(date, crossCcyWeek, crossCcyHolidayCalendar) || isNonWorkingDay(date, ccy1Week, ccy1HolidayCalendar)
-                || isNonWorkingDay(date, ccy2Week, ccy2HolidayCalendar)) {
-            date = calculateNextDay(date);
-        }
-        return date;
+        return ccyPairAndCrossDays.nextWorkingDay(startDate);
     }
 
-    private E calculateNextWorkingDay(final E startDate, final WorkingWeek ww, final HolidayCalendar<E> calendar) {
-        E date = calculateNextDay(startDate);
-        while (isNonWorkingDay(date, ww, calendar)) {
-            date = calculateNextDay(date);
-        }
-        return date;
+    private E calculateNextWorkingDay(final E startDate, final NonWorkingDays days) {
+        return days.nextWorkingDay(calculateNextDay(startDate));
     }
 
-    private E calculateNextWorkingDayIfRequired(final E startDate, final WorkingWeek ww, final HolidayCalendar<E> calendar) {
-        E date = startDate;
-        while (isNonWorkingDay(date, ww, calendar)) {
-            date = calculateNextDay(date);
-        }
-        return date;
+    private E calculateNextWorkingDayIfRequired(final E startDate, final NonWorkingDays days) {
+        return days.nextWorkingDay(startDate);
     }
 
     @Override
@@ -217,10 +241,10 @@ public abstract class AbstractCurrencyDateCalculator<E extends Serializable> imp
         }
 
         // calculate Spot for ccy1
-        final E spotCcy1 = calculateCcySpot(ccy1, date, ccy1Week, ccy1HolidayCalendar);
+        final E spotCcy1 = calculateCcySpot(ccy1, date, ccy1T1Days, ccy1Days);
 
         // calculate Spot for ccy2
-        final E spotCcy2 = calculateCcySpot(ccy2, date, ccy2Week, ccy2HolidayCalendar);
+        final E spotCcy2 = calculateCcySpot(ccy2, date, ccy2T1Days, ccy2Days);
 
         // if spotCcy1 == spotCcy2 -> return it
         E spotDate = max(spotCcy1, spotCcy2);
@@ -235,28 +259,24 @@ public abstract class AbstractCurrencyDateCalculator<E extends Serializable> imp
         return spotDate;
     }
 
-    private E calculateCcySpot(final String ccy, final E date, final WorkingWeek workingWeek, final HolidayCalendar<E> calendar) {
+    private E calculateCcySpot(final String ccy, final E date, final NonWorkingDays t1Days, final NonWorkingDays days) {
         // calculate T+1
         E calcSpot = date;
 
         if (spotLag != SpotLag.T_0) {
             if (spotLag == SpotLag.T_2) {
-                calcSpot = calculateNextWorkingDay(calcSpot, workingWeek, crossCcy.equalsIgnoreCase(ccy) ? null : calendar); // crossCcy
-                // does
-                // not
-                // impact
-                // T+1
+                calcSpot = calculateNextWorkingDay(calcSpot, t1Days); // crossCcy does not impact T+1
 
                 if (useCrossCcyOnT1ForCcy1 && ccy1.equals(ccy) || useCrossCcyOnT1ForCcy2 && ccy2.equals(ccy)) {
                     // move if USD is holiday
-                    calcSpot = calculateNextWorkingDayIfRequired(calcSpot, crossCcyWeek, crossCcyHolidayCalendar);
+                    calcSpot = calculateNextWorkingDayIfRequired(calcSpot, crossCcyDays);
                     // check that it is still ok for the original ccy
-                    calcSpot = calculateNextWorkingDayIfRequired(calcSpot, workingWeek, calendar);
+                    calcSpot = calculateNextWorkingDayIfRequired(calcSpot, days);
                 }
             }
 
             // calculate T+2
-            calcSpot = calculateNextWorkingDay(calcSpot, workingWeek, calendar);
+            calcSpot = calculateNextWorkingDay(calcSpot, days);
         }
         return calcSpot;
     }
@@ -267,12 +287,24 @@ public abstract class AbstractCurrencyDateCalculator<E extends Serializable> imp
             throw new IllegalArgumentException("Tenor cannot be null");
         }
 
-        TenorCode tenorCode = tenor.getCode();
-        E date = startDate;
-        if (tenorCode != TenorCode.OVERNIGHT && tenorCode != TenorCode.TOM_NEXT /*&& spotLag != 0*/) {
-            // get to the Spot date first:
-            date = calculateSpotDate(date);
+        return calculateTenorDate(startDate, isFromSpot(tenor) ? calculateSpotDate(startDate) : null, tenor);
+    }
+
+    private static boolean isFromSpot(final Tenor tenor) {
+        return tenor.getCode() != TenorCode.OVERNIGHT && tenor.getCode() != TenorCode.TOM_NEXT /*&& spotLag != 0*/;
+    }
+
+    /**
+     * @param spotDate the spot date for the startDate, only used if the tenor is from spot.
+     */
+    private E calculateTenorDate(final E startDate, final E spotDate, final Tenor tenor) {
+        if (tenor == null) {
+            throw new IllegalArgumentException("Tenor cannot be null");
         }
+
+        TenorCode tenorCode = tenor.getCode();
+        // get to the Spot date first if required
+        final E date = isFromSpot(tenor) ? spotDate : startDate;
         int unit = tenor.getUnits();
         if (tenorCode == TenorCode.WEEK) {
             tenorCode = TenorCode.DAY;
@@ -302,8 +334,8 @@ public abstract class AbstractCurrencyDateCalculator<E extends Serializable> imp
         case SPOT: // good as-is
             break;
         case DAY:
-            for (int i = 0; i < unit; i++) {
-                calc = calculateNextDay(calc);
+            if (unit > 0) {
+                calc = addDays(calc, unit);
             }
             calc = adjustForCcyPairIfRequired(calc);
             break;
@@ -325,6 +357,118 @@ public abstract class AbstractCurrencyDateCalculator<E extends Serializable> imp
 
     @Override
     public List<E> calculateTenorDates(final E startDate, final List<Tenor> tenors) {
-        return tenors.stream().map(tenor -> calculateTenorDate(startDate, tenor)).collect(Collectors.toList());
+        if (tenors.stream().noneMatch(tenor -> tenor != null && isFromSpot(tenor))) {
+            return tenors.stream().map(tenor -> calculateTenorDate(startDate, null, tenor)).collect(Collectors.toList());
+        }
+        final E spotDate = calculateSpotDate(startDate);
+        return tenors.stream().map(tenor -> calculateTenorDate(startDate, spotDate, tenor)).collect(Collectors.toList());
+    }
+
+    @Override
+    public TenorDateGrid<E> calculateGrid(final List<E> tradeDates, final List<Tenor> tenors, final ForkJoinPool pool) {
+        final int[] spotOffsets = new int[tradeDates.size()];
+        final int[] tenorOffsets = new int[tradeDates.size() * tenors.size()];
+        if (!tradeDates.isEmpty()) {
+            final EpochDayConverter<E> converter = EpochDayConverters.forType(tradeDates.get(0).getClass());
+            if (converter == null) {
+                throw new IllegalArgumentException("No EpochDayConverter for " + tradeDates.get(0).getClass());
+            }
+            final GridTask task = new GridTask(converter, tradeDates, tenors, spotOffsets, tenorOffsets, 0, tradeDates.size());
+            if (pool != null) {
+                pool.invoke(task);
+            } else {
+                task.compute();
+            }
+        }
+        return new TenorDateGrid<>(tradeDates, tenors, spotOffsets, tenorOffsets, this::addDays);
+    }
+
+    /**
+     * Fills the offsets of the grid for the trade dates in [from, to), splitting the range in a ForkJoinPool.
+     */
+    private final class GridTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final EpochDayConverter<E> converter;
+        private final List<E> tradeDates;
+        private final List<Tenor> tenors;
+        private final int[] spotOffsets;
+        private final int[] tenorOffsets;
+        private final int from;
+        private final int to;
+
+        private GridTask(final EpochDayConverter<E> converter, final List<E> tradeDates, final List<Tenor> tenors, final int[] spotOffsets,
+                final int[] tenorOffsets, final int from, final int to) {
+            this.converter = converter;
+            this.tradeDates = tradeDates;
+            this.tenors = tenors;
+            this.spotOffsets = spotOffsets;
+            this.tenorOffsets = tenorOffsets;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > GRID_ROWS_PER_TASK && getPool() != null) {
+                final int middle = from + to >>> 1;
+                invokeAll(new GridTask(converter, tradeDates, tenors, spotOffsets, tenorOffsets, from, middle),
+                        new GridTask(converter, tradeDates, tenors, spotOffsets, tenorOffsets, middle, to));
+                return;
+            }
+            for (int row = from; row < to; row++) {
+                final E tradeDate = tradeDates.get(row);
+                final int tradeDay = converter.toEpochDay(tradeDate);
+                final E spotDate = calculateSpotDate(tradeDate);
+                spotOffsets[row] = converter.toEpochDay(spotDate) - tradeDay;
+                int cell = row * tenors.size();
+                for (final Tenor tenor : tenors) {
+                    tenorOffsets[cell++] = converter.toEpochDay(calculateTenorDate(tradeDate, spotDate, tenor)) - tradeDay;
+                }
+            }
+        }
+    }
+
+    /**
+     * Non-working days of one or several currencies, using the precombined NonWorkingDayIndex
+     * if all calendars support it or checking each WorkingWeek/HolidayCalendar otherwise.
+     */
+    private final class NonWorkingDays {
+        private final List<WorkingWeek> weeks;
+        private final List<HolidayCalendar<E>> calendars;
+        private final NonWorkingDayIndex<E> index;
+
+        private NonWorkingDays(final List<WorkingWeek> weeks, final List<HolidayCalendar<E>> calendars) {
+            this.weeks = weeks;
+            this.calendars = calendars;
+            this.index = NonWorkingDayIndex.combine(weeks, calendars);
+        }
+
+        private boolean isNonWorkingDay(final E date) {
+            if (index != null) {
+                return index.isNonWorkingDay(index.toEpochDay(date));
+            }
+            for (int i = 0; i < weeks.size(); i++) {
+                if (AbstractCurrencyDateCalculator.this.isNonWorkingDay(date, weeks.get(i), calendars.get(i))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * @return the first working day on or after the date.
+         */
+        private E nextWorkingDay(final E startDate) {
+            if (index != null) {
+                final int day = index.toEpochDay(startDate);
+                final int next = index.nextWorkingDay(day);
+                return next == day ? startDate : addDays(startDate, next - day);
+            }
+            E date = startDate;
+            while (isNonWorkingDay(date)) {
+                date = calculateNextDay(date);
+            }
+            return date;
+        }
     }
 }
@@ -53,4 +53,14 @@ public interface CurrencyCalculatorConfig {
      * @return the WorkingWeek registered for this currency other the default Mon-Fri.
      */
     WorkingWeek getWorkingWeek(String currency);
+
+    /**
+     * Used by the factories to know if the calculators they cache are still in line with this config; a mutable
+     * config must return a different version after each change, the default is for a config that never changes.
+     * @return a stamp that changes whenever the working weeks or the T+1 currencies change.
+     * @since 1.4.4
+     */
+    default long getVersion() {
+        return 0L;
+    }
 }
@@ -5,6 +5,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 import net.objectlab.kit.datecalc.common.CalculatorConstants;
 import net.objectlab.kit.datecalc.common.WorkingWeek;
@@ -21,6 +22,7 @@ import net.objectlab.kit.datecalc.common.WorkingWeek;
 public class DefaultCurrencyCalculatorConfig implements CurrencyCalculatorConfig {
     private Map<String, Set<String>> currenciesSubjectToCrossCcyForT1 = new HashMap<>();
     private Map<String, WorkingWeek> workingWeeks = new HashMap<>();
+    private final AtomicLong version = new AtomicLong();
 
     public DefaultCurrencyCalculatorConfig() {
         super();
@@ -49,6 +51,7 @@ public class DefaultCurrencyCalculatorConfig implements CurrencyCalculatorConfig
             copy.putAll(currenciesSubjectToCrossCcyForT1);
         }
         this.currenciesSubjectToCrossCcyForT1 = copy;
+        version.incrementAndGet();
     }
 
     /**
@@ -58,6 +61,16 @@ public class DefaultCurrencyCalculatorConfig implements CurrencyCalculatorConfig
         final Map<String, WorkingWeek> ww = new HashMap<>();
         ww.putAll(workingWeeks);
         this.workingWeeks = ww;
+        version.incrementAndGet();
+    }
+
+    /**
+     * @return a stamp incremented by each setter.
+     * @since 1.4.4
+     */
+    @Override
+    public long getVersion() {
+        return version.get();
     }
 
     /**
@@ -388,6 +388,10 @@ public abstract class AbstractBackwardDateCalculatorTest<E extends Serializable>
         super.testBusinessDaysCalcBack(HolidayHandlerType.BACKWARD);
     }
 
+    public void testBusinessDayOrdinals() {
+        checkBusinessDayOrdinals(HolidayHandlerType.BACKWARD, -1);
+    }
+
 }
 
 /*
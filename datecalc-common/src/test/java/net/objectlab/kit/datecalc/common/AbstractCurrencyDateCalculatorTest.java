@@ -33,10 +33,18 @@
 package net.objectlab.kit.datecalc.common;
 
 import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import junit.framework.Assert;
+import net.objectlab.kit.datecalc.common.ccy.DefaultCurrencyCalculatorConfig;
 
 public abstract class AbstractCurrencyDateCalculatorTest<E extends Serializable> extends AbstractDateTestCase<E> {
 
@@ -125,6 +133,73 @@ public abstract class AbstractCurrencyDateCalculatorTest<E extends Serializable>
         checkDate("Spot from " + newDate("2006-07-04"), cal.calculateSpotDate(newDate("2006-07-04")), "2006-07-07"); // Tue -> Fri
     }
 
+    public void testDefaultCurrencyDateCalculatorIsCached() {
+        final CurrencyDateCalculator<E> cal = newCurrencyCalculator("EUR", "GBP");
+        Assert.assertSame("Cached", cal, getDateCalculatorFactory().getDefaultCurrencyDateCalculator("EUR", "GBP", SpotLag.T_2));
+        Assert.assertNotSame("Other SpotLag", cal, getDateCalculatorFactory().getDefaultCurrencyDateCalculator("EUR", "GBP", SpotLag.T_1));
+
+        getDateCalculatorFactory().registerHolidays("EUR", createEUHolidayCalendar());
+        Assert.assertNotSame("New calendar", cal, getDateCalculatorFactory().getDefaultCurrencyDateCalculator("EUR", "GBP", SpotLag.T_2));
+    }
+
+    public void testDefaultCurrencyDateCalculatorSeesConfigChanges() {
+        final DefaultCurrencyCalculatorConfig config = new DefaultCurrencyCalculatorConfig();
+        getDateCalculatorFactory().setCurrencyCalculatorConfig(config);
+        try {
+            final CurrencyDateCalculator<E> cal = newCurrencyCalculator("EUR", "GBP");
+            Assert.assertSame("Cached", cal, getDateCalculatorFactory().getDefaultCurrencyDateCalculator("EUR", "GBP", SpotLag.T_2));
+
+            final Map<String, WorkingWeek> weeks = new HashMap<>();
+            weeks.put("EUR", WorkingWeek.ARABIC_WEEK);
+            config.setWorkingWeeks(weeks);
+            final CurrencyDateCalculator<E> newWeek = getDateCalculatorFactory().getDefaultCurrencyDateCalculator("EUR", "GBP", SpotLag.T_2);
+            Assert.assertNotSame("New working week", cal, newWeek);
+            Assert.assertEquals("EUR week", WorkingWeek.ARABIC_WEEK.getWorkingDays(), newWeek.getCcy1Week().getWorkingDays());
+            Assert.assertSame("Cached again", newWeek, getDateCalculatorFactory().getDefaultCurrencyDateCalculator("EUR", "GBP", SpotLag.T_2));
+
+            config.setCurrenciesSubjectToCrossCcyForT1(new HashMap<>());
+            Assert.assertNotSame("New T+1 currencies", newWeek, getDateCalculatorFactory().getDefaultCurrencyDateCalculator("EUR", "GBP", SpotLag.T_2));
+        } finally {
+            getDateCalculatorFactory().setCurrencyCalculatorConfig(new DefaultCurrencyCalculatorConfig());
+        }
+    }
+
+    public void testCalculateGrid() {
+        final CurrencyDateCalculator<E> cal = newCurrencyCalculator("EUR", "GBP");
+        final List<Tenor> tenors = Arrays.asList(StandardTenor.OVERNIGHT, new Tenor(0, TenorCode.TOM_NEXT), StandardTenor.SPOT,
+                StandardTenor.T_1D, StandardTenor.T_1W, StandardTenor.T_1M, StandardTenor.T_3M, StandardTenor.T_1Y);
+        final List<E> tradeDates = new ArrayList<E>();
+        for (LocalDate date = LocalDate.of(2006, 6, 25); date.isBefore(LocalDate.of(2006, 7, 15)); date = date.plusDays(1)) {
+            tradeDates.add(newDate(date.toString()));
+        }
+
+        for (final ForkJoinPool pool : Arrays.asList(null, ForkJoinPool.commonPool())) {
+            final TenorDateGrid<E> grid = cal.calculateGrid(tradeDates, tenors, pool);
+            Assert.assertEquals("Rows", tradeDates.size(), grid.getTradeDateCount());
+            Assert.assertEquals("Columns", tenors.size(), grid.getTenorCount());
+            for (int i = 0; i < tradeDates.size(); i++) {
+                final E tradeDate = tradeDates.get(i);
+                Assert.assertEquals("Spot from " + tradeDate, cal.calculateSpotDate(tradeDate), grid.getSpotDate(i));
+                Assert.assertEquals("Tenors from " + tradeDate, cal.calculateTenorDates(tradeDate, tenors), grid.getTenorDates(i));
+                for (int j = 0; j < tenors.size(); j++) {
+                    Assert.assertEquals(tenors.get(j) + " from " + tradeDate, cal.calculateTenorDate(tradeDate, tenors.get(j)),
+                            grid.getTenorDate(i, j));
+                }
+            }
+
+            // the interface default, for calculators without the fast path
+            final TenorDateGrid<E> fromDates = TenorDateGrid.of(cal, tradeDates, tenors, pool);
+            for (int i = 0; i < tradeDates.size(); i++) {
+                Assert.assertEquals("Default spot", grid.getSpotDate(i), fromDates.getSpotDate(i));
+                Assert.assertEquals("Default spot offset", grid.getSpotOffset(i), fromDates.getSpotOffset(i));
+                Assert.assertEquals("Default tenors", grid.getTenorDates(i), fromDates.getTenorDates(i));
+                for (int j = 0; j < tenors.size(); j++) {
+                    Assert.assertEquals("Default tenor offset", grid.getTenorOffset(i, j), fromDates.getTenorOffset(i, j));
+                }
+            }
+        }
+    }
+
     public void testCrossEurGbp() {
         final CurrencyDateCalculator<E> cal = newCurrencyCalculator("EUR", "GBP");
         checkDate("Spot from " + newDate("2006-06-30"), cal.calculateSpotDate(newDate("2006-06-30")), "2006-07-05"); // Fri->Wed (use USD!)
@@ -215,6 +215,75 @@ public abstract class AbstractDateTestCase<E extends Serializable> extends TestC
         checkMoveAndNumberOfBusinessDays("2006-08-28", 1, "2006-08-30", holidayHandlerType);
     }
 
+    /**
+     * Checks that moving by business days and counting business days give the same results
+     * with the business day ordinals of the calendar as without (day by day), for every day of 2006.
+     * @param holidayHandlerType holiday handler e.g. Forward.
+     * @param step 1 or -1
+     */
+    protected void checkBusinessDayOrdinals(final String holidayHandlerType, final int step) {
+        final DateCalculator<E> fast = newDateCalculator("bla", holidayHandlerType);
+        fast.setHolidayCalendar(createUKHolidayCalendar());
+        Assert.assertNotNull("Index", fast.getHolidayCalendar().getHolidayIndex());
+        final DateCalculator<E> slow = newDateCalculator("bla", holidayHandlerType);
+        slow.setHolidayCalendar(new NoIndexHolidayCalendar<E>(createUKHolidayCalendar()));
+        Assert.assertNull("No Index", slow.getHolidayCalendar().getHolidayIndex());
+
+        for (java.time.LocalDate day = java.time.LocalDate.of(2006, 2, 1); day.getYear() == 2006; day = day.plusDays(1)) {
+            for (int n = 0; n <= 12; n++) {
+                fast.setCurrentBusinessDate(newDate(day.toString()));
+                slow.setCurrentBusinessDate(newDate(day.toString()));
+                Assert.assertEquals("Move " + step * n + " BD from " + day, slow.moveByBusinessDays(step * n).getCurrentBusinessDate(),
+                        fast.moveByBusinessDays(step * n).getCurrentBusinessDate());
+            }
+            final E from = newDate(day.toString());
+            final E to = newDate(day.plusDays(step * 15).toString());
+            Assert.assertEquals("BD between " + day + " and " + to, slow.getNumberOfBusinessDaysBetween(from, to),
+                    fast.getNumberOfBusinessDaysBetween(from, to));
+        }
+    }
+
+    /**
+     * A calendar that does not provide a HolidayIndex, so that calculators walk day by day.
+     */
+    private static final class NoIndexHolidayCalendar<E> implements HolidayCalendar<E> {
+        private static final long serialVersionUID = 1L;
+
+        private final HolidayCalendar<E> delegate;
+
+        private NoIndexHolidayCalendar(final HolidayCalendar<E> delegate) {
+            this.delegate = delegate;
+        }
+
+        public Set<E> getHolidays() {
+            return delegate.getHolidays();
+        }
+
+        public E getEarlyBoundary() {
+            return delegate.getEarlyBoundary();
+        }
+
+        public E getLateBoundary() {
+            return delegate.getLateBoundary();
+        }
+
+        public HolidayCalendar<E> setHolidays(final Set<E> holidays) {
+            return delegate.setHolidays(holidays);
+        }
+
+        public HolidayCalendar<E> setEarlyBoundary(final E earlyBoundary) {
+            return delegate.setEarlyBoundary(earlyBoundary);
+        }
+
+        public HolidayCalendar<E> setLateBoundary(final E lateBoundary) {
+            return delegate.setLateBoundary(lateBoundary);
+        }
+
+        public boolean isHoliday(final E date) {
+            return delegate.isHoliday(date);
+        }
+    }
+
     private void checkMoveAndNumberOfBusinessDays(String start, int days, String expectedDate, final String holidayHandlerType) {
         final DateCalculator<E> cal = newDateCalculator("bla", holidayHandlerType);
         final HolidayCalendar<E> holidays = newHolidaysCalendar();
@@ -495,6 +495,10 @@ public abstract class AbstractForwardDateCalculatorTest<E extends Serializable>
     public void testBusinessDaysCalc() {
         super.testBusinessDaysCalc(HolidayHandlerType.FORWARD);
     }
+
+    public void testBusinessDayOrdinals() {
+        checkBusinessDayOrdinals(HolidayHandlerType.FORWARD, 1);
+    }
 }
 
 /*
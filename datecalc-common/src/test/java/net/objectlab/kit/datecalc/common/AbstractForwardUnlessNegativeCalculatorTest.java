@@ -475,6 +475,14 @@ public abstract class AbstractForwardUnlessNegativeCalculatorTest<E extends Seri
     public void testBusinessDaysCalc() {
         super.testBusinessDaysCalc(HolidayHandlerType.FORWARD_UNLESS_MOVING_BACK);
     }
+
+    public void testBusinessDayOrdinals() {
+        checkBusinessDayOrdinals(HolidayHandlerType.FORWARD_UNLESS_MOVING_BACK, 1);
+    }
+
+    public void testBusinessDayOrdinalsMovingBack() {
+        checkBusinessDayOrdinals(HolidayHandlerType.FORWARD_UNLESS_MOVING_BACK, -1);
+    }
 }
 
 /*
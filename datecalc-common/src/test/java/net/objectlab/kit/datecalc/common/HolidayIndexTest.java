@@ -0,0 +1,78 @@
+package net.objectlab.kit.datecalc.common;
+
+import static net.objectlab.kit.datecalc.common.Utils.createDate;
+import static net.objectlab.kit.datecalc.common.Utils.getCal;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Set;
+
+import junit.framework.TestCase;
+
+public class HolidayIndexTest extends TestCase {
+
+    public void testEpochDay() {
+        for (LocalDate date = LocalDate.of(1899, 12, 25); date.isBefore(LocalDate.of(2101, 1, 10)); date = date.plusDays(1)) {
+            assertEquals(date.toString(), date.toEpochDay(), EpochDayConverters.epochDay(date.getYear(), date.getMonthValue(), date.getDayOfMonth()));
+        }
+    }
+
+    public void testDateIndex() {
+        final Set<Date> holidays = new HashSet<>(Arrays.asList(createDate("2009-04-22"), createDate("2009-12-25")));
+        final HolidayIndex<Date> index = HolidayIndex.compile(holidays, createDate("2009-01-01"), createDate("2009-12-31"));
+
+        assertNotNull(index);
+        assertEquals(LocalDate.of(2009, 1, 1).toEpochDay(), index.getFirstDay());
+        assertEquals(LocalDate.of(2009, 12, 31).toEpochDay(), index.getLastDay());
+        assertTrue(index.isHoliday(createDate("2009-04-22")));
+        assertTrue(index.isHoliday(createDate("2009-12-25")));
+        assertFalse(index.isHoliday(createDate("2009-04-21")));
+        assertFalse(index.isHoliday(createDate("2010-04-22")));
+        assertFalse(index.isHoliday((Date) null));
+    }
+
+    public void testCalendarIndexIgnoresTime() {
+        final HolidayIndex<Calendar> index = HolidayIndex.compile(Collections.singleton(getCal("2009-04-22")), null, null);
+
+        final Calendar cal = getCal("2009-04-22");
+        cal.set(Calendar.HOUR_OF_DAY, 23);
+        cal.set(Calendar.MINUTE, 59);
+        assertTrue(index.isHoliday(cal));
+        cal.add(Calendar.MINUTE, 1);
+        assertFalse(index.isHoliday(cal));
+    }
+
+    public void testLocalDateIndex() {
+        final Set<LocalDate> holidays = new HashSet<>(Arrays.asList(LocalDate.of(2018, 1, 1), LocalDate.of(2018, 3, 4), LocalDate.of(2018, 5, 6)));
+        final HolidayIndex<LocalDate> index = HolidayIndex.compile(holidays, null, null);
+
+        assertEquals(LocalDate.of(2018, 1, 1).toEpochDay(), index.getFirstDay());
+        assertEquals(LocalDate.of(2018, 5, 6).toEpochDay(), index.getLastDay());
+        for (LocalDate date = LocalDate.of(2017, 12, 1); date.isBefore(LocalDate.of(2018, 7, 1)); date = date.plusDays(1)) {
+            assertEquals(date.toString(), holidays.contains(date), index.isHoliday(date));
+        }
+    }
+
+    public void testNoSampleOrUnknownType() {
+        assertNull(HolidayIndex.compile(Collections.<Date> emptySet(), null, null));
+        assertNull(HolidayIndex.compile(Collections.singleton("2009-04-22"), null, null));
+    }
+
+    public void testDefaultHolidayCalendarIsCompiled() {
+        final DefaultHolidayCalendar<LocalDate> calendar = new DefaultHolidayCalendar<>(Collections.singleton(LocalDate.of(2018, 1, 1)));
+        assertNotNull(calendar.getHolidayIndex());
+        assertTrue(calendar.isHoliday(LocalDate.of(2018, 1, 1)));
+
+        calendar.setLateBoundary(LocalDate.of(2018, 12, 31));
+        assertEquals(LocalDate.of(2018, 12, 31).toEpochDay(), calendar.getHolidayIndex().getLastDay());
+
+        calendar.setHolidays(Collections.singleton(LocalDate.of(2018, 1, 2)));
+        assertFalse(calendar.isHoliday(LocalDate.of(2018, 1, 1)));
+        assertTrue(calendar.isHoliday(LocalDate.of(2018, 1, 2)));
+        assertSame(calendar.getHolidayIndex(), new ImmutableHolidayCalendar<>(calendar).getHolidayIndex());
+    }
+}
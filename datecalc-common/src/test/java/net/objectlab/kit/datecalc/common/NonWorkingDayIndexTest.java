@@ -0,0 +1,62 @@
+package net.objectlab.kit.datecalc.common;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+public class NonWorkingDayIndexTest extends TestCase {
+    private static final WorkingWeek SUN_THU = WorkingWeek.DEFAULT.withWorkingDayFromCalendar(false, Calendar.FRIDAY)
+            .withWorkingDayFromCalendar(true, Calendar.SUNDAY);
+
+    private static final List<WorkingWeek> WEEKS = Arrays.asList(WorkingWeek.DEFAULT, SUN_THU);
+
+    private final HolidayCalendar<LocalDate> cal1 = new DefaultHolidayCalendar<>(
+            new HashSet<>(Arrays.asList(LocalDate.of(2018, 1, 1), LocalDate.of(2018, 3, 30), LocalDate.of(2018, 4, 2))));
+
+    private final HolidayCalendar<LocalDate> cal2 = new DefaultHolidayCalendar<>(
+            new HashSet<>(Arrays.asList(LocalDate.of(2018, 2, 18), LocalDate.of(2018, 4, 3), LocalDate.of(2018, 4, 4))));
+
+    public void testCombine() {
+        final NonWorkingDayIndex<LocalDate> index = NonWorkingDayIndex.combine(WEEKS, Arrays.asList(cal1, cal2));
+        assertNotNull(index);
+
+        for (LocalDate date = LocalDate.of(2017, 12, 1); date.isBefore(LocalDate.of(2018, 6, 1)); date = date.plusDays(1)) {
+            final int day = index.toEpochDay(date);
+            assertEquals(date.toString(), isNonWorkingDay(date), index.isNonWorkingDay(day));
+
+            LocalDate next = date;
+            while (isNonWorkingDay(next)) {
+                next = next.plusDays(1);
+            }
+            assertEquals(date.toString(), next.toEpochDay(), index.nextWorkingDay(day));
+        }
+        assertEquals(LocalDate.of(2018, 4, 5).toEpochDay(), index.nextWorkingDay(index.toEpochDay(LocalDate.of(2018, 3, 30))));
+    }
+
+    public void testWeekendOnlyCalendar() {
+        final NonWorkingDayIndex<LocalDate> index = NonWorkingDayIndex.combine(WEEKS, Arrays.asList(cal1, (HolidayCalendar<LocalDate>) null));
+        assertNotNull(index);
+        assertTrue(index.isNonWorkingDay(index.toEpochDay(LocalDate.of(2018, 2, 16))));
+        assertFalse(index.isNonWorkingDay(index.toEpochDay(LocalDate.of(2018, 2, 18).plusDays(1))));
+    }
+
+    public void testCannotCombine() {
+        assertNull("No converter", NonWorkingDayIndex.combine(WEEKS,
+                Arrays.asList(new DefaultHolidayCalendar<LocalDate>(), new DefaultHolidayCalendar<LocalDate>(Collections.<LocalDate> emptySet()))));
+
+        final WorkingWeek weekendOnly = new WorkingWeek((byte) 0).withWorkingDayFromCalendar(true, Calendar.SATURDAY);
+        assertNull("No common working day", NonWorkingDayIndex.combine(Arrays.asList(WorkingWeek.DEFAULT, weekendOnly), Arrays.asList(cal1, cal2)));
+    }
+
+    private boolean isNonWorkingDay(final LocalDate date) {
+        final boolean weekend1 = date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY;
+        final boolean weekend2 = date.getDayOfWeek() == DayOfWeek.FRIDAY || date.getDayOfWeek() == DayOfWeek.SATURDAY;
+        return weekend1 || weekend2 || cal1.isHoliday(date) || cal2.isHoliday(date);
+    }
+}
@@ -18,8 +18,10 @@ public class CalendarCurrencyDateCalculator extends AbstractCurrencyDateCalculat
 
     @Override
     protected Calendar addMonths(final Calendar calc, final int unit) {
-        calc.add(Calendar.MONTH, unit);
-        return calc;
+        final Calendar cal = Calendar.getInstance();
+        cal.setTime(calc.getTime());
+        cal.add(Calendar.MONTH, unit);
+        return cal;
     }
 
     @Override
@@ -30,6 +32,14 @@ public class CalendarCurrencyDateCalculator extends AbstractCurrencyDateCalculat
         return cal;
     }
 
+    @Override
+    protected Calendar addDays(final Calendar date, final int days) {
+        final Calendar cal = Calendar.getInstance();
+        cal.setTime(date.getTime());
+        cal.add(Calendar.DAY_OF_MONTH, days);
+        return cal;
+    }
+
     @Override
     protected int calendarWeekDay(final Calendar date) {
         return date.get(Calendar.DAY_OF_WEEK);
@@ -75,6 +75,11 @@ public class CalendarDateCalculator extends AbstractDateCalculator<Calendar> {
         return this;
     }
 
+    @Override
+    protected WorkingWeek getWorkingWeek() {
+        return workingWeek;
+    }
+
     /**
      * is the date a non-working day according to the WorkingWeek?
      */
@@ -174,6 +179,13 @@ public class CalendarDateCalculator extends AbstractDateCalculator<Calendar> {
             start = getHolidayHandler().adjustDate(start, 1, this);
         }
 
+        if (isSameTimeOfDay(start, end)) {
+            final int businessDays = countBusinessDays(start, end);
+            if (businessDays >= 0) {
+                return d1B4d2 ? businessDays : -businessDays;
+            }
+        }
+
         int count = 0;
 
         while (start.before(end)) {
@@ -185,6 +197,15 @@ public class CalendarDateCalculator extends AbstractDateCalculator<Calendar> {
         return d1B4d2 ? count : -count;
     }
 
+    /**
+     * The ordinals count whole days, so they only match the day by day walk if both
+     * Calendars have the same time of day.
+     */
+    private static boolean isSameTimeOfDay(final Calendar start, final Calendar end) {
+        return start.get(Calendar.HOUR_OF_DAY) == end.get(Calendar.HOUR_OF_DAY) && start.get(Calendar.MINUTE) == end.get(Calendar.MINUTE)
+                && start.get(Calendar.SECOND) == end.get(Calendar.SECOND) && start.get(Calendar.MILLISECOND) == end.get(Calendar.MILLISECOND);
+    }
+
 }
 
 /*
@@ -93,7 +93,7 @@ public class CalendarKitCalculatorsFactory extends AbstractKitCalculatorsFactory
     }
 
     public CalendarCurrencyDateCalculator getDefaultCurrencyDateCalculator(final String ccy1, final String ccy2, final SpotLag spotLag) {
-        return new CalendarCurrencyDateCalculator(getDefaultCurrencyDateCalculatorBuilder(ccy1, ccy2, spotLag));
+        return getCachedCurrencyDateCalculator(ccy1, ccy2, spotLag);
     }
 
     public static CalendarDateCalculator forwardCalculator(final String name) {
@@ -33,6 +33,14 @@ public class DateCurrencyDateCalculator extends AbstractCurrencyDateCalculator<D
         return cal.getTime();
     }
 
+    @Override
+    protected Date addDays(final Date date, final int days) {
+        final Calendar cal = Calendar.getInstance();
+        cal.setTime(date);
+        cal.add(Calendar.DAY_OF_MONTH, days);
+        return cal.getTime();
+    }
+
     @Override
     protected int calendarWeekDay(final Date date) {
         final Calendar cal = Calendar.getInstance();
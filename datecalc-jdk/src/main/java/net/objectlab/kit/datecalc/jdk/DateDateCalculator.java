@@ -92,6 +92,11 @@ public class DateDateCalculator extends AbstractDateCalculator<Date> {
         return this;
     }
 
+    @Override
+    protected WorkingWeek getWorkingWeek() {
+        return delegate != null ? delegate.getWorkingWeek() : null;
+    }
+
     /**
      * is the date a non-working day according to the WorkingWeek?
      */
@@ -183,6 +188,11 @@ public class DateDateCalculator extends AbstractDateCalculator<Date> {
             start = Utils.getCal(getHolidayHandler().adjustDate(start.getTime(), 1, this));
         }
 
+        final int businessDays = countBusinessDays(start.getTime(), end.getTime());
+        if (businessDays >= 0) {
+            return d1B4d2 ? businessDays : -businessDays;
+        }
+
         int count = 0;
 
         while (start.before(end)) {
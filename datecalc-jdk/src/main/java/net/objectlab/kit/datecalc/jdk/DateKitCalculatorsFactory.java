@@ -91,7 +91,7 @@ public class DateKitCalculatorsFactory extends AbstractKitCalculatorsFactory<Dat
     }
 
     public DateCurrencyDateCalculator getDefaultCurrencyDateCalculator(final String ccy1, final String ccy2, final SpotLag spotLag) {
-        return new DateCurrencyDateCalculator(DEFAULT.getDefaultCurrencyDateCalculatorBuilder(ccy1, ccy2, spotLag));
+        return DEFAULT.getCachedCurrencyDateCalculator(ccy1, ccy2, spotLag);
     }
 
     public static DateDateCalculator forwardCalculator(final String name) {
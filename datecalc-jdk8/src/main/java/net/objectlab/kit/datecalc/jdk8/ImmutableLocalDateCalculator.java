@@ -0,0 +1,395 @@
+/*
+ * ObjectLab, http://www.objectlab.co.uk/open is sponsoring the ObjectLab Kit.
+ *
+ * Based in London, we are world leaders in the design and development
+ * of bespoke applications for the securities financing markets.
+ *
+ * <a href="http://www.objectlab.co.uk/open">Click here to learn more</a>
+ *           ___  _     _           _   _          _
+ *          / _ \| |__ (_) ___  ___| |_| |    __ _| |__
+ *         | | | | '_ \| |/ _ \/ __| __| |   / _` | '_ \
+ *         | |_| | |_) | |  __/ (__| |_| |__| (_| | |_) |
+ *          \___/|_.__// |\___|\___|\__|_____\__,_|_.__/
+ *                   |__/
+ *
+ *                     www.ObjectLab.co.uk
+ *
+ * Copyright 2006 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package net.objectlab.kit.datecalc.jdk8;
+
+import static net.objectlab.kit.datecalc.common.HolidayHandlerType.BACKWARD;
+import static net.objectlab.kit.datecalc.common.HolidayHandlerType.FORWARD;
+import static net.objectlab.kit.datecalc.common.HolidayHandlerType.FORWARD_UNLESS_MOVING_BACK;
+import static net.objectlab.kit.datecalc.common.HolidayHandlerType.MODIFIED_FOLLOWING;
+import static net.objectlab.kit.datecalc.common.HolidayHandlerType.MODIFIED_PRECEDING;
+
+import java.time.LocalDate;
+import java.util.Collections;
+
+import net.objectlab.kit.datecalc.common.BaseCalculator;
+import net.objectlab.kit.datecalc.common.BusinessDayOrdinals;
+import net.objectlab.kit.datecalc.common.DefaultHolidayCalendar;
+import net.objectlab.kit.datecalc.common.HolidayCalendar;
+import net.objectlab.kit.datecalc.common.HolidayHandler;
+import net.objectlab.kit.datecalc.common.HolidayIndex;
+import net.objectlab.kit.datecalc.common.ImmutableDateCalculator;
+import net.objectlab.kit.datecalc.common.ImmutableHolidayCalendar;
+import net.objectlab.kit.datecalc.common.Tenor;
+import net.objectlab.kit.datecalc.common.TenorCode;
+import net.objectlab.kit.datecalc.common.WorkingWeek;
+
+/**
+ * Thread-safe, stateless version of the LocalDateCalculator; all the state (calendar,
+ * working week and holiday handler) is immutable so a single instance can be shared,
+ * see {@link LocalDateKitCalculatorsFactory#getImmutableDateCalculator(String, String)}.
+ *
+ * @author Benoit Xhenseval
+ * @since 1.4.4
+ */
+public class ImmutableLocalDateCalculator implements ImmutableDateCalculator<LocalDate> {
+    private static final int MONTHS_IN_YEAR = 12;
+
+    private static final int DAYS_IN_WEEK = 7;
+
+    private static final int FOLLOW_INCREMENT = 2;
+
+    private final String name;
+
+    private final HolidayCalendar<LocalDate> holidayCalendar;
+
+    private final Jdk8WorkingWeek workingWeek;
+
+    private final HolidayHandler<LocalDate> holidayHandler;
+
+    /** Step of a built-in holiday handler, 0 for a custom one and FOLLOW_INCREMENT for FORWARD_UNLESS_MOVING_BACK. */
+    private final int handlerStep;
+
+    private final boolean modifiedHandler;
+
+    public ImmutableLocalDateCalculator(final String name, final HolidayCalendar<LocalDate> holidayCalendar, final Jdk8WorkingWeek workingWeek,
+            final HolidayHandler<LocalDate> holidayHandler) {
+        this.name = name;
+        if (holidayCalendar instanceof ImmutableHolidayCalendar) {
+            this.holidayCalendar = holidayCalendar;
+        } else if (holidayCalendar != null) {
+            this.holidayCalendar = new ImmutableHolidayCalendar<>(new DefaultHolidayCalendar<>(holidayCalendar.getHolidays(),
+                    holidayCalendar.getEarlyBoundary(), holidayCalendar.getLateBoundary()));
+        } else {
+            this.holidayCalendar = new ImmutableHolidayCalendar<>(new DefaultHolidayCalendar<>(Collections.<LocalDate> emptySet()));
+        }
+        this.workingWeek = workingWeek != null ? workingWeek : Jdk8WorkingWeek.DEFAULT;
+        this.holidayHandler = holidayHandler;
+        final Class<?> handlerClass = holidayHandler != null ? holidayHandler.getClass() : null;
+        if (handlerClass == LocalDateForwardHandler.class || handlerClass == LocalDateModifiedFollowingHandler.class) {
+            handlerStep = 1;
+        } else if (handlerClass == LocalDateBackwardHandler.class || handlerClass == LocalDateModifiedPrecedingHandler.class) {
+            handlerStep = -1;
+        } else if (handlerClass == LocalDateForwardUnlessNegativeHandler.class) {
+            handlerStep = FOLLOW_INCREMENT;
+        } else {
+            handlerStep = 0;
+        }
+        this.modifiedHandler = handlerClass == LocalDateModifiedFollowingHandler.class || handlerClass == LocalDateModifiedPrecedingHandler.class;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getHolidayHandlerType() {
+        return holidayHandler != null ? holidayHandler.getType() : null;
+    }
+
+    @Override
+    public HolidayCalendar<LocalDate> getHolidayCalendar() {
+        return holidayCalendar;
+    }
+
+    @Override
+    public WorkingWeek getWorkingWeek() {
+        return workingWeek;
+    }
+
+    @Override
+    public boolean isWeekend(final LocalDate date) {
+        return !workingWeek.isWorkingDay(date);
+    }
+
+    @Override
+    public boolean isNonWorkingDay(final LocalDate date) {
+        if (date != null && (holidayCalendar.getEarlyBoundary() != null || holidayCalendar.getLateBoundary() != null)) {
+            checkBoundary(date);
+        }
+        return isWeekend(date) || holidayCalendar.isHoliday(date);
+    }
+
+    // -----------------------------------------------------------------------
+    //
+    // ObjectLab, world leaders in the design and development of bespoke
+    // applications for the securities financing markets.
+    // www.ObjectLab.co.uk
+    //
+    // -----------------------------------------------------------------------
+
+    @Override
+    public LocalDate adjust(final LocalDate date) {
+        return adjust(date, 0);
+    }
+
+    @Override
+    public LocalDate addDays(final LocalDate date, final int days) {
+        return adjust(adjust(date, 0).plusDays(days), days);
+    }
+
+    @Override
+    public LocalDate addBusinessDays(final LocalDate date, final int businessDays) {
+        checkHolidayValidity(businessDays);
+        return moveByBusinessDays(adjust(date, 0), businessDays);
+    }
+
+    @Override
+    public LocalDate applyTenor(final LocalDate date, final Tenor tenor, final int spotLag) {
+        if (tenor == null) {
+            throw new IllegalArgumentException("Tenor cannot be null");
+        }
+
+        LocalDate current = adjust(date, 0);
+        TenorCode tenorCode = tenor.getCode();
+        if (tenorCode != TenorCode.OVERNIGHT && tenorCode != TenorCode.TOM_NEXT) {
+            // get to the Spot date first:
+            checkHolidayValidity(spotLag);
+            current = moveByBusinessDays(current, spotLag);
+        }
+        int unit = tenor.getUnits();
+        if (tenorCode == TenorCode.WEEK) {
+            tenorCode = TenorCode.DAY;
+            unit *= DAYS_IN_WEEK;
+        }
+
+        if (tenorCode == TenorCode.YEAR) {
+            tenorCode = TenorCode.MONTH;
+            unit *= MONTHS_IN_YEAR;
+        }
+
+        switch (tenorCode) {
+        case OVERNIGHT:
+        case SPOT_NEXT:
+            return adjust(current.plusDays(1), 1);
+        case TOM_NEXT:
+            return adjust(adjust(current.plusDays(1), 1).plusDays(1), 1);
+        case SPOT:
+            return current;
+        case DAY:
+            return adjust(current.plusDays(unit), unit);
+        case MONTH:
+            return adjust(current.plusMonths(unit), unit);
+        default:
+            throw new UnsupportedOperationException("Sorry not yet...");
+        }
+    }
+
+    @Override
+    public int getNumberOfBusinessDaysBetween(final LocalDate d1, final LocalDate d2) {
+        if (d1 == null || d2 == null) {
+            return 0;
+        }
+        final boolean d1B4d2 = !d1.isAfter(d2);
+        LocalDate start = d1B4d2 ? d1 : d2;
+        final LocalDate end = d1B4d2 ? d2 : d1;
+        if (holidayHandler != null) {
+            start = holidayHandler.adjustDate(start, 1, this);
+        }
+
+        final HolidayIndex<LocalDate> index = holidayCalendar.getHolidayIndex();
+        if (index != null && start.isBefore(end)) {
+            final int from = index.toEpochDay(start);
+            final int to = index.toEpochDay(end);
+            final int count = isWithinBoundaries(index, from) && isWithinBoundaries(index, to - 1)
+                    ? index.getBusinessDayOrdinals(workingWeek).countBusinessDays(from, to) : -1;
+            if (count >= 0) {
+                return d1B4d2 ? count : -count;
+            }
+        }
+
+        int count = 0;
+        while (start.isBefore(end)) {
+            if (!isNonWorkingDay(start)) {
+                count++;
+            }
+            start = start.plusDays(1);
+        }
+        return d1B4d2 ? count : -count;
+    }
+
+    private LocalDate moveByBusinessDays(final LocalDate date, final int businessDays) {
+        if (businessDays == 0 || holidayHandler == null) {
+            // without handler, moveByBusinessDays only moves by calendar days
+            return businessDays == 0 ? date : date.plusDays(businessDays);
+        }
+
+        final String type = holidayHandler.getType();
+        final HolidayIndex<LocalDate> index = holidayCalendar.getHolidayIndex();
+        if (index != null && (FORWARD.equals(type) || BACKWARD.equals(type) || FORWARD_UNLESS_MOVING_BACK.equals(type))) {
+            final int day = index.toEpochDay(date);
+            final int target = index.getBusinessDayOrdinals(workingWeek).moveByBusinessDays(day, businessDays);
+            if (target != BusinessDayOrdinals.NOT_COVERED && isWithinBoundaries(index, day) && isWithinBoundaries(index, target)) {
+                return date.plusDays(target - day);
+            }
+        }
+
+        final int step = businessDays < 0 ? -1 : 1;
+        LocalDate current = date;
+        for (int i = Math.abs(businessDays); i > 0; i--) {
+            current = adjust(current.plusDays(step), step);
+        }
+        return current;
+    }
+
+    /**
+     * Adjust the date as the DateCalculator would when its current increment is the given one.
+     */
+    private LocalDate adjust(final LocalDate date, final int increment) {
+        if (date != null && (holidayCalendar.getEarlyBoundary() != null || holidayCalendar.getLateBoundary() != null)) {
+            checkBoundary(date);
+        }
+        if (holidayHandler == null || date == null) {
+            return date;
+        }
+        if (handlerStep == 0) {
+            return holidayHandler.moveCurrentDate(new CurrentDate(date, increment, this));
+        }
+        final int step = handlerStep != FOLLOW_INCREMENT ? handlerStep : increment < 0 ? -1 : 1;
+        final HolidayIndex<LocalDate> index = holidayCalendar.getHolidayIndex();
+        if (index != null) {
+            final BusinessDayOrdinals ordinals = index.getBusinessDayOrdinals(workingWeek);
+            final int day = index.toEpochDay(date);
+            final int target = nextBusinessDay(index, ordinals, day, step);
+            if (target != BusinessDayOrdinals.NOT_COVERED) {
+                final LocalDate adjusted = date.plusDays(target - day);
+                if (!modifiedHandler || adjusted.getMonthValue() == date.getMonthValue()) {
+                    return adjusted;
+                }
+                // the modified handlers go the other way rather than change month
+                final int other = nextBusinessDay(index, ordinals, day, -step);
+                if (other != BusinessDayOrdinals.NOT_COVERED && date.plusDays(other - day).getMonthValue() == date.getMonthValue()) {
+                    return date.plusDays(other - day);
+                }
+            }
+        }
+        return holidayHandler.adjustDate(date, step, this);
+    }
+
+    /**
+     * @return the first business day from the given day in the direction of the step, or NOT_COVERED if the
+     * ordinals or the boundaries of the calendar are reached first.
+     */
+    private int nextBusinessDay(final HolidayIndex<LocalDate> index, final BusinessDayOrdinals ordinals, final int day, final int step) {
+        final LocalDate early = holidayCalendar.getEarlyBoundary();
+        final LocalDate late = holidayCalendar.getLateBoundary();
+        final int first = Math.max(ordinals.getFirstDay(), early != null ? index.toEpochDay(early) : Integer.MIN_VALUE);
+        final int last = Math.min(ordinals.getLastDay(), late != null ? index.toEpochDay(late) : Integer.MAX_VALUE);
+        for (int current = day; current >= first && current <= last; current += step) {
+            if (ordinals.isBusinessDay(current)) {
+                return current;
+            }
+        }
+        return BusinessDayOrdinals.NOT_COVERED;
+    }
+
+    private void checkHolidayValidity(final int businessDays) {
+        if (holidayHandler == null) {
+            return;
+        }
+        final String type = holidayHandler.getType();
+        if (businessDays > 0 && (BACKWARD.equals(type) || MODIFIED_PRECEDING.equals(type))) {
+            throw new IllegalArgumentException(
+                    "A " + MODIFIED_PRECEDING + " or " + BACKWARD + " does not allow positive steps for moveByBusinessDays");
+        } else if (businessDays < 0 && (FORWARD.equals(type) || MODIFIED_FOLLOWING.equals(type))) {
+            throw new IllegalArgumentException(
+                    "A " + MODIFIED_FOLLOWING + " or " + FORWARD + " does not allow negative steps for moveByBusinessDays");
+        }
+    }
+
+    private boolean isWithinBoundaries(final HolidayIndex<LocalDate> index, final int day) {
+        final LocalDate early = holidayCalendar.getEarlyBoundary();
+        final LocalDate late = holidayCalendar.getLateBoundary();
+        return (early == null || index.toEpochDay(early) <= day) && (late == null || index.toEpochDay(late) >= day);
+    }
+
+    private void checkBoundary(final LocalDate date) {
+        final LocalDate early = holidayCalendar.getEarlyBoundary();
+        if (early != null && early.isAfter(date)) {
+            throw new IndexOutOfBoundsException(date + " is before the early boundary " + early);
+        }
+
+        final LocalDate late = holidayCalendar.getLateBoundary();
+        if (late != null && late.isBefore(date)) {
+            throw new IndexOutOfBoundsException(date + " is after the late boundary " + late);
+        }
+    }
+
+    /**
+     * Read-only view of a date and increment, as seen by the HolidayHandler.
+     */
+    private static final class CurrentDate implements BaseCalculator<LocalDate> {
+        private final LocalDate date;
+
+        private final int increment;
+
+        private final ImmutableLocalDateCalculator calculator;
+
+        private CurrentDate(final LocalDate date, final int increment, final ImmutableLocalDateCalculator calculator) {
+            this.date = date;
+            this.increment = increment;
+            this.calculator = calculator;
+        }
+
+        @Override
+        public boolean isNonWorkingDay(final LocalDate date) {
+            return calculator.isNonWorkingDay(date);
+        }
+
+        @Override
+        public LocalDate getCurrentBusinessDate() {
+            return date;
+        }
+
+        @Override
+        public int getCurrentIncrement() {
+            return increment;
+        }
+    }
+}
+
+
+/*
+ * ObjectLab, http://www.objectlab.co.uk/open is sponsoring the ObjectLab Kit.
+ *
+ * Based in London, we are world leaders in the design and development
+ * of bespoke applications for the securities financing markets.
+ *
+ * <a href="http://www.objectlab.co.uk/open">Click here to learn more about us</a>
+ *           ___  _     _           _   _          _
+ *          / _ \| |__ (_) ___  ___| |_| |    __ _| |__
+ *         | | | | '_ \| |/ _ \/ __| __| |   / _` | '_ \
+ *         | |_| | |_) | |  __/ (__| |_| |__| (_| | |_) |
+ *          \___/|_.__// |\___|\___|\__|_____\__,_|_.__/
+ *                   |__/
+ *
+ *                     www.ObjectLab.co.uk
+ */
@@ -80,6 +80,11 @@ public class LocalDateCalculator extends AbstractDateCalculator<LocalDate> {
         throw new IllegalArgumentException("Please give an instance of JodaWorkingWeek");
     }
 
+    @Override
+    protected WorkingWeek getWorkingWeek() {
+        return workingWeek;
+    }
+
     /**
      * is the date a non-working day according to the WorkingWeek?
      */
@@ -176,6 +181,11 @@ public class LocalDateCalculator extends AbstractDateCalculator<LocalDate> {
             start = getHolidayHandler().adjustDate(start, 1, this);
         }
 
+        final int businessDays = countBusinessDays(start, end);
+        if (businessDays >= 0) {
+            return d1B4d2 ? businessDays : -businessDays;
+        }
+
         int count = 0;
         while (start.isBefore(end)) {
             if (!isNonWorkingDay(start)) {
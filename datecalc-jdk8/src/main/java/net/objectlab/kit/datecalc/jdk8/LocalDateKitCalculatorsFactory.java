@@ -38,12 +38,16 @@ import static net.objectlab.kit.datecalc.common.HolidayHandlerType.MODIFIED_FOLL
 import static net.objectlab.kit.datecalc.common.HolidayHandlerType.MODIFIED_PRECEDING;
 
 import java.time.LocalDate;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import net.objectlab.kit.datecalc.common.AbstractKitCalculatorsFactory;
 import net.objectlab.kit.datecalc.common.CurrencyDateCalculatorBuilder;
+import net.objectlab.kit.datecalc.common.HolidayCalendar;
 import net.objectlab.kit.datecalc.common.HolidayHandler;
 import net.objectlab.kit.datecalc.common.HolidayHandlerType;
 import net.objectlab.kit.datecalc.common.IMMDateCalculator;
+import net.objectlab.kit.datecalc.common.KitCalculatorsFactory;
 import net.objectlab.kit.datecalc.common.PeriodCountCalculator;
 import net.objectlab.kit.datecalc.common.SpotLag;
 
@@ -62,6 +66,10 @@ public class LocalDateKitCalculatorsFactory extends AbstractKitCalculatorsFactor
 
     private static final IMMDateCalculator<LocalDate> IMMDC = new LocalDateIMMDateCalculator();
 
+    private static final String NO_KEY = "";
+
+    private final ConcurrentMap<String, ConcurrentMap<String, ImmutableLocalDateCalculator>> immutableCalculators = new ConcurrentHashMap<>();
+
     public static LocalDateKitCalculatorsFactory getDefaultInstance() {
         return DEFAULT;
     }
@@ -97,7 +105,7 @@ public class LocalDateKitCalculatorsFactory extends AbstractKitCalculatorsFactor
 
     @Override
     public LocalDateCurrencyDateCalculator getDefaultCurrencyDateCalculator(final String ccy1, final String ccy2, final SpotLag spotLag) {
-        return new LocalDateCurrencyDateCalculator(getDefaultCurrencyDateCalculatorBuilder(ccy1, ccy2, spotLag));
+        return getCachedCurrencyDateCalculator(ccy1, ccy2, spotLag);
     }
 
     public static LocalDateCalculator forwardCalculator(final String name) {
@@ -120,6 +128,10 @@ public class LocalDateKitCalculatorsFactory extends AbstractKitCalculatorsFactor
         return DEFAULT.getDateCalculator(name, HolidayHandlerType.MODIFIED_PRECEDING);
     }
 
+    public static ImmutableLocalDateCalculator immutableCalculator(final String name, final String holidayHandlerType) {
+        return DEFAULT.getImmutableDateCalculator(name, holidayHandlerType);
+    }
+
     // -----------------------------------------------------------------------
     //
     // ObjectLab, world leaders in the design and development of bespoke
@@ -149,6 +161,62 @@ public class LocalDateKitCalculatorsFactory extends AbstractKitCalculatorsFactor
         return cal;
     }
 
+    /**
+     * Provides a shared, thread-safe calculator for a given name and type of handling; the
+     * instance is cached until the holiday calendar with that name is registered again or
+     * unregistered.
+     *
+     * @param name
+     *            calendar name (holidays set interested in). If there is set of
+     *            holidays with that name, it will return a calculator with
+     *            an empty holiday set (will work on Weekend only).
+     * @param holidayHandlerType
+     *            typically one of the value of HolidayHandlerType
+     * @return a cached ImmutableLocalDateCalculator
+     * @since 1.4.4
+     */
+    public ImmutableLocalDateCalculator getImmutableDateCalculator(final String name, final String holidayHandlerType) {
+        final String calendarKey = name != null ? name : NO_KEY;
+        final String handlerKey = holidayHandlerType != null ? holidayHandlerType : NO_KEY;
+        final ConcurrentMap<String, ImmutableLocalDateCalculator> byHandler = immutableCalculators.computeIfAbsent(calendarKey,
+                k -> new ConcurrentHashMap<>());
+        ImmutableLocalDateCalculator calculator = byHandler.get(handlerKey);
+        if (calculator == null) {
+            final HolidayCalendar<LocalDate> calendar = name != null ? getHolidayCalendar(name) : null;
+            calculator = new ImmutableLocalDateCalculator(name, calendar, Jdk8WorkingWeek.DEFAULT, getHolidayHandler(holidayHandlerType));
+            final ImmutableLocalDateCalculator existing = byHandler.putIfAbsent(handlerKey, calculator);
+            if (existing != null) {
+                calculator = existing;
+            }
+        }
+        return calculator;
+    }
+
+    @Override
+    public KitCalculatorsFactory<LocalDate> registerHolidays(final String name, final HolidayCalendar<LocalDate> holidaysCalendar) {
+        super.registerHolidays(name, holidaysCalendar);
+        if (name != null) {
+            immutableCalculators.remove(name);
+        }
+        return this;
+    }
+
+    @Override
+    public KitCalculatorsFactory<LocalDate> unregisterHolidayCalendar(final String calendarName) {
+        super.unregisterHolidayCalendar(calendarName);
+        if (calendarName != null) {
+            immutableCalculators.remove(calendarName);
+        }
+        return this;
+    }
+
+    @Override
+    public KitCalculatorsFactory<LocalDate> unregisterAllHolidayCalendars() {
+        super.unregisterAllHolidayCalendars();
+        immutableCalculators.clear();
+        return this;
+    }
+
     @Override
     public HolidayHandler<LocalDate> getHolidayHandler(final String holidayHandlerType) {
         if (HolidayHandlerType.FORWARD.equals(holidayHandlerType)) {
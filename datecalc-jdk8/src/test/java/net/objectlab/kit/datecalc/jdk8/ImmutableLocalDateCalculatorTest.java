@@ -0,0 +1,178 @@
+/*
+ * ObjectLab, http://www.objectlab.co.uk/open is sponsoring the ObjectLab Kit.
+ *
+ * Based in London, we are world leaders in the design and development
+ * of bespoke applications for the securities financing markets.
+ *
+ * <a href="http://www.objectlab.co.uk/open">Click here to learn more</a>
+ *           ___  _     _           _   _          _
+ *          / _ \| |__ (_) ___  ___| |_| |    __ _| |__
+ *         | | | | '_ \| |/ _ \/ __| __| |   / _` | '_ \
+ *         | |_| | |_) | |  __/ (__| |_| |__| (_| | |_) |
+ *          \___/|_.__// |\___|\___|\__|_____\__,_|_.__/
+ *                   |__/
+ *
+ *                     www.ObjectLab.co.uk
+ *
+ * Copyright 2006 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package net.objectlab.kit.datecalc.jdk8;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import junit.framework.TestCase;
+import net.objectlab.kit.datecalc.common.BaseCalculator;
+import net.objectlab.kit.datecalc.common.DateCalculator;
+import net.objectlab.kit.datecalc.common.DefaultHolidayCalendar;
+import net.objectlab.kit.datecalc.common.HolidayHandlerType;
+import net.objectlab.kit.datecalc.common.Tenor;
+
+public class ImmutableLocalDateCalculatorTest extends TestCase {
+    private static final String NAME = "ImmutableTest";
+
+    private static final List<String> TYPES = Arrays.asList(HolidayHandlerType.FORWARD, HolidayHandlerType.BACKWARD,
+            HolidayHandlerType.MODIFIED_FOLLOWING, HolidayHandlerType.MODIFIED_PRECEDING, HolidayHandlerType.FORWARD_UNLESS_MOVING_BACK);
+
+    private static final List<String> TENORS = Arrays.asList("ON", "TN", "SP", "SN", "1D", "1W", "2W", "1M", "3M", "6M", "1Y");
+
+    private final LocalDateKitCalculatorsFactory factory = new LocalDateKitCalculatorsFactory();
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        final Set<LocalDate> holidays = new HashSet<>();
+        holidays.add(LocalDate.parse("2006-01-02"));
+        holidays.add(LocalDate.parse("2006-04-14"));
+        holidays.add(LocalDate.parse("2006-04-17"));
+        holidays.add(LocalDate.parse("2006-05-01"));
+        holidays.add(LocalDate.parse("2006-05-29"));
+        holidays.add(LocalDate.parse("2006-08-28"));
+        holidays.add(LocalDate.parse("2006-12-25"));
+        holidays.add(LocalDate.parse("2006-12-26"));
+        factory.registerHolidays(NAME,
+                new DefaultHolidayCalendar<>(holidays, LocalDate.parse("2005-06-01"), LocalDate.parse("2008-06-01")));
+    }
+
+    public void testCachedInstance() {
+        final ImmutableLocalDateCalculator cal = factory.getImmutableDateCalculator(NAME, HolidayHandlerType.FORWARD);
+        assertSame("Same instance", cal, factory.getImmutableDateCalculator(NAME, HolidayHandlerType.FORWARD));
+        assertNotSame("Other handler", cal, factory.getImmutableDateCalculator(NAME, HolidayHandlerType.BACKWARD));
+        assertEquals("Name", NAME, cal.getName());
+        assertEquals("Type", HolidayHandlerType.FORWARD, cal.getHolidayHandlerType());
+
+        factory.registerHolidays(NAME, new DefaultHolidayCalendar<>(new HashSet<>(Arrays.asList(LocalDate.parse("2006-03-01")))));
+        final ImmutableLocalDateCalculator newCal = factory.getImmutableDateCalculator(NAME, HolidayHandlerType.FORWARD);
+        assertNotSame("Re-registered", cal, newCal);
+        assertTrue("New holiday", newCal.isNonWorkingDay(LocalDate.parse("2006-03-01")));
+        assertFalse("Old holiday", newCal.isNonWorkingDay(LocalDate.parse("2006-12-25")));
+
+        factory.unregisterHolidayCalendar(NAME);
+        assertFalse("Unregistered", factory.getImmutableDateCalculator(NAME, HolidayHandlerType.FORWARD).isNonWorkingDay(LocalDate.parse("2006-03-01")));
+    }
+
+    public void testNoHandler() {
+        final ImmutableLocalDateCalculator cal = factory.getImmutableDateCalculator(NAME, null);
+        assertNull("Type", cal.getHolidayHandlerType());
+        assertEquals("No adjustment", LocalDate.parse("2006-12-25"), cal.adjust(LocalDate.parse("2006-12-25")));
+    }
+
+    public void testBoundaries() {
+        final ImmutableLocalDateCalculator cal = factory.getImmutableDateCalculator(NAME, HolidayHandlerType.FORWARD);
+        try {
+            cal.adjust(LocalDate.parse("2005-05-31"));
+            fail("Before early boundary");
+        } catch (final IndexOutOfBoundsException e) {
+            // expected
+        }
+        try {
+            cal.addBusinessDays(LocalDate.parse("2006-01-01"), -1);
+            fail("Negative steps with forward handler");
+        } catch (final IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    public void testCustomHandler() {
+        final ImmutableLocalDateCalculator builtIn = factory.getImmutableDateCalculator(NAME, HolidayHandlerType.FORWARD);
+        final ImmutableLocalDateCalculator custom = new ImmutableLocalDateCalculator(NAME, builtIn.getHolidayCalendar(), null,
+                new LocalDateForwardHandler() {
+                    @Override
+                    public LocalDate moveCurrentDate(final BaseCalculator<LocalDate> calculator) {
+                        return super.moveCurrentDate(calculator).plusDays(calculator.getCurrentIncrement() > 0 ? 100 : 0);
+                    }
+                });
+        assertEquals("Custom moveCurrentDate", LocalDate.parse("2006-04-18"), custom.adjust(LocalDate.parse("2006-04-14")));
+        assertEquals("Custom increment", LocalDate.parse("2006-07-28"), custom.addDays(LocalDate.parse("2006-04-14"), 1));
+        assertEquals("Built-in", LocalDate.parse("2006-04-18"), builtIn.adjust(LocalDate.parse("2006-04-14")));
+    }
+
+    public void testSameAsDateCalculator() {
+        for (final String type : TYPES) {
+            final ImmutableLocalDateCalculator immutable = factory.getImmutableDateCalculator(NAME, type);
+            final int step = HolidayHandlerType.BACKWARD.equals(type) || HolidayHandlerType.MODIFIED_PRECEDING.equals(type) ? -1 : 1;
+            for (LocalDate date = LocalDate.parse("2006-01-01"); date.getYear() == 2006; date = date.plusDays(1)) {
+                final DateCalculator<LocalDate> cal = factory.getDateCalculator(NAME, type);
+                cal.setStartDate(date);
+                assertEquals(type + " adjust " + date, cal.getCurrentBusinessDate(), immutable.adjust(date));
+
+                for (final int days : new int[] { 0, 1, 5, 30 }) {
+                    cal.setStartDate(date);
+                    assertEquals(type + " days " + days + " " + date, cal.moveByDays(step * days).getCurrentBusinessDate(),
+                            immutable.addDays(date, step * days));
+                    cal.setStartDate(date);
+                    assertEquals(type + " business days " + days + " " + date, cal.moveByBusinessDays(step * days).getCurrentBusinessDate(),
+                            immutable.addBusinessDays(date, step * days));
+                }
+
+                if (step > 0) {
+                    for (final String tenor : TENORS) {
+                        cal.setStartDate(date);
+                        assertEquals(type + " tenor " + tenor + " " + date,
+                                cal.moveByTenor(Tenor.valueOf(tenor), 2).getCurrentBusinessDate(),
+                                immutable.applyTenor(date, Tenor.valueOf(tenor), 2));
+                    }
+                }
+
+                final LocalDate other = date.plusDays(45);
+                assertEquals(type + " count " + date, cal.getNumberOfBusinessDaysBetween(date, other),
+                        immutable.getNumberOfBusinessDaysBetween(date, other));
+                assertEquals(type + " reverse count " + date, cal.getNumberOfBusinessDaysBetween(other, date),
+                        immutable.getNumberOfBusinessDaysBetween(other, date));
+            }
+        }
+    }
+}
+
+
+/*
+ * ObjectLab, http://www.objectlab.co.uk/open is sponsoring the ObjectLab Kit.
+ *
+ * Based in London, we are world leaders in the design and development
+ * of bespoke applications for the securities financing markets.
+ *
+ * <a href="http://www.objectlab.co.uk/open">Click here to learn more about us</a>
+ *           ___  _     _           _   _          _
+ *          / _ \| |__ (_) ___  ___| |_| |    __ _| |__
+ *         | | | | '_ \| |/ _ \/ __| __| |   / _` | '_ \
+ *         | |_| | |_) | |  __/ (__| |_| |__| (_| | |_) |
+ *          \___/|_.__// |\___|\___|\__|_____\__,_|_.__/
+ *                   |__/
+ *
+ *                     www.ObjectLab.co.uk
+ */
@@ -0,0 +1,57 @@
+/*
+ * ObjectLab, http://www.objectlab.co.uk/open is sponsoring the ObjectLab Kit.
+ *
+ * Based in London, we are world leaders in the design and development
+ * of bespoke applications for the securities financing markets.
+ *
+ * <a href="http://www.objectlab.co.uk/open">Click here to learn more</a>
+ *           ___  _     _           _   _          _
+ *          / _ \| |__ (_) ___  ___| |_| |    __ _| |__
+ *         | | | | '_ \| |/ _ \/ __| __| |   / _` | '_ \
+ *         | |_| | |_) | |  __/ (__| |_| |__| (_| | |_) |
+ *          \___/|_.__// |\___|\___|\__|_____\__,_|_.__/
+ *                   |__/
+ *
+ *                     www.ObjectLab.co.uk
+ *
+ * Copyright 2006 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package net.objectlab.kit.datecalc.joda;
+
+import net.objectlab.kit.datecalc.common.EpochDayConverter;
+import net.objectlab.kit.datecalc.common.EpochDayConverters;
+
+import org.joda.time.LocalDate;
+
+/**
+ * EpochDayConverter for Joda LocalDate, registered via META-INF/services so that
+ * holiday calendars of Joda LocalDate are compiled into a HolidayIndex.
+ *
+ * @author Benoit Xhenseval
+ * @since 1.4.4
+ */
+public class JodaEpochDayConverter implements EpochDayConverter<LocalDate> {
+    private static final long serialVersionUID = -1502957281376614520L;
+
+    @Override
+    public boolean supports(final Class<?> dateType) {
+        return LocalDate.class.equals(dateType);
+    }
+
+    @Override
+    public int toEpochDay(final LocalDate date) {
+        return EpochDayConverters.epochDay(date.getYear(), date.getMonthOfYear(), date.getDayOfMonth());
+    }
+}
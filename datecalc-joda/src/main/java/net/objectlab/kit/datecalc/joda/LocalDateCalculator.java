@@ -81,6 +81,11 @@ public class LocalDateCalculator extends AbstractDateCalculator<LocalDate> {
         throw new IllegalArgumentException("Please give an instance of JodaWorkingWeek");
     }
 
+    @Override
+    protected WorkingWeek getWorkingWeek() {
+        return workingWeek;
+    }
+
     /**
      * is the date a non-working day according to the WorkingWeek?
      */
@@ -177,6 +182,11 @@ public class LocalDateCalculator extends AbstractDateCalculator<LocalDate> {
             start = getHolidayHandler().adjustDate(start, 1, this);
         }
 
+        final int businessDays = countBusinessDays(start, end);
+        if (businessDays >= 0) {
+            return d1B4d2 ? businessDays : -businessDays;
+        }
+
         int count = 0;
         // start = start.plusDays(1);
         while (start.isBefore(end)) {
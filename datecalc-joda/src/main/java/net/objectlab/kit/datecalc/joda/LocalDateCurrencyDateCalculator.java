@@ -26,6 +26,11 @@ public class LocalDateCurrencyDateCalculator extends AbstractCurrencyDateCalcula
         return date.plusDays(1);
     }
 
+    @Override
+    protected LocalDate addDays(final LocalDate date, final int days) {
+        return date.plusDays(days);
+    }
+
     @Override
     protected int calendarWeekDay(final LocalDate date) {
         return JodaWorkingWeek.jodaToCalendarDayConstant(date);
@@ -88,7 +88,7 @@ public class LocalDateKitCalculatorsFactory extends AbstractKitCalculatorsFactor
     }
 
     public LocalDateCurrencyDateCalculator getDefaultCurrencyDateCalculator(final String ccy1, final String ccy2, final SpotLag spotLag) {
-        return new LocalDateCurrencyDateCalculator(getDefaultCurrencyDateCalculatorBuilder(ccy1, ccy2, spotLag));
+        return getCachedCurrencyDateCalculator(ccy1, ccy2, spotLag);
     }
 
     public LocalDateCurrencyDateCalculator buildCurrencyDateCalculator(final CurrencyDateCalculatorBuilder<LocalDate> builder) {
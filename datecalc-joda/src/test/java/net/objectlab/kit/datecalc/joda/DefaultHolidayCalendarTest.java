@@ -55,4 +55,15 @@ public class DefaultHolidayCalendarTest extends TestCase {
         final LocalDate localDate1 = new LocalDate(calendar);
         assertTrue("Date with Chronology " + localDate1.getChronology(), holidayCalendar.isHoliday(localDate1));
     }
+
+    public void testHolidayIndexForJodaLocalDate() {
+        final Set<LocalDate> s = new HashSet<LocalDate>();
+        s.add(new LocalDate(2012, 6, 21));
+        final DefaultHolidayCalendar<LocalDate> holidayCalendar = new DefaultHolidayCalendar<LocalDate>(s, new LocalDate("2012-01-01"),
+                new LocalDate("2012-12-31"));
+        assertNotNull(holidayCalendar.getHolidayIndex());
+        assertEquals(java.time.LocalDate.of(2012, 1, 1).toEpochDay(), holidayCalendar.getHolidayIndex().getFirstDay());
+        assertTrue(holidayCalendar.getHolidayIndex().isHoliday(new LocalDate(2012, 6, 21)));
+        assertFalse(holidayCalendar.getHolidayIndex().isHoliday(new LocalDate(2012, 6, 22)));
+    }
 }
@@ -0,0 +1,56 @@
+package net.objectlab.kit.fxcalc;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable result of {@link FxRateCalculator#convertAll(java.util.Collection, String, ConversionSide)}.
+ *
+ * @author Benoit Xhenseval
+ * @since 1.4.4
+ */
+public class ConversionResult {
+    private final String targetCurrency;
+    private final List<CurrencyAmount> convertedAmounts;
+    private final Map<String, CurrencyAmount> totalsBySourceCurrency;
+    private final CurrencyAmount total;
+
+    public ConversionResult(final String targetCurrency, final List<CurrencyAmount> convertedAmounts,
+            final Map<String, CurrencyAmount> totalsBySourceCurrency) {
+        this.targetCurrency = targetCurrency;
+        this.convertedAmounts = Collections.unmodifiableList(convertedAmounts);
+        this.totalsBySourceCurrency = Collections.unmodifiableMap(totalsBySourceCurrency);
+        CurrencyAmount sum = null;
+        for (final CurrencyAmount amount : totalsBySourceCurrency.values()) {
+            sum = sum == null ? amount : sum.add(amount);
+        }
+        this.total = sum != null ? sum : Cash.of(targetCurrency, BigDecimal.ZERO);
+    }
+
+    public String getTargetCurrency() {
+        return targetCurrency;
+    }
+
+    /**
+     * @return the converted amounts, in the same order as the original ones.
+     */
+    public List<CurrencyAmount> getConvertedAmounts() {
+        return convertedAmounts;
+    }
+
+    /**
+     * @return for each original currency (in order of first appearance), the total of the converted amounts in the target currency.
+     */
+    public Map<String, CurrencyAmount> getTotalsBySourceCurrency() {
+        return totalsBySourceCurrency;
+    }
+
+    /**
+     * @return the total of all converted amounts in the target currency.
+     */
+    public CurrencyAmount getTotal() {
+        return total;
+    }
+}
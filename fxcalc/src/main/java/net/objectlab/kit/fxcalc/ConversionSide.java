@@ -0,0 +1,33 @@
+package net.objectlab.kit.fxcalc;
+
+/**
+ * Which side of the FX Rate should be used to convert an amount.
+ *
+ * @author Benoit Xhenseval
+ * @since 1.4.4
+ */
+public enum ConversionSide {
+    /**
+     * Use the MID rate, see {@link FxRate#convertAmountUsingMid(CurrencyAmount)}.
+     */
+    MID {
+        @Override
+        public CurrencyAmount convert(final FxRate rate, final CurrencyAmount amount) {
+            return rate.convertAmountUsingMid(amount);
+        }
+    },
+    /**
+     * Use the BID or ASK depending on the currency of the amount, see {@link FxRate#convertAmountUsingBidOrAsk(CurrencyAmount)}.
+     */
+    BID_OR_ASK {
+        @Override
+        public CurrencyAmount convert(final FxRate rate, final CurrencyAmount amount) {
+            return rate.convertAmountUsingBidOrAsk(amount);
+        }
+    };
+
+    /**
+     * Convert the amount in the other currency of the rate.
+     */
+    public abstract CurrencyAmount convert(FxRate rate, CurrencyAmount amount);
+}
@@ -48,9 +48,14 @@ public final class CrossRateCalculator {
         // what if it is both ccy2?
         final boolean shouldDivide = fx1Ccy1.equals(xCcy) && fx2Ccy1.equals(xCcy) || fx1Ccy2.equals(xCcy) && fx2Ccy2.equals(xCcy);
 
-        FxRateImpl crossRate = null;
+        FxRate crossRate = null;
 
-        if (shouldDivide) {
+        if (fx1 instanceof FixedPointFxRate && fx2 instanceof FixedPointFxRate) {
+            crossRate = calculateFixedPoint(targetPair, (FixedPointFxRate) fx1, (FixedPointFxRate) fx2, precision, precisionForInverseFxRate,
+                    ranking, bidRounding, askRounding, currencyProvider, xCcy, shouldDivide);
+        }
+
+        if (crossRate == null && shouldDivide) {
             final FxRate numeratorFx = targetPair.getCcy1().equals(fx2Ccy2) || targetPair.getCcy1().equals(fx1Ccy1) ? fx1 : fx2;
             final FxRate denominatorFx = numeratorFx == fx1 ? fx2 : fx1;
             LOG.debug("CALC {} / {}", numeratorFx, denominatorFx);
@@ -58,15 +63,69 @@ public final class CrossRateCalculator {
             BigDecimal bid = BigDecimalUtil.divide(precision, numeratorFx.getBid(), denominatorFx.getAsk(), bidRounding);
             BigDecimal ask = BigDecimalUtil.divide(precision, numeratorFx.getAsk(), denominatorFx.getBid(), askRounding);
             crossRate = new FxRateImpl(targetPair, xCcy, ranking.isMarketConvention(targetPair), bid, ask, currencyProvider);
-        } else {
+        } else if (crossRate == null) {
             crossRate = calculateWithDivide(targetPair, fx1, fx2, precision, precisionForInverseFxRate, ranking, bidRounding, askRounding,
                     currencyProvider, xCcy, fx1Ccy2, fx2Ccy2);
         }
         LOG.debug("X RATE {}", crossRate);
-        LOG.debug(crossRate.getDescription());
+        if (LOG.isDebugEnabled()) {
+            LOG.debug(crossRate.getDescription());
+        }
         return crossRate;
     }
 
+    /**
+     * Same calculation as the BigDecimal one but on the unscaled longs.
+     * @return null if a rate is zero or a value does not fit in a long, the BigDecimal calculation should then be used.
+     */
+    private static FxRate calculateFixedPoint(final CurrencyPair targetPair, final FixedPointFxRate fx1, final FixedPointFxRate fx2,
+            final int precision, final int precisionForInverseFxRate, final MajorCurrencyRanking ranking, final int bidRounding,
+            final int askRounding, final CurrencyProvider currencyProvider, final String xCcy, final boolean shouldDivide) {
+        if (fx1.getUnscaledBid() == 0L || fx1.getUnscaledAsk() == 0L || fx2.getUnscaledBid() == 0L || fx2.getUnscaledAsk() == 0L) {
+            return null;
+        }
+        try {
+            final long bid;
+            final long ask;
+            if (shouldDivide) {
+                final FixedPointFxRate numeratorFx = targetPair.getCcy1().equals(fx2.getCurrencyPair().getCcy2())
+                        || targetPair.getCcy1().equals(fx1.getCurrencyPair().getCcy1()) ? fx1 : fx2;
+                final FixedPointFxRate denominatorFx = numeratorFx == fx1 ? fx2 : fx1;
+                LOG.debug("CALC {} / {}", numeratorFx, denominatorFx);
+                bid = divide(numeratorFx.getUnscaledBid(), numeratorFx.getScale(), denominatorFx.getUnscaledAsk(), denominatorFx.getScale(),
+                        precision, bidRounding);
+                ask = divide(numeratorFx.getUnscaledAsk(), numeratorFx.getScale(), denominatorFx.getUnscaledBid(), denominatorFx.getScale(),
+                        precision, askRounding);
+            } else {
+                LOG.debug("CALC {} x {}", fx1, fx2);
+                final int productScale = fx1.getScale() + fx2.getScale();
+                final boolean inverse = targetPair.getCcy1().equals(fx2.getCurrencyPair().getCcy2())
+                        || targetPair.getCcy1().equals(fx1.getCurrencyPair().getCcy2());
+                if (inverse) {
+                    ask = FixedPointMath.divide(1L, 0, Math.multiplyExact(fx1.getUnscaledBid(), fx2.getUnscaledBid()), productScale,
+                            precisionForInverseFxRate, bidRounding, precision, BigDecimal.ROUND_HALF_UP);
+                    bid = FixedPointMath.divide(1L, 0, Math.multiplyExact(fx1.getUnscaledAsk(), fx2.getUnscaledAsk()), productScale,
+                            precisionForInverseFxRate, askRounding, precision, BigDecimal.ROUND_HALF_UP);
+                } else {
+                    bid = FixedPointMath.multiply(fx1.getUnscaledBid(), fx2.getUnscaledBid(), productScale - precision, BigDecimal.ROUND_HALF_UP);
+                    ask = FixedPointMath.multiply(fx1.getUnscaledAsk(), fx2.getUnscaledAsk(), productScale - precision, BigDecimal.ROUND_HALF_UP);
+                }
+            }
+            return new FixedPointFxRate(targetPair, xCcy, ranking.isMarketConvention(targetPair), bid, ask, precision, currencyProvider);
+        } catch (final ArithmeticException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Same as BigDecimalUtil.divide(precision, numerator, denominator, rounding).
+     */
+    private static long divide(final long numerator, final int numeratorScale, final long denominator, final int denominatorScale,
+            final int precision, final int rounding) {
+        final long scaledNumerator = FixedPointMath.rescale(numerator, numeratorScale, precision, rounding);
+        return FixedPointMath.divide(scaledNumerator, precision, denominator, denominatorScale, precision, rounding, precision, rounding);
+    }
+
     private static FxRateImpl calculateWithDivide(final CurrencyPair targetPair, final FxRate fx1, final FxRate fx2, final int precision,
             final int precisionForInverseFxRate, final MajorCurrencyRanking ranking, final int bidRounding, final int askRounding,
             CurrencyProvider currencyProvider, final String xCcy, final String fx1Ccy2, final String fx2Ccy2) {
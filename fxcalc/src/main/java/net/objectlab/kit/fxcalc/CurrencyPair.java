@@ -4,9 +4,6 @@ import java.util.Optional;
 
 import net.objectlab.kit.util.StringUtil;
 
-import org.apache.commons.lang.builder.EqualsBuilder;
-import org.apache.commons.lang.builder.HashCodeBuilder;
-
 /**
  * Immutable class representing a Currency pair, ccy1/ccy2; thread-safe and able to be used in Collections.
  * Note that the currencies will be converted to UPPER CASE.
@@ -41,12 +38,19 @@ public class CurrencyPair {
 
     @Override
     public int hashCode() {
-        return HashCodeBuilder.reflectionHashCode(this);
+        return 31 * ccy1.hashCode() + ccy2.hashCode();
     }
 
     @Override
     public boolean equals(final Object obj) {
-        return EqualsBuilder.reflectionEquals(this, obj);
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || obj.getClass() != getClass()) {
+            return false;
+        }
+        final CurrencyPair other = (CurrencyPair) obj;
+        return ccy1.equals(other.ccy1) && ccy2.equals(other.ccy2);
     }
 
     @Override
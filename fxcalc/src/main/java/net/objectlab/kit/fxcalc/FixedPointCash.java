@@ -0,0 +1,121 @@
+package net.objectlab.kit.fxcalc;
+
+import java.math.BigDecimal;
+
+import net.objectlab.kit.util.BigDecimalUtil;
+import net.objectlab.kit.util.StringUtil;
+
+import org.apache.commons.lang.builder.EqualsBuilder;
+import org.apache.commons.lang.builder.HashCodeBuilder;
+
+/**
+ * An immutable amount of a given currency held as an unscaled long (amount = unscaledAmount / 10^scale), returned by
+ * the conversions of a {@link FixedPointFxRate}. Operations overflowing a long fall back to a {@link Cash}.
+ *
+ * @author Benoit Xhenseval
+ * @since 1.4.4
+ */
+public class FixedPointCash implements CurrencyAmount {
+    private final String currency;
+    private final long unscaledAmount;
+    private final int scale;
+
+    public FixedPointCash(final String currency, final long unscaledAmount, final int scale) {
+        super();
+        this.currency = StringUtil.toUpperCase(currency);
+        this.unscaledAmount = unscaledAmount;
+        this.scale = scale;
+    }
+
+    public static FixedPointCash of(final String currency, final long unscaledAmount, final int scale) {
+        return new FixedPointCash(currency, unscaledAmount, scale);
+    }
+
+    /**
+     * @return the amount itself if it is already a FixedPointCash
+     * @throws ArithmeticException if the amount cannot be held by a long
+     */
+    public static FixedPointCash of(final CurrencyAmount amount) {
+        if (amount instanceof FixedPointCash) {
+            return (FixedPointCash) amount;
+        }
+        final BigDecimal value = amount.getAmount();
+        final int scale = Math.max(value.scale(), 0);
+        return new FixedPointCash(amount.getCurrency(), value.setScale(scale).unscaledValue().longValueExact(), scale);
+    }
+
+    @Override
+    public String getCurrency() {
+        return currency;
+    }
+
+    @Override
+    public BigDecimal getAmount() {
+        return BigDecimal.valueOf(unscaledAmount, scale);
+    }
+
+    public long getUnscaledAmount() {
+        return unscaledAmount;
+    }
+
+    public int getScale() {
+        return scale;
+    }
+
+    @Override
+    public String toString() {
+        return currency + " " + getAmount().toPlainString();
+    }
+
+    @Override
+    public int hashCode() {
+        return HashCodeBuilder.reflectionHashCode(this);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        return EqualsBuilder.reflectionEquals(this, obj);
+    }
+
+    /**
+     * Swap the sign on the amount and return a new immutable amount.
+     */
+    @Override
+    public CurrencyAmount negate() {
+        if (unscaledAmount == Long.MIN_VALUE) {
+            return new Cash(currency, getAmount().negate());
+        }
+        return new FixedPointCash(currency, -unscaledAmount, scale);
+    }
+
+    /**
+     * Add the amount with the existing one and return a new immutable amount.
+     * @throws IllegalArgumentException if the money.currency does not match the current one.
+     */
+    @Override
+    public CurrencyAmount add(final CurrencyAmount money) {
+        if (!money.getCurrency().equals(currency)) {
+            throw new IllegalArgumentException("You cannot add " + money.getCurrency() + " with " + currency);
+        }
+        try {
+            final FixedPointCash other = of(money);
+            final int resultScale = Math.max(scale, other.scale);
+            return new FixedPointCash(currency, Math.addExact(FixedPointMath.rescale(unscaledAmount, scale, resultScale, BigDecimal.ROUND_UNNECESSARY),
+                    FixedPointMath.rescale(other.unscaledAmount, other.scale, resultScale, BigDecimal.ROUND_UNNECESSARY)), resultScale);
+        } catch (final ArithmeticException e) {
+            return new Cash(currency, BigDecimalUtil.add(getAmount(), money.getAmount()));
+        }
+    }
+
+    /**
+     * Subtract the amount from the existing one and return a new immutable amount.
+     * @throws IllegalArgumentException if the money.currency does not match the current one.
+     */
+    @Override
+    public CurrencyAmount subtract(final CurrencyAmount money) {
+        if (!money.getCurrency().equals(currency)) {
+            throw new IllegalArgumentException("You cannot add " + money.getCurrency() + " with " + currency);
+        }
+        return add(money.negate());
+    }
+}
@@ -0,0 +1,235 @@
+package net.objectlab.kit.fxcalc;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+/**
+ * Represents an immutable FxRate where bid and ask are held as unscaled longs (rate = unscaled / 10^scale).
+ *
+ * The inverse, cross (via {@link CrossRateCalculator}) and conversion operations give the same results, with the same
+ * rounding, as {@link FxRateImpl} but do not create any intermediate BigDecimal. If a value cannot be held by a long,
+ * the operation falls back to the BigDecimal implementation.
+ *
+ * @author Benoit Xhenseval
+ * @since 1.4.4
+ */
+public class FixedPointFxRate implements FxRate {
+    private static final int PRECISION_FOR_INVERSE = 10;
+    private static final int MAX_SCALE_FOR_INVERSE = 20;
+    private final CurrencyPair currencyPair;
+    private final String crossCcy;
+    private final boolean marketConvention;
+    private final long bid;
+    private final long ask;
+    private final int scale;
+    private final CurrencyProvider currencyProvider;
+
+    public FixedPointFxRate(final CurrencyPair currencyPair, final String crossCcy, final boolean marketConvention, final long unscaledBid,
+            final long unscaledAsk, final int scale, final CurrencyProvider currencyProvider) {
+        this.currencyPair = currencyPair;
+        this.crossCcy = crossCcy;
+        this.marketConvention = marketConvention;
+        this.bid = unscaledBid;
+        this.ask = unscaledAsk;
+        this.scale = scale;
+        this.currencyProvider = currencyProvider;
+    }
+
+    /**
+     * Convert the rate to a FixedPointFxRate, keeping the scale of its bid or ask (whichever is larger) so that the
+     * value is not rounded.
+     * @return the rate itself if it is already a FixedPointFxRate or if it cannot be held by longs.
+     */
+    public static FxRate of(final FxRate rate, final CurrencyProvider currencyProvider) {
+        if (rate instanceof FixedPointFxRate || rate.getBid() == null || rate.getAsk() == null) {
+            return rate;
+        }
+        final int scale = Math.max(Math.max(rate.getBid().scale(), rate.getAsk().scale()), 0);
+        try {
+            return new FixedPointFxRate(rate.getCurrencyPair(), rate.getCrossCcy().orElse(null), rate.isMarketConvention(), unscaled(rate.getBid(),
+                    scale), unscaled(rate.getAsk(), scale), scale, currencyProvider);
+        } catch (final ArithmeticException e) {
+            return rate;
+        }
+    }
+
+    private static long unscaled(final BigDecimal value, final int scale) {
+        return value.setScale(scale).unscaledValue().longValueExact();
+    }
+
+    public long getUnscaledBid() {
+        return bid;
+    }
+
+    public long getUnscaledAsk() {
+        return ask;
+    }
+
+    public int getScale() {
+        return scale;
+    }
+
+    /**
+     * @return the equivalent BigDecimal based rate, used when a value would not fit in a long.
+     */
+    public FxRateImpl toFxRateImpl() {
+        return new FxRateImpl(currencyPair, crossCcy, marketConvention, getBid(), getAsk(), currencyProvider);
+    }
+
+    @Override
+    public String getDescription() {
+        return toFxRateImpl().getDescription();
+    }
+
+    @Override
+    public FxRate createInverse() {
+        return createInverse(MAX_SCALE_FOR_INVERSE);
+    }
+
+    /**
+     * Same as FxRateImpl, the inverse is first calculated with 20 decimals and then rounded to the precision.
+     */
+    @Override
+    public FxRate createInverse(final int precision) {
+        if (bid == 0L || ask == 0L) {
+            return toFxRateImpl().createInverse(precision);
+        }
+        try {
+            return new FixedPointFxRate(currencyPair.createInverse(), crossCcy, !marketConvention, inverse(ask, precision), inverse(bid, precision),
+                    precision, currencyProvider);
+        } catch (final ArithmeticException e) {
+            return toFxRateImpl().createInverse(precision);
+        }
+    }
+
+    private long inverse(final long value, final int precision) {
+        return FixedPointMath.divide(1L, 0, value, scale, MAX_SCALE_FOR_INVERSE, BigDecimal.ROUND_HALF_UP, precision, BigDecimal.ROUND_HALF_UP);
+    }
+
+    @Override
+    public BigDecimal getBid() {
+        return BigDecimal.valueOf(bid, scale);
+    }
+
+    @Override
+    public BigDecimal getAsk() {
+        return BigDecimal.valueOf(ask, scale);
+    }
+
+    @Override
+    public CurrencyPair getCurrencyPair() {
+        return currencyPair;
+    }
+
+    @Override
+    public Optional<String> getCrossCcy() {
+        return Optional.ofNullable(crossCcy);
+    }
+
+    @Override
+    public boolean isMarketConvention() {
+        return marketConvention;
+    }
+
+    @Override
+    public BigDecimal getMid() {
+        if (ask == 0L) {
+            return getBid();
+        } else if (bid == 0L) {
+            return getAsk();
+        }
+        try {
+            return BigDecimal.valueOf(mid(), PRECISION_FOR_INVERSE);
+        } catch (final ArithmeticException e) {
+            return toFxRateImpl().getMid();
+        }
+    }
+
+    /**
+     * (bid + ask) / 2 with 10 decimals.
+     */
+    private long mid() {
+        final long sum = FixedPointMath.rescale(Math.addExact(bid, ask), scale, PRECISION_FOR_INVERSE, BigDecimal.ROUND_HALF_UP);
+        return FixedPointMath.divide(sum, PRECISION_FOR_INVERSE, 2L, 0, PRECISION_FOR_INVERSE, BigDecimal.ROUND_HALF_UP, PRECISION_FOR_INVERSE, BigDecimal.ROUND_HALF_UP);
+    }
+
+    @Override
+    public BigDecimal getBidInMarketConvention() {
+        return toFxRateImpl().getBidInMarketConvention();
+    }
+
+    @Override
+    public BigDecimal getMidInMarketConvention() {
+        return toFxRateImpl().getMidInMarketConvention();
+    }
+
+    @Override
+    public BigDecimal getAskInMarketConvention() {
+        return toFxRateImpl().getAskInMarketConvention();
+    }
+
+    @Override
+    public String toString() {
+        return getCurrencyPair() + " B:" + getBid() + " A:" + getAsk();
+    }
+
+    @Override
+    public CurrencyAmount convertAmountUsingMid(final CurrencyAmount originalAmount) {
+        if (bid == 0L || ask == 0L) {
+            return toFxRateImpl().convertAmountUsingMid(originalAmount);
+        }
+        try {
+            final long mid = mid();
+            return convert(originalAmount, mid, PRECISION_FOR_INVERSE, mid, PRECISION_FOR_INVERSE);
+        } catch (final ArithmeticException e) {
+            return toFxRateImpl().convertAmountUsingMid(originalAmount);
+        }
+    }
+
+    @Override
+    public CurrencyAmount convertAmountUsingBidOrAsk(final CurrencyAmount originalAmount) {
+        if (bid == 0L || ask == 0L) {
+            return toFxRateImpl().convertAmountUsingBidOrAsk(originalAmount);
+        }
+        try {
+            return convert(originalAmount, bid, scale, ask, scale);
+        } catch (final ArithmeticException e) {
+            return toFxRateImpl().convertAmountUsingBidOrAsk(originalAmount);
+        }
+    }
+
+    /**
+     * amount * multiplier if the original ccy is ccy1, amount (with 10 decimals) / divisor otherwise; rounded for the
+     * target currency.
+     */
+    private CurrencyAmount convert(final CurrencyAmount originalAmount, final long multiplier, final int multiplierScale, final long divisor,
+            final int divisorScale) {
+        if (!currencyPair.containsCcy(originalAmount.getCurrency())) {
+            throw new IllegalArgumentException("The original ccy [" + originalAmount.getCurrency() + "] must be one of the pair's " + currencyPair);
+        }
+        final boolean ccy1IsOriginal = currencyPair.getCcy1().equals(originalAmount.getCurrency());
+        final String targetCcy = ccy1IsOriginal ? currencyPair.getCcy2() : currencyPair.getCcy1();
+        final int decPlace = currencyProvider.getFractionDigits(targetCcy);
+        final int rounding = currencyProvider.getRounding(targetCcy);
+        final FixedPointCash amount = FixedPointCash.of(originalAmount);
+
+        final long result;
+        if (ccy1IsOriginal) {
+            result = FixedPointMath.multiply(amount.getUnscaledAmount(), multiplier, amount.getScale() + multiplierScale - decPlace, rounding);
+        } else {
+            final long numerator = FixedPointMath.rescale(amount.getUnscaledAmount(), amount.getScale(), PRECISION_FOR_INVERSE, BigDecimal.ROUND_HALF_UP);
+            result = FixedPointMath.divide(numerator, PRECISION_FOR_INVERSE, divisor, divisorScale, PRECISION_FOR_INVERSE, BigDecimal.ROUND_HALF_UP, decPlace, rounding);
+        }
+        return new FixedPointCash(targetCcy, result, decPlace);
+    }
+
+    @Override
+    public CurrencyAmount getPaymentAmountForBuying(final CurrencyAmount amountToBuy) {
+        return toFxRateImpl().getPaymentAmountForBuying(amountToBuy);
+    }
+
+    @Override
+    public CurrencyAmount getReceiptAmountForSelling(final CurrencyAmount amountToSell) {
+        return toFxRateImpl().getReceiptAmountForSelling(amountToSell);
+    }
+}
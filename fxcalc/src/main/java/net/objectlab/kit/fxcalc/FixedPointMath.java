@@ -0,0 +1,168 @@
+package net.objectlab.kit.fxcalc;
+
+import java.math.BigDecimal;
+
+/**
+ * Arithmetic on unscaled long values (value = unscaled / 10^scale) reproducing the BigDecimal operations and rounding
+ * modes used by {@link FxRateImpl} and {@link CrossRateCalculator}, without allocating.
+ *
+ * Each operation throws an ArithmeticException if the result cannot be represented by a long (or a scale is out of
+ * range), the caller is expected to fall back to BigDecimal.
+ *
+ * @author Benoit Xhenseval
+ * @since 1.4.4
+ */
+final class FixedPointMath {
+    private static final int MAX_POWER = 18;
+    private static final long[] POWERS_OF_TEN = new long[MAX_POWER + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1L;
+        for (int i = 1; i <= MAX_POWER; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10L;
+        }
+    }
+
+    private FixedPointMath() {
+    }
+
+    static long powerOfTen(final int power) {
+        if (power < 0 || power > MAX_POWER) {
+            throw new ArithmeticException("Power of ten out of range " + power);
+        }
+        return POWERS_OF_TEN[power];
+    }
+
+    /**
+     * @return the unscaled value at toScale, like BigDecimal.setScale(toScale, rounding).
+     */
+    static long rescale(final long value, final int fromScale, final int toScale, final int rounding) {
+        return multiply(value, 1L, fromScale - toScale, rounding);
+    }
+
+    /**
+     * @return a * b / 10^dropDigits, rounded; dropDigits may be negative.
+     */
+    static long multiply(final long a, final long b, final int dropDigits, final int rounding) {
+        if (dropDigits <= 0) {
+            return Math.multiplyExact(Math.multiplyExact(a, b), powerOfTen(-dropDigits));
+        }
+        final long divisor = powerOfTen(dropDigits);
+        // a * b = divisor * (q1 * b + q2) + r2, with |r2| < divisor, all terms having the sign of a * b
+        final long q1 = a / divisor;
+        final long low = Math.multiplyExact(a % divisor, b);
+        final long quotient = Math.addExact(Math.multiplyExact(q1, b), low / divisor);
+        final long remainder = low % divisor;
+        final int sign = Long.signum(a) * Long.signum(b);
+        return applySign(sign, round(Math.abs(quotient), Math.abs(remainder), divisor, sign, rounding));
+    }
+
+    /**
+     * Divide (num / 10^numScale) by (den / 10^denScale), the result is rounded at intermediateScale and then rounded
+     * again at finalScale, like BigDecimal.divide(den, intermediateScale, rounding).setScale(finalScale, finalRounding).
+     */
+    static long divide(final long num, final int numScale, final long den, final int denScale, final int intermediateScale,
+            final int rounding, final int finalScale, final int finalRounding) {
+        if (den == 0L) {
+            throw new ArithmeticException("Division by zero");
+        }
+        if (num == Long.MIN_VALUE || den == Long.MIN_VALUE) {
+            throw new ArithmeticException("Out of range");
+        }
+        final int appendDigits = denScale + intermediateScale - numScale;
+        if (appendDigits < 0) {
+            throw new ArithmeticException("Negative shift " + appendDigits);
+        }
+        final int extra = intermediateScale - finalScale;
+        if (extra < 0) {
+            // only padding with zeros after the first rounding
+            return Math.multiplyExact(divide(num, numScale, den, denScale, intermediateScale, rounding, intermediateScale, rounding),
+                    powerOfTen(-extra));
+        }
+        if (extra >= MAX_POWER) {
+            throw new ArithmeticException("Too many digits " + extra);
+        }
+        final long tailDivisor = POWERS_OF_TEN[extra];
+        final int sign = Long.signum(num) * Long.signum(den);
+        final long n = Math.abs(num);
+        final long d = Math.abs(den);
+        if (d > Long.MAX_VALUE / 10L) {
+            throw new ArithmeticException("Denominator out of range");
+        }
+
+        // the quotient at intermediateScale is head * 10^extra + tail
+        long remainder = n % d;
+        long head = n / d / tailDivisor;
+        long tail = n / d % tailDivisor;
+        for (int i = 0; i < appendDigits; i++) {
+            remainder *= 10L;
+            tail = tail * 10L + remainder / d;
+            remainder %= d;
+            head = Math.addExact(Math.multiplyExact(head, 10L), tail / tailDivisor);
+            tail %= tailDivisor;
+        }
+
+        // HALF_EVEN needs the parity of the whole quotient, the tail alone is always 0 when tailDivisor is 1
+        final boolean odd = ((tailDivisor == 1L ? head : 0L) + tail & 1L) == 1L;
+        tail = round(tail, odd, remainder, d, sign, rounding);
+        if (tail == tailDivisor) {
+            head = Math.addExact(head, 1L);
+            tail = 0L;
+        }
+        return applySign(sign, round(head, tail, tailDivisor, sign, finalRounding));
+    }
+
+    /**
+     * @param magnitude the absolute value of the truncated quotient
+     * @param remainder the absolute value of the remainder, less than divisor
+     * @param sign the sign of the exact result
+     * @return the rounded magnitude
+     */
+    private static long round(final long magnitude, final long remainder, final long divisor, final int sign, final int rounding) {
+        return round(magnitude, (magnitude & 1L) == 1L, remainder, divisor, sign, rounding);
+    }
+
+    /**
+     * @param odd true if the truncated quotient is odd, used by HALF_EVEN
+     */
+    private static long round(final long magnitude, final boolean odd, final long remainder, final long divisor, final int sign,
+            final int rounding) {
+        if (remainder == 0L) {
+            return magnitude;
+        }
+        final long otherHalf = divisor - remainder;
+        final boolean increment;
+        switch (rounding) {
+        case BigDecimal.ROUND_UP:
+            increment = true;
+            break;
+        case BigDecimal.ROUND_DOWN:
+            increment = false;
+            break;
+        case BigDecimal.ROUND_CEILING:
+            increment = sign > 0;
+            break;
+        case BigDecimal.ROUND_FLOOR:
+            increment = sign < 0;
+            break;
+        case BigDecimal.ROUND_HALF_UP:
+            increment = remainder >= otherHalf;
+            break;
+        case BigDecimal.ROUND_HALF_DOWN:
+            increment = remainder > otherHalf;
+            break;
+        case BigDecimal.ROUND_HALF_EVEN:
+            increment = remainder > otherHalf || remainder == otherHalf && odd;
+            break;
+        case BigDecimal.ROUND_UNNECESSARY:
+            throw new ArithmeticException("Rounding necessary");
+        default:
+            throw new IllegalArgumentException("Invalid rounding mode " + rounding);
+        }
+        return increment ? Math.addExact(magnitude, 1L) : magnitude;
+    }
+
+    private static long applySign(final int sign, final long magnitude) {
+        return sign < 0 ? -magnitude : magnitude;
+    }
+}
@@ -1,6 +1,14 @@
 package net.objectlab.kit.fxcalc;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.IntStream;
 
 /**
  * The FX Rate calculator.  If the user request a Base rate (or its Inverse), it will provide the rate from the given Base Rate
@@ -15,4 +23,45 @@ public interface FxRateCalculator {
      * @return the FX rate if it exists or can be calculated
      */
     Optional<FxRate> findFx(CurrencyPair ccyPair);
+
+    /**
+     * Convert all amounts in the target currency, see {@link #convertAll(Collection, String, ConversionSide, boolean)}.
+     */
+    default ConversionResult convertAll(final Collection<? extends CurrencyAmount> amounts, final String targetCcy, final ConversionSide side) {
+        return convertAll(amounts, targetCcy, side, false);
+    }
+
+    /**
+     * Convert all amounts in the target currency; the FX Rate for each original currency is found once, amounts
+     * already in the target currency are kept as they are.
+     * @param parallel if true, the conversions are done in parallel once the rates have been found.
+     * @return the converted amounts (same order) and their totals per original currency.
+     * @throws IllegalArgumentException if no FX Rate can be found for one of the currencies.
+     */
+    default ConversionResult convertAll(final Collection<? extends CurrencyAmount> amounts, final String targetCcy, final ConversionSide side,
+            final boolean parallel) {
+        final List<CurrencyAmount> originals = new ArrayList<>(amounts);
+        final Map<String, FxRate> rates = new HashMap<>();
+        for (final CurrencyAmount amount : originals) {
+            final String ccy = amount.getCurrency();
+            if (!rates.containsKey(ccy) && !ccy.equalsIgnoreCase(targetCcy)) {
+                final CurrencyPair ccyPair = CurrencyPair.of(ccy, targetCcy);
+                rates.put(ccy, findFx(ccyPair).orElseThrow(() -> new IllegalArgumentException("Cannot find or calculate FX Rate for " + ccyPair)));
+            }
+        }
+
+        final IntStream indices = IntStream.range(0, originals.size());
+        final CurrencyAmount[] converted = new CurrencyAmount[originals.size()];
+        (parallel ? indices.parallel() : indices).forEach(i -> {
+            final CurrencyAmount amount = originals.get(i);
+            final FxRate rate = rates.get(amount.getCurrency());
+            converted[i] = rate != null ? side.convert(rate, amount) : amount;
+        });
+
+        final Map<String, CurrencyAmount> totals = new LinkedHashMap<>();
+        for (int i = 0; i < converted.length; i++) {
+            totals.merge(originals.get(i).getCurrency(), converted[i], CurrencyAmount::add);
+        }
+        return new ConversionResult(targetCcy, Arrays.asList(converted), totals);
+    }
 }
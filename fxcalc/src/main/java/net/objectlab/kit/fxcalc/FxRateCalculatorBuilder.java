@@ -28,7 +28,9 @@ import java.util.stream.Collectors;
         .precisionForInverseFxRate(12)
         .currencyProvider(new JdkCurrencyProvider()) // use the JDK currency
         .cacheResults(true) // only calculate a cross Fx once, cache for subsequent requests
-        .cacheBaseRates(true); // if a BaseFxRateRateProvider is used, cache the rates instead of calling again for same currency pair
+        .cacheBaseRates(true) // if a BaseFxRateRateProvider is used, cache the rates instead of calling again for same currency pair
+        .concurrentCache(false) // set to true if the calculator is shared by several threads
+        .fixedPoint(false); // set to true to calculate on unscaled longs instead of BigDecimal
  * </pre>
  * @author Benoit Xhenseval
  */
@@ -66,6 +68,14 @@ public class FxRateCalculatorBuilder {
      * If using the baseFxRateProvider, should the rate be cached in the calculator, defaulted to true.
      */
     private boolean cacheBaseRates = true;
+    /**
+     * Should the calculator use a thread safe cache so that it can be shared by several threads, defaulted to false.
+     */
+    private boolean concurrentCache = false;
+    /**
+     * Should the rates be held as unscaled longs (see FixedPointFxRate) instead of BigDecimal, defaulted to false.
+     */
+    private boolean fixedPoint = false;
     /**
      * The Rounding to use for BID, default HALF_DOWN
      */
@@ -145,6 +155,14 @@ public class FxRateCalculatorBuilder {
         return cacheBaseRates;
     }
 
+    public boolean isConcurrentCache() {
+        return concurrentCache;
+    }
+
+    public boolean isFixedPoint() {
+        return fixedPoint;
+    }
+
     public BaseFxRateProvider getBaseFxRateProvider() {
         return baseFxRateProvider;
     }
@@ -167,6 +185,28 @@ public class FxRateCalculatorBuilder {
         return this;
     }
 
+    /**
+     * Should the calculator be shared by several threads? If true, a rate is calculated or fetched from the
+     * baseFxRateProvider only once, concurrent requests for the same CurrencyPair wait for it and reading a cached rate
+     * never blocks. Defaulted to false.
+     * @return the builder
+     */
+    public FxRateCalculatorBuilder concurrentCache(final boolean concurrentCache) {
+        this.concurrentCache = concurrentCache;
+        return this;
+    }
+
+    /**
+     * Should the base rates be converted to {@link FixedPointFxRate}? The inverse, cross rates and conversions are then
+     * calculated on unscaled longs, with the same results and rounding as the BigDecimal calculations but without
+     * creating intermediate BigDecimals. Defaulted to false.
+     * @return the builder
+     */
+    public FxRateCalculatorBuilder fixedPoint(final boolean fixedPoint) {
+        this.fixedPoint = fixedPoint;
+        return this;
+    }
+
     /**
      * Number of decimal places to use on a rate, defaulted to 6.
      * @return the builder
@@ -1,9 +1,18 @@
 package net.objectlab.kit.fxcalc;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 /**
  * Main implementation, uses the ratesSnapshot or BaseFxRateProvider to find the FX Rate, if not present then
@@ -11,11 +20,19 @@ import java.util.Optional;
  *
  * Uses the {@link CrossRateCalculator}
  *
+ * The calculator can only be shared by several threads if {@link FxRateCalculatorBuilder#concurrentCache(boolean)}
+ * is enabled. Base rates and calculated rates are cached separately so that calculating a rate only ever waits
+ * for base rates, which do not depend on anything else.
+ *
+ * The base rates can be updated; each calculated rate remembers the base CurrencyPairs it was derived from (including
+ * the ones that were missing) and an update only drops the calculated rates depending on an updated pair, found via
+ * a reverse index. An update creates a new version of the rates in persistent maps, sharing everything but the
+ * affected entries with the previous one; readers are never blocked and keep using the version they started with.
+ *
  * @author Benoit Xhenseval
  *
  */
-public class FxRateCalculatorImpl implements FxRateCalculator {
-    private final Map<CurrencyPair, FxRate> rates = new HashMap<>();
+public class FxRateCalculatorImpl implements LiveFxRateCalculator {
     private final BaseFxRateProvider baseFxRateProvider;
     private final MajorCurrencyRanking majorCurrencyRanking;
     private final List<String> orderedCurrenciesForCross;
@@ -25,12 +42,16 @@ public class FxRateCalculatorImpl implements FxRateCalculator {
     private final int askRounding;
     private final boolean cacheResults;
     private final boolean cacheBaseRates;
+    private final boolean concurrentCache;
+    private final boolean fixedPoint;
     private final CurrencyProvider currencyProvider;
+    private volatile Snapshot current;
+    /** Base CurrencyPair to the published calculated rates derived from it, only used by updateAll. */
+    private final Map<CurrencyPair, Set<CurrencyPair>> dependents = new HashMap<>();
 
     public FxRateCalculatorImpl(final FxRateCalculatorBuilder builder) {
         builder.checkValid();
 
-        rates.putAll(builder.getRatesSnapshot());
         this.baseFxRateProvider = builder.getBaseFxRateProvider();
         this.majorCurrencyRanking = builder.getMajorCurrencyRanking();
         this.orderedCurrenciesForCross = builder.getOrderedCurrenciesForCross();
@@ -38,85 +59,355 @@ public class FxRateCalculatorImpl implements FxRateCalculator {
         this.precisionForInverseFxRate = builder.getPrecisionForInverseFxRate();
         this.cacheBaseRates = builder.isCacheBaseRates();
         this.cacheResults = builder.isCacheResults();
+        this.concurrentCache = builder.isConcurrentCache();
+        this.fixedPoint = builder.isFixedPoint();
         this.bidRounding = builder.getBidRounding();
         this.askRounding = builder.getAskRounding();
         this.currencyProvider = builder.getCurrencyProvider();
+
+        PersistentHashMap<CurrencyPair, FxRate> baseRates = PersistentHashMap.empty();
+        for (final Map.Entry<CurrencyPair, FxRate> rate : builder.getRatesSnapshot().entrySet()) {
+            baseRates = baseRates.plus(rate.getKey(), toBaseRate(rate.getValue()));
+        }
+        this.current = new Snapshot(0L, baseRates, PersistentHashMap.empty());
     }
 
-    private FxRate getBaseRate(final CurrencyPair ccyPair) {
-        FxRate fxRate = rates.get(ccyPair);
+    @Override
+    public Optional<FxRate> findFx(final CurrencyPair ccyPair) {
+        return current.findFx(ccyPair);
+    }
 
-        if (fxRate == null && baseFxRateProvider != null) {
-            final Optional<FxRate> latetsRate = baseFxRateProvider.getLatestRate(ccyPair);
-            if (latetsRate.isPresent()) {
-                fxRate = latetsRate.get();
-                if (cacheBaseRates) {
-                    rates.put(ccyPair, fxRate);
-                }
+    @Override
+    public long getVersion() {
+        return current.getVersion();
+    }
+
+    @Override
+    public FxRateSnapshot snapshot() {
+        return current;
+    }
+
+    @Override
+    public void update(final FxRate rate) {
+        updateAll(Collections.singletonList(rate));
+    }
+
+    /**
+     * Creates the next version from the current one: the rates fetched or calculated during the current version are
+     * published, then only the updated pairs and the calculated rates depending on them are replaced or removed.
+     */
+    @Override
+    public synchronized void updateAll(final Collection<FxRate> rates) {
+        if (rates.isEmpty()) {
+            return;
+        }
+        final Snapshot previous = current;
+        final NextVersion next = new NextVersion(previous);
+        previous.fetchedBaseRates.forEach(next::addBaseRate);
+        previous.newCalculatedRates.forEach(next::addCalculatedRate);
+        for (final FxRate rate : rates) {
+            final CurrencyPair ccyPair = rate.getCurrencyPair();
+            next.baseRates = next.baseRates.plus(ccyPair, toBaseRate(rate));
+            next.removeCalculatedRate(ccyPair);
+            final Set<CurrencyPair> affected = dependents.remove(ccyPair);
+            if (affected != null) {
+                affected.forEach(next::removeCalculatedRate);
             }
         }
-        return fxRate;
+        current = new Snapshot(previous.version + 1, next.baseRates, next.calculatedRates);
     }
 
-    @Override
-    public Optional<FxRate> findFx(final CurrencyPair ccyPair) {
-        FxRate fxRate = getBaseRate(ccyPair);
-        if (fxRate == null) {
-            // try inverse
-            final FxRate inverse = getBaseRate(ccyPair.createInverse());
+    private FxRate toBaseRate(final FxRate rate) {
+        return fixedPoint ? FixedPointFxRate.of(rate, currencyProvider) : rate;
+    }
 
-            if (inverse != null) {
-                fxRate = inverse.createInverse(precisionForInverseFxRate);
-                if (cacheResults) {
-                    rates.put(ccyPair, fxRate);
-                }
-            } else {
-                fxRate = tryFindViaCrossCcy(ccyPair, fxRate);
+    private <V> RateCache<V> createCache() {
+        return concurrentCache ? new ConcurrentRateCache<>() : new HashMapRateCache<>();
+    }
+
+    /**
+     * The rates of the version being created by updateAll, maintains the dependents of the calculated rates.
+     */
+    private final class NextVersion {
+        private PersistentHashMap<CurrencyPair, FxRate> baseRates;
+        private PersistentHashMap<CurrencyPair, CalculatedRate> calculatedRates;
+
+        private NextVersion(final Snapshot previous) {
+            this.baseRates = previous.baseRates;
+            this.calculatedRates = previous.calculatedRates;
+        }
+
+        private void addBaseRate(final CurrencyPair ccyPair, final FxRate rate) {
+            if (!baseRates.containsKey(ccyPair)) {
+                baseRates = baseRates.plus(ccyPair, rate);
             }
         }
 
-        return Optional.ofNullable(fxRate);
+        private void addCalculatedRate(final CurrencyPair ccyPair, final CalculatedRate calculated) {
+            if (!calculatedRates.containsKey(ccyPair)) {
+                calculatedRates = calculatedRates.plus(ccyPair, calculated);
+                calculated.dependsOn.forEach(base -> dependents.computeIfAbsent(base, k -> new HashSet<>()).add(ccyPair));
+            }
+        }
+
+        private void removeCalculatedRate(final CurrencyPair ccyPair) {
+            final CalculatedRate calculated = calculatedRates.get(ccyPair);
+            if (calculated != null) {
+                calculatedRates = calculatedRates.minus(ccyPair);
+                for (final CurrencyPair base : calculated.dependsOn) {
+                    final Set<CurrencyPair> others = dependents.get(base);
+                    if (others != null) {
+                        others.remove(ccyPair);
+                        if (others.isEmpty()) {
+                            dependents.remove(base);
+                        }
+                    }
+                }
+            }
+        }
     }
 
-    private FxRate tryFindViaCrossCcy(final CurrencyPair ccyPair, FxRate fxRate) {
-        for (final String crossCcy : orderedCurrenciesForCross) {
-            fxRate = findViaCrossCcy(ccyPair, crossCcy);
-            if (fxRate != null) {
+    /**
+     * One version of the base rates and the rates calculated from them. The rates published by updateAll are shared
+     * with the other versions; the ones fetched from the BaseFxRateProvider or calculated during this version are
+     * cached separately and published by the next update.
+     */
+    private final class Snapshot implements FxRateSnapshot {
+        private final long version;
+        private final PersistentHashMap<CurrencyPair, FxRate> baseRates;
+        private final PersistentHashMap<CurrencyPair, CalculatedRate> calculatedRates;
+        private final RateCache<FxRate> fetchedBaseRates = createCache();
+        private final RateCache<CalculatedRate> newCalculatedRates = createCache();
+
+        private Snapshot(final long version, final PersistentHashMap<CurrencyPair, FxRate> baseRates,
+                final PersistentHashMap<CurrencyPair, CalculatedRate> calculatedRates) {
+            this.version = version;
+            this.baseRates = baseRates;
+            this.calculatedRates = calculatedRates;
+        }
+
+        @Override
+        public long getVersion() {
+            return version;
+        }
+
+        @Override
+        public Optional<FxRate> findFx(final CurrencyPair ccyPair) {
+            FxRate fxRate = getBaseRate(ccyPair, null);
+            if (fxRate == null) {
                 if (cacheResults) {
-                    rates.put(ccyPair, fxRate);
+                    CalculatedRate calculated = calculatedRates.get(ccyPair);
+                    if (calculated == null) {
+                        calculated = newCalculatedRates.computeIfAbsent(ccyPair, this::calculate);
+                    }
+                    fxRate = calculated != null ? calculated.rate : null;
+                } else {
+                    fxRate = calculateFx(ccyPair, null);
                 }
-                break;
             }
+
+            return Optional.ofNullable(fxRate);
         }
-        return fxRate;
-    }
 
-    private FxRate findViaCrossCcy(final CurrencyPair ccyPair, final String crossCcy) {
-        final CurrencyPair xCcyPair = CurrencyPair.of(crossCcy, ccyPair.getCcy1());
-        FxRate xCcy1 = getBaseRate(xCcyPair);
-        if (xCcy1 == null) {
+        /**
+         * @param dependsOn if not null, collects the base CurrencyPairs used or missing
+         */
+        private FxRate getBaseRate(final CurrencyPair ccyPair, final Set<CurrencyPair> dependsOn) {
+            if (dependsOn != null) {
+                dependsOn.add(ccyPair);
+            }
+            FxRate fxRate = baseRates.get(ccyPair);
+            if (fxRate == null) {
+                fxRate = fetchedBaseRates.get(ccyPair);
+            }
+            if (fxRate == null) {
+                CalculatedRate calculated = calculatedRates.get(ccyPair);
+                if (calculated == null) {
+                    calculated = newCalculatedRates.get(ccyPair);
+                }
+                if (calculated != null) {
+                    if (dependsOn != null) {
+                        dependsOn.addAll(calculated.dependsOn);
+                    }
+                    fxRate = calculated.rate;
+                }
+            }
+
+            if (fxRate == null && baseFxRateProvider != null) {
+                return cacheBaseRates ? fetchedBaseRates.computeIfAbsent(ccyPair, this::getLatestRate) : getLatestRate(ccyPair);
+            }
+            return fxRate;
+        }
+
+        private FxRate getLatestRate(final CurrencyPair ccyPair) {
+            return baseFxRateProvider.getLatestRate(ccyPair).map(FxRateCalculatorImpl.this::toBaseRate).orElse(null);
+        }
+
+        private CalculatedRate calculate(final CurrencyPair ccyPair) {
+            final Set<CurrencyPair> dependsOn = new HashSet<>();
+            final FxRate fxRate = calculateFx(ccyPair, dependsOn);
+            return fxRate != null ? new CalculatedRate(fxRate, dependsOn) : null;
+        }
+
+        private FxRate calculateFx(final CurrencyPair ccyPair, final Set<CurrencyPair> dependsOn) {
             // try inverse
-            final FxRate inverse = getBaseRate(xCcyPair.createInverse());
+            final FxRate inverse = getBaseRate(ccyPair.createInverse(), dependsOn);
+
             if (inverse != null) {
-                xCcy1 = inverse.createInverse(precisionForInverseFxRate);
+                return inverse.createInverse(precisionForInverseFxRate);
+            }
+            return tryFindViaCrossCcy(ccyPair, dependsOn);
+        }
+
+        private FxRate tryFindViaCrossCcy(final CurrencyPair ccyPair, final Set<CurrencyPair> dependsOn) {
+            for (final String crossCcy : orderedCurrenciesForCross) {
+                final FxRate fxRate = findViaCrossCcy(ccyPair, crossCcy, dependsOn);
+                if (fxRate != null) {
+                    return fxRate;
+                }
             }
+            return null;
         }
 
-        if (xCcy1 != null) {
-            final CurrencyPair xCcy2Pair = CurrencyPair.of(crossCcy, ccyPair.getCcy2());
-            FxRate xCcy2 = getBaseRate(xCcy2Pair);
-            if (xCcy2 == null) {
+        private FxRate findViaCrossCcy(final CurrencyPair ccyPair, final String crossCcy, final Set<CurrencyPair> dependsOn) {
+            final CurrencyPair xCcyPair = CurrencyPair.of(crossCcy, ccyPair.getCcy1());
+            FxRate xCcy1 = getBaseRate(xCcyPair, dependsOn);
+            if (xCcy1 == null) {
                 // try inverse
-                final FxRate inverse = getBaseRate(xCcy2Pair.createInverse());
+                final FxRate inverse = getBaseRate(xCcyPair.createInverse(), dependsOn);
                 if (inverse != null) {
-                    xCcy2 = inverse.createInverse(precisionForInverseFxRate);
+                    xCcy1 = inverse.createInverse(precisionForInverseFxRate);
+                }
+            }
+
+            if (xCcy1 != null) {
+                final CurrencyPair xCcy2Pair = CurrencyPair.of(crossCcy, ccyPair.getCcy2());
+                FxRate xCcy2 = getBaseRate(xCcy2Pair, dependsOn);
+                if (xCcy2 == null) {
+                    // try inverse
+                    final FxRate inverse = getBaseRate(xCcy2Pair.createInverse(), dependsOn);
+                    if (inverse != null) {
+                        xCcy2 = inverse.createInverse(precisionForInverseFxRate);
+                    }
+                }
+                if (xCcy2 != null) {
+                    return CrossRateCalculator.calculateCross(ccyPair, xCcy1, xCcy2, precisionForFxRate, precisionForInverseFxRate,
+                            majorCurrencyRanking, bidRounding, askRounding, currencyProvider);
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * An inverse or cross rate and the base CurrencyPairs it was derived from.
+     */
+    private static final class CalculatedRate {
+        private final FxRate rate;
+        private final Set<CurrencyPair> dependsOn;
+
+        private CalculatedRate(final FxRate rate, final Set<CurrencyPair> dependsOn) {
+            this.rate = rate;
+            this.dependsOn = dependsOn;
+        }
+    }
+
+    /**
+     * Cache of base or calculated rates, a null rate is never cached.
+     */
+    private interface RateCache<V> {
+        V get(CurrencyPair ccyPair);
+
+        /**
+         * @return the cached rate or the one calculated by the function, cached if not null.
+         */
+        V computeIfAbsent(CurrencyPair ccyPair, Function<CurrencyPair, V> function);
+
+        /**
+         * Iterate over the rates available, ignoring the ones still being calculated.
+         */
+        void forEach(BiConsumer<CurrencyPair, V> action);
+    }
+
+    /**
+     * Default cache, not thread safe.
+     */
+    private static final class HashMapRateCache<V> implements RateCache<V> {
+        private final Map<CurrencyPair, V> rates = new HashMap<>();
+
+        @Override
+        public V get(final CurrencyPair ccyPair) {
+            return rates.get(ccyPair);
+        }
+
+        @Override
+        public V computeIfAbsent(final CurrencyPair ccyPair, final Function<CurrencyPair, V> function) {
+            V rate = rates.get(ccyPair);
+            if (rate == null) {
+                // not HashMap.computeIfAbsent as the function may cache other rates
+                rate = function.apply(ccyPair);
+                if (rate != null) {
+                    rates.put(ccyPair, rate);
                 }
             }
-            if (xCcy2 != null) {
-                return CrossRateCalculator.calculateCross(ccyPair, xCcy1, xCcy2, precisionForFxRate, precisionForInverseFxRate, majorCurrencyRanking,
-                        bidRounding, askRounding, currencyProvider);
+            return rate;
+        }
+
+        @Override
+        public void forEach(final BiConsumer<CurrencyPair, V> action) {
+            rates.forEach(action);
+        }
+    }
+
+    /**
+     * Thread safe cache, a rate is calculated once: the first thread to request it registers a future that other
+     * threads wait for. Reading a rate already calculated never blocks.
+     */
+    private static final class ConcurrentRateCache<V> implements RateCache<V> {
+        private final ConcurrentMap<CurrencyPair, CompletableFuture<V>> rates = new ConcurrentHashMap<>();
+
+        @Override
+        public V get(final CurrencyPair ccyPair) {
+            final CompletableFuture<V> pending = rates.get(ccyPair);
+            return pending != null ? pending.getNow(null) : null;
+        }
+
+        @Override
+        public V computeIfAbsent(final CurrencyPair ccyPair, final Function<CurrencyPair, V> function) {
+            final CompletableFuture<V> existing = rates.get(ccyPair);
+            if (existing != null) {
+                return existing.join();
+            }
+            final CompletableFuture<V> pending = new CompletableFuture<>();
+            final CompletableFuture<V> winner = rates.putIfAbsent(ccyPair, pending);
+            if (winner != null) {
+                return winner.join();
             }
+
+            final V rate;
+            try {
+                rate = function.apply(ccyPair);
+            } catch (final RuntimeException e) {
+                rates.remove(ccyPair, pending);
+                pending.completeExceptionally(e);
+                throw e;
+            }
+            if (rate == null) {
+                // do not cache a missing rate, it may be available later
+                rates.remove(ccyPair, pending);
+            }
+            pending.complete(rate);
+            return rate;
+        }
+
+        @Override
+        public void forEach(final BiConsumer<CurrencyPair, V> action) {
+            rates.forEach((ccyPair, pending) -> {
+                final V rate = pending.getNow(null);
+                if (rate != null) {
+                    action.accept(ccyPair, rate);
+                }
+            });
         }
-        return null;
     }
 }
@@ -0,0 +1,15 @@
+package net.objectlab.kit.fxcalc;
+
+/**
+ * An FX Rate calculator frozen on a given version of the base rates, all rates found via a snapshot are consistent
+ * with each other, even if the live calculator it comes from is updated in the meantime.
+ *
+ * @author Benoit Xhenseval
+ * @since 1.4.4
+ */
+public interface FxRateSnapshot extends FxRateCalculator {
+    /**
+     * The version of the base rates, incremented by each update of the live calculator.
+     */
+    long getVersion();
+}
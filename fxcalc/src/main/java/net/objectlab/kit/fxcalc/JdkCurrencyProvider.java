@@ -2,11 +2,21 @@ package net.objectlab.kit.fxcalc;
 
 import java.math.BigDecimal;
 import java.util.Currency;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public class JdkCurrencyProvider implements CurrencyProvider {
+    /**
+     * Fraction digits per currency code, avoids the JDK lookup (and the exception for an unknown code) on every conversion.
+     */
+    private static final ConcurrentMap<String, Integer> FRACTION_DIGITS = new ConcurrentHashMap<>();
 
     @Override
     public int getFractionDigits(String currencyCode) {
+        return FRACTION_DIGITS.computeIfAbsent(currencyCode, JdkCurrencyProvider::lookupFractionDigits);
+    }
+
+    private static int lookupFractionDigits(final String currencyCode) {
         try {
             return Currency.getInstance(currencyCode).getDefaultFractionDigits();
         } catch (IllegalArgumentException iae) {
@@ -0,0 +1,36 @@
+package net.objectlab.kit.fxcalc;
+
+import java.util.Collection;
+
+/**
+ * An FX Rate calculator that accepts updates of the base rates; only the inverse and cross rates derived from an
+ * updated base rate are calculated again, any other cached rate is kept.
+ *
+ * Each call to findFx uses a consistent snapshot of the rates, use {@link #snapshot()} to find several rates on the
+ * same version.
+ *
+ * @author Benoit Xhenseval
+ * @since 1.4.4
+ */
+public interface LiveFxRateCalculator extends FxRateCalculator {
+    /**
+     * Replace or add a base rate, the FxRate will be used for its CurrencyPair.
+     */
+    void update(FxRate rate);
+
+    /**
+     * Replace or add several base rates at once, creating a single new version; prefer this to update(FxRate) for
+     * a batch of ticks.
+     */
+    void updateAll(Collection<FxRate> rates);
+
+    /**
+     * The current version of the base rates, 0 until the first update.
+     */
+    long getVersion();
+
+    /**
+     * @return the calculator frozen on the current version, it is not affected by further updates.
+     */
+    FxRateSnapshot snapshot();
+}
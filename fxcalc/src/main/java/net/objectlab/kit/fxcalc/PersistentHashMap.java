@@ -0,0 +1,256 @@
+package net.objectlab.kit.fxcalc;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Immutable hash map (hash array mapped trie): plus and minus return a new map sharing all the nodes that are not on
+ * the path of the key, so a new version costs O(log n) instead of a copy. Null keys and values are not supported.
+ *
+ * @author Benoit Xhenseval
+ * @since 1.4.4
+ */
+final class PersistentHashMap<K, V> {
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    private static final PersistentHashMap<?, ?> EMPTY = new PersistentHashMap<>(null, 0);
+
+    private final Object root;
+    private final int size;
+
+    private PersistentHashMap(final Object root, final int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <K, V> PersistentHashMap<K, V> empty() {
+        return (PersistentHashMap<K, V>) EMPTY;
+    }
+
+    int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(final K key) {
+        final int hash = key.hashCode();
+        Object node = root;
+        int shift = 0;
+        while (node instanceof BitmapNode) {
+            final BitmapNode b = (BitmapNode) node;
+            final int bit = bit(hash, shift);
+            if ((b.bitmap & bit) == 0) {
+                return null;
+            }
+            node = b.children[b.index(bit)];
+            shift += BITS;
+        }
+        if (node instanceof Leaf) {
+            final Leaf leaf = (Leaf) node;
+            return leaf.hash == hash && leaf.key.equals(key) ? (V) leaf.value : null;
+        } else if (node instanceof Collision && ((Collision) node).hash == hash) {
+            for (final Leaf leaf : ((Collision) node).leaves) {
+                if (leaf.key.equals(key)) {
+                    return (V) leaf.value;
+                }
+            }
+        }
+        return null;
+    }
+
+    boolean containsKey(final K key) {
+        return get(key) != null;
+    }
+
+    /**
+     * @return a map with the key mapped to the value, this map if it already was.
+     */
+    PersistentHashMap<K, V> plus(final K key, final V value) {
+        final Object newRoot = put(root, 0, key.hashCode(), key, value);
+        if (newRoot == root) {
+            return this;
+        }
+        return new PersistentHashMap<>(newRoot, containsKey(key) ? size : size + 1);
+    }
+
+    /**
+     * @return a map without the key, this map if it was not present.
+     */
+    PersistentHashMap<K, V> minus(final K key) {
+        final Object newRoot = remove(root, 0, key.hashCode(), key);
+        return newRoot == root ? this : new PersistentHashMap<>(newRoot, size - 1);
+    }
+
+    void forEach(final BiConsumer<K, V> action) {
+        forEach(root, action);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void forEach(final Object node, final BiConsumer<K, V> action) {
+        if (node instanceof Leaf) {
+            action.accept((K) ((Leaf) node).key, (V) ((Leaf) node).value);
+        } else if (node instanceof Collision) {
+            for (final Leaf leaf : ((Collision) node).leaves) {
+                action.accept((K) leaf.key, (V) leaf.value);
+            }
+        } else if (node instanceof BitmapNode) {
+            for (final Object child : ((BitmapNode) node).children) {
+                forEach(child, action);
+            }
+        }
+    }
+
+    private static int bit(final int hash, final int shift) {
+        return 1 << (hash >>> shift & MASK);
+    }
+
+    private static Object put(final Object node, final int shift, final int hash, final Object key, final Object value) {
+        if (node == null) {
+            return new Leaf(hash, key, value);
+        } else if (node instanceof Leaf) {
+            final Leaf leaf = (Leaf) node;
+            if (leaf.hash == hash && leaf.key.equals(key)) {
+                return leaf.value == value ? leaf : new Leaf(hash, key, value);
+            } else if (leaf.hash == hash) {
+                return new Collision(hash, new Leaf[] { leaf, new Leaf(hash, key, value) });
+            }
+            return put(new BitmapNode(bit(leaf.hash, shift), new Object[] { leaf }), shift, hash, key, value);
+        } else if (node instanceof Collision) {
+            final Collision collision = (Collision) node;
+            if (collision.hash != hash) {
+                return put(new BitmapNode(bit(collision.hash, shift), new Object[] { collision }), shift, hash, key, value);
+            }
+            final Leaf[] leaves = collision.leaves;
+            for (int i = 0; i < leaves.length; i++) {
+                if (leaves[i].key.equals(key)) {
+                    if (leaves[i].value == value) {
+                        return collision;
+                    }
+                    final Leaf[] copy = leaves.clone();
+                    copy[i] = new Leaf(hash, key, value);
+                    return new Collision(hash, copy);
+                }
+            }
+            final Leaf[] copy = new Leaf[leaves.length + 1];
+            System.arraycopy(leaves, 0, copy, 0, leaves.length);
+            copy[leaves.length] = new Leaf(hash, key, value);
+            return new Collision(hash, copy);
+        }
+
+        final BitmapNode b = (BitmapNode) node;
+        final int bit = bit(hash, shift);
+        final int index = b.index(bit);
+        if ((b.bitmap & bit) == 0) {
+            final Object[] children = new Object[b.children.length + 1];
+            System.arraycopy(b.children, 0, children, 0, index);
+            children[index] = new Leaf(hash, key, value);
+            System.arraycopy(b.children, index, children, index + 1, b.children.length - index);
+            return new BitmapNode(b.bitmap | bit, children);
+        }
+        final Object child = b.children[index];
+        final Object newChild = put(child, shift + BITS, hash, key, value);
+        if (newChild == child) {
+            return b;
+        }
+        final Object[] children = b.children.clone();
+        children[index] = newChild;
+        return new BitmapNode(b.bitmap, children);
+    }
+
+    /**
+     * @return the node without the key (null if empty), the same node if the key is not present.
+     */
+    private static Object remove(final Object node, final int shift, final int hash, final Object key) {
+        if (node == null) {
+            return null;
+        } else if (node instanceof Leaf) {
+            final Leaf leaf = (Leaf) node;
+            return leaf.hash == hash && leaf.key.equals(key) ? null : leaf;
+        } else if (node instanceof Collision) {
+            final Collision collision = (Collision) node;
+            if (collision.hash != hash) {
+                return collision;
+            }
+            final Leaf[] leaves = collision.leaves;
+            for (int i = 0; i < leaves.length; i++) {
+                if (leaves[i].key.equals(key)) {
+                    if (leaves.length == 2) {
+                        return leaves[1 - i];
+                    }
+                    final Leaf[] copy = new Leaf[leaves.length - 1];
+                    System.arraycopy(leaves, 0, copy, 0, i);
+                    System.arraycopy(leaves, i + 1, copy, i, copy.length - i);
+                    return new Collision(hash, copy);
+                }
+            }
+            return collision;
+        }
+
+        final BitmapNode b = (BitmapNode) node;
+        final int bit = bit(hash, shift);
+        if ((b.bitmap & bit) == 0) {
+            return b;
+        }
+        final int index = b.index(bit);
+        final Object child = b.children[index];
+        final Object newChild = remove(child, shift + BITS, hash, key);
+        if (newChild == child) {
+            return b;
+        }
+        if (newChild == null) {
+            if (b.children.length == 1) {
+                return null;
+            }
+            final Object[] children = new Object[b.children.length - 1];
+            System.arraycopy(b.children, 0, children, 0, index);
+            System.arraycopy(b.children, index + 1, children, index, children.length - index);
+            // a single leaf does not need a branch, it is found by its full hash
+            return children.length == 1 && !(children[0] instanceof BitmapNode) ? children[0] : new BitmapNode(b.bitmap & ~bit, children);
+        }
+        if (b.children.length == 1 && !(newChild instanceof BitmapNode)) {
+            return newChild;
+        }
+        final Object[] children = b.children.clone();
+        children[index] = newChild;
+        return new BitmapNode(b.bitmap, children);
+    }
+
+    private static final class Leaf {
+        private final int hash;
+        private final Object key;
+        private final Object value;
+
+        private Leaf(final int hash, final Object key, final Object value) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Keys with the same full hash.
+     */
+    private static final class Collision {
+        private final int hash;
+        private final Leaf[] leaves;
+
+        private Collision(final int hash, final Leaf[] leaves) {
+            this.hash = hash;
+            this.leaves = leaves;
+        }
+    }
+
+    private static final class BitmapNode {
+        private final int bitmap;
+        private final Object[] children;
+
+        private BitmapNode(final int bitmap, final Object[] children) {
+            this.bitmap = bitmap;
+            this.children = children;
+        }
+
+        private int index(final int bit) {
+            return Integer.bitCount(bitmap & bit - 1);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package net.objectlab.kit.fxcalc;
+
+import static net.objectlab.kit.util.BigDecimalUtil.bd;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class FixedPointFxRateTest {
+    private static final CurrencyProvider CURRENCY_PROVIDER = new JdkCurrencyProvider();
+    private static final String[] CCYS = { "EUR", "GBP", "JPY", "CHF" };
+
+    @Test
+    public void testOfKeepsValue() {
+        final FxRate fx = FixedPointFxRate.of(new FxRateImpl(CurrencyPair.of("EUR", "USD"), null, true, bd("1.6"), bd("1.6125"), CURRENCY_PROVIDER),
+                CURRENCY_PROVIDER);
+        assertThat(fx).isInstanceOf(FixedPointFxRate.class);
+        assertThat(((FixedPointFxRate) fx).getScale()).isEqualTo(4);
+        assertThat(((FixedPointFxRate) fx).getUnscaledBid()).isEqualTo(16_000L);
+        assertThat(fx.getBid()).isEqualByComparingTo("1.6");
+        assertThat(fx.getAsk()).isEqualByComparingTo("1.6125");
+        assertThat(fx.getMid()).isEqualTo(bd("1.6062500000"));
+    }
+
+    @Test
+    public void testConversion() {
+        final FixedPointFxRate fx = new FixedPointFxRate(CurrencyPair.of("USD", "JPY"), null, true, 13_323L, 13_334L, 2, CURRENCY_PROVIDER);
+        assertThat(fx.convertAmountUsingMid(Cash.of("USD", 10))).isEqualTo(FixedPointCash.of("JPY", 1332L, 0));
+        assertThat(fx.convertAmountUsingMid(Cash.of("JPY", 1_000)).getAmount()).isEqualTo(bd("7.50"));
+        assertThat(fx.convertAmountUsingBidOrAsk(FixedPointCash.of("USD", 1_050L, 2)).getAmount()).isEqualTo(bd("1398"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConversionWrongCcy() {
+        new FixedPointFxRate(CurrencyPair.of("USD", "JPY"), null, true, 13_323L, 13_334L, 2, CURRENCY_PROVIDER).convertAmountUsingMid(Cash.of(
+                "EUR", 10));
+    }
+
+    @Test
+    public void testOverflowFallsBackToBigDecimal() {
+        final FixedPointFxRate fx = new FixedPointFxRate(CurrencyPair.of("EUR", "USD"), null, true, 1_600_000L, 1_610_000L, 6, CURRENCY_PROVIDER);
+        final Cash huge = Cash.of("EUR", "123456789012345678.99");
+        assertThat(fx.convertAmountUsingBidOrAsk(huge)).isEqualTo(fx.toFxRateImpl().convertAmountUsingBidOrAsk(huge));
+    }
+
+    @Test
+    public void testHalfEvenTies() {
+        // 2.5 -> 2, 3.5 -> 4, -2.5 -> -2 when the first rounding is already at the final scale
+        assertThat(FixedPointMath.divide(25L, 0, 10L, 0, 0, BigDecimal.ROUND_HALF_EVEN, 0, BigDecimal.ROUND_HALF_EVEN)).isEqualTo(2L);
+        assertThat(FixedPointMath.divide(35L, 0, 10L, 0, 0, BigDecimal.ROUND_HALF_EVEN, 0, BigDecimal.ROUND_HALF_EVEN)).isEqualTo(4L);
+        assertThat(FixedPointMath.divide(-25L, 0, 10L, 0, 0, BigDecimal.ROUND_HALF_EVEN, 0, BigDecimal.ROUND_HALF_EVEN)).isEqualTo(-2L);
+        // 0.125 and 0.135 at scale 2
+        assertThat(FixedPointMath.divide(1L, 0, 8L, 0, 2, BigDecimal.ROUND_HALF_EVEN, 2, BigDecimal.ROUND_HALF_EVEN)).isEqualTo(12L);
+        assertThat(FixedPointMath.divide(27L, 0, 200L, 0, 2, BigDecimal.ROUND_HALF_EVEN, 2, BigDecimal.ROUND_HALF_EVEN)).isEqualTo(14L);
+    }
+
+    @Test
+    public void testHalfEvenCrossSameAsBigDecimal() {
+        final FxRate usdChf = new FxRateImpl(CurrencyPair.of("USD", "CHF"), null, true, bd("0.4"), bd("3.6"), CURRENCY_PROVIDER);
+        final FxRate usdJpy = new FxRateImpl(CurrencyPair.of("USD", "JPY"), null, true, bd("23.97"), bd("24.39"), CURRENCY_PROVIDER);
+        final CurrencyPair chfJpy = CurrencyPair.of("CHF", "JPY");
+
+        final FxRate expected = CrossRateCalculator.calculateCross(chfJpy, usdChf, usdJpy, 2, 12, StandardMajorCurrencyRanking.getDefault(),
+                BigDecimal.ROUND_HALF_EVEN, BigDecimal.ROUND_HALF_EVEN, CURRENCY_PROVIDER);
+        final FxRate fixed = CrossRateCalculator.calculateCross(chfJpy, FixedPointFxRate.of(usdChf, CURRENCY_PROVIDER), FixedPointFxRate.of(
+                usdJpy, CURRENCY_PROVIDER), 2, 12, StandardMajorCurrencyRanking.getDefault(), BigDecimal.ROUND_HALF_EVEN,
+                BigDecimal.ROUND_HALF_EVEN, CURRENCY_PROVIDER);
+        assertThat(expected.getAsk()).isEqualByComparingTo("60.98");
+        assertSameRate(fixed, expected);
+    }
+
+    @Test
+    public void testSameResultsAsBigDecimal() {
+        final Random random = new Random(42L);
+        for (int i = 0; i < 2_000; i++) {
+            final FxRate fx1 = randomRate(random, "USD", CCYS[random.nextInt(CCYS.length)]);
+            final FixedPointFxRate fixed1 = (FixedPointFxRate) FixedPointFxRate.of(fx1, CURRENCY_PROVIDER);
+
+            final int precision = 2 + random.nextInt(10);
+            assertSameRate(fixed1.createInverse(precision), fx1.createInverse(precision));
+            assertThat(fixed1.getMid()).isEqualTo(fx1.getMid());
+
+            final BigDecimal amount = BigDecimal.valueOf(random.nextLong() % 10_000_000_000L, random.nextInt(4));
+            for (final String ccy : new String[] { fx1.getCurrencyPair().getCcy1(), fx1.getCurrencyPair().getCcy2() }) {
+                assertThat(fixed1.convertAmountUsingBidOrAsk(Cash.of(ccy, amount)).getAmount()).isEqualTo(
+                        fx1.convertAmountUsingBidOrAsk(Cash.of(ccy, amount)).getAmount());
+                assertThat(fixed1.convertAmountUsingMid(Cash.of(ccy, amount)).getAmount()).isEqualTo(
+                        fx1.convertAmountUsingMid(Cash.of(ccy, amount)).getAmount());
+            }
+
+            final String otherCcy = fx1.getCurrencyPair().getCcy2().equals("EUR") ? "GBP" : "EUR";
+            final FxRate fx2 = random.nextBoolean() ? randomRate(random, "USD", otherCcy) : randomRate(random, otherCcy, "USD");
+            final FxRate fixed2 = FixedPointFxRate.of(fx2, CURRENCY_PROVIDER);
+            final CurrencyPair target = random.nextBoolean() ? CurrencyPair.of(otherCcy, fx1.getCurrencyPair().getCcy2()) : CurrencyPair.of(
+                    fx1.getCurrencyPair().getCcy2(), otherCcy);
+            final int bidRounding = random.nextInt(BigDecimal.ROUND_UNNECESSARY);
+            final int askRounding = random.nextInt(BigDecimal.ROUND_UNNECESSARY);
+            final FxRate fixedCross = CrossRateCalculator.calculateCross(target, fixed1, fixed2, precision, 12,
+                    StandardMajorCurrencyRanking.getDefault(), bidRounding, askRounding, CURRENCY_PROVIDER);
+            assertThat(fixedCross).isInstanceOf(FixedPointFxRate.class);
+            assertSameRate(fixedCross, CrossRateCalculator.calculateCross(target, fx1, fx2, precision, 12, StandardMajorCurrencyRanking
+                    .getDefault(), bidRounding, askRounding, CURRENCY_PROVIDER));
+        }
+    }
+
+    private static FxRate randomRate(final Random random, final String ccy1, final String ccy2) {
+        final int scale = 2 + random.nextInt(5);
+        final long bid = 1 + (long) (random.nextDouble() * 200 * Math.pow(10, scale));
+        final long ask = bid + random.nextInt(1_000);
+        return new FxRateImpl(CurrencyPair.of(ccy1, ccy2), null, true, BigDecimal.valueOf(bid, scale), BigDecimal.valueOf(ask, scale),
+                CURRENCY_PROVIDER);
+    }
+
+    private static void assertSameRate(final FxRate actual, final FxRate expected) {
+        assertThat(actual.getCurrencyPair()).isEqualTo(expected.getCurrencyPair());
+        assertThat(actual.isMarketConvention()).isEqualTo(expected.isMarketConvention());
+        assertThat(actual.getBid()).isEqualTo(expected.getBid());
+        assertThat(actual.getAsk()).isEqualTo(expected.getAsk());
+    }
+}
@@ -2,7 +2,18 @@ package net.objectlab.kit.fxcalc;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import net.objectlab.kit.util.BigDecimalUtil;
 
@@ -187,4 +198,169 @@ public class FxRateCalculatorImplTest {
         assertThat(amountBuyInEUR2.getCurrency()).isEqualTo("EUR");
         assertThat(amountBuyInEUR2.getAmount()).isEqualTo("624313.26");
     }
+
+    @Test
+    public void testConcurrentCacheCalculatesOnce() throws Exception {
+        final Map<CurrencyPair, FxRate> base = new HashMap<>();
+        base.put(CurrencyPair.of("EUR", "USD"), new FxRateImpl(CurrencyPair.of("EUR", "USD"), null, true, BigDecimalUtil.bd("1.6"),
+                BigDecimalUtil.bd("1.61"), new JdkCurrencyProvider()));
+        base.put(CurrencyPair.of("GBP", "USD"), new FxRateImpl(CurrencyPair.of("GBP", "USD"), null, true, BigDecimalUtil.bd("2.1702"),
+                BigDecimalUtil.bd("2.1707"), new JdkCurrencyProvider()));
+        final AtomicInteger calls = new AtomicInteger();
+        final FxRateCalculatorBuilder builder = new FxRateCalculatorBuilder() //
+                .baseFxRateProvider(pair -> {
+                    calls.incrementAndGet();
+                    return Optional.ofNullable(base.get(pair));
+                }) //
+                .orderedCurrenciesForCross(Lists.newArrayList("USD")) //
+                .concurrentCache(true);
+
+        final FxRateCalculator calc = new FxRateCalculatorImpl(builder);
+        final int threads = 8;
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<FxRate>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                final CurrencyPair target = i % 2 == 0 ? CurrencyPair.of("EUR", "GBP") : CurrencyPair.of("GBP", "EUR");
+                results.add(executor.submit((Callable<FxRate>) () -> {
+                    start.await();
+                    return calc.findFx(target).get();
+                }));
+            }
+            start.countDown();
+            final FxRate first = results.get(0).get(10, TimeUnit.SECONDS);
+            final FxRate second = results.get(1).get(10, TimeUnit.SECONDS);
+            for (int i = 0; i < threads; i++) {
+                assertThat(results.get(i).get(10, TimeUnit.SECONDS)).isSameAs(i % 2 == 0 ? first : second);
+            }
+            assertThat(first.getCrossCcy().get()).isEqualTo("USD");
+        } finally {
+            executor.shutdown();
+        }
+        final int callsAfterFirstRound = calls.get();
+        assertThat(calc.findFx(CurrencyPair.of("EUR", "GBP")).isPresent()).isTrue();
+        assertThat(calc.findFx(CurrencyPair.of("GBP", "EUR")).isPresent()).isTrue();
+        assertThat(calls.get()).isEqualTo(callsAfterFirstRound);
+    }
+
+    @Test
+    public void testUpdateOnlyInvalidatesDependentRates() {
+        final FxRateCalculatorBuilder builder = new FxRateCalculatorBuilder() //
+                .addRateSnapshot(rate("EUR", "USD", "1.6", "1.61")) //
+                .addRateSnapshot(rate("GBP", "USD", "2.1702", "2.1707")) //
+                .addRateSnapshot(rate("USD", "JPY", "110.0", "110.1")) //
+                .orderedCurrenciesForCross(Lists.newArrayList("CHF", "USD"));
+
+        final FxRateCalculatorImpl calc = new FxRateCalculatorImpl(builder);
+        assertThat(calc.getVersion()).isEqualTo(0L);
+        final FxRate eurGbp = calc.findFx(CurrencyPair.of("EUR", "GBP")).get();
+        final FxRate usdEur = calc.findFx(CurrencyPair.of("USD", "EUR")).get();
+        final FxRate jpyUsd = calc.findFx(CurrencyPair.of("JPY", "USD")).get();
+        assertThat(eurGbp.getCrossCcy().get()).isEqualTo("USD");
+        final FxRateSnapshot before = calc.snapshot();
+
+        calc.update(rate("EUR", "USD", "1.5", "1.51"));
+
+        assertThat(calc.getVersion()).isEqualTo(1L);
+        assertThat(calc.findFx(CurrencyPair.of("EUR", "USD")).get().getBid()).isEqualByComparingTo("1.5");
+        assertThat(calc.findFx(CurrencyPair.of("USD", "EUR")).get()).isNotSameAs(usdEur);
+        assertThat(calc.findFx(CurrencyPair.of("USD", "EUR")).get().getAsk()).isEqualByComparingTo("0.666666666667");
+        assertThat(calc.findFx(CurrencyPair.of("EUR", "GBP")).get()).isNotSameAs(eurGbp);
+        // not derived from EUR/USD
+        assertThat(calc.findFx(CurrencyPair.of("JPY", "USD")).get()).isSameAs(jpyUsd);
+
+        // the snapshot is still on the previous version
+        assertThat(before.getVersion()).isEqualTo(0L);
+        assertThat(before.findFx(CurrencyPair.of("USD", "EUR")).get()).isSameAs(usdEur);
+        assertThat(before.findFx(CurrencyPair.of("EUR", "GBP")).get()).isSameAs(eurGbp);
+
+        // a missing cross ccy leg becomes available, the cross must now use it
+        calc.updateAll(Lists.newArrayList(rate("EUR", "CHF", "1.1", "1.11"), rate("GBP", "CHF", "1.25", "1.26")));
+        assertThat(calc.getVersion()).isEqualTo(2L);
+        assertThat(calc.findFx(CurrencyPair.of("EUR", "GBP")).get().getCrossCcy().get()).isEqualTo("CHF");
+        assertThat(calc.findFx(CurrencyPair.of("JPY", "USD")).get()).isSameAs(jpyUsd);
+    }
+
+    @Test
+    public void testFixedPointSameAsBigDecimal() {
+        final FxRateCalculatorBuilder builder = new FxRateCalculatorBuilder() //
+                .addRateSnapshot(rate("EUR", "USD", "1.6", "1.61")) //
+                .addRateSnapshot(rate("GBP", "CHF", "2.1702", "2.1707")) //
+                .addRateSnapshot(rate("EUR", "GBP", "0.7374", "0.7379")) //
+                .addRateSnapshot(rate("USD", "JPY", "110.0", "110.1")) //
+                .orderedCurrenciesForCross(Lists.newArrayList("GBP", "USD"));
+
+        final FxRateCalculator calc = new FxRateCalculatorImpl(builder);
+        final FxRateCalculator fixedPointCalc = new FxRateCalculatorImpl(builder.fixedPoint(true));
+        for (final String ccy1 : new String[] { "EUR", "USD", "GBP", "CHF", "JPY" }) {
+            for (final String ccy2 : new String[] { "EUR", "USD", "GBP", "CHF", "JPY" }) {
+                if (ccy1.equals(ccy2)) {
+                    continue;
+                }
+                final CurrencyPair target = CurrencyPair.of(ccy1, ccy2);
+                final Optional<FxRate> expectedFx = calc.findFx(target);
+                assertThat(fixedPointCalc.findFx(target).isPresent()).isEqualTo(expectedFx.isPresent());
+                if (!expectedFx.isPresent()) {
+                    continue;
+                }
+                final FxRate expected = expectedFx.get();
+                final FxRate fx = fixedPointCalc.findFx(target).get();
+                assertThat(fx).isInstanceOf(FixedPointFxRate.class);
+                assertThat(fx.getBid()).isEqualByComparingTo(expected.getBid());
+                assertThat(fx.getAsk()).isEqualByComparingTo(expected.getAsk());
+                assertThat(fx.getCrossCcy()).isEqualTo(expected.getCrossCcy());
+                assertThat(fx.convertAmountUsingBidOrAsk(Cash.of(ccy1, 1_000_000L)).getAmount()).isEqualTo(
+                        expected.convertAmountUsingBidOrAsk(Cash.of(ccy1, 1_000_000L)).getAmount());
+                assertThat(fx.convertAmountUsingMid(Cash.of(ccy2, 1_000_000L)).getAmount()).isEqualTo(
+                        expected.convertAmountUsingMid(Cash.of(ccy2, 1_000_000L)).getAmount());
+            }
+        }
+    }
+
+    @Test
+    public void testConvertAll() {
+        final FxRateCalculatorBuilder builder = new FxRateCalculatorBuilder() //
+                .addRateSnapshot(rate("EUR", "USD", "1.6", "1.61")) //
+                .addRateSnapshot(rate("GBP", "CHF", "2.1702", "2.1707")) //
+                .addRateSnapshot(rate("EUR", "GBP", "0.7374", "0.7379")) //
+                .orderedCurrenciesForCross(Lists.newArrayList("GBP"));
+        final FxRateCalculator calc = new FxRateCalculatorImpl(builder);
+
+        final List<CurrencyAmount> amounts = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            amounts.add(Cash.of(i % 3 == 0 ? "USD" : i % 3 == 1 ? "CHF" : "EUR", 1_000L + i));
+        }
+
+        for (final boolean parallel : new boolean[] { false, true }) {
+            final ConversionResult result = calc.convertAll(amounts, "EUR", ConversionSide.MID, parallel);
+            assertThat(result.getTargetCurrency()).isEqualTo("EUR");
+            assertThat(result.getConvertedAmounts()).hasSize(amounts.size());
+            assertThat(result.getConvertedAmounts().get(0)).isEqualTo(calc.findFx(CurrencyPair.of("USD", "EUR")).get().convertAmountUsingMid(
+                    amounts.get(0)));
+            assertThat(result.getConvertedAmounts().get(1)).isEqualTo(calc.findFx(CurrencyPair.of("CHF", "EUR")).get().convertAmountUsingMid(
+                    amounts.get(1)));
+            assertThat(result.getConvertedAmounts().get(2)).isSameAs(amounts.get(2));
+            assertThat(result.getTotalsBySourceCurrency().keySet()).containsExactly("USD", "CHF", "EUR");
+            assertThat(result.getTotalsBySourceCurrency().get("EUR").getAmount()).isEqualByComparingTo("34650");
+
+            CurrencyAmount total = Cash.of("EUR", 0L);
+            for (final CurrencyAmount amount : result.getConvertedAmounts()) {
+                assertThat(amount.getCurrency()).isEqualTo("EUR");
+                total = total.add(amount);
+            }
+            assertThat(result.getTotal().getAmount()).isEqualByComparingTo(total.getAmount());
+        }
+        assertThat(calc.convertAll(new ArrayList<>(), "EUR", ConversionSide.BID_OR_ASK).getTotal().getAmount()).isEqualByComparingTo("0");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConvertAllMissingRate() {
+        final FxRateCalculator calc = new FxRateCalculatorImpl(new FxRateCalculatorBuilder().addRateSnapshot(rate("EUR", "USD", "1.6", "1.61")));
+        calc.convertAll(Lists.newArrayList(Cash.of("JPY", 1_000L)), "EUR", ConversionSide.MID);
+    }
+
+    private static FxRate rate(final String ccy1, final String ccy2, final String bid, final String ask) {
+        return new FxRateImpl(CurrencyPair.of(ccy1, ccy2), null, true, BigDecimalUtil.bd(bid), BigDecimalUtil.bd(ask), new JdkCurrencyProvider());
+    }
 }
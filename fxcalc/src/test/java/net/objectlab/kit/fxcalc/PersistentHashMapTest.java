@@ -0,0 +1,69 @@
+package net.objectlab.kit.fxcalc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class PersistentHashMapTest {
+    /**
+     * Few distinct hashes so that collisions and deep branches are exercised.
+     */
+    private static final class Key {
+        private final int id;
+
+        private Key(final int id) {
+            this.id = id;
+        }
+
+        @Override
+        public int hashCode() {
+            return id % 7 == 0 ? 42 : id * 0x9E3779B9;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof Key && ((Key) obj).id == id;
+        }
+    }
+
+    @Test
+    public void testSameAsHashMap() {
+        final Random random = new Random(1L);
+        final Map<Key, Integer> expected = new HashMap<>();
+        PersistentHashMap<Key, Integer> map = PersistentHashMap.empty();
+        for (int i = 0; i < 50_000; i++) {
+            final Key key = new Key(random.nextInt(2_000));
+            if (random.nextInt(3) == 0) {
+                expected.remove(key);
+                map = map.minus(key);
+            } else {
+                expected.put(key, i);
+                map = map.plus(key, i);
+            }
+            assertThat(map.get(key)).isEqualTo(expected.get(key));
+        }
+        assertThat(map.size()).isEqualTo(expected.size());
+        final Map<Key, Integer> content = new HashMap<>();
+        map.forEach(content::put);
+        assertThat(content).isEqualTo(expected);
+    }
+
+    @Test
+    public void testPreviousVersionUnchanged() {
+        final PersistentHashMap<Key, Integer> v1 = PersistentHashMap.<Key, Integer> empty().plus(new Key(1), 1).plus(new Key(7), 7).plus(new Key(14), 14);
+        final PersistentHashMap<Key, Integer> v2 = v1.plus(new Key(1), 10).minus(new Key(7));
+
+        assertThat(v1.size()).isEqualTo(3);
+        assertThat(v1.get(new Key(1))).isEqualTo(1);
+        assertThat(v1.get(new Key(7))).isEqualTo(7);
+        assertThat(v2.size()).isEqualTo(2);
+        assertThat(v2.get(new Key(1))).isEqualTo(10);
+        assertThat(v2.get(new Key(7))).isNull();
+        assertThat(v2.get(new Key(14))).isEqualTo(14);
+        assertThat(v2.minus(new Key(99))).isSameAs(v2);
+    }
+}
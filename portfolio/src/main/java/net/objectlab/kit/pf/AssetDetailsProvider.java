@@ -1,6 +1,26 @@
 package net.objectlab.kit.pf;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 @FunctionalInterface
 public interface AssetDetailsProvider {
     AssetDetails getDetails(String assetCode);
+
+    /**
+     * Bulk version, implementations backed by a reference data store should override it to fetch all codes at once.
+     * @return the details per asset code, unknown codes may be missing.
+     * @since 1.4.4
+     */
+    default Map<String, AssetDetails> getDetails(final Collection<String> assetCodes) {
+        final Map<String, AssetDetails> details = new LinkedHashMap<>();
+        assetCodes.forEach(code -> {
+            final AssetDetails d = getDetails(code);
+            if (d != null) {
+                details.put(code, d);
+            }
+        });
+        return details;
+    }
 }
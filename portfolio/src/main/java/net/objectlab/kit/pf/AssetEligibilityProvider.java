@@ -1,6 +1,21 @@
 package net.objectlab.kit.pf;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 @FunctionalInterface
 public interface AssetEligibilityProvider {
     boolean isEligible(String assetCode);
+
+    /**
+     * Bulk version, implementations backed by a reference data store should override it to fetch all codes at once.
+     * @return the eligibility per asset code, unknown codes may be missing.
+     * @since 1.4.4
+     */
+    default Map<String, Boolean> getEligibility(final Collection<String> assetCodes) {
+        final Map<String, Boolean> eligibility = new LinkedHashMap<>();
+        assetCodes.forEach(code -> eligibility.put(code, isEligible(code)));
+        return eligibility;
+    }
 }
@@ -0,0 +1,280 @@
+package net.objectlab.kit.pf;
+
+import java.math.BigDecimal;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Columnar form of a portfolio for large portfolios (e.g. index funds): parallel arrays of asset index, issuer index and
+ * value as a long scaled by 10^scale, the asset and issuer codes being stored once.
+ *
+ * The lines are only created on demand by getLines(); if built from an ExistingPortfolio, its lines are returned.
+ *
+ * @author Benoit Xhenseval
+ * @since 1.4.4
+ */
+public final class ColumnarPortfolio implements ExistingPortfolio {
+    private final String id;
+    private final String affiliateCode;
+    private final String partyCode;
+    private final String portfolioCcy;
+    private final int scale;
+    private final long scaledPortfolioValue;
+    private final String[] assetCodes;
+    private final String[] issuerCodes;
+    private final int[] assetIndex;
+    private final int[] issuerIndex;
+    private final long[] scaledValues;
+    private final List<ExistingPortfolioLine> sourceLines;
+
+    public static class Builder {
+        private final int scale;
+        private String id;
+        private String affiliateCode;
+        private String partyCode;
+        private String portfolioCcy;
+        private long scaledPortfolioValue;
+        private final Map<String, Integer> assets = new HashMap<>();
+        private final Map<String, Integer> issuers = new HashMap<>();
+        private int[] assetIndex = new int[16];
+        private int[] issuerIndex = new int[16];
+        private long[] scaledValues = new long[16];
+        private int size;
+        private List<ExistingPortfolioLine> sourceLines;
+
+        /**
+         * @param scale number of decimals of the scaled values, e.g. 2 if values are in cents.
+         */
+        public Builder(final int scale) {
+            this.scale = scale;
+        }
+
+        public Builder id(final String id) {
+            this.id = id;
+            return this;
+        }
+
+        public Builder affiliateCode(final String affiliateCode) {
+            this.affiliateCode = affiliateCode;
+            return this;
+        }
+
+        public Builder partyCode(final String partyCode) {
+            this.partyCode = partyCode;
+            return this;
+        }
+
+        public Builder portfolioCcy(final String portfolioCcy) {
+            this.portfolioCcy = portfolioCcy;
+            return this;
+        }
+
+        public Builder scaledPortfolioValue(final long scaledPortfolioValue) {
+            this.scaledPortfolioValue = scaledPortfolioValue;
+            return this;
+        }
+
+        public Builder addLine(final String assetCode, final String ultimateIssuerCode, final long scaledValue) {
+            if (size == scaledValues.length) {
+                final int newLength = size * 2;
+                assetIndex = Arrays.copyOf(assetIndex, newLength);
+                issuerIndex = Arrays.copyOf(issuerIndex, newLength);
+                scaledValues = Arrays.copyOf(scaledValues, newLength);
+            }
+            assetIndex[size] = assets.computeIfAbsent(assetCode, c -> assets.size());
+            issuerIndex[size] = issuers.computeIfAbsent(ultimateIssuerCode, c -> issuers.size());
+            scaledValues[size] = scaledValue;
+            size++;
+            return this;
+        }
+
+        public ColumnarPortfolio build() {
+            return new ColumnarPortfolio(this);
+        }
+
+        private static String[] codes(final Map<String, Integer> index) {
+            final String[] codes = new String[index.size()];
+            index.forEach((code, i) -> codes[i] = code);
+            return codes;
+        }
+    }
+
+    private ColumnarPortfolio(final Builder builder) {
+        this.id = builder.id;
+        this.affiliateCode = builder.affiliateCode;
+        this.partyCode = builder.partyCode;
+        this.portfolioCcy = builder.portfolioCcy;
+        this.scale = builder.scale;
+        this.scaledPortfolioValue = builder.scaledPortfolioValue;
+        this.assetCodes = Builder.codes(builder.assets);
+        this.issuerCodes = Builder.codes(builder.issuers);
+        this.assetIndex = Arrays.copyOf(builder.assetIndex, builder.size);
+        this.issuerIndex = Arrays.copyOf(builder.issuerIndex, builder.size);
+        this.scaledValues = Arrays.copyOf(builder.scaledValues, builder.size);
+        this.sourceLines = builder.sourceLines;
+    }
+
+    /**
+     * Convert a portfolio, using the largest scale of its values; the issuers are fetched in one bulk call.
+     * @throws ArithmeticException if a value does not fit in a long once scaled.
+     */
+    public static ColumnarPortfolio from(final ExistingPortfolio portfolio, final AssetDetailsProvider assetDetailsProvider) {
+        final List<ExistingPortfolioLine> lines = portfolio.getLines();
+        final BigDecimal portfolioValue = portfolio.getPortfolioValue() != null ? portfolio.getPortfolioValue() : BigDecimal.ZERO;
+        int scale = Math.max(0, portfolioValue.scale());
+        final Set<String> codes = new LinkedHashSet<>();
+        for (final ExistingPortfolioLine line : lines) {
+            scale = Math.max(scale, value(line).scale());
+            codes.add(line.getAssetCode());
+        }
+        final Map<String, AssetDetails> details = codes.isEmpty() ? new HashMap<>() : assetDetailsProvider.getDetails(codes);
+
+        final Builder builder = new Builder(scale).id(portfolio.getId()).affiliateCode(portfolio.getAffiliateCode())
+                .partyCode(portfolio.getPartyCode()).portfolioCcy(portfolio.getPortfolioCcy())
+                .scaledPortfolioValue(toScaledLong(portfolioValue, scale));
+        for (final ExistingPortfolioLine line : lines) {
+            AssetDetails d = details.get(line.getAssetCode());
+            if (d == null) {
+                d = assetDetailsProvider.getDetails(line.getAssetCode());
+            }
+            builder.addLine(line.getAssetCode(), d.getUltimateIssuerCode(), toScaledLong(value(line), scale));
+        }
+        builder.sourceLines = lines;
+        return builder.build();
+    }
+
+    private static BigDecimal value(final ExistingPortfolioLine line) {
+        return line.getValueInPortfolioCcy() != null ? line.getValueInPortfolioCcy() : BigDecimal.ZERO;
+    }
+
+    private static long toScaledLong(final BigDecimal value, final int scale) {
+        return value.setScale(scale).unscaledValue().longValueExact();
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public String getAffiliateCode() {
+        return affiliateCode;
+    }
+
+    @Override
+    public String getPartyCode() {
+        return partyCode;
+    }
+
+    @Override
+    public String getPortfolioCcy() {
+        return portfolioCcy;
+    }
+
+    @Override
+    public BigDecimal getPortfolioValue() {
+        return BigDecimal.valueOf(scaledPortfolioValue, scale);
+    }
+
+    /**
+     * @return a view of the lines, created on access unless the portfolio was built from an ExistingPortfolio.
+     */
+    @Override
+    public List<ExistingPortfolioLine> getLines() {
+        if (sourceLines != null) {
+            return sourceLines;
+        }
+        return new AbstractList<ExistingPortfolioLine>() {
+            @Override
+            public ExistingPortfolioLine get(final int index) {
+                return getLine(index);
+            }
+
+            @Override
+            public int size() {
+                return scaledValues.length;
+            }
+        };
+    }
+
+    public ExistingPortfolioLine getLine(final int line) {
+        if (sourceLines != null) {
+            return sourceLines.get(line);
+        }
+        final String assetCode = assetCodes[assetIndex[line]];
+        final BigDecimal value = BigDecimal.valueOf(scaledValues[line], scale);
+        return new BasicLine(assetCode, assetCode, null, null, value);
+    }
+
+    public int getLineCount() {
+        return scaledValues.length;
+    }
+
+    public int getScale() {
+        return scale;
+    }
+
+    public long getScaledPortfolioValue() {
+        return scaledPortfolioValue;
+    }
+
+    public long getScaledValue(final int line) {
+        return scaledValues[line];
+    }
+
+    public int getAssetIndex(final int line) {
+        return assetIndex[line];
+    }
+
+    public int getIssuerIndex(final int line) {
+        return issuerIndex[line];
+    }
+
+    public int getAssetCount() {
+        return assetCodes.length;
+    }
+
+    public String getAssetCode(final int assetIndex) {
+        return assetCodes[assetIndex];
+    }
+
+    public int getIssuerCount() {
+        return issuerCodes.length;
+    }
+
+    public String getIssuerCode(final int issuerIndex) {
+        return issuerCodes[issuerIndex];
+    }
+
+    /**
+     * @return the allocation weight of each line as a long scaled by 10^weightScale, rounded HALF_UP like
+     * BigDecimalUtil.divide(weightScale, value, portfolioValue, ROUND_HALF_UP) (0 if the portfolio value is 0).
+     */
+    public long[] calculateScaledWeights(final int weightScale) {
+        final long[] weights = new long[scaledValues.length];
+        if (scaledPortfolioValue == 0L) {
+            return weights;
+        }
+        final long den = Math.abs(scaledPortfolioValue);
+        for (int i = 0; i < weights.length; i++) {
+            final long num = scaledValues[i];
+            long remainder = Math.abs(num) % den;
+            long weight = Math.abs(num) / den;
+            for (int d = 0; d < weightScale; d++) {
+                remainder = Math.multiplyExact(remainder, 10L);
+                weight = Math.multiplyExact(weight, 10L) + remainder / den;
+                remainder %= den;
+            }
+            if (remainder >= den - remainder) {
+                weight++;
+            }
+            weights[i] = (num < 0) != (scaledPortfolioValue < 0) ? -weight : weight;
+        }
+        return weights;
+    }
+}
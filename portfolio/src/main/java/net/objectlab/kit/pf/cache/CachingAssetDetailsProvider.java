@@ -0,0 +1,54 @@
+package net.objectlab.kit.pf.cache;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import net.objectlab.kit.collections.EntryLoader;
+import net.objectlab.kit.collections.ExpiringCache;
+import net.objectlab.kit.collections.ExpiringCacheBuilder;
+import net.objectlab.kit.pf.AssetDetails;
+import net.objectlab.kit.pf.AssetDetailsProvider;
+
+/**
+ * Decorator caching the details given by another provider, bulk requests only ask the provider for the codes not
+ * in the cache, in a single bulk call.
+ *
+ * @author Benoit Xhenseval
+ * @since 1.4.4
+ */
+public class CachingAssetDetailsProvider implements AssetDetailsProvider {
+    private final ExpiringCache<String, AssetDetails> cache;
+
+    /**
+     * @param maxSize maximum number of cached codes, -1 for no limit.
+     * @param ttl time to live after the load, 0 or less to never expire.
+     */
+    public CachingAssetDetailsProvider(final AssetDetailsProvider provider, final int maxSize, final long ttl, final TimeUnit unit) {
+        this.cache = new ExpiringCache<>(new ExpiringCacheBuilder<>(new EntryLoader<String, AssetDetails>() {
+            @Override
+            public AssetDetails load(final String assetCode) {
+                return provider.getDetails(assetCode);
+            }
+
+            @Override
+            public Map<String, AssetDetails> loadAll(final Collection<String> assetCodes) {
+                return provider.getDetails(assetCodes);
+            }
+        }).id("AssetDetails").maximumSize(maxSize).expireAfterWriteMilliseconds(ttl > 0 ? unit.toMillis(ttl) : -1));
+    }
+
+    @Override
+    public AssetDetails getDetails(final String assetCode) {
+        return cache.get(assetCode);
+    }
+
+    @Override
+    public Map<String, AssetDetails> getDetails(final Collection<String> assetCodes) {
+        return cache.getAll(assetCodes);
+    }
+
+    public ExpiringCache<String, AssetDetails> getCache() {
+        return cache;
+    }
+}
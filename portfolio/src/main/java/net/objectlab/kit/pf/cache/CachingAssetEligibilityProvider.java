@@ -0,0 +1,53 @@
+package net.objectlab.kit.pf.cache;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import net.objectlab.kit.collections.EntryLoader;
+import net.objectlab.kit.collections.ExpiringCache;
+import net.objectlab.kit.collections.ExpiringCacheBuilder;
+import net.objectlab.kit.pf.AssetEligibilityProvider;
+
+/**
+ * Decorator caching the eligibility given by another provider, bulk requests only ask the provider for the codes
+ * not in the cache, in a single bulk call.
+ *
+ * @author Benoit Xhenseval
+ * @since 1.4.4
+ */
+public class CachingAssetEligibilityProvider implements AssetEligibilityProvider {
+    private final ExpiringCache<String, Boolean> cache;
+
+    /**
+     * @param maxSize maximum number of cached codes, -1 for no limit.
+     * @param ttl time to live after the load, 0 or less to never expire.
+     */
+    public CachingAssetEligibilityProvider(final AssetEligibilityProvider provider, final int maxSize, final long ttl, final TimeUnit unit) {
+        this.cache = new ExpiringCache<>(new ExpiringCacheBuilder<>(new EntryLoader<String, Boolean>() {
+            @Override
+            public Boolean load(final String assetCode) {
+                return provider.isEligible(assetCode);
+            }
+
+            @Override
+            public Map<String, Boolean> loadAll(final Collection<String> assetCodes) {
+                return provider.getEligibility(assetCodes);
+            }
+        }).id("AssetEligibility").maximumSize(maxSize).expireAfterWriteMilliseconds(ttl > 0 ? unit.toMillis(ttl) : -1));
+    }
+
+    @Override
+    public boolean isEligible(final String assetCode) {
+        return Boolean.TRUE.equals(cache.get(assetCode));
+    }
+
+    @Override
+    public Map<String, Boolean> getEligibility(final Collection<String> assetCodes) {
+        return cache.getAll(assetCodes);
+    }
+
+    public ExpiringCache<String, Boolean> getCache() {
+        return cache;
+    }
+}
@@ -0,0 +1,25 @@
+package net.objectlab.kit.pf.rule;
+
+import net.objectlab.kit.pf.ValidatedPortfolioLine;
+
+/**
+ * A rule run by a {@link RulePipeline}; all rules share a single pass over the lines (onLine, in rule order for each
+ * line) and are then completed in order (onComplete), e.g. to check totals.
+ *
+ * A rule is shared by all validations, any state for a portfolio must be kept via {@link RuleContext#getState}.
+ *
+ * @author Benoit Xhenseval
+ * @since 1.4.4
+ */
+public interface PortfolioRule {
+    /**
+     * Name used in the statistics.
+     */
+    String getName();
+
+    default void onLine(final ValidatedPortfolioLine line, final RuleContext context) {
+    }
+
+    default void onComplete(final RuleContext context) {
+    }
+}
@@ -0,0 +1,94 @@
+package net.objectlab.kit.pf.rule;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import net.objectlab.kit.pf.AssetDetails;
+import net.objectlab.kit.pf.AssetDetailsProvider;
+import net.objectlab.kit.pf.AssetEligibilityProvider;
+import net.objectlab.kit.pf.ExistingPortfolio;
+import net.objectlab.kit.pf.RuleIssue;
+import net.objectlab.kit.pf.Severity;
+import net.objectlab.kit.pf.ValidationResults;
+
+/**
+ * State of the validation of one portfolio by a {@link RulePipeline}, with the reference data of its assets fetched
+ * in one bulk call.
+ *
+ * @author Benoit Xhenseval
+ * @since 1.4.4
+ */
+public final class RuleContext {
+    private final ExistingPortfolio portfolio;
+    private final ValidationResults results;
+    private final AssetDetailsProvider assetDetailsProvider;
+    private final AssetEligibilityProvider assetEligibilityProvider;
+    private final Map<String, AssetDetails> details;
+    private final Map<String, Boolean> eligibility;
+    private final Map<PortfolioRule, Object> states = new IdentityHashMap<>();
+    private int checkedIssues;
+    private boolean mandatoryIssue;
+
+    RuleContext(final ExistingPortfolio portfolio, final ValidationResults results, final AssetDetailsProvider assetDetailsProvider,
+            final AssetEligibilityProvider assetEligibilityProvider) {
+        this.portfolio = portfolio;
+        this.results = results;
+        this.assetDetailsProvider = assetDetailsProvider;
+        this.assetEligibilityProvider = assetEligibilityProvider;
+
+        final Set<String> assetCodes = new LinkedHashSet<>();
+        results.getLines().forEach(l -> assetCodes.add(l.getAssetCode()));
+        this.details = assetDetailsProvider != null && !assetCodes.isEmpty() ? assetDetailsProvider.getDetails(assetCodes) : Collections
+                .emptyMap();
+        this.eligibility = assetEligibilityProvider != null && !assetCodes.isEmpty() ? assetEligibilityProvider.getEligibility(assetCodes)
+                : Collections.emptyMap();
+    }
+
+    public ExistingPortfolio getPortfolio() {
+        return portfolio;
+    }
+
+    public ValidationResults getResults() {
+        return results;
+    }
+
+    /**
+     * @return the prefetched details, asking the provider if the bulk call did not return the asset.
+     */
+    public AssetDetails getAssetDetails(final String assetCode) {
+        final AssetDetails d = details.get(assetCode);
+        return d != null ? d : assetDetailsProvider.getDetails(assetCode);
+    }
+
+    /**
+     * @return the prefetched eligibility, asking the provider if the bulk call did not return the asset.
+     */
+    public boolean isEligible(final String assetCode) {
+        final Boolean eligible = eligibility.get(assetCode);
+        return eligible != null ? eligible : assetEligibilityProvider.isEligible(assetCode);
+    }
+
+    /**
+     * @return the state of the rule for this portfolio, created by the factory on first use.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getState(final PortfolioRule rule, final Supplier<T> factory) {
+        return (T) states.computeIfAbsent(rule, r -> factory.get());
+    }
+
+    /**
+     * @return true if a MANDATORY issue has been raised so far.
+     */
+    public boolean hasMandatoryIssue() {
+        final List<RuleIssue> issues = results.getIssues();
+        for (; checkedIssues < issues.size() && !mandatoryIssue; checkedIssues++) {
+            mandatoryIssue = issues.get(checkedIssues).getSeverity() == Severity.MANDATORY;
+        }
+        return mandatoryIssue;
+    }
+}
@@ -0,0 +1,159 @@
+package net.objectlab.kit.pf.rule;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import net.objectlab.kit.pf.AssetDetailsProvider;
+import net.objectlab.kit.pf.AssetEligibilityProvider;
+import net.objectlab.kit.pf.ExistingPortfolio;
+import net.objectlab.kit.pf.ValidatedPortfolioLine;
+import net.objectlab.kit.pf.ValidationEngine;
+import net.objectlab.kit.pf.ValidationResults;
+import net.objectlab.kit.pf.validator.Results;
+import net.objectlab.kit.util.BigDecimalUtil;
+
+/**
+ * ValidationEngine running a list of {@link PortfolioRule}s in a single pass over the lines (the allocation weight of
+ * each line is set before the rules see it), then completing each rule in order.
+ *
+ * With failFast, the validation stops as soon as a MANDATORY issue has been raised: the results are then invalid but
+ * not exhaustive, the rules not run to completion are counted as skipped.
+ *
+ * The time spent and the issues raised by each rule are recorded across all validations; the pipeline is thread-safe
+ * if its rules are.
+ *
+ * @author Benoit Xhenseval
+ * @since 1.4.4
+ */
+public class RulePipeline implements ValidationEngine {
+    private final List<PortfolioRule> rules;
+    private final boolean failFast;
+    private final boolean timed;
+    private final AssetDetailsProvider assetDetailsProvider;
+    private final AssetEligibilityProvider assetEligibilityProvider;
+    private final RuleCounters[] counters;
+
+    public static class Builder {
+        private final List<PortfolioRule> rules = new ArrayList<>();
+        private boolean failFast;
+        private boolean timed = true;
+        private AssetDetailsProvider assetDetailsProvider;
+        private AssetEligibilityProvider assetEligibilityProvider;
+
+        public Builder addRule(final PortfolioRule rule) {
+            rules.add(rule);
+            return this;
+        }
+
+        public Builder failFast(final boolean failFast) {
+            this.failFast = failFast;
+            return this;
+        }
+
+        public Builder timed(final boolean timed) {
+            this.timed = timed;
+            return this;
+        }
+
+        public Builder assetDetailsProvider(final AssetDetailsProvider assetDetailsProvider) {
+            this.assetDetailsProvider = assetDetailsProvider;
+            return this;
+        }
+
+        public Builder assetEligibilityProvider(final AssetEligibilityProvider assetEligibilityProvider) {
+            this.assetEligibilityProvider = assetEligibilityProvider;
+            return this;
+        }
+
+        public RulePipeline build() {
+            return new RulePipeline(this);
+        }
+    }
+
+    private static final class RuleCounters {
+        private final LongAdder evaluations = new LongAdder();
+        private final LongAdder skipped = new LongAdder();
+        private final LongAdder issues = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+    }
+
+    public RulePipeline(final Builder builder) {
+        this.rules = Collections.unmodifiableList(new ArrayList<>(builder.rules));
+        this.failFast = builder.failFast;
+        this.timed = builder.timed;
+        this.assetDetailsProvider = builder.assetDetailsProvider;
+        this.assetEligibilityProvider = builder.assetEligibilityProvider;
+        this.counters = new RuleCounters[rules.size()];
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = new RuleCounters();
+        }
+    }
+
+    public List<PortfolioRule> getRules() {
+        return rules;
+    }
+
+    @Override
+    public ValidationResults validate(final ExistingPortfolio portfolio) {
+        final Results results = new Results(portfolio);
+        final RuleContext context = new RuleContext(portfolio, results, assetDetailsProvider, assetEligibilityProvider);
+        final BigDecimal portfolioValue = portfolio.getPortfolioValue();
+        final int ruleCount = rules.size();
+        final long[] nanos = new long[ruleCount];
+        final int[] issues = new int[ruleCount];
+
+        boolean stopped = false;
+        for (final ValidatedPortfolioLine line : results.getLines()) {
+            line.setAllocationWeight(BigDecimalUtil.divide(8, line.getValueInPortfolioCcy(), portfolioValue, BigDecimal.ROUND_HALF_UP));
+            for (int i = 0; i < ruleCount && !stopped; i++) {
+                final int issuesBefore = results.getIssues().size();
+                final long start = timed ? System.nanoTime() : 0L;
+                rules.get(i).onLine(line, context);
+                if (timed) {
+                    nanos[i] += System.nanoTime() - start;
+                }
+                issues[i] += results.getIssues().size() - issuesBefore;
+                stopped = failFast && context.hasMandatoryIssue();
+            }
+            if (stopped) {
+                break;
+            }
+        }
+
+        for (int i = 0; i < ruleCount; i++) {
+            final RuleCounters counter = counters[i];
+            if (stopped) {
+                counter.skipped.increment();
+            } else {
+                final int issuesBefore = results.getIssues().size();
+                final long start = timed ? System.nanoTime() : 0L;
+                rules.get(i).onComplete(context);
+                if (timed) {
+                    nanos[i] += System.nanoTime() - start;
+                }
+                issues[i] += results.getIssues().size() - issuesBefore;
+                counter.evaluations.increment();
+                stopped = failFast && context.hasMandatoryIssue();
+            }
+            counter.nanos.add(nanos[i]);
+            counter.issues.add(issues[i]);
+        }
+        return results;
+    }
+
+    /**
+     * @return the statistics of each rule, in rule order, since the pipeline was created.
+     */
+    public List<RuleStatistics> getStatistics() {
+        final List<RuleStatistics> stats = new ArrayList<>(rules.size());
+        for (int i = 0; i < rules.size(); i++) {
+            final RuleCounters counter = counters[i];
+            stats.add(new RuleStatistics(rules.get(i).getName(), counter.evaluations.sum(), counter.skipped.sum(), counter.issues.sum(),
+                    counter.nanos.sum()));
+        }
+        return stats;
+    }
+}
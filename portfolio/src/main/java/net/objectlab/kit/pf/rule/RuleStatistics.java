@@ -0,0 +1,66 @@
+package net.objectlab.kit.pf.rule;
+
+/**
+ * Immutable snapshot of the statistics of a rule in a {@link RulePipeline}.
+ *
+ * @author Benoit Xhenseval
+ * @since 1.4.4
+ */
+public class RuleStatistics {
+    private final String ruleName;
+    private final long evaluationCount;
+    private final long skippedCount;
+    private final long issueCount;
+    private final long totalNanos;
+
+    public RuleStatistics(final String ruleName, final long evaluationCount, final long skippedCount, final long issueCount,
+            final long totalNanos) {
+        this.ruleName = ruleName;
+        this.evaluationCount = evaluationCount;
+        this.skippedCount = skippedCount;
+        this.issueCount = issueCount;
+        this.totalNanos = totalNanos;
+    }
+
+    public String getRuleName() {
+        return ruleName;
+    }
+
+    /**
+     * @return number of portfolios fully evaluated by the rule.
+     */
+    public long getEvaluationCount() {
+        return evaluationCount;
+    }
+
+    /**
+     * @return number of portfolios for which the rule was cut short by a MANDATORY issue (fail fast).
+     */
+    public long getSkippedCount() {
+        return skippedCount;
+    }
+
+    /**
+     * @return number of issues raised by the rule.
+     */
+    public long getIssueCount() {
+        return issueCount;
+    }
+
+    /**
+     * @return time spent in the rule, 0 if timing is disabled.
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public long getAverageNanos() {
+        final long count = evaluationCount + skippedCount;
+        return count == 0 ? 0 : totalNanos / count;
+    }
+
+    @Override
+    public String toString() {
+        return ruleName + " evaluated:" + evaluationCount + " skipped:" + skippedCount + " issues:" + issueCount + " time(ns):" + totalNanos;
+    }
+}
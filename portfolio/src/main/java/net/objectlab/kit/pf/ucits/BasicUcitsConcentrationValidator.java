@@ -1,6 +1,7 @@
 package net.objectlab.kit.pf.ucits;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -8,15 +9,16 @@ import java.util.Map;
 
 import net.objectlab.kit.pf.AssetDetailsProvider;
 import net.objectlab.kit.pf.AssetEligibilityProvider;
+import net.objectlab.kit.pf.ColumnarPortfolio;
 import net.objectlab.kit.pf.ExistingPortfolio;
 import net.objectlab.kit.pf.RuleNames;
 import net.objectlab.kit.pf.Severity;
 import net.objectlab.kit.pf.ValidatedPortfolioLine;
 import net.objectlab.kit.pf.ValidationEngine;
 import net.objectlab.kit.pf.ValidationResults;
-import net.objectlab.kit.pf.validator.Results;
+import net.objectlab.kit.pf.rule.RulePipeline;
+import net.objectlab.kit.pf.validator.ColumnarResults;
 import net.objectlab.kit.util.BigDecimalUtil;
-import net.objectlab.kit.util.Total;
 
 /**
  * Default is the usual 5-10-40 rule.
@@ -29,6 +31,10 @@ public class BasicUcitsConcentrationValidator implements ValidationEngine {
     private final AssetDetailsProvider assetDetailsProvider;
     private final AssetEligibilityProvider assetEligibilityProvider;
     private final UcitsLimitProvider ucitsLimitProvider;
+    private final RulePipeline pipeline;
+    private static final int WEIGHT_SCALE = 8;
+    private static final byte ABOVE_MAX = 1;
+    private static final byte ABOVE_MEDIUM = 2;
 
     public static class Builder {
         private BigDecimal maxConcentrationPerIssuer = new BigDecimal("0.1");
@@ -76,79 +82,112 @@ public class BasicUcitsConcentrationValidator implements ValidationEngine {
         this.assetDetailsProvider = builder.assetDetailsProvider;
         this.assetEligibilityProvider = builder.assetEligibilityProvider;
         this.ucitsLimitProvider = builder.ucitsLimitProvider;
+        this.pipeline = new RulePipeline.Builder() //
+                .assetDetailsProvider(assetDetailsProvider) //
+                .assetEligibilityProvider(assetEligibilityProvider) //
+                .addRule(new EligibilityRule()) //
+                .addRule(new IssuerConcentrationRule(maxConcentrationPerIssuer, mediumConcentrationPerIssuer, maxForMediumConcentration)) //
+                .build();
     }
 
-    private static final class TotalPerIssuer {
-        private final String issuer;
-        private final Total total = new Total();
-        private final List<ValidatedPortfolioLine> lines = new ArrayList<>();
+    /**
+     * @return a tracker using the same limits and providers, seeded with the portfolio, to check trades incrementally.
+     * @since 1.4.4
+     */
+    public UcitsConcentrationTracker createTracker(final ExistingPortfolio portfolio) {
+        return new UcitsConcentrationTracker(maxConcentrationPerIssuer, mediumConcentrationPerIssuer, maxForMediumConcentration,
+                assetDetailsProvider, assetEligibilityProvider, portfolio);
+    }
 
-        public TotalPerIssuer(String issuer) {
-            this.issuer = issuer;
-        }
+    /**
+     * @return the rule pipeline running the eligibility and the issuer concentration rules.
+     * @since 1.4.4
+     */
+    public RulePipeline getPipeline() {
+        return pipeline;
+    }
 
-        public String getIssuer() {
-            return issuer;
+    @Override
+    public ValidationResults validate(final ExistingPortfolio portfolio) {
+        if (portfolio instanceof ColumnarPortfolio) {
+            return validate((ColumnarPortfolio) portfolio);
         }
+        return pipeline.validate(portfolio);
+    }
 
-        public void add(final ValidatedPortfolioLine l) {
-            lines.add(l);
-            total.add(l.getAllocationWeight());
+    /**
+     * Same rules as the pipeline, run on primitive arrays: weights are longs scaled by 10^8 and only the lines with an
+     * issue are materialized in the results. Issues are reported per line in the same way, they are listed in line
+     * order.
+     * @since 1.4.4
+     */
+    public ValidationResults validate(final ColumnarPortfolio portfolio) {
+        final long[] weights = portfolio.calculateScaledWeights(WEIGHT_SCALE);
+        final ColumnarResults results = new ColumnarResults(portfolio, weights, WEIGHT_SCALE);
+        final List<ValidatedPortfolioLine> lines = results.getLines();
+        final boolean[] eligible = eligibility(portfolio);
+
+        // check if asset is eligible, if not -> Breach; calculate the weight for each issuer
+        final long[] weightPerIssuer = new long[portfolio.getIssuerCount()];
+        for (int i = 0; i < weights.length; i++) {
+            if (!eligible[portfolio.getAssetIndex(i)]) {
+                lines.get(i).addIssue(Severity.MANDATORY, RuleNames.ELIGIBILITY, "Asset not eligible.");
+            }
+            weightPerIssuer[portfolio.getIssuerIndex(i)] += weights[i];
         }
 
-        public BigDecimal getTotalWeight() {
-            return total.getTotal();
+        final long max = scaledLimit(maxConcentrationPerIssuer);
+        final long medium = scaledLimit(mediumConcentrationPerIssuer);
+        final byte[] issuerStatus = new byte[weightPerIssuer.length];
+        long totalMediumConcentration = 0L;
+        boolean breach = false;
+        for (int issuer = 0; issuer < weightPerIssuer.length; issuer++) {
+            if (weightPerIssuer[issuer] > max) {
+                issuerStatus[issuer] = ABOVE_MAX;
+                breach = true;
+            } else if (weightPerIssuer[issuer] > medium) {
+                issuerStatus[issuer] = ABOVE_MEDIUM;
+                totalMediumConcentration += weightPerIssuer[issuer];
+            }
         }
-
-        public List<ValidatedPortfolioLine> getLines() {
-            return lines;
+        final boolean mediumBreach = totalMediumConcentration > scaledLimit(maxForMediumConcentration);
+
+        if (breach || mediumBreach) {
+            final String mediumMessage = "Total medium concentration is above " + BigDecimalUtil.movePoint(maxForMediumConcentration, 2) + "% ["
+                    + BigDecimalUtil.movePoint(BigDecimal.valueOf(totalMediumConcentration, WEIGHT_SCALE), 2) + "]";
+            for (int i = 0; i < weights.length; i++) {
+                final int issuer = portfolio.getIssuerIndex(i);
+                if (issuerStatus[issuer] == ABOVE_MAX) {
+                    lines.get(i).addIssue(Severity.MANDATORY, RuleNames.ISSUER_MAX_CONCENTRATION,
+                            "Concentration above " + BigDecimalUtil.movePoint(maxConcentrationPerIssuer, 2) + "% for "
+                                    + portfolio.getIssuerCode(issuer) + " ["
+                                    + BigDecimalUtil.movePoint(BigDecimal.valueOf(weightPerIssuer[issuer], WEIGHT_SCALE), 2) + "]");
+                } else if (mediumBreach && issuerStatus[issuer] == ABOVE_MEDIUM) {
+                    lines.get(i).addIssue(Severity.MANDATORY, RuleNames.ISSUER_MEDIUM_CONCENTRATION, mediumMessage);
+                }
+            }
         }
+        return results;
     }
 
-    @Override
-    public ValidationResults validate(final ExistingPortfolio portfolio) {
-        // for each line:
-        final Results results = new Results(portfolio);
-
-        // get the value of the portfolio
-        final BigDecimal porfolioValue = portfolio.getPortfolioValue();
-
-        // calculate the value per Issuer (using AssetDetails)
-        // check if asset is eligible, if not -> Breach
-        final Map<String, TotalPerIssuer> totalPerIssuer = new HashMap<>();
-        results.getLines().forEach(l -> {
-            if (!assetEligibilityProvider.isEligible(l.getAssetCode())) {
-                l.addIssue(Severity.MANDATORY, RuleNames.ELIGIBILITY, "Asset not eligible.");
-            }
-            l.setAllocationWeight(BigDecimalUtil.divide(8, l.getValueInPortfolioCcy(), porfolioValue, BigDecimal.ROUND_HALF_UP));
-            // calculate the weight for each issuer
-            totalPerIssuer.computeIfAbsent(assetDetailsProvider.getDetails(l.getAssetCode()).getUltimateIssuerCode(), TotalPerIssuer::new).add(l);
-
-        });
-
-        final Total totalMediumConcentration = new Total();
-        final List<ValidatedPortfolioLine> mediumLines = new ArrayList<>();
-        totalPerIssuer.values().forEach(issuer -> {
-            final BigDecimal totalWeight = issuer.getTotalWeight();
-            if (BigDecimalUtil.compareTo(totalWeight, maxConcentrationPerIssuer) > 0) {
-                // if weight > maxConcentrationPerIssuer (e.g. 10%) -> Breach
-                issuer.lines.forEach(line -> line.addIssue(Severity.MANDATORY, RuleNames.ISSUER_MAX_CONCENTRATION,
-                        "Concentration above " + BigDecimalUtil.movePoint(maxConcentrationPerIssuer, 2) + "% for " + issuer.getIssuer() + " ["
-                                + BigDecimalUtil.movePoint(totalWeight, 2) + "]"));
-            } else if (BigDecimalUtil.compareTo(totalWeight, mediumConcentrationPerIssuer) > 0) {
-                // if weight > mediumConcentrationPerIssuer (e.g. 5%) -> sum them
-                totalMediumConcentration.add(totalWeight);
-                mediumLines.addAll(issuer.getLines());
-            }
-        });
-
-        // if sum of those > maxForMediumConcentration -> Breach
-        if (BigDecimalUtil.compareTo(totalMediumConcentration.getTotal(), maxForMediumConcentration) > 0) {
-            mediumLines.forEach(line -> line.addIssue(Severity.MANDATORY, RuleNames.ISSUER_MEDIUM_CONCENTRATION,
-                    "Total medium concentration is above " + BigDecimalUtil.movePoint(maxForMediumConcentration, 2) + "% ["
-                            + BigDecimalUtil.movePoint(totalMediumConcentration.getTotal(), 2) + "]"));
-
+    private boolean[] eligibility(final ColumnarPortfolio portfolio) {
+        final List<String> assetCodes = new ArrayList<>(portfolio.getAssetCount());
+        for (int asset = 0; asset < portfolio.getAssetCount(); asset++) {
+            assetCodes.add(portfolio.getAssetCode(asset));
         }
-        return results;
+        final Map<String, Boolean> eligibility = assetCodes.isEmpty() ? new HashMap<>() : assetEligibilityProvider.getEligibility(assetCodes);
+        final boolean[] eligible = new boolean[assetCodes.size()];
+        for (int asset = 0; asset < eligible.length; asset++) {
+            final Boolean e = eligibility.get(assetCodes.get(asset));
+            eligible[asset] = e != null ? e : assetEligibilityProvider.isEligible(assetCodes.get(asset));
+        }
+        return eligible;
+    }
+
+    /**
+     * A scaled weight w is above the limit if w > floor(limit * 10^8).
+     */
+    private static long scaledLimit(final BigDecimal limit) {
+        return limit.movePointRight(WEIGHT_SCALE).setScale(0, RoundingMode.FLOOR).longValueExact();
     }
 }
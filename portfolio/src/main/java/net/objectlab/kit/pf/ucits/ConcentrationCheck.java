@@ -0,0 +1,60 @@
+package net.objectlab.kit.pf.ucits;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable outcome of a what-if check on a {@link UcitsConcentrationTracker}: the state of the UCITS limits once
+ * the deltas are applied.
+ *
+ * @author Benoit Xhenseval
+ * @since 1.4.4
+ */
+public class ConcentrationCheck {
+    private final Set<String> breachedRules;
+    private final boolean breachedBefore;
+    private final BigDecimal mediumConcentrationTotal;
+    private final Map<String, BigDecimal> issuerWeights;
+
+    public ConcentrationCheck(final Set<String> breachedRules, final boolean breachedBefore, final BigDecimal mediumConcentrationTotal,
+            final Map<String, BigDecimal> issuerWeights) {
+        this.breachedRules = Collections.unmodifiableSet(breachedRules);
+        this.breachedBefore = breachedBefore;
+        this.mediumConcentrationTotal = mediumConcentrationTotal;
+        this.issuerWeights = Collections.unmodifiableMap(issuerWeights);
+    }
+
+    /**
+     * @return true if any limit is breached once the deltas are applied.
+     */
+    public boolean isBreach() {
+        return !breachedRules.isEmpty();
+    }
+
+    /**
+     * @return the RuleNames breached once the deltas are applied.
+     */
+    public Set<String> getBreachedRules() {
+        return breachedRules;
+    }
+
+    /**
+     * @return true if a limit was already breached before the deltas.
+     */
+    public boolean isBreachedBefore() {
+        return breachedBefore;
+    }
+
+    public BigDecimal getMediumConcentrationTotal() {
+        return mediumConcentrationTotal;
+    }
+
+    /**
+     * @return the new weight of the issuers touched by the deltas.
+     */
+    public Map<String, BigDecimal> getIssuerWeights() {
+        return issuerWeights;
+    }
+}
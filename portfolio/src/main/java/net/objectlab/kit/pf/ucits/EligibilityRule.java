@@ -0,0 +1,27 @@
+package net.objectlab.kit.pf.ucits;
+
+import net.objectlab.kit.pf.RuleNames;
+import net.objectlab.kit.pf.Severity;
+import net.objectlab.kit.pf.ValidatedPortfolioLine;
+import net.objectlab.kit.pf.rule.PortfolioRule;
+import net.objectlab.kit.pf.rule.RuleContext;
+
+/**
+ * Every asset must be eligible.
+ *
+ * @author Benoit Xhenseval
+ * @since 1.4.4
+ */
+public class EligibilityRule implements PortfolioRule {
+    @Override
+    public String getName() {
+        return RuleNames.ELIGIBILITY;
+    }
+
+    @Override
+    public void onLine(final ValidatedPortfolioLine line, final RuleContext context) {
+        if (!context.isEligible(line.getAssetCode())) {
+            line.addIssue(Severity.MANDATORY, RuleNames.ELIGIBILITY, "Asset not eligible.");
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package net.objectlab.kit.pf.ucits;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.objectlab.kit.pf.RuleNames;
+import net.objectlab.kit.pf.Severity;
+import net.objectlab.kit.pf.ValidatedPortfolioLine;
+import net.objectlab.kit.pf.rule.PortfolioRule;
+import net.objectlab.kit.pf.rule.RuleContext;
+import net.objectlab.kit.util.BigDecimalUtil;
+import net.objectlab.kit.util.Total;
+
+/**
+ * The 5-10-40 rule: the weight per issuer cannot be above max (10%) and the total of the issuers above medium (5%)
+ * cannot be above maxForMedium (40%).
+ *
+ * @author Benoit Xhenseval
+ * @since 1.4.4
+ */
+public class IssuerConcentrationRule implements PortfolioRule {
+    private final BigDecimal maxConcentrationPerIssuer;
+    private final BigDecimal mediumConcentrationPerIssuer;
+    private final BigDecimal maxForMediumConcentration;
+
+    public IssuerConcentrationRule(final BigDecimal maxConcentrationPerIssuer, final BigDecimal mediumConcentrationPerIssuer,
+            final BigDecimal maxForMediumConcentration) {
+        this.maxConcentrationPerIssuer = maxConcentrationPerIssuer;
+        this.mediumConcentrationPerIssuer = mediumConcentrationPerIssuer;
+        this.maxForMediumConcentration = maxForMediumConcentration;
+    }
+
+    private static final class TotalPerIssuer {
+        private final String issuer;
+        private final Total total = new Total();
+        private final List<ValidatedPortfolioLine> lines = new ArrayList<>();
+
+        public TotalPerIssuer(String issuer) {
+            this.issuer = issuer;
+        }
+
+        public String getIssuer() {
+            return issuer;
+        }
+
+        public void add(final ValidatedPortfolioLine l) {
+            lines.add(l);
+            total.add(l.getAllocationWeight());
+        }
+
+        public BigDecimal getTotalWeight() {
+            return total.getTotal();
+        }
+
+        public List<ValidatedPortfolioLine> getLines() {
+            return lines;
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "issuerConcentration";
+    }
+
+    private Map<String, TotalPerIssuer> totalPerIssuer(final RuleContext context) {
+        return context.getState(this, HashMap::new);
+    }
+
+    @Override
+    public void onLine(final ValidatedPortfolioLine line, final RuleContext context) {
+        // calculate the weight for each issuer
+        totalPerIssuer(context).computeIfAbsent(context.getAssetDetails(line.getAssetCode()).getUltimateIssuerCode(), TotalPerIssuer::new)
+                .add(line);
+    }
+
+    @Override
+    public void onComplete(final RuleContext context) {
+        final Total totalMediumConcentration = new Total();
+        final List<ValidatedPortfolioLine> mediumLines = new ArrayList<>();
+        totalPerIssuer(context).values().forEach(issuer -> {
+            final BigDecimal totalWeight = issuer.getTotalWeight();
+            if (BigDecimalUtil.compareTo(totalWeight, maxConcentrationPerIssuer) > 0) {
+                // if weight > maxConcentrationPerIssuer (e.g. 10%) -> Breach
+                issuer.getLines().forEach(line -> line.addIssue(Severity.MANDATORY, RuleNames.ISSUER_MAX_CONCENTRATION,
+                        "Concentration above " + BigDecimalUtil.movePoint(maxConcentrationPerIssuer, 2) + "% for " + issuer.getIssuer() + " ["
+                                + BigDecimalUtil.movePoint(totalWeight, 2) + "]"));
+            } else if (BigDecimalUtil.compareTo(totalWeight, mediumConcentrationPerIssuer) > 0) {
+                // if weight > mediumConcentrationPerIssuer (e.g. 5%) -> sum them
+                totalMediumConcentration.add(totalWeight);
+                mediumLines.addAll(issuer.getLines());
+            }
+        });
+
+        // if sum of those > maxForMediumConcentration -> Breach
+        if (BigDecimalUtil.compareTo(totalMediumConcentration.getTotal(), maxForMediumConcentration) > 0) {
+            mediumLines.forEach(line -> line.addIssue(Severity.MANDATORY, RuleNames.ISSUER_MEDIUM_CONCENTRATION,
+                    "Total medium concentration is above " + BigDecimalUtil.movePoint(maxForMediumConcentration, 2) + "% ["
+                            + BigDecimalUtil.movePoint(totalMediumConcentration.getTotal(), 2) + "]"));
+        }
+    }
+}
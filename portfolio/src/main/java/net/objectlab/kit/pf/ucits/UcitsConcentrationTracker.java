@@ -0,0 +1,194 @@
+package net.objectlab.kit.pf.ucits;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import net.objectlab.kit.pf.AssetDetails;
+import net.objectlab.kit.pf.AssetDetailsProvider;
+import net.objectlab.kit.pf.AssetEligibilityProvider;
+import net.objectlab.kit.pf.ExistingPortfolio;
+import net.objectlab.kit.pf.ExistingPortfolioLine;
+import net.objectlab.kit.pf.RuleNames;
+import net.objectlab.kit.util.BigDecimalUtil;
+
+/**
+ * Stateful, incremental version of the 5-10-40 checks done by {@link BasicUcitsConcentrationValidator}, seeded from a
+ * portfolio. It keeps the weight per issuer, the number of issuers above the max concentration and the total of the
+ * medium concentrations so that a trade can be checked in a time proportional to the number of issuers it touches.
+ *
+ * A delta is treated like an extra line of the given value in the asset, as if appended to the portfolio; the
+ * portfolio value is unchanged (e.g. the trade is paid with cash). Not thread-safe.
+ *
+ * @author Benoit Xhenseval
+ * @since 1.4.4
+ */
+public class UcitsConcentrationTracker {
+    private final BigDecimal maxConcentrationPerIssuer;
+    private final BigDecimal mediumConcentrationPerIssuer;
+    private final BigDecimal maxForMediumConcentration;
+    private final AssetDetailsProvider assetDetailsProvider;
+    private final AssetEligibilityProvider assetEligibilityProvider;
+    private final BigDecimal portfolioValue;
+    private final Map<String, String> issuerPerAsset = new HashMap<>();
+    private final Map<String, Boolean> eligibilityPerAsset = new HashMap<>();
+    private final Map<String, BigDecimal> weightPerIssuer = new HashMap<>();
+    private int issuersAboveMax;
+    private int ineligibleLines;
+    private BigDecimal mediumConcentrationTotal = BigDecimal.ZERO;
+
+    UcitsConcentrationTracker(final BigDecimal maxConcentrationPerIssuer, final BigDecimal mediumConcentrationPerIssuer,
+            final BigDecimal maxForMediumConcentration, final AssetDetailsProvider assetDetailsProvider,
+            final AssetEligibilityProvider assetEligibilityProvider, final ExistingPortfolio portfolio) {
+        this.maxConcentrationPerIssuer = maxConcentrationPerIssuer;
+        this.mediumConcentrationPerIssuer = mediumConcentrationPerIssuer;
+        this.maxForMediumConcentration = maxForMediumConcentration;
+        this.assetDetailsProvider = assetDetailsProvider;
+        this.assetEligibilityProvider = assetEligibilityProvider;
+        this.portfolioValue = portfolio.getPortfolioValue();
+
+        final Set<String> assetCodes = new LinkedHashSet<>();
+        portfolio.getLines().forEach(l -> assetCodes.add(l.getAssetCode()));
+        if (!assetCodes.isEmpty()) {
+            assetDetailsProvider.getDetails(assetCodes).forEach((code, details) -> issuerPerAsset.put(code, details.getUltimateIssuerCode()));
+            eligibilityPerAsset.putAll(assetEligibilityProvider.getEligibility(assetCodes));
+        }
+
+        for (final ExistingPortfolioLine line : portfolio.getLines()) {
+            if (!isEligible(line.getAssetCode())) {
+                ineligibleLines++;
+            }
+            weightPerIssuer.merge(getIssuer(line.getAssetCode()), weight(line.getValueInPortfolioCcy()), BigDecimalUtil::add);
+        }
+        weightPerIssuer.values().forEach(w -> {
+            if (isAboveMax(w)) {
+                issuersAboveMax++;
+            } else if (isMedium(w)) {
+                mediumConcentrationTotal = BigDecimalUtil.add(mediumConcentrationTotal, w);
+            }
+        });
+    }
+
+    /**
+     * Check the limits as if a line of valueDelta was added in the asset, the tracker is not changed.
+     */
+    public ConcentrationCheck whatIf(final String assetCode, final BigDecimal valueDelta) {
+        return whatIf(Collections.singletonMap(assetCode, valueDelta));
+    }
+
+    /**
+     * Check the limits as if a line per asset was added, the tracker is not changed.
+     */
+    public ConcentrationCheck whatIf(final Map<String, BigDecimal> valueDeltaPerAsset) {
+        return check(valueDeltaPerAsset, false);
+    }
+
+    /**
+     * Add the line to the tracked portfolio.
+     * @return the state of the limits once applied.
+     */
+    public ConcentrationCheck apply(final String assetCode, final BigDecimal valueDelta) {
+        return apply(Collections.singletonMap(assetCode, valueDelta));
+    }
+
+    /**
+     * Add the lines to the tracked portfolio.
+     * @return the state of the limits once applied.
+     */
+    public ConcentrationCheck apply(final Map<String, BigDecimal> valueDeltaPerAsset) {
+        return check(valueDeltaPerAsset, true);
+    }
+
+    public boolean isBreach() {
+        return !breachedRules(issuersAboveMax, ineligibleLines, mediumConcentrationTotal).isEmpty();
+    }
+
+    public BigDecimal getIssuerWeight(final String issuer) {
+        return weightPerIssuer.get(issuer);
+    }
+
+    public BigDecimal getMediumConcentrationTotal() {
+        return mediumConcentrationTotal;
+    }
+
+    private ConcentrationCheck check(final Map<String, BigDecimal> valueDeltaPerAsset, final boolean commit) {
+        final boolean breachedBefore = isBreach();
+        int newIneligibleLines = ineligibleLines;
+        final Map<String, BigDecimal> newWeights = new LinkedHashMap<>();
+        for (final Map.Entry<String, BigDecimal> delta : valueDeltaPerAsset.entrySet()) {
+            final String issuer = getIssuer(delta.getKey());
+            if (!isEligible(delta.getKey())) {
+                newIneligibleLines++;
+            }
+            final BigDecimal current = newWeights.containsKey(issuer) ? newWeights.get(issuer) : weightPerIssuer.get(issuer);
+            newWeights.put(issuer, BigDecimalUtil.add(current, weight(delta.getValue())));
+        }
+
+        int newIssuersAboveMax = issuersAboveMax;
+        BigDecimal newMediumTotal = mediumConcentrationTotal;
+        for (final Map.Entry<String, BigDecimal> issuerWeight : newWeights.entrySet()) {
+            final BigDecimal oldWeight = weightPerIssuer.get(issuerWeight.getKey());
+            if (isAboveMax(oldWeight)) {
+                newIssuersAboveMax--;
+            } else if (isMedium(oldWeight)) {
+                newMediumTotal = BigDecimalUtil.subtract(newMediumTotal, oldWeight);
+            }
+            final BigDecimal newWeight = issuerWeight.getValue();
+            if (isAboveMax(newWeight)) {
+                newIssuersAboveMax++;
+            } else if (isMedium(newWeight)) {
+                newMediumTotal = BigDecimalUtil.add(newMediumTotal, newWeight);
+            }
+        }
+
+        if (commit) {
+            weightPerIssuer.putAll(newWeights);
+            issuersAboveMax = newIssuersAboveMax;
+            ineligibleLines = newIneligibleLines;
+            mediumConcentrationTotal = newMediumTotal;
+        }
+        return new ConcentrationCheck(breachedRules(newIssuersAboveMax, newIneligibleLines, newMediumTotal), breachedBefore, newMediumTotal,
+                newWeights);
+    }
+
+    private Set<String> breachedRules(final int aboveMax, final int ineligible, final BigDecimal mediumTotal) {
+        final Set<String> rules = new LinkedHashSet<>();
+        if (ineligible > 0) {
+            rules.add(RuleNames.ELIGIBILITY);
+        }
+        if (aboveMax > 0) {
+            rules.add(RuleNames.ISSUER_MAX_CONCENTRATION);
+        }
+        if (BigDecimalUtil.compareTo(mediumTotal, maxForMediumConcentration) > 0) {
+            rules.add(RuleNames.ISSUER_MEDIUM_CONCENTRATION);
+        }
+        return rules;
+    }
+
+    private BigDecimal weight(final BigDecimal value) {
+        return BigDecimalUtil.divide(8, value, portfolioValue, BigDecimal.ROUND_HALF_UP);
+    }
+
+    private boolean isAboveMax(final BigDecimal weight) {
+        return weight != null && BigDecimalUtil.compareTo(weight, maxConcentrationPerIssuer) > 0;
+    }
+
+    private boolean isMedium(final BigDecimal weight) {
+        return weight != null && BigDecimalUtil.compareTo(weight, mediumConcentrationPerIssuer) > 0;
+    }
+
+    private String getIssuer(final String assetCode) {
+        return issuerPerAsset.computeIfAbsent(assetCode, code -> {
+            final AssetDetails details = assetDetailsProvider.getDetails(code);
+            return details.getUltimateIssuerCode();
+        });
+    }
+
+    private boolean isEligible(final String assetCode) {
+        return eligibilityPerAsset.computeIfAbsent(assetCode, assetEligibilityProvider::isEligible);
+    }
+}
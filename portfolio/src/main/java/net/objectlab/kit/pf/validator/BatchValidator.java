@@ -0,0 +1,67 @@
+package net.objectlab.kit.pf.validator;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import net.objectlab.kit.pf.AssetDetails;
+import net.objectlab.kit.pf.AssetDetailsProvider;
+import net.objectlab.kit.pf.AssetEligibilityProvider;
+import net.objectlab.kit.pf.ExistingPortfolio;
+import net.objectlab.kit.pf.ValidationEngine;
+import net.objectlab.kit.pf.ValidationResults;
+
+/**
+ * Validates many portfolios on an Executor. Within a batch, the details and eligibility of an asset are requested
+ * once from the providers, whatever the number of portfolios holding it.
+ *
+ * The engine is created once per batch by the engineFactory, with providers remembering the answers for the batch;
+ * it must be thread-safe (e.g. BasicUcitsConcentrationValidator).
+ *
+ * @author Benoit Xhenseval
+ * @since 1.4.4
+ */
+public class BatchValidator {
+    private final AssetDetailsProvider assetDetailsProvider;
+    private final AssetEligibilityProvider assetEligibilityProvider;
+    private final BiFunction<AssetDetailsProvider, AssetEligibilityProvider, ValidationEngine> engineFactory;
+    private final Executor executor;
+
+    public BatchValidator(final AssetDetailsProvider assetDetailsProvider, final AssetEligibilityProvider assetEligibilityProvider,
+            final BiFunction<AssetDetailsProvider, AssetEligibilityProvider, ValidationEngine> engineFactory, final Executor executor) {
+        this.assetDetailsProvider = Objects.requireNonNull(assetDetailsProvider, "assetDetailsProvider");
+        this.assetEligibilityProvider = Objects.requireNonNull(assetEligibilityProvider, "assetEligibilityProvider");
+        this.engineFactory = Objects.requireNonNull(engineFactory, "engineFactory");
+        this.executor = Objects.requireNonNull(executor, "executor");
+    }
+
+    /**
+     * Validate each portfolio on the executor, the listener is called as soon as a portfolio has been validated (one
+     * call at a time, in order of completion).
+     * @return a future completed once all portfolios have been validated, exceptionally if any validation failed.
+     */
+    public CompletableFuture<Void> validate(final Stream<? extends ExistingPortfolio> portfolios,
+            final BiConsumer<? super ExistingPortfolio, ? super ValidationResults> listener) {
+        final ConcurrentMap<String, AssetDetails> details = new ConcurrentHashMap<>();
+        final ConcurrentMap<String, Boolean> eligibility = new ConcurrentHashMap<>();
+        final ValidationEngine engine = engineFactory.apply(code -> details.computeIfAbsent(code, assetDetailsProvider::getDetails),
+                code -> eligibility.computeIfAbsent(code, assetEligibilityProvider::isEligible));
+        final Object listenerLock = new Object();
+
+        final List<CompletableFuture<Void>> validations = portfolios.map(p -> CompletableFuture.supplyAsync(() -> engine.validate(p), executor)
+                .thenAccept(results -> {
+                    synchronized (listenerLock) {
+                        listener.accept(p, results);
+                    }
+                })).collect(Collectors.toList());
+
+        return CompletableFuture.allOf(validations.toArray(new CompletableFuture[validations.size()]));
+    }
+}
@@ -0,0 +1,65 @@
+package net.objectlab.kit.pf.validator;
+
+import java.math.BigDecimal;
+import java.util.AbstractList;
+import java.util.HashMap;
+import java.util.Map;
+
+import net.objectlab.kit.pf.ColumnarPortfolio;
+import net.objectlab.kit.pf.ValidatedPortfolioLine;
+
+/**
+ * Results for a ColumnarPortfolio; a ValidatedPortfolioLine is only created when a line is accessed, e.g. to add an
+ * issue to it, its weight being taken from the scaled weights.
+ *
+ * @author Benoit Xhenseval
+ * @since 1.4.4
+ */
+public class ColumnarResults extends Results {
+    private static final class LazyLines extends AbstractList<ValidatedPortfolioLine> {
+        private final Map<Integer, ValidatedPortfolioLine> materialized = new HashMap<>();
+        private final ColumnarPortfolio portfolio;
+        private final long[] scaledWeights;
+        private final int weightScale;
+        private ColumnarResults results;
+
+        private LazyLines(final ColumnarPortfolio portfolio, final long[] scaledWeights, final int weightScale) {
+            this.portfolio = portfolio;
+            this.scaledWeights = scaledWeights;
+            this.weightScale = weightScale;
+        }
+
+        @Override
+        public ValidatedPortfolioLine get(final int index) {
+            return materialized.computeIfAbsent(index, i -> {
+                final ValidatedPortfolioLineImpl line = new ValidatedPortfolioLineImpl(portfolio.getLine(i), results);
+                line.setAllocationWeight(BigDecimal.valueOf(scaledWeights[i], weightScale));
+                return line;
+            });
+        }
+
+        @Override
+        public int size() {
+            return scaledWeights.length;
+        }
+    }
+
+    private final LazyLines lines;
+
+    public ColumnarResults(final ColumnarPortfolio portfolio, final long[] scaledWeights, final int weightScale) {
+        this(new LazyLines(portfolio, scaledWeights, weightScale));
+    }
+
+    private ColumnarResults(final LazyLines lines) {
+        super(lines);
+        this.lines = lines;
+        lines.results = this;
+    }
+
+    /**
+     * @return number of lines created so far.
+     */
+    public int getMaterializedLineCount() {
+        return lines.materialized.size();
+    }
+}
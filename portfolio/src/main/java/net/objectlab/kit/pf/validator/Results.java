@@ -13,14 +13,23 @@ import net.objectlab.kit.pf.ValidationResults;
 import net.objectlab.kit.util.StringUtil;
 
 public class Results implements ValidationResults {
-    private final List<ValidatedPortfolioLine> lines = new ArrayList<>();
+    private final List<ValidatedPortfolioLine> lines;
 
     private final List<RuleIssue> issues = new ArrayList<>();
 
     public Results(final ExistingPortfolio p) {
+        lines = new ArrayList<>();
         p.getLines().forEach(t -> lines.add(new ValidatedPortfolioLineImpl(t, this)));
     }
 
+    /**
+     * For sub-classes providing their own (e.g. lazy) list of lines.
+     * @since 1.4.4
+     */
+    protected Results(final List<ValidatedPortfolioLine> lines) {
+        this.lines = lines;
+    }
+
     @Override
     public boolean isValid() {
         return issues.isEmpty();
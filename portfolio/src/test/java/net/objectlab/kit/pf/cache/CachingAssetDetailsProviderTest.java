@@ -0,0 +1,74 @@
+package net.objectlab.kit.pf.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.objectlab.kit.collections.ExpiringCache;
+import net.objectlab.kit.pf.AssetDetails;
+import net.objectlab.kit.pf.AssetDetailsProvider;
+import net.objectlab.kit.pf.BasicAsset;
+
+import org.junit.Test;
+
+public class CachingAssetDetailsProviderTest {
+    private final List<Collection<String>> bulkCalls = new ArrayList<>();
+    private final AssetDetailsProvider provider = new AssetDetailsProvider() {
+        @Override
+        public AssetDetails getDetails(final String assetCode) {
+            bulkCalls.add(Arrays.asList(assetCode));
+            return "UNKNOWN".equals(assetCode) ? null : new BasicAsset(assetCode, assetCode, "LEI" + assetCode);
+        }
+
+        @Override
+        public Map<String, AssetDetails> getDetails(final Collection<String> assetCodes) {
+            bulkCalls.add(new ArrayList<>(assetCodes));
+            return AssetDetailsProvider.super.getDetails(new ArrayList<>(assetCodes));
+        }
+    };
+
+    @Test
+    public void testBulkOnlyLoadsMissingCodes() {
+        final CachingAssetDetailsProvider caching = new CachingAssetDetailsProvider(provider, 100, 0, TimeUnit.SECONDS);
+
+        assertThat(caching.getDetails("IBM").getUltimateIssuerCode()).isEqualTo("LEIIBM");
+        bulkCalls.clear();
+        final Map<String, AssetDetails> details = caching.getDetails(Arrays.asList("IBM", "MSFT", "UNKNOWN", "AAPL", "MSFT"));
+
+        assertThat(details.keySet()).containsExactly("IBM", "MSFT", "AAPL");
+        assertThat(bulkCalls).hasSize(4);
+        assertThat(bulkCalls.get(0)).containsExactly("MSFT", "UNKNOWN", "AAPL");
+        // null is not cached
+        final ExpiringCache<String, AssetDetails> cache = caching.getCache();
+        assertThat(cache.size()).isEqualTo(3);
+        assertThat(cache.getHitCount()).isEqualTo(1);
+        assertThat(cache.getMissCount()).isEqualTo(4);
+        assertThat(cache.getLoadCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void testSizeAndTtlEviction() throws Exception {
+        final AtomicInteger loads = new AtomicInteger();
+        final CachingAssetEligibilityProvider caching = new CachingAssetEligibilityProvider(code -> {
+            loads.incrementAndGet();
+            return true;
+        }, 2, 50, TimeUnit.MILLISECONDS);
+        caching.isEligible("A");
+        caching.isEligible("B");
+        caching.isEligible("C");
+        assertThat(caching.getCache().size()).isEqualTo(2);
+        assertThat(caching.getCache().getEvictionCount()).isEqualTo(1);
+
+        Thread.sleep(100);
+        loads.set(0);
+        assertThat(caching.isEligible("C")).isTrue();
+        assertThat(caching.isEligible("C")).isTrue();
+        assertThat(loads.get()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,120 @@
+package net.objectlab.kit.pf.rule;
+
+import static net.objectlab.kit.util.BigDecimalUtil.bd;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.objectlab.kit.pf.AssetDetailsProvider;
+import net.objectlab.kit.pf.AssetEligibilityProvider;
+import net.objectlab.kit.pf.BasicAsset;
+import net.objectlab.kit.pf.BasicLine;
+import net.objectlab.kit.pf.BasicPortfolio;
+import net.objectlab.kit.pf.ExistingPortfolioLine;
+import net.objectlab.kit.pf.RuleNames;
+import net.objectlab.kit.pf.ValidatedPortfolioLine;
+import net.objectlab.kit.pf.ValidationResults;
+import net.objectlab.kit.pf.ucits.EligibilityRule;
+import net.objectlab.kit.pf.ucits.IssuerConcentrationRule;
+
+import org.junit.Test;
+
+public class RulePipelineTest {
+    private final AssetDetailsProvider details = code -> new BasicAsset(code, code, "ISSUER-" + code);
+    private final AssetEligibilityProvider eligibility = code -> !"BAD".equals(code);
+
+    private static final class CountingRule implements PortfolioRule {
+        private final AtomicInteger lines = new AtomicInteger();
+        private final AtomicInteger completions = new AtomicInteger();
+
+        @Override
+        public String getName() {
+            return "counting";
+        }
+
+        @Override
+        public void onLine(final ValidatedPortfolioLine line, final RuleContext context) {
+            assertThat(line.getAllocationWeight()).isNotNull();
+            context.getState(this, AtomicInteger::new).incrementAndGet();
+            lines.incrementAndGet();
+        }
+
+        @Override
+        public void onComplete(final RuleContext context) {
+            assertThat(context.getState(this, AtomicInteger::new).get()).isEqualTo(context.getResults().getLines().size());
+            completions.incrementAndGet();
+        }
+    }
+
+    private RulePipeline.Builder builder() {
+        return new RulePipeline.Builder().assetDetailsProvider(details).assetEligibilityProvider(eligibility);
+    }
+
+    @Test
+    public void testAllRulesShareOnePass() {
+        final CountingRule counting = new CountingRule();
+        final RulePipeline pipeline = builder().addRule(new EligibilityRule()).addRule(counting).build();
+
+        final ValidationResults results = pipeline.validate(portfolio("A", "BAD", "C", "BAD"));
+        assertThat(results.isValid()).isFalse();
+        assertThat(results.getIssues()).hasSize(2);
+        assertThat(counting.lines.get()).isEqualTo(4);
+        assertThat(counting.completions.get()).isEqualTo(1);
+
+        final List<RuleStatistics> stats = pipeline.getStatistics();
+        assertThat(stats).hasSize(2);
+        assertThat(stats.get(0).getRuleName()).isEqualTo(RuleNames.ELIGIBILITY);
+        assertThat(stats.get(0).getIssueCount()).isEqualTo(2);
+        assertThat(stats.get(0).getEvaluationCount()).isEqualTo(1);
+        assertThat(stats.get(1).getIssueCount()).isEqualTo(0);
+        assertThat(stats.get(1).getSkippedCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void testFailFastStopsOnFirstMandatoryIssue() {
+        final CountingRule counting = new CountingRule();
+        final RulePipeline pipeline = builder().failFast(true).addRule(new EligibilityRule()).addRule(counting).build();
+
+        final ValidationResults results = pipeline.validate(portfolio("A", "BAD", "C", "BAD"));
+        assertThat(results.isValid()).isFalse();
+        assertThat(results.getIssues()).hasSize(1);
+        assertThat(counting.lines.get()).isEqualTo(1);
+        assertThat(counting.completions.get()).isEqualTo(0);
+        assertThat(pipeline.getStatistics()).extracting(RuleStatistics::getSkippedCount).containsExactly(1L, 1L);
+
+        // a valid portfolio goes through all rules
+        assertThat(pipeline.validate(portfolio("A", "B", "C", "D", "E", "F", "G", "H", "I", "J", "K")).isValid()).isTrue();
+        assertThat(counting.completions.get()).isEqualTo(1);
+        assertThat(pipeline.getStatistics()).extracting(RuleStatistics::getEvaluationCount).containsExactly(1L, 1L);
+    }
+
+    @Test
+    public void testFailFastSkipsLaterCompletions() {
+        final CountingRule counting = new CountingRule();
+        final RulePipeline pipeline = builder().failFast(true).timed(false)
+                .addRule(new IssuerConcentrationRule(bd("0.1"), bd("0.05"), bd("0.4"))).addRule(counting).build();
+
+        // 2 issuers at 50% each, both breach within the same completion
+        final ValidationResults results = pipeline.validate(portfolio("A", "B"));
+        assertThat(results.getIssues()).hasSize(2);
+        assertThat(results.getIssues().get(0).getRule()).isEqualTo(RuleNames.ISSUER_MAX_CONCENTRATION);
+        assertThat(counting.lines.get()).isEqualTo(2);
+        assertThat(counting.completions.get()).isEqualTo(0);
+        assertThat(pipeline.getStatistics().get(0).getTotalNanos()).isEqualTo(0);
+    }
+
+    private static BasicPortfolio portfolio(final String... codes) {
+        final BasicPortfolio bp = new BasicPortfolio();
+        bp.setId("P");
+        bp.setPortfolioCcy("USD");
+        final List<ExistingPortfolioLine> lines = new ArrayList<>();
+        for (final String code : codes) {
+            lines.add(new BasicLine(code, code, bd("1"), bd("100"), bd("100")));
+        }
+        bp.setPortfolioValue(bd(Long.toString(100L * codes.length)));
+        bp.setLines(lines);
+        return bp;
+    }
+}
@@ -6,8 +6,12 @@ import static org.assertj.core.api.StrictAssertions.assertThat;
 import static org.mockito.BDDMockito.given;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+import net.objectlab.kit.pf.AssetDetails;
 import net.objectlab.kit.pf.AssetDetailsProvider;
 import net.objectlab.kit.pf.AssetEligibilityProvider;
 import net.objectlab.kit.pf.BasicAsset;
@@ -62,4 +66,39 @@ public class BasicUcitsConcentrationValidatorTest {
         assertThat(res.getLines()).hasSize(1);
         System.out.println(res);
     }
+
+    @Test
+    public void testValidatePrefetchesDetailsInOneCall() {
+        final List<Collection<String>> bulkCalls = new ArrayList<>();
+        final AssetDetailsProvider bulkProvider = new AssetDetailsProvider() {
+            @Override
+            public AssetDetails getDetails(final String assetCode) {
+                throw new IllegalStateException("Should use the bulk call for " + assetCode);
+            }
+
+            @Override
+            public Map<String, AssetDetails> getDetails(final Collection<String> assetCodes) {
+                bulkCalls.add(new ArrayList<>(assetCodes));
+                final Map<String, AssetDetails> details = new HashMap<>();
+                assetCodes.forEach(code -> details.put(code, new BasicAsset(code, code, "LEI" + code)));
+                return details;
+            }
+        };
+        final BasicUcitsConcentrationValidator bulkValidator = new BasicUcitsConcentrationValidator(new BasicUcitsConcentrationValidator.Builder()
+                .assetDetailsProvider(bulkProvider).assetEligibilityProvider(assetEligibilityProvider));
+
+        final BasicPortfolio bp = new BasicPortfolio();
+        bp.setPortfolioCcy("USD");
+        bp.setPortfolioValue(bd("300"));
+        final List<ExistingPortfolioLine> lines = new ArrayList<>();
+        lines.add(new BasicLine("IBM", "IBM", bd("1"), bd("100"), bd("100")));
+        lines.add(new BasicLine("MSFT", "Microsoft", bd("1"), bd("100"), bd("100")));
+        lines.add(new BasicLine("IBM", "IBM", bd("1"), bd("100"), bd("100")));
+        bp.setLines(lines);
+
+        final ValidationResults res = bulkValidator.validate(bp);
+        assertThat(res.getLines()).hasSize(3);
+        assertThat(bulkCalls).hasSize(1);
+        assertThat(bulkCalls.get(0)).containsExactly("IBM", "MSFT");
+    }
 }
@@ -0,0 +1,98 @@
+package net.objectlab.kit.pf.ucits;
+
+import static net.objectlab.kit.util.BigDecimalUtil.bd;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import net.objectlab.kit.pf.AssetDetailsProvider;
+import net.objectlab.kit.pf.BasicAsset;
+import net.objectlab.kit.pf.BasicLine;
+import net.objectlab.kit.pf.BasicPortfolio;
+import net.objectlab.kit.pf.ColumnarPortfolio;
+import net.objectlab.kit.pf.ExistingPortfolioLine;
+import net.objectlab.kit.pf.RuleNames;
+import net.objectlab.kit.pf.ValidationResults;
+import net.objectlab.kit.pf.validator.ColumnarResults;
+import net.objectlab.kit.util.BigDecimalUtil;
+
+import org.junit.Test;
+
+public class ColumnarPortfolioTest {
+    private final AssetDetailsProvider details = code -> new BasicAsset(code, code, "issuer-" + code.substring(0, 2));
+    private final BasicUcitsConcentrationValidator validator = new BasicUcitsConcentrationValidator(new BasicUcitsConcentrationValidator.Builder()
+            .assetDetailsProvider(details).assetEligibilityProvider(code -> !code.startsWith("X")));
+
+    @Test
+    public void testScaledWeightsRoundLikeBigDecimal() {
+        final ColumnarPortfolio pf = new ColumnarPortfolio.Builder(2).scaledPortfolioValue(300).addLine("A", "I", 100).addLine("B", "I", 200)
+                .addLine("C", "I", -100).addLine("D", "I", 0).build();
+        final long[] weights = pf.calculateScaledWeights(8);
+        for (int i = 0; i < weights.length; i++) {
+            final BigDecimal expected = BigDecimalUtil.divide(8, pf.getLine(i).getValueInPortfolioCcy(), pf.getPortfolioValue(),
+                    BigDecimal.ROUND_HALF_UP);
+            assertThat(BigDecimal.valueOf(weights[i], 8)).isEqualTo(expected);
+        }
+        assertThat(pf.getAssetCount()).isEqualTo(4);
+        assertThat(pf.getIssuerCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testOnlyBreachingLinesAreMaterialized() {
+        final ColumnarPortfolio.Builder builder = new ColumnarPortfolio.Builder(0).id("INDEX").portfolioCcy("USD");
+        long total = 0;
+        for (int i = 0; i < 10000; i++) {
+            builder.addLine("A" + i, "issuer" + i, 10);
+            total += 10;
+        }
+        builder.addLine("XB", "issuerX", 10);
+        builder.addLine("BIG", "issuerBig", 20000);
+        total += 20010;
+        final ColumnarPortfolio pf = builder.scaledPortfolioValue(total).build();
+
+        final ValidationResults results = validator.validate(pf);
+        assertThat(results.isValid()).isFalse();
+        assertThat(results.getIssues()).extracting(i -> i.getRule()).containsExactly(RuleNames.ELIGIBILITY, RuleNames.ISSUER_MAX_CONCENTRATION);
+        assertThat(((ColumnarResults) results).getMaterializedLineCount()).isEqualTo(2);
+        assertThat(results.getIssues().get(1).getLine().getAssetCode()).isEqualTo("BIG");
+        assertThat(results.getLines()).hasSize(10002);
+    }
+
+    @Test
+    public void testSameIssuesAsPipeline() {
+        final Random random = new Random(42);
+        for (int run = 0; run < 200; run++) {
+            final BasicPortfolio bp = new BasicPortfolio();
+            bp.setId("P" + run);
+            final List<ExistingPortfolioLine> lines = new ArrayList<>();
+            BigDecimal total = BigDecimal.ZERO;
+            final int size = 1 + random.nextInt(40);
+            for (int i = 0; i < size; i++) {
+                final String code = (random.nextInt(20) == 0 ? "X" : "") + (char) ('A' + random.nextInt(12)) + (char) ('A' + random.nextInt(3))
+                        + random.nextInt(5);
+                final BigDecimal value = BigDecimal.valueOf(1 + random.nextInt(1000000), random.nextInt(3));
+                total = total.add(value);
+                lines.add(new BasicLine(code, code, bd("1"), value, value));
+            }
+            bp.setLines(lines);
+            bp.setPortfolioValue(total);
+
+            final ValidationResults expected = validator.validate(bp);
+            final ValidationResults actual = validator.validate(ColumnarPortfolio.from(bp, details));
+            assertThat(actual.isValid()).isEqualTo(expected.isValid());
+            assertThat(actual.getIssues()).hasSameSizeAs(expected.getIssues());
+            for (int i = 0; i < size; i++) {
+                assertThat(actual.getLines().get(i).getAllocationWeight()).isEqualTo(expected.getLines().get(i).getAllocationWeight());
+                assertThat(messages(actual, i)).isEqualTo(messages(expected, i));
+            }
+        }
+    }
+
+    private static List<String> messages(final ValidationResults results, final int line) {
+        return results.getLines().get(line).getIssues().stream().map(i -> i.getRule() + ":" + i.getMsg()).collect(Collectors.toList());
+    }
+}
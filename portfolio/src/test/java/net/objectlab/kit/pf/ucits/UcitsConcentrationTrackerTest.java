@@ -0,0 +1,100 @@
+package net.objectlab.kit.pf.ucits;
+
+import static net.objectlab.kit.util.BigDecimalUtil.bd;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import net.objectlab.kit.pf.BasicAsset;
+import net.objectlab.kit.pf.BasicLine;
+import net.objectlab.kit.pf.BasicPortfolio;
+import net.objectlab.kit.pf.ExistingPortfolioLine;
+import net.objectlab.kit.pf.RuleIssue;
+import net.objectlab.kit.pf.RuleNames;
+import net.objectlab.kit.pf.ValidationResults;
+
+import org.junit.Test;
+
+public class UcitsConcentrationTrackerTest {
+    private final BasicUcitsConcentrationValidator validator = new BasicUcitsConcentrationValidator(new BasicUcitsConcentrationValidator.Builder()
+            .assetDetailsProvider(code -> new BasicAsset(code, code, "issuer-" + code.substring(0, 3))).assetEligibilityProvider(
+                    code -> !code.startsWith("BAD")));
+
+    @Test
+    public void testWhatIfDoesNotChangeState() {
+        final BasicPortfolio bp = portfolio("AAA1", "1000", "BBB1", "1000", "CCC1", "8000");
+        bp.setPortfolioValue(bd("100000"));
+        final UcitsConcentrationTracker tracker = validator.createTracker(bp);
+        assertThat(tracker.isBreach()).isFalse();
+        assertThat(tracker.getIssuerWeight("issuer-CCC")).isEqualByComparingTo("0.08");
+        assertThat(tracker.getMediumConcentrationTotal()).isEqualByComparingTo("0.08");
+
+        final ConcentrationCheck check = tracker.whatIf("CCC2", bd("3000"));
+        assertThat(check.isBreach()).isTrue();
+        assertThat(check.isBreachedBefore()).isFalse();
+        assertThat(check.getBreachedRules()).containsExactly(RuleNames.ISSUER_MAX_CONCENTRATION);
+        assertThat(check.getIssuerWeights().get("issuer-CCC")).isEqualByComparingTo("0.11");
+        assertThat(tracker.getIssuerWeight("issuer-CCC")).isEqualByComparingTo("0.08");
+
+        assertThat(tracker.whatIf("BAD1", bd("10")).getBreachedRules()).containsExactly(RuleNames.ELIGIBILITY);
+
+        final ConcentrationCheck applied = tracker.apply("CCC2", bd("-2000"));
+        assertThat(applied.isBreach()).isFalse();
+        assertThat(tracker.getIssuerWeight("issuer-CCC")).isEqualByComparingTo("0.06");
+        assertThat(tracker.getMediumConcentrationTotal()).isEqualByComparingTo("0.06");
+    }
+
+    @Test
+    public void testSameAsFullValidation() {
+        final Random random = new Random(7L);
+        for (int run = 0; run < 200; run++) {
+            final List<String> codesAndValues = new ArrayList<>();
+            long total = 0;
+            for (int i = 0; i < 15; i++) {
+                final long value = 100 + random.nextInt(1_000);
+                total += value;
+                codesAndValues.add(code(random));
+                codesAndValues.add(Long.toString(value));
+            }
+            final BasicPortfolio bp = portfolio(codesAndValues.toArray(new String[codesAndValues.size()]));
+            bp.setPortfolioValue(BigDecimal.valueOf(total));
+            final UcitsConcentrationTracker tracker = validator.createTracker(bp);
+            assertThat(tracker.isBreach()).isEqualTo(!validator.validate(bp).isValid());
+
+            final Map<String, BigDecimal> trade = new LinkedHashMap<>();
+            trade.put(code(random), BigDecimal.valueOf(random.nextInt(2_000) - 500));
+            trade.put(code(random), BigDecimal.valueOf(random.nextInt(2_000) - 500));
+            final ConcentrationCheck check = tracker.whatIf(trade);
+
+            trade.forEach((code, value) -> bp.getLines().add(new BasicLine(code, code, BigDecimal.ONE, value, value)));
+            final ValidationResults expected = validator.validate(bp);
+            final Set<String> expectedRules = new LinkedHashSet<>();
+            expected.getIssues().stream().map(RuleIssue::getRule).forEach(expectedRules::add);
+            assertThat(check.getBreachedRules()).containsOnlyElementsOf(expectedRules);
+            assertThat(expectedRules).containsOnlyElementsOf(check.getBreachedRules());
+        }
+    }
+
+    private static String code(final Random random) {
+        return new String[] { "AAA", "BBB", "CCC", "DDD", "EEE", "FFF", "GGG", "HHH", "III", "JJJ", "KKK", "LLL", "BAD" }[random.nextInt(13)]
+                + random.nextInt(3);
+    }
+
+    private static BasicPortfolio portfolio(final String... codesAndValues) {
+        final BasicPortfolio bp = new BasicPortfolio();
+        bp.setPortfolioCcy("USD");
+        final List<ExistingPortfolioLine> lines = new ArrayList<>();
+        for (int i = 0; i < codesAndValues.length; i += 2) {
+            lines.add(new BasicLine(codesAndValues[i], codesAndValues[i], BigDecimal.ONE, bd(codesAndValues[i + 1]), bd(codesAndValues[i + 1])));
+        }
+        bp.setLines(lines);
+        return bp;
+    }
+}
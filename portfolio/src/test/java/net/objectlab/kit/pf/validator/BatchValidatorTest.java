@@ -0,0 +1,90 @@
+package net.objectlab.kit.pf.validator;
+
+import static net.objectlab.kit.util.BigDecimalUtil.bd;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import net.objectlab.kit.pf.AssetDetailsProvider;
+import net.objectlab.kit.pf.AssetEligibilityProvider;
+import net.objectlab.kit.pf.BasicAsset;
+import net.objectlab.kit.pf.BasicLine;
+import net.objectlab.kit.pf.BasicPortfolio;
+import net.objectlab.kit.pf.ExistingPortfolioLine;
+import net.objectlab.kit.pf.ValidationResults;
+import net.objectlab.kit.pf.ucits.BasicUcitsConcentrationValidator;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class BatchValidatorTest {
+    private static final int ASSETS = 20;
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private final ConcurrentMap<String, AtomicInteger> detailsCalls = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AtomicInteger> eligibilityCalls = new ConcurrentHashMap<>();
+    private final AssetDetailsProvider details = code -> {
+        detailsCalls.computeIfAbsent(code, c -> new AtomicInteger()).incrementAndGet();
+        return new BasicAsset(code, code, "ISSUER" + code.hashCode() % 7);
+    };
+    private final AssetEligibilityProvider eligibility = code -> {
+        eligibilityCalls.computeIfAbsent(code, c -> new AtomicInteger()).incrementAndGet();
+        return !"A13".equals(code);
+    };
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testValidateBatch() throws Exception {
+        final List<BasicPortfolio> portfolios = new ArrayList<>();
+        IntStream.range(0, 50).forEach(i -> portfolios.add(portfolio("P" + i, i)));
+
+        final BatchValidator batch = new BatchValidator(details, eligibility, (d, e) -> new BasicUcitsConcentrationValidator(
+                new BasicUcitsConcentrationValidator.Builder().assetDetailsProvider(d).assetEligibilityProvider(e)), executor);
+        final Map<String, ValidationResults> results = new HashMap<>();
+        batch.validate(portfolios.stream(), (p, r) -> results.put(p.getId(), r)).get(10, TimeUnit.SECONDS);
+
+        assertThat(results).hasSize(portfolios.size());
+        assertThat(detailsCalls).hasSize(ASSETS);
+        assertThat(eligibilityCalls).hasSize(ASSETS);
+        detailsCalls.values().forEach(calls -> assertThat(calls.get()).isEqualTo(1));
+        eligibilityCalls.values().forEach(calls -> assertThat(calls.get()).isEqualTo(1));
+
+        final BasicUcitsConcentrationValidator sequential = new BasicUcitsConcentrationValidator(new BasicUcitsConcentrationValidator.Builder()
+                .assetDetailsProvider(details).assetEligibilityProvider(eligibility));
+        for (final BasicPortfolio p : portfolios) {
+            final ValidationResults expected = sequential.validate(p);
+            assertThat(results.get(p.getId()).isValid()).isEqualTo(expected.isValid());
+            assertThat(results.get(p.getId()).getIssues()).hasSameSizeAs(expected.getIssues());
+        }
+    }
+
+    private static BasicPortfolio portfolio(final String id, final int seed) {
+        final BasicPortfolio bp = new BasicPortfolio();
+        bp.setId(id);
+        bp.setPortfolioCcy("USD");
+        final List<ExistingPortfolioLine> lines = new ArrayList<>();
+        long total = 0;
+        for (int i = 0; i < 10; i++) {
+            final long value = 100 + (seed * 31 + i * 17) % 900;
+            total += value;
+            final String code = "A" + (seed + i * 3) % ASSETS;
+            lines.add(new BasicLine(code, code, bd("1"), bd(Long.toString(value)), bd(Long.toString(value))));
+        }
+        bp.setPortfolioValue(bd(Long.toString(total)));
+        bp.setLines(lines);
+        return bp;
+    }
+}
@@ -0,0 +1,171 @@
+package net.objectlab.kit.report;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import net.objectlab.kit.util.Average;
+import net.objectlab.kit.util.Total;
+import net.objectlab.kit.util.WeightedAverage;
+
+/**
+ * How a column is aggregated in the total and subtotal rows of a {@link ReportTable}; null values are ignored.
+ *
+ * @author Benoit Xhenseval
+ * @since 1.4.4
+ */
+public enum Aggregation {
+    /** Total of the values, a Long if all values are integral and the total fits in a long. */
+    SUM {
+        @Override
+        Aggregator createAggregator() {
+            return new Aggregator() {
+                private final Total total = new Total();
+                private boolean integral = true;
+
+                @Override
+                void add(final Object value, final Object weight) {
+                    if (value != null) {
+                        integral &= isIntegral(value);
+                        total.add(toBigDecimal(value));
+                    }
+                }
+
+                @Override
+                Object getResult() {
+                    if (integral) {
+                        try {
+                            return Long.valueOf(total.getTotal().longValueExact());
+                        } catch (final ArithmeticException e) {
+                            // too big for a long, keep the exact total
+                        }
+                    }
+                    return total.getTotal();
+                }
+            };
+        }
+    },
+    AVERAGE {
+        @Override
+        Aggregator createAggregator() {
+            return new Aggregator() {
+                private final Average average = new Average();
+
+                @Override
+                void add(final Object value, final Object weight) {
+                    if (value != null) {
+                        average.add(toBigDecimal(value));
+                    }
+                }
+
+                @Override
+                Object getResult() {
+                    return average.getDataPoints() == 0 ? null : average.getAverage();
+                }
+            };
+        }
+    },
+    /** Weighted by the weight property of the column, with at least the scale of an {@link Average}. */
+    WEIGHTED_AVERAGE {
+        @Override
+        Aggregator createAggregator() {
+            return new Aggregator() {
+                private final WeightedAverage average = new WeightedAverage();
+
+                @Override
+                void add(final Object value, final Object weight) {
+                    if (value != null && weight != null) {
+                        final BigDecimal v = toBigDecimal(value);
+                        average.add(v.scale() < SCALE ? v.setScale(SCALE) : v, toBigDecimal(weight));
+                    }
+                }
+
+                @Override
+                Object getResult() {
+                    return average.getCount() == 0 ? null : average.getWeightedAverage();
+                }
+            };
+        }
+    },
+    MIN {
+        @Override
+        Aggregator createAggregator() {
+            return new ComparingAggregator(-1);
+        }
+    },
+    MAX {
+        @Override
+        Aggregator createAggregator() {
+            return new ComparingAggregator(1);
+        }
+    },
+    /** Number of non-null values. */
+    COUNT {
+        @Override
+        Aggregator createAggregator() {
+            return new Aggregator() {
+                private long count;
+
+                @Override
+                void add(final Object value, final Object weight) {
+                    if (value != null) {
+                        count++;
+                    }
+                }
+
+                @Override
+                Object getResult() {
+                    return count;
+                }
+            };
+        }
+    };
+
+    private static final int SCALE = 8;
+
+    abstract Aggregator createAggregator();
+
+    abstract static class Aggregator {
+        abstract void add(Object value, Object weight);
+
+        abstract Object getResult();
+    }
+
+    private static final class ComparingAggregator extends Aggregator {
+        private final int sign;
+        private Comparable<Object> result;
+
+        private ComparingAggregator(final int sign) {
+            this.sign = sign;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        void add(final Object value, final Object weight) {
+            if (value != null && (result == null || Integer.signum(((Comparable<Object>) value).compareTo(result)) == sign)) {
+                result = (Comparable<Object>) value;
+            }
+        }
+
+        @Override
+        Object getResult() {
+            return result;
+        }
+    }
+
+    private static boolean isIntegral(final Object value) {
+        return value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte;
+    }
+
+    static BigDecimal toBigDecimal(final Object value) {
+        if (value instanceof BigDecimal) {
+            return (BigDecimal) value;
+        } else if (isIntegral(value)) {
+            return BigDecimal.valueOf(((Number) value).longValue());
+        } else if (value instanceof BigInteger) {
+            return new BigDecimal((BigInteger) value);
+        } else if (value instanceof Number) {
+            return new BigDecimal(value.toString());
+        }
+        throw new IllegalArgumentException("Cannot aggregate a non-numeric value: " + value);
+    }
+}
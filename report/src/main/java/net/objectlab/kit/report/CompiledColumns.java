@@ -0,0 +1,149 @@
+package net.objectlab.kit.report;
+
+import java.math.BigDecimal;
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+import net.objectlab.kit.util.StringUtil;
+
+/**
+ * The columns of a report compiled for a row type: one accessor and one formatter per column, so rendering a cell is
+ * a direct call.
+ *
+ * @author Benoit Xhenseval
+ * @since 1.4.4
+ */
+public final class CompiledColumns {
+    private final List<ReportColumn> columns;
+    private final Class<?> rowType;
+    private final PropertyAccessor[] accessors;
+    private final PropertyAccessor[] weightAccessors;
+    private final Function<Object, String>[] formatters;
+    /** first column without aggregation, it holds the label of the aggregate rows; -1 if none */
+    private final int labelColumn;
+
+    @SuppressWarnings("unchecked")
+    private CompiledColumns(final List<ReportColumn> columns, final Class<?> rowType) {
+        this.columns = columns;
+        this.rowType = rowType;
+        this.accessors = new PropertyAccessor[columns.size()];
+        this.weightAccessors = new PropertyAccessor[columns.size()];
+        this.formatters = new Function[columns.size()];
+        int label = -1;
+        for (int i = 0; i < accessors.length; i++) {
+            final ReportColumn c = columns.get(i);
+            if (label < 0 && c.getAggregation() == null) {
+                label = i;
+            }
+            accessors[i] = PropertyAccessors.forProperty(rowType, c.getPropertyName());
+            if (c.getWeightPropertyName() != null) {
+                weightAccessors[i] = PropertyAccessors.forProperty(rowType, c.getWeightPropertyName());
+            }
+            formatters[i] = formatter(c);
+        }
+        this.labelColumn = label;
+    }
+
+    public static CompiledColumns compile(final List<ReportColumn> columns, final Class<?> rowType) {
+        return new CompiledColumns(columns, rowType);
+    }
+
+    public List<ReportColumn> getColumns() {
+        return columns;
+    }
+
+    public Class<?> getRowType() {
+        return rowType;
+    }
+
+    public int size() {
+        return accessors.length;
+    }
+
+    public ReportColumn getColumn(final int column) {
+        return columns.get(column);
+    }
+
+    public Object getValue(final int column, final Object row) {
+        return accessors[column].getValue(row);
+    }
+
+    /**
+     * @return the weight of the row for the column, null if the column has no weight property.
+     */
+    public Object getWeight(final int column, final Object row) {
+        return weightAccessors[column] != null ? weightAccessors[column].getValue(row) : null;
+    }
+
+    /**
+     * @return the value, e.g. an aggregate, formatted as the cells of the column.
+     */
+    public String format(final int column, final Object value) {
+        return formatters[column].apply(value);
+    }
+
+    /**
+     * @param values the aggregated value per column, null for the columns without aggregation.
+     * @return the content of a cell in a total or subtotal row: the aggregated value if the column has an aggregation,
+     * the label for the first column without aggregation, null otherwise.
+     */
+    public Object getAggregateCell(final int column, final String label, final List<Object> values) {
+        if (columns.get(column).getAggregation() != null) {
+            return values.get(column);
+        }
+        return column == labelColumn ? label : null;
+    }
+
+    /**
+     * @return the value formatted as text: T/F for booleans, grouped digits for integral numbers if formatAsANumber.
+     */
+    public String getCellValue(final int column, final Object row) {
+        return formatters[column].apply(accessors[column].getValue(row));
+    }
+
+    private static Function<Object, String> formatter(final ReportColumn c) {
+        final Function<Object, String> numberFormatter = c.isFormatAsANumber() ? groupingFormatter() : null;
+        return value -> {
+            if (value instanceof Boolean) {
+                return (Boolean) value ? "T" : "F";
+            } else if (numberFormatter != null && value instanceof Number && !(value instanceof BigDecimal)) {
+                return numberFormatter.apply(value);
+            }
+            return StringUtil.toStringOrEmpty(value);
+        };
+    }
+
+    /**
+     * Same output as String.format("%,d") for the current locale, without parsing the format for each cell.
+     */
+    private static Function<Object, String> groupingFormatter() {
+        final Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+        final NumberFormat nf = NumberFormat.getIntegerInstance(locale);
+        if (!(nf instanceof DecimalFormat) || ((DecimalFormat) nf).getDecimalFormatSymbols().getZeroDigit() != '0') {
+            return value -> String.format("%,d", value);
+        }
+        final DecimalFormat df = (DecimalFormat) nf;
+        final char separator = df.getDecimalFormatSymbols().getGroupingSeparator();
+        final int groupingSize = df.getGroupingSize();
+        return value -> {
+            if (!(value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) || groupingSize <= 0) {
+                return String.format("%,d", value);
+            }
+            final String digits = Long.toString(((Number) value).longValue());
+            final int start = digits.charAt(0) == '-' ? 1 : 0;
+            final int length = digits.length() - start;
+            final StringBuilder b = new StringBuilder(digits.length() + length / groupingSize);
+            b.append(digits, 0, start);
+            for (int i = 0; i < length; i++) {
+                if (i > 0 && (length - i) % groupingSize == 0) {
+                    b.append(separator);
+                }
+                b.append(digits.charAt(start + i));
+            }
+            return b.toString();
+        };
+    }
+}
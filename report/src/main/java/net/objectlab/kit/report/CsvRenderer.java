@@ -0,0 +1,211 @@
+package net.objectlab.kit.report;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.util.List;
+
+/**
+ * Renders the report as CSV (RFC 4180): one line of titles, then one line per row, total and subtotal, ended by CRLF.
+ * A field is quoted if it contains the separator, a quote or a line break; values are not formatted, except
+ * BigDecimal as plain strings.
+ *
+ * Each line is built in a reused char buffer and written at once, so the renderer is not used for parallel rendering.
+ *
+ * @author Benoit Xhenseval
+ * @since 1.4.4
+ */
+public class CsvRenderer<T> implements TableRenderer<T> {
+    private static final String LINE_END = "\r\n";
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private final Writer writer;
+    private final char separator;
+    private char[] buffer = new char[256];
+    private int length;
+
+    public CsvRenderer(final Writer writer) {
+        this(writer, ',');
+    }
+
+    public CsvRenderer(final Writer writer, final char separator) {
+        this.writer = writer;
+        this.separator = separator;
+    }
+
+    /**
+     * Render to the stream through a buffered writer, flushed at the end of the export (the stream is not closed).
+     */
+    public CsvRenderer(final OutputStream out, final Charset charset) {
+        this(new BufferedWriter(new OutputStreamWriter(out, charset), BUFFER_SIZE), ',');
+    }
+
+    @Override
+    public Writer getWriter() {
+        return writer;
+    }
+
+    @Override
+    public boolean isParallelRendering() {
+        return false;
+    }
+
+    @Override
+    public void renderHeader(final List<ReportColumn> columns, final Writer writer) throws IOException {
+        length = 0;
+        for (int i = 0; i < columns.size(); i++) {
+            field(i, columns.get(i).getTitle());
+        }
+        writeLine(writer);
+    }
+
+    @Override
+    public void renderSeparator(final List<ReportColumn> columns, final Writer writer) {
+        // no separator lines in a CSV
+    }
+
+    @Override
+    public void renderFooter(final List<ReportColumn> columns, final Writer writer) {
+        // nothing after the last line
+    }
+
+    @Override
+    public void renderRow(final List<ReportColumn> columns, final Writer writer, final T t) {
+        renderRow(CompiledColumns.compile(columns, t.getClass()), writer, t);
+    }
+
+    @Override
+    public void renderRow(final CompiledColumns columns, final Writer writer, final T t) {
+        length = 0;
+        for (int i = 0; i < columns.size(); i++) {
+            field(i, toString(columns.getValue(i, t)));
+        }
+        writeLine(writer);
+    }
+
+    @Override
+    public void renderAggregateRow(final CompiledColumns columns, final Writer writer, final String label, final List<Object> values) {
+        length = 0;
+        for (int i = 0; i < columns.size(); i++) {
+            field(i, toString(columns.getAggregateCell(i, label, values)));
+        }
+        writeLine(writer);
+    }
+
+    private static String toString(final Object value) {
+        if (value == null) {
+            return "";
+        } else if (value instanceof BigDecimal) {
+            return ((BigDecimal) value).toPlainString();
+        }
+        return value.toString();
+    }
+
+    private void field(final int column, final String value) {
+        final String text = value != null ? value : "";
+        boolean quote = false;
+        for (int i = 0; i < text.length() && !quote; i++) {
+            final char c = text.charAt(i);
+            quote = c == separator || c == '"' || c == '\r' || c == '\n';
+        }
+        ensureCapacity(length + 2 * text.length() + 3);
+        if (column > 0) {
+            buffer[length++] = separator;
+        }
+        if (!quote) {
+            text.getChars(0, text.length(), buffer, length);
+            length += text.length();
+            return;
+        }
+        buffer[length++] = '"';
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            if (c == '"') {
+                buffer[length++] = '"';
+            }
+            buffer[length++] = c;
+        }
+        buffer[length++] = '"';
+    }
+
+    private void ensureCapacity(final int capacity) {
+        if (capacity > buffer.length) {
+            final char[] larger = new char[Math.max(capacity, 2 * buffer.length)];
+            System.arraycopy(buffer, 0, larger, 0, length);
+            buffer = larger;
+        }
+    }
+
+    private void writeLine(final Writer writer) {
+        try {
+            writer.write(buffer, 0, length);
+            writer.write(LINE_END);
+        } catch (IOException e) {
+            throw new ReportException(e);
+        }
+    }
+
+    @Override
+    public String getCellCorner() {
+        return "";
+    }
+
+    @Override
+    public String getNextRow() {
+        return LINE_END;
+    }
+
+    @Override
+    public void renderColumnTitle(final ReportColumn c, final Writer b) {
+        // no lines
+    }
+
+    @Override
+    public String startHeaderCol() {
+        return "";
+    }
+
+    @Override
+    public void formatColumn(final Writer writer, final ReportColumn c, final String title) {
+        length = 0;
+        field(0, title);
+        try {
+            writer.write(buffer, 0, length);
+        } catch (IOException e) {
+            throw new ReportException(e);
+        }
+    }
+
+    @Override
+    public String endHeaderRow() {
+        return "";
+    }
+
+    @Override
+    public String startHeaderRow() {
+        return "";
+    }
+
+    @Override
+    public String endRow() {
+        return LINE_END;
+    }
+
+    @Override
+    public String startRow() {
+        return "";
+    }
+
+    @Override
+    public String endCol() {
+        return "";
+    }
+
+    @Override
+    public String startCol() {
+        return "";
+    }
+}
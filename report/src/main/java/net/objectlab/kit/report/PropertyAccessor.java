@@ -0,0 +1,12 @@
+package net.objectlab.kit.report;
+
+/**
+ * Reads a property (path) of a row, see {@link PropertyAccessors}.
+ *
+ * @author Benoit Xhenseval
+ * @since 1.4.4
+ */
+@FunctionalInterface
+public interface PropertyAccessor {
+    Object getValue(Object bean);
+}
@@ -0,0 +1,144 @@
+package net.objectlab.kit.report;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.beans.BeanWrapperImpl;
+
+/**
+ * Compiles a property path ("name", "issuer.name") once per class into a direct call to the getter(s), generated with
+ * LambdaMetafactory (or a MethodHandle if the getter is not accessible that way). Paths with an index or a key ("a[0]")
+ * or that cannot be resolved on the declared types use a BeanWrapper as before.
+ *
+ * A nested path returns null if an intermediate value is null.
+ *
+ * @author Benoit Xhenseval
+ * @since 1.4.4
+ */
+public final class PropertyAccessors {
+    private static final ClassValue<ConcurrentMap<String, PropertyAccessor>> CACHE = new ClassValue<ConcurrentMap<String, PropertyAccessor>>() {
+        @Override
+        protected ConcurrentMap<String, PropertyAccessor> computeValue(final Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private PropertyAccessors() {
+    }
+
+    /**
+     * @return the cached accessor for the property path on the given type.
+     */
+    public static PropertyAccessor forProperty(final Class<?> type, final String propertyPath) {
+        final ConcurrentMap<String, PropertyAccessor> accessors = CACHE.get(type);
+        final PropertyAccessor accessor = accessors.get(propertyPath);
+        return accessor != null ? accessor : accessors.computeIfAbsent(propertyPath, p -> compile(type, p));
+    }
+
+    private static PropertyAccessor compile(final Class<?> type, final String propertyPath) {
+        if (propertyPath.indexOf('[') >= 0) {
+            return beanWrapper(propertyPath);
+        }
+        final String[] segments = propertyPath.split("\\.");
+        final PropertyAccessor[] chain = new PropertyAccessor[segments.length];
+        Class<?> current = type;
+        for (int i = 0; i < segments.length; i++) {
+            final Method getter = findGetter(current, segments[i]);
+            if (getter == null) {
+                return beanWrapper(propertyPath);
+            }
+            chain[i] = compile(getter);
+            current = getter.getReturnType();
+        }
+        if (chain.length == 1) {
+            return chain[0];
+        }
+        return bean -> {
+            Object value = bean;
+            for (final PropertyAccessor accessor : chain) {
+                if (value == null) {
+                    return null;
+                }
+                value = accessor.getValue(value);
+            }
+            return value;
+        };
+    }
+
+    private static Method findGetter(final Class<?> type, final String property) {
+        if (type.isPrimitive() || type.isArray()) {
+            return null;
+        }
+        try {
+            for (final PropertyDescriptor pd : Introspector.getBeanInfo(type).getPropertyDescriptors()) {
+                if (pd.getName().equals(property)) {
+                    return pd.getReadMethod();
+                }
+            }
+        } catch (final IntrospectionException e) {
+            return null;
+        }
+        return null;
+    }
+
+    private static PropertyAccessor compile(final Method getter) {
+        try {
+            if (Modifier.isPublic(getter.getDeclaringClass().getModifiers()) && isVisible(getter.getDeclaringClass())) {
+                return lambda(getter);
+            }
+            getter.setAccessible(true);
+            final MethodHandle handle = MethodHandles.lookup().unreflect(getter).asType(MethodType.methodType(Object.class, Object.class));
+            return bean -> {
+                try {
+                    return (Object) handle.invokeExact(bean);
+                } catch (final RuntimeException | Error e) {
+                    throw e;
+                } catch (final Throwable e) {
+                    throw new ReportException(e);
+                }
+            };
+        } catch (final Throwable e) {
+            // e.g. security manager, fall back on reflection
+            return bean -> {
+                try {
+                    return getter.invoke(bean);
+                } catch (final ReflectiveOperationException ex) {
+                    throw new ReportException(ex);
+                }
+            };
+        }
+    }
+
+    private static PropertyAccessor lambda(final Method getter) throws Throwable {
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+        final MethodHandle handle = lookup.unreflect(getter);
+        final CallSite site = LambdaMetafactory.metafactory(lookup, "getValue", MethodType.methodType(PropertyAccessor.class),
+                MethodType.methodType(Object.class, Object.class), handle, handle.type().wrap());
+        return (PropertyAccessor) site.getTarget().invokeExact();
+    }
+
+    /**
+     * The generated class must be able to link against the declaring class.
+     */
+    private static boolean isVisible(final Class<?> type) {
+        try {
+            return Class.forName(type.getName(), false, PropertyAccessors.class.getClassLoader()) == type;
+        } catch (final ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    private static PropertyAccessor beanWrapper(final String propertyPath) {
+        return bean -> new BeanWrapperImpl(bean).getPropertyValue(propertyPath);
+    }
+}
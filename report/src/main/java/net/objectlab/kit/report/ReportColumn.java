@@ -10,4 +10,20 @@ public interface ReportColumn {
     boolean isTruncate();
 
     boolean isFormatAsANumber();
+
+    /**
+     * @return how the column is aggregated in the total and subtotal rows, null if it is not.
+     * @since 1.4.4
+     */
+    default Aggregation getAggregation() {
+        return null;
+    }
+
+    /**
+     * @return the property giving the weight of a {@link Aggregation#WEIGHTED_AVERAGE}.
+     * @since 1.4.4
+     */
+    default String getWeightPropertyName() {
+        return null;
+    }
 }
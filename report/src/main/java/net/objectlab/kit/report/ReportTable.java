@@ -1,16 +1,40 @@
 package net.objectlab.kit.report;
 
 import java.io.IOException;
+import java.io.StringWriter;
 import java.io.Writer;
+import java.util.ArrayDeque;
 import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
 
 import net.objectlab.kit.util.CollectionUtil;
+import net.objectlab.kit.util.StringUtil;
 
 public class ReportTable<T> {
+    private static final String TOTAL_LABEL = "TOTAL";
+    private static final int DEFAULT_CHUNK_SIZE = 1024;
     private final List<ReportColumn> columns;
     private Collection<T> values;
+    private Iterator<T> valueIterator;
+    private Stream<T> valueStream;
     private T totalRow;
+    private final Map<Class<?>, CompiledColumns> compiledColumns = new ConcurrentHashMap<>();
+    private volatile CompiledColumns lastCompiled;
+    private boolean calculateTotals;
+    private String groupByProperty;
+    private List<Object> totals;
+    private ForkJoinPool pool;
+    private int chunkSize;
 
     public ReportTable(final List<ReportColumn> columns) {
         super();
@@ -32,6 +56,31 @@ public class ReportTable<T> {
 
     public ReportTable<T> setValues(final Collection<T> values) {
         this.values = values;
+        this.valueIterator = null;
+        this.valueStream = null;
+        return this;
+    }
+
+    /**
+     * The rows are rendered as they are read from the stream, which is closed at the end of the export; it can only be
+     * exported once.
+     * @since 1.4.4
+     */
+    public ReportTable<T> setValues(final Stream<T> values) {
+        this.values = null;
+        this.valueIterator = null;
+        this.valueStream = values;
+        return this;
+    }
+
+    /**
+     * The rows are rendered as they are read from the iterator; it can only be exported once.
+     * @since 1.4.4
+     */
+    public ReportTable<T> setValues(final Iterator<T> values) {
+        this.values = null;
+        this.valueIterator = values;
+        this.valueStream = null;
         return this;
     }
 
@@ -40,44 +89,266 @@ public class ReportTable<T> {
         try {
             // do Header
             if (CollectionUtil.isNotEmpty(columns)) {
-                underline(columns, writer, renderer);
-                writer.append(renderer.startHeaderRow());
-                writer.append(renderer.startHeaderCol());
-                columns.forEach(c -> renderer.formatColumn(writer, c, c.getTitle()));
-                writer.append(renderer.endHeaderRow());
-                writer.append(renderer.startRow());
-                underline(columns, writer, renderer);
+                renderer.renderHeader(columns, writer);
             }
 
+            // do values
+            final Aggregates aggregates = new Aggregates(renderer);
             if (CollectionUtil.isNotEmpty(values)) {
-                // do values
-                values.forEach(t -> renderer.renderRow(columns, writer, t));
+                renderRows(values.iterator(), aggregates, writer);
+            } else if (valueIterator != null) {
+                renderRows(valueIterator, aggregates, writer);
+                valueIterator = null;
+            } else if (valueStream != null) {
+                try (Stream<T> stream = valueStream) {
+                    renderRows(stream.iterator(), aggregates, writer);
+                }
+                valueStream = null;
             }
+            aggregates.endGroup(writer);
             if (totalRow != null) {
-                writer.append(renderer.startHeaderRow());
-                underline(columns, writer, renderer);
-                writer.append(renderer.endHeaderRow());
-                renderer.renderRow(columns, writer, totalRow);
+                renderer.renderSeparator(columns, writer);
+                renderer.renderRow(getCompiledColumns(totalRow.getClass()), writer, totalRow);
+            } else if (calculateTotals) {
+                totals = aggregates.total.getResults();
+                renderer.renderSeparator(columns, writer);
+                renderer.renderAggregateRow(getCompiledColumns(Object.class), writer, TOTAL_LABEL, totals);
             }
 
-            writer.append(renderer.startHeaderRow());
-            underline(columns, writer, renderer);
-            writer.append(renderer.endHeaderRow());
-            // footer?
+            renderer.renderFooter(columns, writer);
+            writer.flush();
         } catch (IOException e) {
             throw new ReportException(e);
         }
         return this;
     }
 
+    private void renderRows(final Iterator<T> rows, final Aggregates aggregates, final Writer writer) throws IOException {
+        if (pool != null && aggregates.renderer.isParallelRendering()) {
+            new ParallelRows(aggregates, writer).render(rows);
+            return;
+        }
+        while (rows.hasNext()) {
+            final T t = rows.next();
+            final CompiledColumns compiled = getCompiledColumns(t.getClass());
+            aggregates.startRow(compiled, t, writer);
+            aggregates.renderer.renderRow(compiled, writer, t);
+            aggregates.add(compiled, t);
+        }
+    }
+
+    /**
+     * Reads the rows and aggregates them on the calling thread, formats chunks of rows on the pool and writes them in
+     * order; at most twice the parallelism of the pool chunks are in flight.
+     */
+    private final class ParallelRows {
+        private final Aggregates aggregates;
+        private final Writer writer;
+        private final Deque<Future<String>> inFlight = new ArrayDeque<>();
+        private final int window = 2 * pool.getParallelism();
+        private final StringWriter between = new StringWriter();
+        private Object[] chunk = new Object[chunkSize];
+        private CompiledColumns[] chunkColumns = new CompiledColumns[chunkSize];
+        private int chunkLength;
+
+        private ParallelRows(final Aggregates aggregates, final Writer writer) {
+            this.aggregates = aggregates;
+            this.writer = writer;
+        }
+
+        private void render(final Iterator<T> rows) throws IOException {
+            try {
+                while (rows.hasNext()) {
+                    final T t = rows.next();
+                    final CompiledColumns compiled = getCompiledColumns(t.getClass());
+                    aggregates.startRow(compiled, t, between);
+                    if (between.getBuffer().length() > 0) {
+                        // a subtotal or a separator, written after the rows before it
+                        submitChunk();
+                        enqueue(CompletableFuture.completedFuture(between.toString()));
+                        between.getBuffer().setLength(0);
+                    }
+                    chunk[chunkLength] = t;
+                    chunkColumns[chunkLength++] = compiled;
+                    aggregates.add(compiled, t);
+                    if (chunkLength == chunk.length) {
+                        submitChunk();
+                    }
+                }
+                submitChunk();
+                while (!inFlight.isEmpty()) {
+                    writeNext();
+                }
+            } finally {
+                inFlight.forEach(f -> f.cancel(true));
+            }
+        }
+
+        private void submitChunk() throws IOException {
+            if (chunkLength == 0) {
+                return;
+            }
+            final Object[] rows = chunk;
+            final CompiledColumns[] rowColumns = chunkColumns;
+            final int length = chunkLength;
+            chunk = new Object[chunkSize];
+            chunkColumns = new CompiledColumns[chunkSize];
+            chunkLength = 0;
+            final TableRenderer<T> renderer = aggregates.renderer;
+            enqueue(pool.submit(() -> {
+                final StringWriter buffer = new StringWriter();
+                for (int i = 0; i < length; i++) {
+                    @SuppressWarnings("unchecked")
+                    final T t = (T) rows[i];
+                    renderer.renderRow(rowColumns[i], buffer, t);
+                }
+                return buffer.toString();
+            }));
+        }
+
+        private void enqueue(final Future<String> rendered) throws IOException {
+            inFlight.add(rendered);
+            while (inFlight.size() > window) {
+                writeNext();
+            }
+        }
+
+        private void writeNext() throws IOException {
+            try {
+                writer.append(inFlight.peek().get());
+                inFlight.poll();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ReportException(e);
+            } catch (final ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new ReportException(e.getCause());
+            }
+        }
+    }
+
+    /**
+     * The totals and the subtotal of the current group, accumulated while the rows are rendered.
+     */
+    private final class Aggregates {
+        private final TableRenderer<T> renderer;
+        private final RowAggregator total;
+        private RowAggregator group;
+        private PropertyAccessor groupAccessor;
+        private Class<?> groupRowType;
+        private Object groupKey;
+        private boolean separatorNeeded;
+
+        private Aggregates(final TableRenderer<T> renderer) {
+            this.renderer = renderer;
+            this.total = calculateTotals ? new RowAggregator(columns) : null;
+        }
+
+        private void startRow(final CompiledColumns compiled, final T t, final Writer writer) throws IOException {
+            if (groupByProperty != null) {
+                if (groupRowType != compiled.getRowType()) {
+                    groupRowType = compiled.getRowType();
+                    groupAccessor = PropertyAccessors.forProperty(groupRowType, groupByProperty);
+                }
+                final Object key = groupAccessor.getValue(t);
+                if (group != null && !Objects.equals(key, groupKey)) {
+                    endGroup(writer);
+                }
+                if (group == null) {
+                    group = new RowAggregator(columns);
+                    groupKey = key;
+                }
+            }
+            if (separatorNeeded) {
+                renderer.renderSeparator(columns, writer);
+                separatorNeeded = false;
+            }
+        }
+
+        private void add(final CompiledColumns compiled, final T t) {
+            if (total != null) {
+                total.add(compiled, t);
+            }
+            if (group != null) {
+                group.add(compiled, t);
+            }
+        }
+
+        private void endGroup(final Writer writer) throws IOException {
+            if (group != null) {
+                renderer.renderSeparator(columns, writer);
+                renderer.renderAggregateRow(getCompiledColumns(Object.class), writer, StringUtil.toStringOrEmpty(groupKey), group.getResults());
+                group = null;
+                separatorNeeded = true;
+            }
+        }
+    }
+
+    /**
+     * @return the columns compiled once for the given row type.
+     * @since 1.4.4
+     */
+    public CompiledColumns getCompiledColumns(final Class<?> rowType) {
+        final CompiledColumns last = lastCompiled;
+        if (last != null && last.getRowType() == rowType) {
+            return last;
+        }
+        final CompiledColumns compiled = compiledColumns.computeIfAbsent(rowType, type -> CompiledColumns.compile(columns, type));
+        lastCompiled = compiled;
+        return compiled;
+    }
+
+    /**
+     * Format the rows in chunks of 1024 on the common pool, see {@link #parallel(ForkJoinPool, int)}.
+     * @since 1.4.4
+     */
+    public ReportTable<T> parallel() {
+        return parallel(ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Format chunks of rows in parallel on the pool, they are still written in order and the totals are the same. The
+     * renderer must render rows of compiled columns to the given writer in a thread-safe way and say so with
+     * {@link TableRenderer#isParallelRendering()}, as TextRenderer does; otherwise the rows are rendered on the calling
+     * thread.
+     * @param pool the pool formatting the chunks, null to render on the calling thread.
+     * @since 1.4.4
+     */
+    public ReportTable<T> parallel(final ForkJoinPool pool, final int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("The chunk size must be positive: " + chunkSize);
+        }
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+        return this;
+    }
+
+    /**
+     * Render a total row aggregating each column with an {@link Aggregation}, calculated while the rows are rendered;
+     * ignored if a total row is set.
+     */
     public ReportTable<T> calculateTotalRow() {
+        this.calculateTotals = true;
+        return this;
+    }
+
+    /**
+     * Render a subtotal row each time the value of the property changes, the rows must be sorted on it.
+     * @since 1.4.4
+     */
+    public ReportTable<T> groupBy(final String propertyName) {
+        this.groupByProperty = propertyName;
         return this;
     }
 
-    private void underline(List<ReportColumn> columns, Writer b, TableRenderer<T> renderer) throws IOException {
-        b.append(renderer.getCellCorner());
-        columns.forEach(c -> renderer.renderColumnTitle(c, b));
-        // b.append(renderer.getNextRow());
+    /**
+     * @return the aggregated value per column calculated by the last export, null for columns without aggregation.
+     * @since 1.4.4
+     */
+    public List<Object> getTotals() {
+        return totals;
     }
 
 }
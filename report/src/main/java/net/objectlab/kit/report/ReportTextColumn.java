@@ -6,6 +6,8 @@ public class ReportTextColumn implements ReportColumn {
     private final boolean truncate;
     private final boolean formatAsANumber;
     private final Integer size;
+    private Aggregation aggregation;
+    private String weightPropertyName;
 
     public ReportTextColumn(String title, String propertyName, Integer size) {
         this(title, propertyName, size, false, false);
@@ -20,6 +22,35 @@ public class ReportTextColumn implements ReportColumn {
         this.formatAsANumber = formatAsANumber;
     }
 
+    /**
+     * Aggregate this column in the total and subtotal rows.
+     * @since 1.4.4
+     */
+    public ReportTextColumn aggregate(final Aggregation aggregation) {
+        this.aggregation = aggregation;
+        return this;
+    }
+
+    /**
+     * Aggregate this column as an average weighted by the given property.
+     * @since 1.4.4
+     */
+    public ReportTextColumn weightedAverage(final String weightPropertyName) {
+        this.aggregation = Aggregation.WEIGHTED_AVERAGE;
+        this.weightPropertyName = weightPropertyName;
+        return this;
+    }
+
+    @Override
+    public Aggregation getAggregation() {
+        return aggregation;
+    }
+
+    @Override
+    public String getWeightPropertyName() {
+        return weightPropertyName;
+    }
+
     @Override
     public boolean isFormatAsANumber() {
         return formatAsANumber;
@@ -0,0 +1,42 @@
+package net.objectlab.kit.report;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Aggregates the rows of a report per column, for the columns with an {@link Aggregation}.
+ *
+ * @author Benoit Xhenseval
+ * @since 1.4.4
+ */
+final class RowAggregator {
+    private final Aggregation.Aggregator[] aggregators;
+
+    RowAggregator(final List<ReportColumn> columns) {
+        aggregators = new Aggregation.Aggregator[columns.size()];
+        for (int i = 0; i < aggregators.length; i++) {
+            final Aggregation aggregation = columns.get(i).getAggregation();
+            aggregators[i] = aggregation != null ? aggregation.createAggregator() : null;
+        }
+    }
+
+    void add(final CompiledColumns columns, final Object row) {
+        for (int i = 0; i < aggregators.length; i++) {
+            if (aggregators[i] != null) {
+                aggregators[i].add(columns.getValue(i, row), columns.getWeight(i, row));
+            }
+        }
+    }
+
+    /**
+     * @return the aggregated value per column, null for the columns without aggregation.
+     */
+    List<Object> getResults() {
+        final List<Object> results = new ArrayList<>(aggregators.length);
+        for (final Aggregation.Aggregator aggregator : aggregators) {
+            results.add(aggregator != null ? aggregator.getResult() : null);
+        }
+        return Collections.unmodifiableList(results);
+    }
+}
@@ -1,5 +1,6 @@
 package net.objectlab.kit.report;
 
+import java.io.IOException;
 import java.io.Writer;
 import java.util.List;
 
@@ -18,6 +19,91 @@ public interface TableRenderer<T> {
 
     void renderRow(List<ReportColumn> columns, Writer writer, T t);
 
+    /**
+     * Render a row with the columns already compiled for its type.
+     * @since 1.4.4
+     */
+    default void renderRow(CompiledColumns columns, Writer writer, T t) {
+        renderRow(columns.getColumns(), writer, t);
+    }
+
+    /**
+     * Render a total or subtotal row, the label goes in the first column without aggregation.
+     * @param values the aggregated value per column, null for the columns without aggregation.
+     * @since 1.4.4
+     */
+    default void renderAggregateRow(CompiledColumns columns, Writer writer, String label, List<Object> values) {
+        try {
+            writer.append(startRow());
+            for (int i = 0; i < columns.size(); i++) {
+                renderCell(writer, columns.getColumn(i), columns.format(i, columns.getAggregateCell(i, label, values)));
+            }
+            writer.append(endRow());
+        } catch (IOException e) {
+            throw new ReportException(e);
+        }
+    }
+
+    /**
+     * Render a cell of an aggregate row, by default between startCol and endCol.
+     * @since 1.4.4
+     */
+    default void renderCell(Writer writer, ReportColumn c, String text) throws IOException {
+        writer.append(startCol());
+        formatColumn(writer, c, text);
+        writer.append(endCol());
+    }
+
+    /**
+     * Render the column titles, by default between lines as a text table.
+     * @since 1.4.4
+     */
+    default void renderHeader(List<ReportColumn> columns, Writer writer) throws IOException {
+        underline(columns, writer);
+        writer.append(startHeaderRow());
+        writer.append(startHeaderCol());
+        columns.forEach(c -> formatColumn(writer, c, c.getTitle()));
+        writer.append(endHeaderRow());
+        writer.append(startRow());
+        underline(columns, writer);
+    }
+
+    /**
+     * Render the separator before a total or subtotal row, by default a line.
+     * @since 1.4.4
+     */
+    default void renderSeparator(List<ReportColumn> columns, Writer writer) throws IOException {
+        writer.append(startHeaderRow());
+        underline(columns, writer);
+        writer.append(endHeaderRow());
+    }
+
+    /**
+     * Render the end of the report, by default a line; the writer is flushed afterwards.
+     * @since 1.4.4
+     */
+    default void renderFooter(List<ReportColumn> columns, Writer writer) throws IOException {
+        renderSeparator(columns, writer);
+    }
+
+    /**
+     * @return true if rows can be rendered concurrently, each to its own writer, see ReportTable.parallel; false by
+     * default as a renderer is not assumed to be thread-safe.
+     * @since 1.4.4
+     */
+    default boolean isParallelRendering() {
+        return false;
+    }
+
+    /**
+     * Render a line made of the cell corner and the line of each column.
+     * @since 1.4.4
+     */
+    default void underline(List<ReportColumn> columns, Writer writer) throws IOException {
+        writer.append(getCellCorner());
+        columns.forEach(c -> renderColumnTitle(c, writer));
+    }
+
     String endHeaderRow();
 
     String startHeaderRow();
@@ -1,25 +1,41 @@
 package net.objectlab.kit.report;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.StringWriter;
 import java.io.Writer;
-import java.math.BigDecimal;
+import java.nio.charset.Charset;
 import java.util.List;
 
 import org.apache.commons.lang.StringUtils;
-import org.springframework.beans.BeanWrapper;
-import org.springframework.beans.BeanWrapperImpl;
-
-import net.objectlab.kit.util.IntegerUtil;
-import net.objectlab.kit.util.StringUtil;
 
 public class TextRenderer<T> implements TableRenderer<T> {
-    private StringWriter writer;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private final Writer writer;
+    private CompiledColumns lastCompiled;
 
     public TextRenderer(StringWriter w) {
         writer = w;
     }
 
+    /**
+     * Render to any writer, e.g. a file, as the rows are exported.
+     * @since 1.4.4
+     */
+    public TextRenderer(Writer w) {
+        writer = w;
+    }
+
+    /**
+     * Render to the stream through a buffered writer, flushed at the end of the export (the stream is not closed).
+     * @since 1.4.4
+     */
+    public TextRenderer(OutputStream out, Charset charset) {
+        writer = new BufferedWriter(new OutputStreamWriter(out, charset), BUFFER_SIZE);
+    }
+
     @Override
     public Writer getWriter() {
         return writer;
@@ -39,6 +55,14 @@ public class TextRenderer<T> implements TableRenderer<T> {
         return "-";
     }
 
+    /**
+     * Rows only depend on the compiled columns and the given writer, so they can be rendered concurrently.
+     */
+    @Override
+    public boolean isParallelRendering() {
+        return true;
+    }
+
     @Override
     public String startHeaderCol() {
         return "|";
@@ -47,7 +71,7 @@ public class TextRenderer<T> implements TableRenderer<T> {
     @Override
     public void renderColumnTitle(ReportColumn c, Writer writer) {
         try {
-            writer.append(StringUtils.repeat(getCellLine(), c.getSize() + 2)).append(getCellCorner());
+            writer.append(StringUtils.repeat(getCellLine(), width(c) + 2)).append(getCellCorner());
         } catch (IOException e) {
             throw new ReportException(e);
         }
@@ -66,14 +90,22 @@ public class TextRenderer<T> implements TableRenderer<T> {
         }
     }
 
+    /**
+     * Fixed width: the column size, or the title length if no size is given, so no data is needed up front.
+     */
+    private static int width(ReportColumn c) {
+        return c.getSize() != null ? c.getSize() : StringUtils.length(c.getTitle());
+    }
+
     private String formatColumn(ReportColumn c, String value) {
-        if (IntegerUtil.assign(c.getSize(), 0) > 3) {
+        final int size = width(c);
+        if (size > 3) {
             if (c.isTruncate()) {
-                return StringUtils.leftPad(truncate(c.getSize(), value), c.getSize());
+                return StringUtils.leftPad(truncate(size, value), size);
             }
-            return StringUtils.abbreviate(StringUtils.leftPad(value, c.getSize()), c.getSize());
+            return StringUtils.abbreviate(StringUtils.leftPad(value, size), size);
         }
-        return StringUtils.leftPad(truncate(c.getSize(), value), c.getSize());
+        return StringUtils.leftPad(truncate(size, value), size);
     }
 
     @Override
@@ -108,34 +140,29 @@ public class TextRenderer<T> implements TableRenderer<T> {
 
     @Override
     public void renderRow(List<ReportColumn> columns, Writer writer, T t) {
+        CompiledColumns compiled = lastCompiled;
+        if (compiled == null || compiled.getColumns() != columns || compiled.getRowType() != t.getClass()) {
+            compiled = CompiledColumns.compile(columns, t.getClass());
+            lastCompiled = compiled;
+        }
+        renderRow(compiled, writer, t);
+    }
+
+    @Override
+    public void renderRow(CompiledColumns columns, Writer writer, T t) {
         try {
             writer.append(startRow());
-            BeanWrapper bw = new BeanWrapperImpl(t);
-            columns.forEach(c -> {
-                String valStr = getCellValue(bw, c);
-                try {
-                    writer.append(startCol()).append(formatColumn(c, valStr)).append(endCol());
-                } catch (IOException e) {
-                    throw new ReportException(e);
-                }
-            });
+            for (int i = 0; i < columns.size(); i++) {
+                renderCell(writer, columns.getColumn(i), columns.getCellValue(i, t));
+            }
             writer.append(endRow());
         } catch (IOException e) {
             throw new ReportException(e);
         }
-
     }
 
-    private String getCellValue(BeanWrapper bw, ReportColumn c) {
-        final Object propertyValue = bw.getPropertyValue(c.getPropertyName());
-        String valStr;
-        if (propertyValue instanceof Boolean) {
-            valStr = (Boolean) propertyValue ? "T" : "F";
-        } else if (propertyValue instanceof Number && c.isFormatAsANumber() && !(propertyValue instanceof BigDecimal)) {
-            valStr = String.format("%,d", propertyValue);
-        } else {
-            valStr = StringUtil.toStringOrEmpty(propertyValue);
-        }
-        return valStr;
+    @Override
+    public void renderCell(Writer writer, ReportColumn c, String text) throws IOException {
+        writer.append(startCol()).append(formatColumn(c, text)).append(endCol());
     }
 }
@@ -0,0 +1,226 @@
+package net.objectlab.kit.report;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.time.temporal.Temporal;
+import java.util.List;
+
+import net.objectlab.kit.util.excel.ExcelCell;
+import net.objectlab.kit.util.excel.ExcelRow;
+import net.objectlab.kit.util.excel.ExcelSheet;
+import net.objectlab.kit.util.excel.ExcelStyle;
+import net.objectlab.kit.util.excel.ExcelWorkbook;
+
+/**
+ * Renders the report as rows of a spreadsheet, with typed cells: numbers, booleans and text. Needs objectlab-utils-excel
+ * on the classpath.
+ *
+ * Given an output stream, the rows go to a streaming workbook (SXSSF) that is written to the stream and disposed at the
+ * end of the export; use try-with-resources so that its temporary files are also deleted if the export fails. Given a
+ * sheet, the caller saves its workbook.
+ *
+ * @author Benoit Xhenseval
+ * @since 1.4.4
+ */
+public class XlsxRenderer<T> implements TableRenderer<T>, AutoCloseable {
+    private static final ExcelStyle HEADER_STYLE = ExcelStyle.builder().header().build();
+    private static final ExcelStyle NUMERIC_STYLE = ExcelStyle.builder().numericFormat().build();
+    private static final ExcelStyle TOTAL_STYLE = ExcelStyle.builder().bold().build();
+    private static final ExcelStyle TOTAL_NUMERIC_STYLE = ExcelStyle.builder().numericFormat().bold().build();
+    private static final int CHAR_WIDTH = 256;
+    private final ExcelSheet sheet;
+    private final OutputStream out;
+    private final Writer writer = new NoOpWriter();
+    private boolean disposed;
+
+    /**
+     * Render to a new streaming workbook with one sheet, written to the stream at the end of the export (the stream is
+     * not closed).
+     */
+    public XlsxRenderer(final OutputStream out, final String sheetName) {
+        this.sheet = ExcelWorkbook.newStreamingWorkbook().newSheet(sheetName);
+        this.out = out;
+    }
+
+    /**
+     * Render from the next row of the sheet, e.g. to add several reports to a workbook.
+     */
+    public XlsxRenderer(final ExcelSheet sheet) {
+        this.sheet = sheet;
+        this.out = null;
+    }
+
+    public ExcelSheet getSheet() {
+        return sheet;
+    }
+
+    /**
+     * No text is written, the rows go to the sheet.
+     */
+    @Override
+    public Writer getWriter() {
+        return writer;
+    }
+
+    @Override
+    public boolean isParallelRendering() {
+        return false;
+    }
+
+    @Override
+    public void renderHeader(final List<ReportColumn> columns, final Writer writer) {
+        final ExcelRow row = sheet.newRow();
+        for (int i = 0; i < columns.size(); i++) {
+            final ReportColumn c = columns.get(i);
+            row.newCell(c.getTitle()).style(HEADER_STYLE);
+            if (c.getSize() != null) {
+                sheet.poiSheet().setColumnWidth(i, Math.min(255, Math.max(c.getSize(), c.getTitle().length()) + 2) * CHAR_WIDTH);
+            }
+        }
+    }
+
+    @Override
+    public void renderSeparator(final List<ReportColumn> columns, final Writer writer) {
+        // the total rows are in bold instead
+    }
+
+    @Override
+    public void renderFooter(final List<ReportColumn> columns, final Writer writer) throws IOException {
+        if (out != null) {
+            try {
+                sheet.workbook().write(out);
+            } finally {
+                close();
+            }
+        }
+    }
+
+    /**
+     * Dispose the streaming workbook, deleting its temporary files, if not already done at the end of the export; a
+     * given sheet is left to the caller.
+     */
+    @Override
+    public void close() {
+        if (out != null && !disposed) {
+            disposed = true;
+            sheet.workbook().dispose();
+        }
+    }
+
+    @Override
+    public void renderRow(final List<ReportColumn> columns, final Writer writer, final T t) {
+        renderRow(CompiledColumns.compile(columns, t.getClass()), writer, t);
+    }
+
+    @Override
+    public void renderRow(final CompiledColumns columns, final Writer writer, final T t) {
+        final ExcelRow row = sheet.newRow();
+        for (int i = 0; i < columns.size(); i++) {
+            cell(row, columns.getColumn(i), columns.getValue(i, t), false);
+        }
+    }
+
+    @Override
+    public void renderAggregateRow(final CompiledColumns columns, final Writer writer, final String label, final List<Object> values) {
+        final ExcelRow row = sheet.newRow();
+        for (int i = 0; i < columns.size(); i++) {
+            cell(row, columns.getColumn(i), columns.getAggregateCell(i, label, values), true);
+        }
+    }
+
+    private static void cell(final ExcelRow row, final ReportColumn c, final Object value, final boolean total) {
+        if (value instanceof Number) {
+            final ExcelCell cell = row.newCell((Number) value);
+            if (c.isFormatAsANumber() && !(value instanceof BigDecimal)) {
+                cell.style(total ? TOTAL_NUMERIC_STYLE : NUMERIC_STYLE);
+            } else if (total) {
+                cell.style(TOTAL_STYLE);
+            }
+        } else if (value instanceof Boolean) {
+            row.newCell().value((Boolean) value);
+        } else if (value instanceof Temporal) {
+            row.newCell((Temporal) value);
+        } else if (value != null) {
+            final ExcelCell cell = row.newCell(value.toString());
+            if (total) {
+                cell.style(TOTAL_STYLE);
+            }
+        } else {
+            row.newCell();
+        }
+    }
+
+    @Override
+    public String getCellCorner() {
+        return "";
+    }
+
+    @Override
+    public String getNextRow() {
+        return "";
+    }
+
+    @Override
+    public void renderColumnTitle(final ReportColumn c, final Writer b) {
+        // no lines
+    }
+
+    @Override
+    public String startHeaderCol() {
+        return "";
+    }
+
+    @Override
+    public void formatColumn(final Writer writer, final ReportColumn c, final String title) {
+        // the header is rendered as cells
+    }
+
+    @Override
+    public String endHeaderRow() {
+        return "";
+    }
+
+    @Override
+    public String startHeaderRow() {
+        return "";
+    }
+
+    @Override
+    public String endRow() {
+        return "";
+    }
+
+    @Override
+    public String startRow() {
+        return "";
+    }
+
+    @Override
+    public String endCol() {
+        return "";
+    }
+
+    @Override
+    public String startCol() {
+        return "";
+    }
+
+    private static final class NoOpWriter extends Writer {
+        @Override
+        public void write(final char[] cbuf, final int off, final int len) {
+            // the rows go to the sheet
+        }
+
+        @Override
+        public void flush() {
+            // nothing to flush
+        }
+
+        @Override
+        public void close() {
+            // nothing to close
+        }
+    }
+}
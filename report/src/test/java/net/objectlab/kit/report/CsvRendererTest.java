@@ -0,0 +1,48 @@
+package net.objectlab.kit.report;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.StringWriter;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+public class CsvRendererTest {
+    private ReportTable<SimpleData> createReport() {
+        return new ReportTable<>(ImmutableList.of( //
+                new ReportTextColumn("Company", "name", 20), //
+                new ReportTextColumn("Revenue", "revenue", 20, false, true).aggregate(Aggregation.SUM), //
+                new ReportTextColumn("Currency", "currency", 8), //
+                new ReportTextColumn("International", "international", 13) //
+        ));
+    }
+
+    @Test
+    public void testCsvReport() {
+        StringWriter sw = new StringWriter();
+        createReport().setValues(ImmutableList.of( //
+                new SimpleData("Apple", 5_000_000, "USD", true), //
+                new SimpleData("Johnson, \"J&J\"", 80_000_000, "USD", true), //
+                new SimpleData("Line\nBreak", 1, null, null))) //
+                .calculateTotalRow() //
+                .parallel(ForkJoinPool.commonPool(), 1) // ignored
+                .export(new CsvRenderer<SimpleData>(sw));
+
+        assertEquals("Company,Revenue,Currency,International\r\n" //
+                + "Apple,5000000,USD,true\r\n" //
+                + "\"Johnson, \"\"J&J\"\"\",80000000,USD,true\r\n" //
+                + "\"Line\nBreak\",1,,\r\n" //
+                + "TOTAL,85000001,,\r\n", sw.toString());
+    }
+
+    @Test
+    public void testSeparatorAndLongFields() {
+        StringWriter sw = new StringWriter();
+        final String longName = new String(new char[1_000]).replace('\0', 'x');
+        createReport().setValues(ImmutableList.of(new SimpleData(longName, 5, "A;B", false))).export(new CsvRenderer<SimpleData>(sw, ';'));
+
+        assertEquals("Company;Revenue;Currency;International\r\n" + longName + ";5;\"A;B\";false\r\n", sw.toString());
+    }
+}
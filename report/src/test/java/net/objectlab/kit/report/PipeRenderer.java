@@ -0,0 +1,106 @@
+package net.objectlab.kit.report;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Minimal third-party renderer relying on the TableRenderer defaults: "value|" per column, one row per line.
+ */
+public class PipeRenderer<T> implements TableRenderer<T> {
+    private final StringWriter writer = new StringWriter();
+    private final Set<Thread> renderingThreads = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public Writer getWriter() {
+        return writer;
+    }
+
+    public Set<Thread> getRenderingThreads() {
+        return renderingThreads;
+    }
+
+    @Override
+    public String toString() {
+        return writer.toString();
+    }
+
+    @Override
+    public String getCellCorner() {
+        return "";
+    }
+
+    @Override
+    public String getNextRow() {
+        return "\n";
+    }
+
+    @Override
+    public void renderColumnTitle(final ReportColumn c, final Writer b) {
+        // no lines
+    }
+
+    @Override
+    public String startHeaderCol() {
+        return "";
+    }
+
+    @Override
+    public void formatColumn(final Writer writer, final ReportColumn c, final String title) {
+        try {
+            writer.append(title).append("|");
+        } catch (IOException e) {
+            throw new ReportException(e);
+        }
+    }
+
+    @Override
+    public void renderRow(final List<ReportColumn> columns, final Writer writer, final T t) {
+        renderingThreads.add(Thread.currentThread());
+        final CompiledColumns compiled = CompiledColumns.compile(columns, t.getClass());
+        try {
+            writer.append(startRow());
+            for (int i = 0; i < compiled.size(); i++) {
+                writer.append(startCol());
+                formatColumn(writer, compiled.getColumn(i), compiled.getCellValue(i, t));
+                writer.append(endCol());
+            }
+            writer.append(endRow());
+        } catch (IOException e) {
+            throw new ReportException(e);
+        }
+    }
+
+    @Override
+    public String endHeaderRow() {
+        return "";
+    }
+
+    @Override
+    public String startHeaderRow() {
+        return "";
+    }
+
+    @Override
+    public String endRow() {
+        return "";
+    }
+
+    @Override
+    public String startRow() {
+        return "\n";
+    }
+
+    @Override
+    public String endCol() {
+        return "";
+    }
+
+    @Override
+    public String startCol() {
+        return "";
+    }
+}
@@ -0,0 +1,68 @@
+package net.objectlab.kit.report;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+public class PropertyAccessorsTest {
+    public static class Holder {
+        private final SimpleData data;
+
+        public Holder(SimpleData data) {
+            this.data = data;
+        }
+
+        public SimpleData getData() {
+            return data;
+        }
+
+        public List<String> getTags() {
+            return ImmutableList.of("first", "second");
+        }
+    }
+
+    static class PackageData {
+        public int getCount() {
+            return 42;
+        }
+    }
+
+    @Test
+    public void testSimpleAndNestedPaths() {
+        final SimpleData data = new SimpleData("Apple", 5_000_000, "USD", true);
+        assertEquals("Apple", PropertyAccessors.forProperty(SimpleData.class, "name").getValue(data));
+        assertEquals(5_000_000L, PropertyAccessors.forProperty(SimpleData.class, "revenue").getValue(data));
+        assertEquals(Boolean.TRUE, PropertyAccessors.forProperty(SimpleData.class, "international").getValue(data));
+
+        final PropertyAccessor nested = PropertyAccessors.forProperty(Holder.class, "data.currency");
+        assertEquals("USD", nested.getValue(new Holder(data)));
+        assertNull("null intermediate value", nested.getValue(new Holder(null)));
+        assertEquals(nested, PropertyAccessors.forProperty(Holder.class, "data.currency"));
+    }
+
+    @Test
+    public void testNonPublicClassAndIndexedPath() {
+        assertEquals(42, PropertyAccessors.forProperty(PackageData.class, "count").getValue(new PackageData()));
+        assertEquals("second", PropertyAccessors.forProperty(Holder.class, "tags[1]").getValue(new Holder(null)));
+    }
+
+    @Test
+    public void testCellValueFormatting() {
+        final CompiledColumns columns = CompiledColumns.compile(ImmutableList.of( //
+                new ReportTextColumn("Revenue", "revenue", 20, false, true), //
+                new ReportTextColumn("Raw", "revenue", 20), //
+                new ReportTextColumn("International", "international", 13)), SimpleData.class);
+        for (long revenue : new long[] { 0, 999, 1000, -1234567, Long.MAX_VALUE, Long.MIN_VALUE }) {
+            final SimpleData data = new SimpleData("X", revenue, "USD", null);
+            assertEquals(String.format("%,d", revenue), columns.getCellValue(0, data));
+            assertEquals(Long.toString(revenue), columns.getCellValue(1, data));
+            assertEquals("", columns.getCellValue(2, data));
+        }
+        assertEquals("F", columns.getCellValue(2, new SimpleData("X", 1, "USD", false)));
+    }
+}
@@ -0,0 +1,190 @@
+package net.objectlab.kit.report;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.StringWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+public class ReportTableTest {
+    private static final String NL = System.lineSeparator();
+    private static final String LINE = "+----------------------+----------------------+----------+";
+
+    private List<SimpleData> createDataSet() {
+        return ImmutableList.of( //
+                new SimpleData("Apple", 5_000_000, "USD", true), //
+                new SimpleData("IBM", 270_000_000, "USD", true), //
+                new SimpleData("Siemens", 25_000_000, "EUR", false));
+    }
+
+    private ReportTable<SimpleData> createReport() {
+        return new ReportTable<>(ImmutableList.of( //
+                new ReportTextColumn("Company", "name", 20), //
+                new ReportTextColumn("Revenue", "revenue", 20, false, true).aggregate(Aggregation.SUM), //
+                new ReportTextColumn("Currency", "currency", 8) //
+        ));
+    }
+
+    private static String revenue(final long revenue) {
+        return String.format("%20s", String.format("%,d", revenue));
+    }
+
+    @Test
+    public void testCalculatedTotalRow() {
+        StringWriter sw = new StringWriter();
+        ReportTable<SimpleData> report = createReport().setValues(createDataSet()).calculateTotalRow();
+        report.export(new TextRenderer<SimpleData>(sw));
+
+        final String expected = LINE + NL //
+                + "|              Company |              Revenue | Currency |" + NL //
+                + LINE + NL //
+                + "|                Apple | " + revenue(5_000_000) + " |      USD |" + NL //
+                + "|                  IBM | " + revenue(270_000_000) + " |      USD |" + NL //
+                + "|              Siemens | " + revenue(25_000_000) + " |      EUR |" + NL //
+                + LINE + NL //
+                + "|                TOTAL | " + revenue(300_000_000) + " |          |" + NL //
+                + LINE;
+        assertEquals(expected, sw.toString());
+        assertEquals(Arrays.asList(null, 300_000_000L, null), report.getTotals());
+    }
+
+    @Test
+    public void testExplicitTotalRowWins() {
+        StringWriter sw = new StringWriter();
+        ReportTable<SimpleData> report = createReport().setValues(createDataSet()).calculateTotalRow()
+                .setTotalRow(new SimpleData("ALL", 1, "USD", null));
+        report.export(new TextRenderer<SimpleData>(sw));
+
+        assertEquals("|                  ALL | " + revenue(1) + " |      USD |", sw.toString().split(NL)[7]);
+        assertNull(report.getTotals());
+    }
+
+    @Test
+    public void testSubtotalsOnSortedKey() {
+        StringWriter sw = new StringWriter();
+        createReport().setValues(createDataSet().stream()).groupBy("currency").calculateTotalRow().export(new TextRenderer<SimpleData>(sw));
+
+        final String expected = LINE + NL //
+                + "|              Company |              Revenue | Currency |" + NL //
+                + LINE + NL //
+                + "|                Apple | " + revenue(5_000_000) + " |      USD |" + NL //
+                + "|                  IBM | " + revenue(270_000_000) + " |      USD |" + NL //
+                + LINE + NL //
+                + "|                  USD | " + revenue(275_000_000) + " |          |" + NL //
+                + LINE + NL //
+                + "|              Siemens | " + revenue(25_000_000) + " |      EUR |" + NL //
+                + LINE + NL //
+                + "|                  EUR | " + revenue(25_000_000) + " |          |" + NL //
+                + LINE + NL //
+                + "|                TOTAL | " + revenue(300_000_000) + " |          |" + NL //
+                + LINE;
+        assertEquals(expected, sw.toString());
+    }
+
+    @Test
+    public void testAggregations() {
+        ReportTable<SimpleData> report = new ReportTable<SimpleData>(ImmutableList.of( //
+                new ReportTextColumn("Count", "name", 10).aggregate(Aggregation.COUNT), //
+                new ReportTextColumn("Average", "revenue", 20).aggregate(Aggregation.AVERAGE), //
+                new ReportTextColumn("Min", "revenue", 20).aggregate(Aggregation.MIN), //
+                new ReportTextColumn("Max", "name", 20).aggregate(Aggregation.MAX), //
+                new ReportTextColumn("Weighted", "revenue", 20).weightedAverage("revenue") //
+        )).setValues(createDataSet()).calculateTotalRow();
+        report.export(new TextRenderer<SimpleData>(new StringWriter()));
+
+        final List<Object> totals = report.getTotals();
+        assertEquals(3L, totals.get(0));
+        assertEquals(0, new BigDecimal("100000000").compareTo((BigDecimal) totals.get(1)));
+        assertEquals(5_000_000L, totals.get(2));
+        assertEquals("Siemens", totals.get(3));
+        // (5^2 + 270^2 + 25^2) / 300 million
+        assertEquals(0, new BigDecimal("245166666.66666667").compareTo(((BigDecimal) totals.get(4)).setScale(8, BigDecimal.ROUND_HALF_UP)));
+    }
+
+    @Test
+    public void testSumBeyondLong() {
+        ReportTable<SimpleData> report = createReport().setValues(ImmutableList.of( //
+                new SimpleData("A", Long.MAX_VALUE, "USD", true), //
+                new SimpleData("B", 2, "USD", true))).calculateTotalRow();
+        report.export(new TextRenderer<SimpleData>(new StringWriter()));
+
+        assertEquals(0, BigDecimal.valueOf(Long.MAX_VALUE).add(BigDecimal.valueOf(2)).compareTo((BigDecimal) report.getTotals().get(1)));
+    }
+
+    private List<SimpleData> createLargeDataSet() {
+        return IntStream.range(0, 10_000).mapToObj(i -> new SimpleData("Company " + i, i, i < 5_000 ? "EUR" : "USD", i % 2 == 0))
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    public void testParallelExportSameAsSequential() {
+        StringWriter sequential = new StringWriter();
+        ReportTable<SimpleData> expected = createReport().setValues(createLargeDataSet()).groupBy("currency").calculateTotalRow();
+        expected.export(new TextRenderer<SimpleData>(sequential));
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int chunkSize : new int[] { 1, 7, 1024, 20_000 }) {
+                StringWriter parallel = new StringWriter();
+                ReportTable<SimpleData> report = createReport().setValues(createLargeDataSet().stream()).groupBy("currency").calculateTotalRow()
+                        .parallel(pool, chunkSize);
+                report.export(new TextRenderer<SimpleData>(parallel));
+                assertEquals("chunk " + chunkSize, sequential.toString(), parallel.toString());
+                assertEquals(expected.getTotals(), report.getTotals());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testParallelExportOnlyForThreadSafeRenderer() {
+        final PipeRenderer<SimpleData> renderer = new PipeRenderer<>();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            createReport().setValues(createLargeDataSet()).parallel(pool, 100).export(renderer);
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(Collections.singleton(Thread.currentThread()), renderer.getRenderingThreads());
+        assertEquals("Company 9999|9,999|USD|", renderer.toString().substring(renderer.toString().lastIndexOf('\n') + 1));
+    }
+
+    @Test
+    public void testDefaultAggregateRow() {
+        final PipeRenderer<SimpleData> renderer = new PipeRenderer<>();
+        createReport().setValues(createDataSet()).groupBy("currency").calculateTotalRow().export(renderer);
+
+        assertEquals("Company|Revenue|Currency|" //
+                + "\n\nApple|5,000,000|USD|" //
+                + "\nIBM|270,000,000|USD|" //
+                + "\nUSD|275,000,000||" //
+                + "\nSiemens|25,000,000|EUR|" //
+                + "\nEUR|25,000,000||" //
+                + "\nTOTAL|300,000,000||", renderer.toString());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testParallelExportPropagatesRenderingFailure() {
+        createReport().setValues(createLargeDataSet()).parallel(ForkJoinPool.commonPool(), 100).export(new TextRenderer<SimpleData>(new StringWriter()) {
+            @Override
+            public void renderRow(CompiledColumns columns, Writer writer, SimpleData t) {
+                if (t.getRevenue() == 5_000) {
+                    throw new IllegalStateException("Cannot render " + t.getName());
+                }
+                super.renderRow(columns, writer, t);
+            }
+        });
+    }
+}
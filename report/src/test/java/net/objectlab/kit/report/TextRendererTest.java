@@ -1,7 +1,14 @@
 package net.objectlab.kit.report;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayOutputStream;
 import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 
 import org.junit.Test;
 
@@ -30,4 +37,73 @@ public class TextRendererTest {
 
         System.out.println(sw.toString());
     }
+
+    @Test
+    public void testTextReportOutput() {
+        ReportTable<SimpleData> report = new ReportTable<>(ImmutableList.of( //
+                new ReportTextColumn("Company", "name", 20), //
+                new ReportTextColumn("Revenue", "revenue", 20, false, true), //
+                new ReportTextColumn("Currency", "currency", 8), //
+                new ReportTextColumn("International", "international", 13) //
+        ));
+        StringWriter sw = new StringWriter();
+
+        report.setValues(createDataSet()) //
+                .setTotalRow(new SimpleData("TOTAL", 320_000_000, "USD", null))//
+                .export(new TextRenderer<SimpleData>(sw));
+
+        final String nl = System.lineSeparator();
+        final String line = "+----------------------+----------------------+----------+---------------+";
+        final String expected = line + nl //
+                + "|              Company |              Revenue | Currency | International |" + nl //
+                + line + nl //
+                + "|                Apple | " + String.format("%20s", String.format("%,d", 5_000_000)) + " |      USD |             T |" + nl //
+                + "| Internal Business... | " + String.format("%20s", String.format("%,d", 270_000_000)) + " |      USD |             T |" + nl //
+                + line + nl //
+                + "|                TOTAL | " + String.format("%20s", String.format("%,d", 320_000_000)) + " |      USD |               |" + nl //
+                + line;
+        assertEquals(expected, sw.toString());
+    }
+
+    private ReportTable<SimpleData> createReport() {
+        return new ReportTable<>(ImmutableList.of( //
+                new ReportTextColumn("Company", "name", 20), //
+                new ReportTextColumn("Revenue", "revenue", 20, false, true), //
+                new ReportTextColumn("Currency", "currency", null), //
+                new ReportTextColumn("International", "international", 13) //
+        ));
+    }
+
+    @Test
+    public void testStreamingExportSameAsCollection() {
+        StringWriter sw = new StringWriter();
+        createReport().setValues(createDataSet()).export(new TextRenderer<SimpleData>(sw));
+
+        ByteArrayOutputStream fromStream = new ByteArrayOutputStream();
+        createReport().setValues(createDataSet().stream()).export(new TextRenderer<SimpleData>(fromStream, StandardCharsets.UTF_8));
+        assertEquals(sw.toString(), new String(fromStream.toByteArray(), StandardCharsets.UTF_8));
+
+        StringWriter fromIterator = new StringWriter();
+        ReportTable<SimpleData> report = createReport().setValues(createDataSet().iterator());
+        report.export(new TextRenderer<SimpleData>(fromIterator));
+        assertEquals(sw.toString(), fromIterator.toString());
+        assertNull(report.getValues());
+    }
+
+    @Test
+    public void testStreamingExportIsLazyAndClosesStream() {
+        final AtomicInteger generated = new AtomicInteger();
+        final AtomicInteger closed = new AtomicInteger();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        createReport().setValues(IntStream.range(0, 10_000).mapToObj(i -> {
+            generated.incrementAndGet();
+            return new SimpleData("Company " + i, i, "USD", i % 2 == 0);
+        }).onClose(closed::incrementAndGet)).export(new TextRenderer<SimpleData>(out, StandardCharsets.UTF_8));
+
+        assertEquals(10_000, generated.get());
+        assertEquals(1, closed.get());
+        final String[] lines = new String(out.toByteArray(), StandardCharsets.UTF_8).split(System.lineSeparator());
+        assertEquals(10_000 + 4, lines.length);
+        assertEquals("|         Company 9999 | " + String.format("%20s", String.format("%,d", 9999)) + " |      USD |             F |", lines[10_002]);
+    }
 }
@@ -0,0 +1,75 @@
+package net.objectlab.kit.report;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.stream.IntStream;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+public class XlsxRendererTest {
+    @Test
+    public void testStreamingXlsxReport() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new ReportTable<SimpleData>(ImmutableList.of( //
+                new ReportTextColumn("Company", "name", 20), //
+                new ReportTextColumn("Revenue", "revenue", 20, false, true).aggregate(Aggregation.SUM), //
+                new ReportTextColumn("Currency", "currency", 8), //
+                new ReportTextColumn("International", "international", 13) //
+        )).setValues(ImmutableList.of( //
+                new SimpleData("Apple", 5_000_000, "USD", true), //
+                new SimpleData("IBM", 270_000_000, "USD", false)).stream()) //
+                .calculateTotalRow() //
+                .export(new XlsxRenderer<SimpleData>(out, "Companies"));
+
+        try (XSSFWorkbook book = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            final Sheet sheet = book.getSheet("Companies");
+            assertEquals(3, sheet.getLastRowNum());
+            assertEquals("Company", sheet.getRow(0).getCell(0).getStringCellValue());
+            assertEquals("International", sheet.getRow(0).getCell(3).getStringCellValue());
+
+            final Row ibm = sheet.getRow(2);
+            assertEquals("IBM", ibm.getCell(0).getStringCellValue());
+            assertEquals(270_000_000d, ibm.getCell(1).getNumericCellValue(), 0d);
+            assertEquals("#,###,###,###", ibm.getCell(1).getCellStyle().getDataFormatString());
+            assertEquals(false, ibm.getCell(3).getBooleanCellValue());
+
+            final Row total = sheet.getRow(3);
+            assertEquals("TOTAL", total.getCell(0).getStringCellValue());
+            assertEquals(275_000_000d, total.getCell(1).getNumericCellValue(), 0d);
+        }
+    }
+
+    private static int streamingTempFiles() {
+        final File[] files = new File(System.getProperty("java.io.tmpdir"), "poifiles").listFiles((dir, name) -> name.startsWith("poi-sxssf"));
+        return files != null ? files.length : 0;
+    }
+
+    @Test
+    public void testCloseDisposesAfterFailedExport() {
+        final int before = streamingTempFiles();
+        try (XlsxRenderer<SimpleData> renderer = new XlsxRenderer<>(new ByteArrayOutputStream(), "Companies")) {
+            assertEquals(before + 1, streamingTempFiles());
+            new ReportTable<SimpleData>(ImmutableList.of(new ReportTextColumn("Company", "name", 20))).setValues(IntStream.range(0, 10)
+                    .mapToObj(i -> {
+                        if (i == 5) {
+                            throw new IllegalStateException("Source not available");
+                        }
+                        return new SimpleData("Company " + i, i, "USD", true);
+                    })).export(renderer);
+            fail("the export should fail");
+        } catch (final IllegalStateException e) {
+            assertEquals("Source not available", e.getMessage());
+        }
+        assertEquals(before, streamingTempFiles());
+    }
+}
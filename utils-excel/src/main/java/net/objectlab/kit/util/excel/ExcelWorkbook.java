@@ -2,6 +2,7 @@ package net.objectlab.kit.util.excel;
 
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -75,11 +76,20 @@ public class ExcelWorkbook {
 
     public ExcelWorkbook save(String fileName) throws IOException {
         try (FileOutputStream out = new FileOutputStream(fileName)) {
-            if (sxssfWorkbook != null) {
-                sxssfWorkbook.write(out);
-            } else {
-                xssfWorkbook.write(out);
-            }
+            write(out);
+        }
+        return this;
+    }
+
+    /**
+     * Write the workbook to the stream, which is not closed.
+     * @since 1.4.4
+     */
+    public ExcelWorkbook write(OutputStream out) throws IOException {
+        if (sxssfWorkbook != null) {
+            sxssfWorkbook.write(out);
+        } else {
+            xssfWorkbook.write(out);
         }
         return this;
     }
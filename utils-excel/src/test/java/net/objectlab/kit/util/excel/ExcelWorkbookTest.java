@@ -6,7 +6,9 @@ import java.util.function.Predicate;
 
 import org.apache.poi.ss.usermodel.FillPatternType;
 import org.apache.poi.ss.usermodel.IndexedColors;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 public class ExcelWorkbookTest {
     public static final ExcelStyle HEADER_STYLE = ExcelStyle.builder().header().build();
@@ -14,6 +16,9 @@ public class ExcelWorkbookTest {
     public static final ExcelStyle BOLD_NUMERIC_STYLE = ExcelStyle.builder().numericFormat().bold().build();
     public static final ExcelStyle PERCENT_STYLE = ExcelStyle.builder().percentFormat().bold().build();
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     public static void main(String[] args) {
         Predicate<String> p = (s) -> true;
         System.out.println(p.toString());
@@ -54,7 +59,7 @@ public class ExcelWorkbookTest {
                         .backgroundFillPatternType(FillPatternType.BIG_SPOTS).build())//
                 .newRow(7).newCell().newCell("Test").style(ExcelStyle.builder().underline().right().build())//
                 .newRow(8).newCell().newCell("STRIKE").style(ExcelStyle.builder().strikeout().backgroundColour(IndexedColors.ROSE).right().build())//
-                .save("test.xlsx"); // Save it
+                .save(folder.getRoot().toPath().resolve("test.xlsx").toString()); // Save it
 
     }
 }
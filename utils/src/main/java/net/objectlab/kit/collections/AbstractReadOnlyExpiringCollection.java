@@ -3,8 +3,16 @@
  */
 package net.objectlab.kit.collections;
 
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * @author Benoit Xhenseval
@@ -15,9 +23,43 @@ public abstract class AbstractReadOnlyExpiringCollection {
     private boolean reloadOnExpiry = true;
     private boolean reloadWhenExpired = true;
     private boolean loadOnFirstAccess = true;
-    private long lastLoadingTime;
+    private volatile long lastLoadingTime;
     private String id;
-    private Timer timer;
+    private ScheduledExecutorService scheduler;
+    private ScheduledFuture<?> scheduledReload;
+    private volatile boolean stopped;
+    private boolean refreshInBackground;
+    private long refreshAheadMilliseconds;
+    private long refreshJitterMilliseconds;
+    private long failureBackoffMilliseconds = 1000L;
+    private Executor refreshExecutor;
+    private volatile long nextRefreshTime;
+    private int consecutiveFailures;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private final AtomicBoolean reloading = new AtomicBoolean();
+
+    /**
+     * Shared by all collections reloading on expiry without their own scheduler.
+     */
+    private static final class DefaultScheduler {
+        private static final ScheduledExecutorService INSTANCE = Executors.newScheduledThreadPool(2, r -> {
+            final Thread t = new Thread(r, "ReadOnlyExpiringCollection-scheduler");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Shared by all collections refreshing in background without their own executor.
+     */
+    private static final class DefaultRefreshExecutor {
+        private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+        private static final ExecutorService INSTANCE = Executors.newCachedThreadPool(r -> {
+            final Thread t = new Thread(r, "ReadOnlyExpiringCollection-refresh-" + THREAD_COUNT.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
 
     protected void setId(final String id) {
         this.id = id;
@@ -47,20 +89,67 @@ public abstract class AbstractReadOnlyExpiringCollection {
         this.reloadWhenExpired = reloadWhenExpired;
     }
 
+    /**
+     * Stale-while-revalidate: once loaded, readers keep the current snapshot and never block or see an empty collection,
+     * the reload runs as a single background task.
+     * @since 1.4.4
+     */
+    public void setRefreshInBackground(final boolean refreshInBackground) {
+        this.refreshInBackground = refreshInBackground;
+    }
+
+    /**
+     * In background mode, start the refresh this long before the expiry.
+     * @since 1.4.4
+     */
+    public void setRefreshAheadMilliseconds(final long refreshAheadMilliseconds) {
+        this.refreshAheadMilliseconds = refreshAheadMilliseconds;
+    }
+
+    /**
+     * In background mode, start the refresh up to this (random) time earlier, so collections loaded together do not
+     * all reload at the same time.
+     * @since 1.4.4
+     */
+    public void setRefreshJitterMilliseconds(final long refreshJitterMilliseconds) {
+        this.refreshJitterMilliseconds = refreshJitterMilliseconds;
+    }
+
+    /**
+     * In background mode, wait this long before retrying a failed refresh, doubled for each consecutive failure (up to
+     * the expiry timeout); the previous snapshot is kept meanwhile.
+     * @since 1.4.4
+     */
+    public void setFailureBackoffMilliseconds(final long failureBackoffMilliseconds) {
+        this.failureBackoffMilliseconds = failureBackoffMilliseconds;
+    }
+
+    /**
+     * Executor for the background refresh and for the reloads on expiry, by default a shared pool of daemon threads.
+     * @since 1.4.4
+     */
+    public void setRefreshExecutor(final Executor refreshExecutor) {
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    /**
+     * Scheduler triggering the reloads on expiry, by default a small pool of daemon threads shared by all collections;
+     * the reload itself runs on the refresh executor so a slow loader does not hold up the other collections.
+     * @since 1.4.4
+     */
+    public void setScheduler(final ScheduledExecutorService scheduler) {
+        this.scheduler = scheduler;
+    }
+
     protected boolean hasExpired() {
         return lastLoadingTime == 0 || timeProvider.getCurrentTimeMillis() - lastLoadingTime > expiryTimeoutMilliseconds;
     }
 
     public void start() {
+        stopped = false;
         if (reloadOnExpiry && expiryTimeoutMilliseconds > 0) {
-            // start timer
-            timer = new Timer();
-            timer.scheduleAtFixedRate(new TimerTask() {
-                @Override
-                public void run() {
-                    load();
-                }
-            }, 0, expiryTimeoutMilliseconds);
+            scheduledReload = (scheduler != null ? scheduler : DefaultScheduler.INSTANCE).scheduleAtFixedRate(this::scheduledLoad, 0,
+                    expiryTimeoutMilliseconds, TimeUnit.MILLISECONDS);
         }
         if (!loadOnFirstAccess) {
             load();
@@ -68,20 +157,60 @@ public abstract class AbstractReadOnlyExpiringCollection {
     }
 
     public void stop() {
-        if (timer != null) {
-            timer.cancel();
-            timer.purge();
-            timer = null;
+        stopped = true;
+        if (scheduledReload != null) {
+            scheduledReload.cancel(false);
+            scheduledReload = null;
         }
     }
 
-    @Override
-    protected void finalize() throws Throwable {
-        stop();
-        super.finalize();
+    /**
+     * Runs on the scheduler: only hands the reload over to the refresh executor, skipped if the previous one is still
+     * running.
+     */
+    private void scheduledLoad() {
+        if (stopped || !reloading.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refreshExecutor().execute(this::reload);
+        } catch (final RejectedExecutionException e) {
+            reloading.set(false);
+            reportFailure(e);
+        }
+    }
+
+    private void reload() {
+        try {
+            load();
+        } catch (final RuntimeException e) {
+            // the schedule goes on, the collection is reloaded on the next run
+            reportFailure(e);
+        } finally {
+            reloading.set(false);
+        }
+    }
+
+    /**
+     * A reload failing in the background has no caller to throw to, it goes to the UncaughtExceptionHandler of the
+     * thread (by default printed on System.err) without stopping it.
+     */
+    private static void reportFailure(final RuntimeException e) {
+        final Thread thread = Thread.currentThread();
+        thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+    }
+
+    private Executor refreshExecutor() {
+        return refreshExecutor != null ? refreshExecutor : DefaultRefreshExecutor.INSTANCE;
     }
 
     protected void validateOnAccess() {
+        if (refreshInBackground && lastLoadingTime != 0) {
+            if (!stopped && timeProvider.getCurrentTimeMillis() >= nextRefreshTime) {
+                refreshInBackground();
+            }
+            return;
+        }
         if (hasExpired()) {
             if (reloadWhenExpired || loadOnFirstAccess && lastLoadingTime == 0) {
                 load();
@@ -94,7 +223,52 @@ public abstract class AbstractReadOnlyExpiringCollection {
     private synchronized void load() {
         if (hasExpired()) {
             doLoad();
-            lastLoadingTime = timeProvider.getCurrentTimeMillis();
+            loaded();
+        }
+    }
+
+    private void loaded() {
+        lastLoadingTime = timeProvider.getCurrentTimeMillis();
+        consecutiveFailures = 0;
+        if (expiryTimeoutMilliseconds <= 0) {
+            nextRefreshTime = Long.MAX_VALUE;
+        } else {
+            final long jitter = refreshJitterMilliseconds > 0 ? ThreadLocalRandom.current().nextLong(refreshJitterMilliseconds + 1) : 0L;
+            nextRefreshTime = lastLoadingTime + expiryTimeoutMilliseconds - refreshAheadMilliseconds - jitter;
+        }
+    }
+
+    private void refreshInBackground() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refreshExecutor().execute(this::refresh);
+        } catch (final RejectedExecutionException e) {
+            refreshing.set(false);
+        }
+    }
+
+    private void refresh() {
+        try {
+            synchronized (this) {
+                if (timeProvider.getCurrentTimeMillis() >= nextRefreshTime) {
+                    try {
+                        doLoad();
+                        loaded();
+                    } catch (final RuntimeException e) {
+                        consecutiveFailures++;
+                        long backoff = failureBackoffMilliseconds << Math.min(consecutiveFailures - 1, 30);
+                        if (expiryTimeoutMilliseconds > 0) {
+                            backoff = Math.min(backoff, Math.max(failureBackoffMilliseconds, expiryTimeoutMilliseconds));
+                        }
+                        nextRefreshTime = timeProvider.getCurrentTimeMillis() + backoff;
+                        reportFailure(e);
+                    }
+                }
+            }
+        } finally {
+            refreshing.set(false);
         }
     }
 
@@ -118,4 +292,12 @@ public abstract class AbstractReadOnlyExpiringCollection {
         return lastLoadingTime;
     }
 
+    protected boolean isRefreshInBackground() {
+        return refreshInBackground;
+    }
+
+    protected int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
 }
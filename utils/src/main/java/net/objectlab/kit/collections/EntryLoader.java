@@ -0,0 +1,37 @@
+/**
+ *
+ */
+package net.objectlab.kit.collections;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Whenever an entry of the cache is missing or has expired, it will call the loader for that key.
+ * @author Benoit Xhenseval
+ * @since 1.4.4
+ */
+@FunctionalInterface
+public interface EntryLoader<K, V> {
+    /**
+     * @return the value, null if none (null is not cached).
+     */
+    V load(K key);
+
+    /**
+     * Used by {@link ExpiringCache#getAll(Collection)}, override it if the source can load several keys in one call;
+     * by default each key is loaded on its own.
+     * @return the values per key, keys without a value can be missing.
+     */
+    default Map<K, V> loadAll(final Collection<K> keys) {
+        final Map<K, V> values = new HashMap<>();
+        for (final K key : keys) {
+            final V value = load(key);
+            if (value != null) {
+                values.put(key, value);
+            }
+        }
+        return values;
+    }
+}
@@ -0,0 +1,339 @@
+/**
+ *
+ */
+package net.objectlab.kit.collections;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrent cache where each entry is loaded on demand by an {@link EntryLoader} and expires on its own, after write
+ * and/or after access, unlike the ReadOnlyExpiringMap which reloads everything at once.
+ *
+ * The size is bounded by evicting the least recently used entries; the cache is split in segments, each with its own
+ * lock and LRU order, so the LRU is approximate across segments. Concurrent loads of the same key call the loader once;
+ * a put or invalidate of the key during the load wins over the loaded value.
+ *
+ * @author Benoit Xhenseval
+ * @since 1.4.4
+ */
+public class ExpiringCache<K, V> {
+    private final String id;
+    private final EntryLoader<K, V> loader;
+    private final TimeProvider timeProvider;
+    private final long expireAfterWriteMilliseconds;
+    private final long expireAfterAccessMilliseconds;
+    private final Segment<K, V>[] segments;
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long writeTime;
+        private volatile long accessTime;
+
+        private Entry(final V value, final long now) {
+            this.value = value;
+            this.writeTime = now;
+            this.accessTime = now;
+        }
+    }
+
+    private static final class Segment<K, V> extends LinkedHashMap<K, Entry<V>> {
+        private static final long serialVersionUID = 1L;
+        private final transient int capacity;
+        private final transient LongAdder evictions;
+
+        private Segment(final int capacity, final LongAdder evictions) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+            this.evictions = evictions;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<K, Entry<V>> eldest) {
+            if (capacity >= 0 && size() > capacity) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public ExpiringCache(final ExpiringCacheBuilder<K, V> builder) {
+        this.id = builder.getId();
+        this.loader = builder.getLoader();
+        this.timeProvider = builder.getTimeProvider() != null ? builder.getTimeProvider() : new SystemTimeProvider();
+        this.expireAfterWriteMilliseconds = builder.getExpireAfterWriteMilliseconds();
+        this.expireAfterAccessMilliseconds = builder.getExpireAfterAccessMilliseconds();
+
+        final int maximumSize = builder.getMaximumSize();
+        int segmentCount = 1;
+        while (segmentCount < builder.getConcurrencyLevel() && (maximumSize < 0 || segmentCount * 2 <= maximumSize)) {
+            segmentCount <<= 1;
+        }
+        segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            // spread the remainder so the total capacity is the maximum size
+            final int capacity = maximumSize < 0 ? -1 : maximumSize / segmentCount + (i < maximumSize % segmentCount ? 1 : 0);
+            segments[i] = new Segment<>(capacity, evictions);
+        }
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    private Segment<K, V> segmentFor(final Object key) {
+        int h = key.hashCode();
+        h ^= h >>> 16;
+        return segments[h & (segments.length - 1)];
+    }
+
+    private boolean hasExpired(final Entry<V> entry, final long now) {
+        return expireAfterWriteMilliseconds >= 0 && now - entry.writeTime > expireAfterWriteMilliseconds
+                || expireAfterAccessMilliseconds >= 0 && now - entry.accessTime > expireAfterAccessMilliseconds;
+    }
+
+    /**
+     * @return the cached value if present and not expired, without calling the loader.
+     */
+    public V getIfPresent(final K key) {
+        final long now = timeProvider.getCurrentTimeMillis();
+        final Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            final Entry<V> entry = segment.get(key);
+            if (entry != null) {
+                if (!hasExpired(entry, now)) {
+                    entry.accessTime = now;
+                    hits.increment();
+                    return entry.value;
+                }
+                segment.remove(key);
+                expirations.increment();
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * @return the cached value, loading it if missing or expired (concurrent loads of the same key call the loader
+     * once).
+     */
+    public V get(final K key) {
+        final V cached = getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        final CompletableFuture<V> mine = new CompletableFuture<>();
+        final CompletableFuture<V> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            return join(existing);
+        }
+        try {
+            final V value = loader.load(key);
+            loads.increment();
+            if (value != null) {
+                putIfLoading(key, value, mine);
+            }
+            mine.complete(value);
+            return value;
+        } catch (final RuntimeException e) {
+            loadFailures.increment();
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * @return the values per key, in the order of the keys; keys without a value are missing. The keys neither cached
+     * nor being loaded are loaded with a single {@link EntryLoader#loadAll(Collection)}, the others wait for the load
+     * in flight.
+     */
+    public Map<K, V> getAll(final Collection<K> keys) {
+        final Map<K, CompletableFuture<V>> requested = new LinkedHashMap<>();
+        final Map<K, CompletableFuture<V>> toLoad = new LinkedHashMap<>();
+        for (final K key : keys) {
+            if (requested.containsKey(key)) {
+                continue;
+            }
+            final V cached = getIfPresent(key);
+            if (cached != null) {
+                requested.put(key, CompletableFuture.completedFuture(cached));
+                continue;
+            }
+            final CompletableFuture<V> mine = new CompletableFuture<>();
+            final CompletableFuture<V> existing = inFlight.putIfAbsent(key, mine);
+            if (existing != null) {
+                requested.put(key, existing);
+            } else {
+                requested.put(key, mine);
+                toLoad.put(key, mine);
+            }
+        }
+
+        if (!toLoad.isEmpty()) {
+            loadAll(toLoad);
+        }
+
+        final Map<K, V> results = new LinkedHashMap<>();
+        requested.forEach((key, value) -> {
+            final V v = join(value);
+            if (v != null) {
+                results.put(key, v);
+            }
+        });
+        return results;
+    }
+
+    private void loadAll(final Map<K, CompletableFuture<V>> toLoad) {
+        try {
+            final Map<K, V> loaded = loader.loadAll(Collections.unmodifiableSet(toLoad.keySet()));
+            loads.increment();
+            toLoad.forEach((key, mine) -> {
+                final V value = loaded != null ? loaded.get(key) : null;
+                if (value != null) {
+                    putIfLoading(key, value, mine);
+                }
+                mine.complete(value);
+            });
+        } catch (final RuntimeException e) {
+            loadFailures.increment();
+            toLoad.values().forEach(mine -> mine.completeExceptionally(e));
+            throw e;
+        } finally {
+            toLoad.forEach(inFlight::remove);
+        }
+    }
+
+    private static <V> V join(final CompletableFuture<V> load) {
+        try {
+            return load.join();
+        } catch (final CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+
+    /**
+     * Install a loaded value only if the load is still the current one: put and invalidate remove the in-flight marker
+     * before touching the segment, so a value loaded before them cannot overwrite them.
+     */
+    private void putIfLoading(final K key, final V value, final CompletableFuture<V> load) {
+        final Segment<K, V> segment = segmentFor(key);
+        final Entry<V> entry = new Entry<>(value, timeProvider.getCurrentTimeMillis());
+        synchronized (segment) {
+            if (inFlight.get(key) == load) {
+                segment.put(key, entry);
+            }
+        }
+    }
+
+    public void put(final K key, final V value) {
+        inFlight.remove(key);
+        final Segment<K, V> segment = segmentFor(key);
+        final Entry<V> entry = new Entry<>(value, timeProvider.getCurrentTimeMillis());
+        synchronized (segment) {
+            segment.put(key, entry);
+        }
+    }
+
+    public void invalidate(final K key) {
+        inFlight.remove(key);
+        final Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            segment.remove(key);
+        }
+    }
+
+    public void invalidateAll() {
+        inFlight.clear();
+        for (final Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    /**
+     * Remove the expired entries, they are otherwise only removed when accessed or evicted.
+     */
+    public void cleanUp() {
+        final long now = timeProvider.getCurrentTimeMillis();
+        for (final Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                for (final Iterator<Entry<V>> it = segment.values().iterator(); it.hasNext();) {
+                    if (hasExpired(it.next(), now)) {
+                        it.remove();
+                        expirations.increment();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @return number of entries, including expired ones not yet removed.
+     */
+    public int size() {
+        int size = 0;
+        for (final Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getLoadCount() {
+        return loads.sum();
+    }
+
+    public long getLoadFailureCount() {
+        return loadFailures.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public long getExpirationCount() {
+        return expirations.sum();
+    }
+
+    public double getHitRate() {
+        final long hitCount = hits.sum();
+        final long total = hitCount + misses.sum();
+        return total == 0 ? 1.0 : (double) hitCount / total;
+    }
+
+    @Override
+    public String toString() {
+        return "ExpiringCache[" + id + "] size:" + size() + " hits:" + getHitCount() + " misses:" + getMissCount() + " evictions:"
+                + getEvictionCount();
+    }
+}
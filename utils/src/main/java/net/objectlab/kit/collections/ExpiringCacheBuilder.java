@@ -0,0 +1,109 @@
+/**
+ *
+ */
+package net.objectlab.kit.collections;
+
+import net.objectlab.kit.util.PeriodBuilder;
+
+/**
+ * @author Benoit Xhenseval
+ * @since 1.4.4
+ */
+public class ExpiringCacheBuilder<K, V> {
+    private final EntryLoader<K, V> loader;
+    private String id;
+    private int maximumSize = -1;
+    private int concurrencyLevel = 16;
+    private long expireAfterWriteMilliseconds = -1;
+    private long expireAfterAccessMilliseconds = -1;
+    private TimeProvider timeProvider;
+
+    public ExpiringCacheBuilder(final EntryLoader<K, V> loader) {
+        this.loader = loader;
+    }
+
+    public ExpiringCacheBuilder<K, V> id(final String id) {
+        this.id = id;
+        return this;
+    }
+
+    /**
+     * Maximum number of entries, the least recently used ones are evicted (per segment); 0 caches nothing, -1 for
+     * unbounded.
+     */
+    public ExpiringCacheBuilder<K, V> maximumSize(final int maximumSize) {
+        this.maximumSize = maximumSize;
+        return this;
+    }
+
+    /**
+     * Number of segments (each with its own lock and LRU order), rounded up to a power of 2.
+     */
+    public ExpiringCacheBuilder<K, V> concurrencyLevel(final int concurrencyLevel) {
+        this.concurrencyLevel = concurrencyLevel;
+        return this;
+    }
+
+    public ExpiringCacheBuilder<K, V> expireAfterWrite(final PeriodBuilder period) {
+        if (period != null) {
+            this.expireAfterWriteMilliseconds = period.calculateMilliseconds();
+        }
+        return this;
+    }
+
+    /**
+     * An entry expires this long after being loaded or put; -1 for never.
+     */
+    public ExpiringCacheBuilder<K, V> expireAfterWriteMilliseconds(final long expireAfterWriteMilliseconds) {
+        this.expireAfterWriteMilliseconds = expireAfterWriteMilliseconds;
+        return this;
+    }
+
+    public ExpiringCacheBuilder<K, V> expireAfterAccess(final PeriodBuilder period) {
+        if (period != null) {
+            this.expireAfterAccessMilliseconds = period.calculateMilliseconds();
+        }
+        return this;
+    }
+
+    /**
+     * An entry expires if not read for this long; -1 for never.
+     */
+    public ExpiringCacheBuilder<K, V> expireAfterAccessMilliseconds(final long expireAfterAccessMilliseconds) {
+        this.expireAfterAccessMilliseconds = expireAfterAccessMilliseconds;
+        return this;
+    }
+
+    public ExpiringCacheBuilder<K, V> timeProvider(final TimeProvider timeProvider) {
+        this.timeProvider = timeProvider;
+        return this;
+    }
+
+    final EntryLoader<K, V> getLoader() {
+        return loader;
+    }
+
+    final String getId() {
+        return id;
+    }
+
+    final int getMaximumSize() {
+        return maximumSize;
+    }
+
+    final int getConcurrencyLevel() {
+        return concurrencyLevel;
+    }
+
+    final long getExpireAfterWriteMilliseconds() {
+        return expireAfterWriteMilliseconds;
+    }
+
+    final long getExpireAfterAccessMilliseconds() {
+        return expireAfterAccessMilliseconds;
+    }
+
+    final TimeProvider getTimeProvider() {
+        return timeProvider;
+    }
+}
@@ -0,0 +1,62 @@
+/**
+ *
+ */
+package net.objectlab.kit.collections;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+import net.objectlab.kit.util.Pair;
+
+/**
+ * Coalesces concurrent loads of collections sharing the same loader and id: the first caller runs the loader, the
+ * others wait for it and get a copy of its result.
+ *
+ * @author Benoit Xhenseval
+ * @since 1.4.4
+ */
+final class LoadCoalescer {
+    private static final ConcurrentMap<Pair<Object, String>, CompletableFuture<Object>> IN_FLIGHT = new ConcurrentHashMap<>();
+
+    private LoadCoalescer() {
+    }
+
+    /**
+     * @return the number of callers waiting for the load in flight for that loader and id.
+     */
+    static int getWaitingCount(final Object loader, final String id) {
+        final CompletableFuture<Object> inFlight = IN_FLIGHT.get(new Pair<>(loader, id));
+        return inFlight != null ? inFlight.getNumberOfDependents() : 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <R> R load(final Object loader, final String id, final Supplier<R> load, final UnaryOperator<R> copy) {
+        final Pair<Object, String> key = new Pair<>(loader, id);
+        final CompletableFuture<Object> mine = new CompletableFuture<>();
+        final CompletableFuture<Object> inFlight = IN_FLIGHT.putIfAbsent(key, mine);
+        if (inFlight != null) {
+            try {
+                return copy.apply((R) inFlight.join());
+            } catch (final CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+        }
+        try {
+            final R result = load.get();
+            mine.complete(result);
+            return result;
+        } catch (final RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            IN_FLIGHT.remove(key, mine);
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package net.objectlab.kit.collections;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+
 import net.objectlab.kit.util.PeriodBuilder;
 
 /**
@@ -19,6 +22,12 @@ public class ReadOnlyExpiringCollectionBuilder {
     private boolean loadOnFirstAccess = true;
     private String id;
     private TimeProvider timeProvider;
+    private boolean refreshInBackground;
+    private long refreshAheadMilliseconds;
+    private long refreshJitterMilliseconds;
+    private long failureBackoffMilliseconds = 1000L;
+    private Executor refreshExecutor;
+    private ScheduledExecutorService scheduler;
 
     public ReadOnlyExpiringCollectionBuilder timeProvider(final TimeProvider timeProvider) {
         this.timeProvider = timeProvider;
@@ -57,6 +66,62 @@ public class ReadOnlyExpiringCollectionBuilder {
         return this;
     }
 
+    /**
+     * Stale-while-revalidate: once loaded, readers keep the current snapshot while a single background task reloads it,
+     * they never block on the loader nor see an empty collection.
+     * @since 1.4.4
+     */
+    public ReadOnlyExpiringCollectionBuilder refreshInBackground(final boolean refreshInBackground) {
+        this.refreshInBackground = refreshInBackground;
+        return this;
+    }
+
+    /**
+     * Start the background refresh this long before the expiry.
+     * @since 1.4.4
+     */
+    public ReadOnlyExpiringCollectionBuilder refreshAheadMilliseconds(final long refreshAheadMilliseconds) {
+        this.refreshAheadMilliseconds = refreshAheadMilliseconds;
+        return this;
+    }
+
+    /**
+     * Start the background refresh up to this (random) time earlier.
+     * @since 1.4.4
+     */
+    public ReadOnlyExpiringCollectionBuilder refreshJitterMilliseconds(final long refreshJitterMilliseconds) {
+        this.refreshJitterMilliseconds = refreshJitterMilliseconds;
+        return this;
+    }
+
+    /**
+     * Delay before retrying a failed background refresh, doubled for each consecutive failure (default 1s).
+     * @since 1.4.4
+     */
+    public ReadOnlyExpiringCollectionBuilder failureBackoffMilliseconds(final long failureBackoffMilliseconds) {
+        this.failureBackoffMilliseconds = failureBackoffMilliseconds;
+        return this;
+    }
+
+    /**
+     * Executor for the background refresh and for the reloads on expiry, by default a shared pool of daemon threads.
+     * @since 1.4.4
+     */
+    public ReadOnlyExpiringCollectionBuilder refreshExecutor(final Executor refreshExecutor) {
+        this.refreshExecutor = refreshExecutor;
+        return this;
+    }
+
+    /**
+     * Scheduler triggering the reloads on expiry, by default a small pool of daemon threads shared by all collections;
+     * the reload itself runs on the refresh executor so a slow loader does not hold up the other collections.
+     * @since 1.4.4
+     */
+    public ReadOnlyExpiringCollectionBuilder scheduler(final ScheduledExecutorService scheduler) {
+        this.scheduler = scheduler;
+        return this;
+    }
+
     final long getExpiryTimeoutMilliseconds() {
         return expiryTimeoutMilliseconds;
     }
@@ -80,4 +145,28 @@ public class ReadOnlyExpiringCollectionBuilder {
     final TimeProvider getTimeProvider() {
         return timeProvider;
     }
+
+    final boolean isRefreshInBackground() {
+        return refreshInBackground;
+    }
+
+    final long getRefreshAheadMilliseconds() {
+        return refreshAheadMilliseconds;
+    }
+
+    final long getRefreshJitterMilliseconds() {
+        return refreshJitterMilliseconds;
+    }
+
+    final long getFailureBackoffMilliseconds() {
+        return failureBackoffMilliseconds;
+    }
+
+    final Executor getRefreshExecutor() {
+        return refreshExecutor;
+    }
+
+    final ScheduledExecutorService getScheduler() {
+        return scheduler;
+    }
 }
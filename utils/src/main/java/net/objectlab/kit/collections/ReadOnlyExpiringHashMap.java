@@ -14,7 +14,7 @@ import java.util.Set;
  */
 public class ReadOnlyExpiringHashMap<K, V> extends AbstractReadOnlyExpiringCollection implements ReadOnlyExpiringMap<K, V> {
     private static final String COLLECTION_IS_IMMUTABLE = "Collection is immutable";
-    private Map<K, V> delegate = new HashMap<>();
+    private volatile Map<K, V> delegate = new HashMap<>();
     private final MapLoader<K, V> loader;
 
     public ReadOnlyExpiringHashMap(final ReadOnlyExpiringHashMapBuilder<K, V> builder) {
@@ -25,14 +25,22 @@ public class ReadOnlyExpiringHashMap<K, V> extends AbstractReadOnlyExpiringColle
         setLoadOnFirstAccess(builder.isLoadOnFirstAccess());
         setReloadWhenExpired(builder.isReloadWhenExpired());
         setTimeProvider(builder.getTimeProvider());
+        setRefreshInBackground(builder.isRefreshInBackground());
+        setRefreshAheadMilliseconds(builder.getRefreshAheadMilliseconds());
+        setRefreshJitterMilliseconds(builder.getRefreshJitterMilliseconds());
+        setFailureBackoffMilliseconds(builder.getFailureBackoffMilliseconds());
+        setRefreshExecutor(builder.getRefreshExecutor());
+        setScheduler(builder.getScheduler());
         start();
     }
 
     @Override
     protected void doLoad() {
-        final DefaultMapBuilder<K, V> builder = new DefaultMapBuilder<>(getId());
-        loader.load(builder);
-        delegate = builder.build();
+        delegate = LoadCoalescer.load(loader, getId(), () -> {
+            final DefaultMapBuilder<K, V> builder = new DefaultMapBuilder<>(getId());
+            loader.load(builder);
+            return builder.build();
+        }, HashMap::new);
     }
 
     @Override
@@ -105,7 +113,7 @@ public class ReadOnlyExpiringHashMap<K, V> extends AbstractReadOnlyExpiringColle
 
     @Override
     protected void doClear() {
-        delegate.clear();
+        delegate = new HashMap<>();
     }
 
     @Override
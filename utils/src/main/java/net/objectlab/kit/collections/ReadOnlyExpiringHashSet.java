@@ -15,7 +15,7 @@ import java.util.Set;
 public class ReadOnlyExpiringHashSet<T> extends AbstractReadOnlyExpiringCollection implements ReadOnlyExpiringSet<T> {
     private static final String COLLECTION_IS_IMMUTABLE = "Collection is immutable";
     private final SetLoader<T> loader;
-    private Set<T> delegate = new HashSet<>();
+    private volatile Set<T> delegate = new HashSet<>();
 
     public ReadOnlyExpiringHashSet(final ReadOnlyExpiringHashSetBuilder<T> builder) {
         this.loader = builder.getLoader();
@@ -25,14 +25,22 @@ public class ReadOnlyExpiringHashSet<T> extends AbstractReadOnlyExpiringCollecti
         setLoadOnFirstAccess(builder.isLoadOnFirstAccess());
         setReloadWhenExpired(builder.isReloadWhenExpired());
         setTimeProvider(builder.getTimeProvider());
+        setRefreshInBackground(builder.isRefreshInBackground());
+        setRefreshAheadMilliseconds(builder.getRefreshAheadMilliseconds());
+        setRefreshJitterMilliseconds(builder.getRefreshJitterMilliseconds());
+        setFailureBackoffMilliseconds(builder.getFailureBackoffMilliseconds());
+        setRefreshExecutor(builder.getRefreshExecutor());
+        setScheduler(builder.getScheduler());
         start();
     }
 
     @Override
     protected void doLoad() {
-        final DefaultSetBuilder<T> builder = new DefaultSetBuilder<>(getId());
-        loader.load(builder);
-        delegate = builder.build();
+        delegate = LoadCoalescer.load(loader, getId(), () -> {
+            final DefaultSetBuilder<T> builder = new DefaultSetBuilder<>(getId());
+            loader.load(builder);
+            return builder.build();
+        }, HashSet::new);
     }
 
     @Override
@@ -110,7 +118,7 @@ public class ReadOnlyExpiringHashSet<T> extends AbstractReadOnlyExpiringCollecti
 
     @Override
     protected void doClear() {
-        delegate.clear();
+        delegate = new HashSet<>();
     }
 
     @Override
@@ -35,6 +35,7 @@ package net.objectlab.kit.util;
 import java.io.Serializable;
 import java.math.BigDecimal;
 import java.util.Optional;
+import java.util.stream.Collector;
 
 /**
  * @author Benoit
@@ -81,6 +82,29 @@ public final class Average implements Serializable {
         return this;
     }
 
+    /**
+     * Combine the other average into this one, e.g. partial averages of a parallel stream.
+     * @since 1.4.4
+     */
+    public Average merge(final Average other) {
+        if (other != null && other.count > 0) {
+            sum.add(other.getTotal());
+            determineMinMax(other.maximum);
+            determineMinMax(other.minimum);
+            count += other.count;
+        }
+        return this;
+    }
+
+    /**
+     * @return a collector averaging BigDecimals, suitable for parallel streams.
+     * @since 1.4.4
+     */
+    public static Collector<BigDecimal, Average, Average> collector() {
+        return Collector.of(Average::new, Average::add, Average::merge, Collector.Characteristics.UNORDERED,
+                Collector.Characteristics.IDENTITY_FINISH);
+    }
+
     public BigDecimal getTotal() {
         return sum.getTotal();
     }
@@ -1,49 +1,91 @@
 package net.objectlab.kit.util;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
 /**
  * Simple counter of any type with total and percentage.  It is thread-safe.
+ * The counts are kept in LongAdders so that many threads can add concurrently without contending on a single value.
  * @author xhensevalb
  *
  * @param <T> will be used as the key.
  */
 public class Counter<T> {
-    private Map<T, AtomicInteger> map = new ConcurrentHashMap<>();
-    private AtomicInteger total = new AtomicInteger();
+    private final Map<T, LongAdder> map = new ConcurrentHashMap<>();
+    private final LongAdder total = new LongAdder();
+
+    private LongAdder counter(final T t) {
+        // avoid locking in computeIfAbsent once the key exists
+        final LongAdder adder = map.get(t);
+        return adder != null ? adder : map.computeIfAbsent(t, k -> new LongAdder());
+    }
 
     public Counter<T> add(T t) {
-        map.computeIfAbsent(t, k -> new AtomicInteger()).incrementAndGet();
-        total.incrementAndGet();
+        counter(t).increment();
+        total.increment();
         return this;
     }
 
     public Counter<T> add(T t, int increment) {
-        map.computeIfAbsent(t, k -> new AtomicInteger()).addAndGet(increment);
-        total.addAndGet(increment);
+        return add(t, (long) increment);
+    }
+
+    /**
+     * @since 1.4.4
+     */
+    public Counter<T> add(T t, long increment) {
+        counter(t).add(increment);
+        total.add(increment);
         return this;
     }
 
+    /**
+     * @throws ArithmeticException if the count does not fit in an int, see getLongCount.
+     */
     public int getCount(T t) {
-        final AtomicInteger ai = map.get(t);
-        return ai != null ? ai.get() : 0;
+        return Math.toIntExact(getLongCount(t));
     }
 
+    /**
+     * @since 1.4.4
+     */
+    public long getLongCount(T t) {
+        final LongAdder adder = map.get(t);
+        return adder != null ? adder.sum() : 0L;
+    }
+
+    /**
+     * @throws ArithmeticException if the total does not fit in an int, see getLongTotal.
+     */
     public int getTotal() {
-        return total.get();
+        return Math.toIntExact(getLongTotal());
+    }
+
+    /**
+     * @since 1.4.4
+     */
+    public long getLongTotal() {
+        return total.sum();
     }
 
     public BigDecimal getPercentage(T t) {
-        int to = getTotal();
-        return to != 0 ? BigDecimalUtil.divide(8, BigDecimal.valueOf(getCount(t)), BigDecimal.valueOf(getTotal()), BigDecimal.ROUND_HALF_UP)
+        return percentage(getLongCount(t), getLongTotal());
+    }
+
+    private static BigDecimal percentage(final long count, final long total) {
+        return total != 0 ? BigDecimalUtil.divide(8, BigDecimal.valueOf(count), BigDecimal.valueOf(total), BigDecimal.ROUND_HALF_UP)
                 : BigDecimal.ZERO;
     }
 
@@ -51,12 +93,59 @@ public class Counter<T> {
     @AllArgsConstructor
     public static class Stats<T> {
         private T key;
-        private int count;
+        @Getter(AccessLevel.NONE)
+        private long count;
         private BigDecimal percentage;
+
+        /**
+         * @throws ArithmeticException if the count does not fit in an int, see getLongCount.
+         */
+        public int getCount() {
+            return Math.toIntExact(count);
+        }
+
+        /**
+         * @since 1.4.4
+         */
+        public long getLongCount() {
+            return count;
+        }
     }
 
     public List<Stats> getOrderedDecStats() {
-        return map.entrySet().stream().map(e -> new Stats(e.getKey(), e.getValue().get(), getPercentage(e.getKey())))
-                .sorted((o1, o2) -> Integer.compare(o2.getCount(), o1.getCount())).collect(Collectors.toList());
+        final long to = getLongTotal();
+        return map.entrySet().stream().map(e -> {
+            final long count = e.getValue().sum();
+            return new Stats(e.getKey(), count, percentage(count, to));
+        }).sorted((o1, o2) -> Long.compare(o2.getLongCount(), o1.getLongCount())).collect(Collectors.toList());
+    }
+
+    /**
+     * The k keys with the highest counts, in decreasing order, selected with a bounded heap (O(n log k)) rather than
+     * sorting all keys; the percentage is only calculated for those k keys.
+     * @since 1.4.4
+     */
+    public List<Stats<T>> getTopK(final int k) {
+        if (k <= 0) {
+            return new ArrayList<>();
+        }
+        final PriorityQueue<Pair<T, Long>> heap = new PriorityQueue<>(k + 1, Comparator.comparingLong(Pair::getElement2));
+        for (final Map.Entry<T, LongAdder> e : map.entrySet()) {
+            final long count = e.getValue().sum();
+            if (heap.size() < k) {
+                heap.add(new Pair<>(e.getKey(), count));
+            } else if (count > heap.peek().getElement2()) {
+                heap.poll();
+                heap.add(new Pair<>(e.getKey(), count));
+            }
+        }
+        final long to = getLongTotal();
+        final List<Stats<T>> top = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            final Pair<T, Long> p = heap.poll();
+            top.add(new Stats<>(p.getElement1(), p.getElement2(), percentage(p.getElement2(), to)));
+        }
+        Collections.reverse(top);
+        return top;
     }
 }
@@ -0,0 +1,204 @@
+package net.objectlab.kit.util;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.stream.Collector;
+
+/**
+ * Constant-memory alternative to {@link PopulationStandardDeviation}: data points are not kept, the statistics are
+ * updated as each value is added and accumulators can be merged, e.g. by the {@link #collector(Precision)} of a parallel
+ * stream.
+ *
+ * <ul>
+ * <li>EXACT keeps the exact BigDecimal sum and sum of squares, the variance (n.sumSq - sum^2) / n^2 is only rounded (to
+ * 8 decimals) when queried.</li>
+ * <li>DOUBLE uses Welford's online algorithm (Chan et al. to merge) in double, much faster for long series.</li>
+ * </ul>
+ *
+ * @author Benoit Xhenseval
+ * @since 1.4.4
+ */
+public class StreamingStandardDeviation {
+    private static final int SCALE = 8;
+
+    public enum Precision {
+        EXACT, DOUBLE
+    }
+
+    private final Precision precision;
+    private long count;
+    private BigDecimal minimum;
+    private BigDecimal maximum;
+    // EXACT
+    private BigDecimal sum = BigDecimal.ZERO;
+    private BigDecimal sumOfSquares = BigDecimal.ZERO;
+    // DOUBLE
+    private double mean;
+    private double m2;
+    private double doubleSum;
+
+    public StreamingStandardDeviation() {
+        this(Precision.EXACT);
+    }
+
+    public StreamingStandardDeviation(final Precision precision) {
+        this.precision = precision;
+    }
+
+    /**
+     * @return a collector accumulating BigDecimals (nulls are ignored), suitable for parallel streams.
+     */
+    public static Collector<BigDecimal, StreamingStandardDeviation, StreamingStandardDeviation> collector(final Precision precision) {
+        return Collector.of(() -> new StreamingStandardDeviation(precision), StreamingStandardDeviation::add, StreamingStandardDeviation::merge,
+                Collector.Characteristics.UNORDERED, Collector.Characteristics.IDENTITY_FINISH);
+    }
+
+    public Precision getPrecision() {
+        return precision;
+    }
+
+    public StreamingStandardDeviation add(final BigDecimal... values) {
+        if (values != null) {
+            for (final BigDecimal value : values) {
+                add(value);
+            }
+        }
+        return this;
+    }
+
+    public StreamingStandardDeviation add(final BigDecimal value) {
+        if (value == null) {
+            return this;
+        }
+        count++;
+        if (maximum == null || value.compareTo(maximum) > 0) {
+            maximum = value;
+        }
+        if (minimum == null || value.compareTo(minimum) < 0) {
+            minimum = value;
+        }
+        if (precision == Precision.EXACT) {
+            sum = sum.add(value);
+            sumOfSquares = sumOfSquares.add(value.multiply(value));
+        } else {
+            add(value.doubleValue());
+        }
+        return this;
+    }
+
+    private void add(final double value) {
+        doubleSum += value;
+        final double delta = value - mean;
+        mean += delta / count;
+        m2 += delta * (value - mean);
+    }
+
+    /**
+     * Combine the other accumulator (same precision) into this one.
+     */
+    public StreamingStandardDeviation merge(final StreamingStandardDeviation other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("Cannot merge " + other.precision + " into " + precision);
+        }
+        if (other.count == 0) {
+            return this;
+        }
+        if (count == 0) {
+            minimum = other.minimum;
+            maximum = other.maximum;
+        } else {
+            minimum = minimum.compareTo(other.minimum) <= 0 ? minimum : other.minimum;
+            maximum = maximum.compareTo(other.maximum) >= 0 ? maximum : other.maximum;
+        }
+        if (precision == Precision.EXACT) {
+            sum = sum.add(other.sum);
+            sumOfSquares = sumOfSquares.add(other.sumOfSquares);
+        } else {
+            final long total = count + other.count;
+            final double delta = other.mean - mean;
+            m2 += other.m2 + delta * delta * count * other.count / total;
+            mean += delta * other.count / total;
+            doubleSum += other.doubleSum;
+        }
+        count += other.count;
+        return this;
+    }
+
+    public long getDataPoints() {
+        return count;
+    }
+
+    public Optional<BigDecimal> getMinimum() {
+        return Optional.ofNullable(minimum);
+    }
+
+    public Optional<BigDecimal> getMaximum() {
+        return Optional.ofNullable(maximum);
+    }
+
+    public BigDecimal getTotal() {
+        return precision == Precision.EXACT ? sum : BigDecimal.valueOf(doubleSum);
+    }
+
+    /**
+     * @return the average (8 decimals), null if no data point.
+     */
+    public BigDecimal getAverage() {
+        if (count == 0) {
+            return null;
+        }
+        if (precision == Precision.EXACT) {
+            return sum.divide(BigDecimal.valueOf(count), SCALE, BigDecimal.ROUND_HALF_UP);
+        }
+        return BigDecimalUtil.setScale(BigDecimal.valueOf(mean), SCALE);
+    }
+
+    /**
+     * @return the population variance (8 decimals), null if no data point.
+     */
+    public BigDecimal getVariance() {
+        return variance(count);
+    }
+
+    /**
+     * @return the sample variance (8 decimals), null if less than 2 data points.
+     */
+    public BigDecimal getSampleVariance() {
+        return variance(count - 1);
+    }
+
+    private BigDecimal variance(final long divisor) {
+        if (divisor <= 0) {
+            return null;
+        }
+        if (precision == Precision.EXACT) {
+            final BigDecimal n = BigDecimal.valueOf(count);
+            final BigDecimal sumOfSquaredDifferencesTimesN = n.multiply(sumOfSquares).subtract(sum.multiply(sum));
+            return sumOfSquaredDifferencesTimesN.divide(n.multiply(BigDecimal.valueOf(divisor)), SCALE, BigDecimal.ROUND_HALF_UP);
+        }
+        return BigDecimalUtil.setScale(BigDecimal.valueOf(Math.max(0.0, m2 / divisor)), SCALE);
+    }
+
+    /**
+     * @return the population standard deviation (8 decimals), null if no data point.
+     */
+    public BigDecimal getStandardDeviation() {
+        return sqrt(getVariance());
+    }
+
+    /**
+     * @return the sample standard deviation (8 decimals), null if less than 2 data points.
+     */
+    public BigDecimal getSampleStandardDeviation() {
+        return sqrt(getSampleVariance());
+    }
+
+    private static BigDecimal sqrt(final BigDecimal variance) {
+        return variance == null ? null : BigDecimalUtil.setScale(BigDecimal.valueOf(Math.sqrt(variance.doubleValue())), SCALE);
+    }
+
+    @Override
+    public String toString() {
+        return StringUtil.concatWithSpaces("Points", getDataPoints(), "Avg:", getAverage(), "StdDev:", getStandardDeviation());
+    }
+}
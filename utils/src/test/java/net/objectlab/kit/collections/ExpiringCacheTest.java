@@ -0,0 +1,230 @@
+/**
+ *
+ */
+package net.objectlab.kit.collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author Benoit Xhenseval
+ *
+ */
+public class ExpiringCacheTest implements EntryLoader<String, Integer>, TimeProvider {
+    private final AtomicInteger loadCount = new AtomicInteger();
+    private long time;
+
+    @Before
+    public void reset() {
+        loadCount.set(0);
+        time = System.currentTimeMillis();
+    }
+
+    @Test
+    public void expireAfterWrite() {
+        final ExpiringCache<String, Integer> cache = new ExpiringCache<>(new ExpiringCacheBuilder<>(this).expireAfterWriteMilliseconds(1000)
+                .timeProvider(this).id("Lengths"));
+
+        assertEquals(Integer.valueOf(5), cache.get("Hello"));
+        assertEquals(Integer.valueOf(5), cache.get("Hello"));
+        assertEquals(1, loadCount.get());
+
+        time += 600;
+        assertEquals(Integer.valueOf(2), cache.get("Yo"));
+        time += 401;
+        // Hello is expired, Yo is not
+        assertNull(cache.getIfPresent("Hello"));
+        assertEquals(Integer.valueOf(2), cache.getIfPresent("Yo"));
+        assertEquals(Integer.valueOf(5), cache.get("Hello"));
+        assertEquals(3, loadCount.get());
+        assertEquals(1, cache.getExpirationCount());
+        assertEquals(2, cache.getHitCount());
+        assertEquals(4, cache.getMissCount());
+    }
+
+    @Test
+    public void expireAfterAccess() {
+        final ExpiringCache<String, Integer> cache = new ExpiringCache<>(new ExpiringCacheBuilder<>(this).expireAfterAccessMilliseconds(1000)
+                .timeProvider(this));
+
+        cache.get("Hot");
+        cache.get("Cold");
+        for (int i = 0; i < 5; i++) {
+            time += 500;
+            assertEquals(Integer.valueOf(3), cache.get("Hot"));
+        }
+        assertEquals(2, cache.size());
+        cache.cleanUp();
+        assertEquals(1, cache.size());
+        assertNull(cache.getIfPresent("Cold"));
+        assertEquals(2, loadCount.get());
+    }
+
+    @Test
+    public void maximumSizeEvictsLeastRecentlyUsed() {
+        final ExpiringCache<String, Integer> cache = new ExpiringCache<>(new ExpiringCacheBuilder<>(this).maximumSize(3).concurrencyLevel(1)
+                .timeProvider(this));
+
+        cache.get("A");
+        cache.get("BB");
+        cache.get("CCC");
+        cache.get("A");
+        cache.get("DDDD");
+        assertEquals(3, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        assertNull("least recently used", cache.getIfPresent("BB"));
+        assertEquals(Integer.valueOf(1), cache.getIfPresent("A"));
+
+        final ExpiringCache<String, Integer> segmented = new ExpiringCache<>(new ExpiringCacheBuilder<>(this).maximumSize(100)
+                .timeProvider(this));
+        for (int i = 0; i < 1000; i++) {
+            segmented.get("K" + i);
+        }
+        assertEquals(100, segmented.size());
+        assertEquals(900, segmented.getEvictionCount());
+    }
+
+    @Test
+    public void maximumSizeZeroCachesNothing() {
+        final ExpiringCache<String, Integer> cache = new ExpiringCache<>(new ExpiringCacheBuilder<>(this).maximumSize(0).timeProvider(this));
+        assertEquals(Integer.valueOf(1), cache.get("A"));
+        assertEquals(Integer.valueOf(1), cache.get("A"));
+        cache.put("B", 5);
+        assertEquals(0, cache.size());
+        assertNull(cache.getIfPresent("B"));
+        assertEquals(2, loadCount.get());
+    }
+
+    @Test
+    public void writeDuringLoadWins() {
+        final AtomicReference<ExpiringCache<String, Integer>> ref = new AtomicReference<>();
+        final ExpiringCache<String, Integer> cache = new ExpiringCache<>(new ExpiringCacheBuilder<String, Integer>(key -> {
+            if ("PUT".equals(key)) {
+                ref.get().put(key, 99);
+            } else {
+                ref.get().invalidate(key);
+            }
+            return key.length();
+        }).timeProvider(this));
+        ref.set(cache);
+
+        assertEquals("the caller still gets the loaded value", Integer.valueOf(3), cache.get("PUT"));
+        assertEquals("put during the load", Integer.valueOf(99), cache.getIfPresent("PUT"));
+        assertEquals(Integer.valueOf(10), cache.get("INVALIDATE"));
+        assertNull("invalidated during the load", cache.getIfPresent("INVALIDATE"));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void loadFailureAndNullAreNotCached() {
+        final ExpiringCache<String, Integer> cache = new ExpiringCache<>(new ExpiringCacheBuilder<>(this).timeProvider(this));
+        try {
+            cache.get("FAIL");
+            fail("should propagate the loader exception");
+        } catch (final IllegalStateException e) {
+            assertEquals(1, cache.getLoadFailureCount());
+        }
+        assertNull(cache.get(""));
+        assertNull(cache.get(""));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void concurrentGetsLoadOnce() throws Exception {
+        final ExpiringCache<String, Integer> cache = new ExpiringCache<>(new ExpiringCacheBuilder<String, Integer>(key -> {
+            loadCount.incrementAndGet();
+            try {
+                Thread.sleep(100);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return key.length();
+        }));
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<CompletableFuture<Integer>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(CompletableFuture.supplyAsync(() -> cache.get("Shared"), executor));
+            }
+            for (final CompletableFuture<Integer> f : futures) {
+                assertEquals(Integer.valueOf(6), f.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, loadCount.get());
+            assertTrue(cache.getHitRate() < 1.0);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void getAllLoadsMissingKeysInOneCall() {
+        final List<Collection<String>> bulkLoads = new ArrayList<>();
+        final ExpiringCache<String, Integer> cache = new ExpiringCache<>(new ExpiringCacheBuilder<>(new EntryLoader<String, Integer>() {
+            @Override
+            public Integer load(final String key) {
+                return ExpiringCacheTest.this.load(key);
+            }
+
+            @Override
+            public Map<String, Integer> loadAll(final Collection<String> keys) {
+                bulkLoads.add(new ArrayList<>(keys));
+                return EntryLoader.super.loadAll(keys);
+            }
+        }).timeProvider(this));
+
+        assertEquals(Integer.valueOf(3), cache.get("ABC"));
+        final Map<String, Integer> values = cache.getAll(Arrays.asList("AB", "ABC", "", "A", "AB"));
+
+        assertEquals(Arrays.asList("AB", "ABC", "A"), new ArrayList<>(values.keySet()));
+        assertEquals(Arrays.asList(Arrays.asList("AB", "", "A")), bulkLoads);
+        assertEquals(3, cache.size());
+        assertEquals(2, cache.getLoadCount());
+
+        assertEquals(values, cache.getAll(Arrays.asList("AB", "ABC", "A")));
+        assertEquals(1, bulkLoads.size());
+    }
+
+    @Test
+    public void getAllFailureIsNotCached() {
+        final ExpiringCache<String, Integer> cache = new ExpiringCache<>(new ExpiringCacheBuilder<>(this).timeProvider(this));
+        try {
+            cache.getAll(Arrays.asList("A", "FAIL"));
+            fail("should propagate the loader exception");
+        } catch (final IllegalStateException e) {
+            assertEquals(1, cache.getLoadFailureCount());
+        }
+        assertEquals(0, cache.size());
+        assertEquals(Integer.valueOf(1), cache.get("A"));
+    }
+
+    @Override
+    public Integer load(final String key) {
+        loadCount.incrementAndGet();
+        if ("FAIL".equals(key)) {
+            throw new IllegalStateException("Cannot load");
+        }
+        return key.isEmpty() ? null : key.length();
+    }
+
+    @Override
+    public long getCurrentTimeMillis() {
+        return time;
+    }
+}
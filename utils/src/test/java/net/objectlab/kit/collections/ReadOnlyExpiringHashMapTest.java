@@ -8,6 +8,14 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.junit.Before;
 import org.junit.Test;
 
@@ -19,13 +27,106 @@ public class ReadOnlyExpiringHashMapTest implements MapLoader<String, Integer>,
 
     private int reloadCount;
     private long time;
+    private boolean failLoad;
+    private final List<Runnable> refreshTasks = new ArrayList<>();
 
     @Before
     public void reset() {
         reloadCount = 0;
+        failLoad = false;
+        refreshTasks.clear();
         time = System.currentTimeMillis();
     }
 
+    private ReadOnlyExpiringMap<String, Integer> backgroundMap(final long refreshAhead) {
+        final ReadOnlyExpiringHashMapBuilder<String, Integer> builder = new ReadOnlyExpiringHashMapBuilder<>(this);
+        builder.expiryTimeoutMilliseconds(1000);
+        builder.reloadOnExpiry(false);
+        builder.reloadWhenExpired(true);
+        builder.refreshInBackground(true);
+        builder.refreshAheadMilliseconds(refreshAhead);
+        builder.failureBackoffMilliseconds(100);
+        builder.refreshExecutor(refreshTasks::add);
+        builder.timeProvider(this);
+        builder.id("Greetings");
+        return new ReadOnlyExpiringHashMap<>(builder);
+    }
+
+    private void runRefreshTasks() {
+        final List<Runnable> tasks = new ArrayList<>(refreshTasks);
+        refreshTasks.clear();
+        tasks.forEach(Runnable::run);
+    }
+
+    @Test
+    public void backgroundRefreshKeepsSnapshot() {
+        final ReadOnlyExpiringMap<String, Integer> ims = backgroundMap(0);
+
+        // first load is done by the reader
+        assertEquals(Integer.valueOf(2), ims.get("Yo"));
+        assertEquals(1, reloadCount);
+        assertTrue(refreshTasks.isEmpty());
+
+        time += 1001;
+        // expired: readers still see the data, a single refresh is submitted
+        assertEquals(Integer.valueOf(2), ims.get("Yo"));
+        assertEquals(2, ims.size());
+        assertEquals(1, reloadCount);
+        assertEquals(1, refreshTasks.size());
+
+        runRefreshTasks();
+        assertEquals(2, reloadCount);
+        assertEquals(Integer.valueOf(2), ims.get("Yo"));
+        assertTrue(refreshTasks.isEmpty());
+    }
+
+    @Test
+    public void backgroundRefreshAhead() {
+        final ReadOnlyExpiringMap<String, Integer> ims = backgroundMap(200);
+        assertEquals(2, ims.size());
+
+        time += 700;
+        assertEquals(2, ims.size());
+        assertTrue(refreshTasks.isEmpty());
+
+        time += 101;
+        assertEquals(2, ims.size());
+        assertEquals(1, refreshTasks.size());
+        runRefreshTasks();
+        assertEquals(2, reloadCount);
+    }
+
+    @Test
+    public void backgroundRefreshFailureBackoff() {
+        final ReadOnlyExpiringMap<String, Integer> ims = backgroundMap(0);
+        assertEquals(2, ims.size());
+
+        failLoad = true;
+        time += 1001;
+        assertEquals(2, ims.size());
+        runRefreshTasks();
+        assertEquals(1, reloadCount);
+
+        // previous snapshot kept, no retry before the backoff (100ms)
+        time += 50;
+        assertEquals(Integer.valueOf(1), ims.get("Hello"));
+        assertTrue(refreshTasks.isEmpty());
+
+        // second failure doubles the backoff
+        time += 51;
+        assertEquals(2, ims.size());
+        runRefreshTasks();
+        time += 150;
+        assertEquals(2, ims.size());
+        assertTrue(refreshTasks.isEmpty());
+
+        failLoad = false;
+        time += 51;
+        assertEquals(2, ims.size());
+        runRefreshTasks();
+        assertEquals(2, reloadCount);
+    }
+
     @Test
     public void basicConstructorNoReload() {
         final ReadOnlyExpiringHashMapBuilder<String, Integer> builder = new ReadOnlyExpiringHashMapBuilder<>(this);
@@ -217,9 +318,107 @@ public class ReadOnlyExpiringHashMapTest implements MapLoader<String, Integer>,
         assertEquals(Integer.valueOf(2), ims.get("Yo"));
     }
 
+    @Test
+    public void sharedSchedulerAndClose() {
+        final ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1);
+        scheduler.setRemoveOnCancelPolicy(true);
+        try {
+            final ReadOnlyExpiringHashMapBuilder<String, Integer> builder = new ReadOnlyExpiringHashMapBuilder<>(this);
+            builder.expiryTimeoutMilliseconds(60000);
+            builder.loadOnFirstAccess(false);
+            builder.reloadOnExpiry(true);
+            builder.scheduler(scheduler);
+            builder.timeProvider(this);
+            builder.id("Greetings");
+
+            try (ReadOnlyExpiringMap<String, Integer> first = new ReadOnlyExpiringHashMap<>(builder);
+                    ReadOnlyExpiringMap<String, Integer> second = new ReadOnlyExpiringHashMap<>(builder)) {
+                assertEquals(2, first.size());
+                assertEquals(2, second.size());
+            }
+            assertTrue("reloads cancelled on close", scheduler.getQueue().isEmpty());
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Test
+    public void scheduledReloadRunsOnRefreshExecutorAndReportsFailure() throws Exception {
+        final ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1);
+        try {
+            final ReadOnlyExpiringHashMapBuilder<String, Integer> builder = new ReadOnlyExpiringHashMapBuilder<>(this);
+            builder.expiryTimeoutMilliseconds(60000);
+            builder.reloadOnExpiry(true);
+            builder.scheduler(scheduler);
+            builder.refreshExecutor(refreshTasks::add);
+            builder.timeProvider(this);
+            builder.id("Greetings");
+            failLoad = true;
+            try (ReadOnlyExpiringMap<String, Integer> ims = new ReadOnlyExpiringHashMap<>(builder)) {
+                // the scheduler only hands the reload over
+                scheduler.submit(() -> { }).get(5, TimeUnit.SECONDS);
+                assertEquals(1, refreshTasks.size());
+                assertEquals(0, reloadCount);
+
+                final List<Throwable> reported = new ArrayList<>();
+                final Thread refresh = new Thread(this::runRefreshTasks);
+                refresh.setUncaughtExceptionHandler((t, e) -> reported.add(e));
+                refresh.start();
+                refresh.join(5000);
+                assertEquals(1, reported.size());
+                assertTrue(reported.get(0) instanceof IllegalStateException);
+            }
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Test
+    public void concurrentLoadsAreCoalesced() throws Exception {
+        final AtomicInteger loads = new AtomicInteger();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final MapLoader<String, Integer> slowLoader = builder -> {
+            loads.incrementAndGet();
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            builder.put("Hello", 1);
+        };
+        final ReadOnlyExpiringHashMapBuilder<String, Integer> builder = new ReadOnlyExpiringHashMapBuilder<>(slowLoader);
+        builder.expiryTimeoutMilliseconds(1000);
+        builder.reloadOnExpiry(false);
+        builder.reloadWhenExpired(true);
+        builder.timeProvider(this);
+        builder.id("Shared");
+        final ReadOnlyExpiringMap<String, Integer> first = new ReadOnlyExpiringHashMap<>(builder);
+        final ReadOnlyExpiringMap<String, Integer> second = new ReadOnlyExpiringHashMap<>(builder);
+
+        final CompletableFuture<Integer> firstSize = CompletableFuture.supplyAsync(first::size);
+        started.await(5, TimeUnit.SECONDS);
+        final CompletableFuture<Integer> secondSize = CompletableFuture.supplyAsync(second::size);
+        // release the loader only once the second reader waits for it
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (LoadCoalescer.getWaitingCount(slowLoader, "Shared") == 0 && System.currentTimeMillis() < deadline) {
+            Thread.yield();
+        }
+        assertEquals("second reader waiting", 1, LoadCoalescer.getWaitingCount(slowLoader, "Shared"));
+        release.countDown();
+
+        assertEquals(Integer.valueOf(1), firstSize.get(5, TimeUnit.SECONDS));
+        assertEquals(Integer.valueOf(1), secondSize.get(5, TimeUnit.SECONDS));
+        assertEquals(1, loads.get());
+    }
+
     @Override
     public void load(final MapBuilder<String, Integer> builder) {
         assertEquals("Greetings", builder.getId());
+        if (failLoad) {
+            throw new IllegalStateException("Source not available");
+        }
         builder.put("Hello", 1);
         builder.put("Yo", 2);
         reloadCount++;
@@ -3,6 +3,8 @@ package net.objectlab.kit.util;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.IntStream;
 
 import org.junit.Test;
 
@@ -55,4 +57,51 @@ public class CounterTest {
         assertThat(c.getPercentage("ABC")).isEqualByComparingTo(new BigDecimal("0.75"));
         assertThat(c.getPercentage("XYZ")).isEqualByComparingTo(new BigDecimal("0.25"));
     }
+
+    @Test
+    public void testTopK() {
+        Counter<String> c = new Counter<>();
+        c.add("A", 5).add("B", 1).add("C", 10).add("D", 3).add("E", 1);
+        final List<Counter.Stats<String>> top = c.getTopK(3);
+        assertThat(top).extracting("key").containsExactly("C", "A", "D");
+        assertThat(top.get(0).getPercentage()).isEqualByComparingTo(new BigDecimal("0.5"));
+        assertThat(c.getTopK(10)).hasSize(5);
+        assertThat(c.getTopK(0)).isEmpty();
+    }
+
+    @Test
+    public void testStatsAboveIntRange() {
+        Counter<String> c = new Counter<>();
+        c.add("BIG", 3_000_000_000L).add("SMALL", 2_000_000_000L);
+        assertThat(c.getTopK(2)).extracting("key").containsExactly("BIG", "SMALL");
+        assertThat(c.getTopK(1).get(0).getLongCount()).isEqualTo(3_000_000_000L);
+        final List<Counter.Stats> stats = c.getOrderedDecStats();
+        assertThat(stats).extracting("key").containsExactly("BIG", "SMALL");
+        assertThat(stats.get(0).getLongCount()).isEqualTo(3_000_000_000L);
+        assertThat(stats.get(0).getPercentage()).isEqualByComparingTo(new BigDecimal("0.6"));
+        assertThat(stats.get(1).getCount()).isEqualTo(2_000_000_000);
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void testIntCountOverflow() {
+        new Counter<String>().add("BIG", 3_000_000_000L).getCount("BIG");
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void testIntTotalOverflow() {
+        new Counter<String>().add("A", 2_000_000_000L).add("B", 2_000_000_000L).getTotal();
+    }
+
+    @Test
+    public void testLongTotalAndConcurrentAdds() {
+        Counter<String> c = new Counter<>();
+        c.add("BIG", 3_000_000_000L);
+        assertThat(c.getLongTotal()).isEqualTo(3_000_000_000L);
+        assertThat(c.getLongCount("BIG")).isEqualTo(3_000_000_000L);
+
+        Counter<Integer> concurrent = new Counter<>();
+        IntStream.range(0, 100_000).parallel().forEach(i -> concurrent.add(i % 7));
+        assertThat(concurrent.getTotal()).isEqualTo(100_000);
+        assertThat(IntStream.range(0, 7).map(concurrent::getCount).sum()).isEqualTo(100_000);
+    }
 }
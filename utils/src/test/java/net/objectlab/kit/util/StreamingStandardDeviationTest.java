@@ -0,0 +1,87 @@
+package net.objectlab.kit.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import net.objectlab.kit.util.StreamingStandardDeviation.Precision;
+
+public class StreamingStandardDeviationTest {
+
+    @Test
+    public void testNoPoint() {
+        final StreamingStandardDeviation stdDev = new StreamingStandardDeviation();
+        assertThat(stdDev.getDataPoints()).isEqualTo(0);
+        assertThat(stdDev.getAverage()).isNull();
+        assertThat(stdDev.getStandardDeviation()).isNull();
+        assertThat(stdDev.getSampleStandardDeviation()).isNull();
+        assertThat(stdDev.getTotal()).isEqualByComparingTo("0");
+        assertThat(stdDev.getMinimum().isPresent()).isFalse();
+    }
+
+    @Test
+    public void testKnownValues() {
+        for (final Precision precision : Precision.values()) {
+            final StreamingStandardDeviation stdDev = new StreamingStandardDeviation(precision);
+            stdDev.add(new BigDecimal("2"), new BigDecimal("4"), new BigDecimal("4"), new BigDecimal("4"), new BigDecimal("5"),
+                    new BigDecimal("5"), new BigDecimal("7"), new BigDecimal("9"), null);
+            assertThat(stdDev.getDataPoints()).isEqualTo(8);
+            assertThat(stdDev.getAverage()).isEqualByComparingTo("5");
+            assertThat(stdDev.getTotal()).isEqualByComparingTo("40");
+            assertThat(stdDev.getVariance()).isEqualByComparingTo("4");
+            assertThat(stdDev.getStandardDeviation()).isEqualByComparingTo("2");
+            assertThat(stdDev.getSampleStandardDeviation()).isEqualByComparingTo("2.13808993");
+            assertThat(stdDev.getMinimum().get()).isEqualByComparingTo("2");
+            assertThat(stdDev.getMaximum().get()).isEqualByComparingTo("9");
+        }
+    }
+
+    @Test
+    public void testSameAsPopulationAndSampleStandardDeviation() {
+        final Random random = new Random(7);
+        final PopulationStandardDeviation population = new PopulationStandardDeviation();
+        final SampleStandardDeviation sample = new SampleStandardDeviation();
+        final StreamingStandardDeviation exact = new StreamingStandardDeviation(Precision.EXACT);
+        final StreamingStandardDeviation fast = new StreamingStandardDeviation(Precision.DOUBLE);
+        for (int i = 0; i < 1000; i++) {
+            final BigDecimal value = BigDecimal.valueOf(100000 + random.nextInt(2000), 3);
+            population.add(value);
+            sample.add(value);
+            exact.add(value);
+            fast.add(value);
+        }
+        assertThat(exact.getStandardDeviation()).isEqualByComparingTo(population.getStandardDeviation());
+        assertThat(exact.getSampleStandardDeviation()).isEqualByComparingTo(sample.getStandardDeviation());
+        assertThat(fast.getStandardDeviation().subtract(population.getStandardDeviation()).abs()).isLessThan(new BigDecimal("0.000001"));
+        assertThat(exact.getAverage()).isEqualByComparingTo(population.getAverage());
+    }
+
+    @Test
+    public void testParallelCollectorSameAsSequential() {
+        final Random random = new Random(11);
+        final List<BigDecimal> values = new ArrayList<>();
+        for (int i = 0; i < 100000; i++) {
+            values.add(BigDecimal.valueOf(random.nextInt(1000000), 4));
+        }
+        for (final Precision precision : Precision.values()) {
+            final StreamingStandardDeviation sequential = values.stream().collect(StreamingStandardDeviation.collector(precision));
+            final StreamingStandardDeviation parallel = values.parallelStream().collect(StreamingStandardDeviation.collector(precision));
+            assertThat(parallel.getDataPoints()).isEqualTo(values.size());
+            assertThat(parallel.getMinimum()).isEqualTo(sequential.getMinimum());
+            assertThat(parallel.getMaximum()).isEqualTo(sequential.getMaximum());
+            if (precision == Precision.EXACT) {
+                assertThat(parallel.getStandardDeviation()).isEqualTo(sequential.getStandardDeviation());
+            } else {
+                assertThat(parallel.getStandardDeviation().subtract(sequential.getStandardDeviation()).abs()).isLessThan(new BigDecimal("0.000001"));
+            }
+        }
+        final Average average = values.parallelStream().collect(Average.collector());
+        assertThat(average.getDataPoints()).isEqualTo(values.size());
+        assertThat(average.getTotal()).isEqualByComparingTo(values.stream().reduce(BigDecimal.ZERO, BigDecimal::add));
+    }
+}